@@ -1,18 +1,23 @@
 package de.diedavids.mavguard;
 
 import de.diedavids.mavguard.commands.AnalyzeCommand;
+import de.diedavids.mavguard.commands.BatchCheckUpdatesCommand;
 import de.diedavids.mavguard.commands.CheckUpdatesCommand;
+import de.diedavids.mavguard.commands.ImpactCommand;
+import de.diedavids.mavguard.config.NativeImageRuntimeHints;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import picocli.CommandLine;
 import picocli.CommandLine.IFactory;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeImageRuntimeHints.class)
 @CommandLine.Command(
     name = "mav-guard",
-    subcommands = {AnalyzeCommand.class, CheckUpdatesCommand.class},
+    subcommands = {AnalyzeCommand.class, CheckUpdatesCommand.class, BatchCheckUpdatesCommand.class, ImpactCommand.class},
     mixinStandardHelpOptions = true,
     version = "1.0",
     description = "Maven Guard CLI tool"
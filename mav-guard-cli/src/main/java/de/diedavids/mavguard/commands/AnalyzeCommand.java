@@ -3,8 +3,15 @@ package de.diedavids.mavguard.commands;
 import de.diedavids.mavguard.model.Dependency;
 import de.diedavids.mavguard.model.Project;
 import de.diedavids.mavguard.service.ColorOutputService;
+import de.diedavids.mavguard.service.JsonEventWriter;
+import de.diedavids.mavguard.service.OutputFormat;
+import de.diedavids.mavguard.xml.IncrementalDependencyCollector;
 import de.diedavids.mavguard.xml.MultiModuleDependencyCollector;
+import de.diedavids.mavguard.xml.PomDirectoryScanner;
 import de.diedavids.mavguard.xml.PomParser;
+import de.diedavids.mavguard.xml.ReactorWatcher;
+import de.diedavids.mavguard.xml.TransitiveDependencies;
+import de.diedavids.mavguard.xml.TransitiveDependencyResolver;
 import org.springframework.stereotype.Component;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
@@ -12,19 +19,27 @@ import picocli.CommandLine.Parameters;
 
 import jakarta.xml.bind.JAXBException;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
 
 @Component
 @Command(name = "analyze", description = "Analyzes a Maven POM file or multi-module project", mixinStandardHelpOptions = true)
 public class AnalyzeCommand implements Callable<Integer> {
 
     private final PomParser pomParser;
+    private final PomDirectoryScanner directoryScanner;
     private final MultiModuleDependencyCollector dependencyCollector;
+    private final TransitiveDependencyResolver transitiveResolver;
     private final ColorOutputService colorOutput;
 
-    @Parameters(index = "0", description = "Path to the POM file")
+    @Parameters(index = "0", description = "Path to the POM file (or directory with --scan)")
     private String filePath;
 
     @Option(names = "--detailed-usage", description = "Show detailed dependency usage by module (for multi-module projects)")
@@ -38,10 +53,28 @@ public class AnalyzeCommand implements Callable<Integer> {
     @Option(names = "--color", description = "When to use colors: auto (default), always, never")
     private String colorMode = "auto";
 
+    @Option(names = "--format", description = "Output format: text (default), json, ndjson")
+    private String format = "text";
 
-    public AnalyzeCommand(PomParser pomParser, MultiModuleDependencyCollector dependencyCollector, ColorOutputService colorOutput) {
+    @Option(names = "--scan", description = "Scan the given directory for all pom.xml files and analyze them as one workspace")
+    private boolean scan = false;
+
+    @Option(names = "--ignore", split = ",", paramLabel = "<glob>",
+            description = "Glob pattern of paths to skip during --scan, relative to the scanned directory (repeatable)")
+    private List<String> ignorePatterns = new ArrayList<>();
+
+    @Option(names = "--transitive", description = "Resolve and report transitive dependencies (fetches dependency POMs from the repository)")
+    private boolean transitive = false;
+
+    @Option(names = "--watch", description = "Keep running and report the changes to the analysis whenever a POM file of the project is saved")
+    private boolean watch = false;
+
+    public AnalyzeCommand(PomParser pomParser, PomDirectoryScanner directoryScanner, MultiModuleDependencyCollector dependencyCollector,
+                          TransitiveDependencyResolver transitiveResolver, ColorOutputService colorOutput) {
         this.pomParser = pomParser;
+        this.directoryScanner = directoryScanner;
         this.dependencyCollector = dependencyCollector != null ? dependencyCollector : new MultiModuleDependencyCollector();
+        this.transitiveResolver = transitiveResolver;
         this.colorOutput = colorOutput;
     }
 
@@ -55,18 +88,53 @@ public class AnalyzeCommand implements Callable<Integer> {
             System.err.println("Invalid color mode: " + colorMode + ". Valid options: auto, always, never");
             return 1;
         }
-        
+
+        OutputFormat outputFormat;
+        try {
+            outputFormat = OutputFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid output format: " + format + ". Valid options: text, json, ndjson");
+            return 1;
+        }
+
         File file = new File(filePath);
         if (!file.exists()) {
             System.err.println("File not found: " + filePath);
             return 1;
         }
 
+        if (scan && !file.isDirectory()) {
+            System.err.println("Not a directory: " + filePath + ". --scan expects the directory to scan");
+            return 1;
+        }
+
+        if (watch && scan) {
+            System.err.println("--watch cannot be combined with --scan");
+            return 1;
+        }
+
+        if (watch && outputFormat != OutputFormat.TEXT) {
+            System.err.println("--watch only supports the text format");
+            return 1;
+        }
+
         try {
+            if (scan) {
+                return analyzeWorkspace(file, outputFormat);
+            }
+
             Project initialProject = pomParser.parsePomFile(file); // Parse the given POM first
 
             boolean isActuallyMultiModule = initialProject.isMultiModule() || forceMultiModule;
 
+            if (outputFormat != OutputFormat.TEXT) {
+                try (JsonEventWriter events = new JsonEventWriter(System.out, outputFormat)) {
+                    return isActuallyMultiModule
+                            ? writeMultiModuleEvents(pomParser.parseMultiModuleProject(file), initialProject, events)
+                            : writeSingleModuleEvents(initialProject, events);
+                }
+            }
+
             if (isActuallyMultiModule) {
                 // If it claims to be a multi-module project (or forced), then parse fully as multi-module
                 // This will re-parse the root, but ensures all modules are loaded according to parseMultiModuleProject logic
@@ -78,21 +146,27 @@ public class AnalyzeCommand implements Callable<Integer> {
                                             (p.relativePath() != null && p.relativePath().equals(initialProject.relativePath())))
                                .findFirst()
                                .orElse(initialProject); // Fallback to initialProject if not found (should ideally be there)
-                return analyzeMultiModule(allProjects, rootContext);
+                int exitCode = analyzeMultiModule(allProjects, rootContext);
+                return watch && exitCode == 0 ? watch(file, allProjects) : exitCode;
             } else {
                 colorOutput.println("Analyzing single module project: " + initialProject.getCoordinates(), ColorOutputService.ColorType.BLUE, ColorOutputService.ColorType.BOLD);
-                return analyzeSingleModule(initialProject);
+                int exitCode = analyzeSingleModule(initialProject);
+                return watch && exitCode == 0 ? watch(file, List.of(initialProject)) : exitCode;
             }
         } catch (JAXBException e) {
+            colorOutput.flush();
             System.err.println("Error parsing POM file: " + filePath);
             System.err.println("Details: " + e.getMessage());
             System.err.println("Please ensure the file is a valid Maven POM XML file and the path is correct.");
             // Consider logging stack trace for debugging: e.printStackTrace();
             return 1;
         } catch (Exception e) {
+            colorOutput.flush();
             System.err.println("An unexpected error occurred: " + e.getMessage());
             e.printStackTrace(); // for more detailed debugging
             return 1;
+        } finally {
+            colorOutput.flush();
         }
     }
 
@@ -115,6 +189,10 @@ public class AnalyzeCommand implements Callable<Integer> {
                 colorOutput.println("- " + dependency);
             }
         }
+
+        if (transitive) {
+            printTransitiveDependencies(transitiveResolver.resolve(project));
+        }
         return 0;
     }
 
@@ -149,6 +227,179 @@ public class AnalyzeCommand implements Callable<Integer> {
         }
 
         MultiModuleDependencyCollector.DependencyReport report = dependencyCollector.collectDependencies(allProjectsInBuild);
+        printDependencyReport(report);
+        if (transitive) {
+            printTransitiveDependencies(resolveTransitive(rootProjectContext, allProjectsInBuild));
+        }
+        return 0;
+    }
+
+    /**
+     * Watches the POM files of the analyzed project and prints the changes to the dependency report after every save
+     * until the process is interrupted or the root POM is deleted. Only the changed modules and the modules
+     * inheriting from them are parsed again.
+     */
+    private Integer watch(File rootPomFile, List<Project> projects) {
+        Path rootDirectory = rootPomFile.getAbsoluteFile().toPath().getParent();
+        try (ReactorWatcher watcher = new ReactorWatcher(pomParser, rootPomFile, projects)) {
+            colorOutput.println("\nWatching " + watcher.getWatchedDirectoryCount() + " directories for POM changes (press Ctrl+C to stop)...",
+                    ColorOutputService.ColorType.BLUE);
+            colorOutput.flush();
+            IncrementalDependencyCollector collector = new IncrementalDependencyCollector();
+            collector.apply(List.of(), projects);
+            while (true) {
+                List<Path> changedPomFiles = new ArrayList<>(watcher.awaitChanges());
+                if (!rootPomFile.isFile()) {
+                    colorOutput.println("\nRoot POM removed, stopping watch.");
+                    return 0;
+                }
+                long start = System.nanoTime();
+                ReactorWatcher.Update update;
+                try {
+                    update = watcher.update(changedPomFiles);
+                } catch (JAXBException e) {
+                    colorOutput.flush();
+                    System.err.println("Error parsing POM file: " + rootPomFile + ": " + e.getMessage());
+                    continue;
+                }
+                if (update.changedPomFiles().isEmpty()) {
+                    continue;
+                }
+                IncrementalDependencyCollector.ChangeSet changes = collector.apply(update.removedProjects(), update.addedProjects());
+                long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+                String changedFiles = update.changedPomFiles().stream()
+                        .map(pomFile -> rootDirectory != null ? rootDirectory.relativize(pomFile).toString() : pomFile.toString())
+                        .collect(Collectors.joining(", "));
+                colorOutput.println("\nChanged: " + changedFiles + " (re-parsed " + update.parsedModuleCount() + " of "
+                        + watcher.getProjects().size() + (update.reactorReparsed() ? " modules, reactor structure changed" : " modules")
+                        + ", " + elapsedMillis + " ms)", ColorOutputService.ColorType.BLUE, ColorOutputService.ColorType.BOLD);
+                printChangeSet(changes);
+                colorOutput.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (IOException e) {
+            colorOutput.flush();
+            System.err.println("Cannot watch the POM files: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private void printChangeSet(IncrementalDependencyCollector.ChangeSet changes) {
+        if (changes.isEmpty()) {
+            colorOutput.println("  No changes to the consolidated dependencies or version inconsistencies.");
+            return;
+        }
+        for (Dependency dependency : changes.addedDependencies()) {
+            colorOutput.println("  + " + dependency, ColorOutputService.ColorType.GREEN);
+        }
+        for (Dependency dependency : changes.removedDependencies()) {
+            colorOutput.println("  - " + dependency, ColorOutputService.ColorType.RED);
+        }
+        for (IncrementalDependencyCollector.DependencyChange change : changes.changedDependencies()) {
+            Dependency current = change.current();
+            colorOutput.println("  ~ " + current.groupId() + ":" + current.artifactId() + ": " + change.previous().version()
+                    + " -> " + current.version(), ColorOutputService.ColorType.YELLOW);
+        }
+        for (MultiModuleDependencyCollector.VersionInconsistency inconsistency : changes.newInconsistencies()) {
+            colorOutput.println("  New inconsistency: " + inconsistency.toString().stripTrailing(), ColorOutputService.ColorType.ORANGE);
+        }
+        for (MultiModuleDependencyCollector.VersionInconsistency inconsistency : changes.changedInconsistencies()) {
+            colorOutput.println("  Changed inconsistency: " + inconsistency.toString().stripTrailing(), ColorOutputService.ColorType.ORANGE);
+        }
+        for (String coordinate : changes.resolvedInconsistencies()) {
+            colorOutput.println("  Resolved inconsistency: " + coordinate, ColorOutputService.ColorType.GREEN);
+        }
+        if (detailedUsage && !changes.changedUsages().isEmpty()) {
+            colorOutput.println("  Changed usage: " + String.join(", ", changes.changedUsages()));
+        }
+    }
+
+    private Integer analyzeWorkspace(File directory, OutputFormat outputFormat) {
+        List<Project> projects = directoryScanner.scan(directory.toPath(), ignorePatterns);
+
+        if (outputFormat != OutputFormat.TEXT) {
+            try (JsonEventWriter events = new JsonEventWriter(System.out, outputFormat)) {
+                events.writeWorkspace(directory.getAbsolutePath());
+                return writeReportEvents(projects, null, events);
+            }
+        }
+
+        colorOutput.println("Analyzing workspace: " + directory.getAbsolutePath(), ColorOutputService.ColorType.BLUE, ColorOutputService.ColorType.BOLD);
+        if (projects.isEmpty()) {
+            colorOutput.println("No Maven projects found.");
+            return 1;
+        }
+
+        colorOutput.println("\nProjects found (" + projects.size() + "):", ColorOutputService.ColorType.BLUE);
+        for (Project project : projects) {
+            colorOutput.printf("  - %s (Path: %s)%n", project.getCoordinates(), project.relativePath());
+        }
+
+        MultiModuleDependencyCollector.DependencyReport report = dependencyCollector.collectDependencies(projects);
+        printDependencyReport(report);
+        if (transitive) {
+            printTransitiveDependencies(resolveTransitive(null, projects));
+        }
+        return 0;
+    }
+
+    /**
+     * Resolves the transitive dependencies of the dependencies declared by several modules, using the managed
+     * versions and the parent of the given root project, if any. Managed dependencies are only versions, not roots
+     * of the graph, and dependencies on the modules themselves are skipped.
+     */
+    private TransitiveDependencies resolveTransitive(Project rootProject, List<Project> modules) {
+        Set<String> moduleArtifacts = modules.stream()
+                .map(module -> module.groupId() + ":" + module.artifactId())
+                .collect(Collectors.toSet());
+        // The first declaration of an artifact is used
+        Map<String, Dependency> declared = new LinkedHashMap<>();
+        for (Project module : modules) {
+            for (Dependency dependency : module.dependencies()) {
+                String key = dependency.groupId() + ":" + dependency.artifactId();
+                if (!moduleArtifacts.contains(key)) {
+                    declared.putIfAbsent(key, dependency);
+                }
+            }
+        }
+        List<Dependency> directDependencies = List.copyOf(declared.values());
+        Project root = rootProject != null
+                ? new Project(rootProject.groupId(), rootProject.artifactId(), rootProject.version(), rootProject.packaging(),
+                        rootProject.name(), directDependencies, rootProject.dependencyManagement(), null,
+                        rootProject.properties(), rootProject.parent(), List.of(), rootProject.relativePath())
+                : new Project(null, null, null, null, null, directDependencies, null, null, Map.of());
+        return transitiveResolver.resolve(root);
+    }
+
+    private void printTransitiveDependencies(TransitiveDependencies graph) {
+        int directCount = graph.getDirectCount();
+        colorOutput.println("\nTransitive Dependencies (" + (graph.size() - directCount) + " beyond " + directCount
+                + " direct, max depth " + graph.getMaxDepth() + "):", ColorOutputService.ColorType.BLUE);
+        for (int index = directCount; index < graph.size(); index++) {
+            Dependency via = graph.getDependency(graph.getParent(index));
+            colorOutput.println("- " + graph.getDependency(index) + " via " + via.groupId() + ":" + via.artifactId());
+        }
+
+        if (!graph.getConflicts().isEmpty()) {
+            colorOutput.println("\nVersion conflicts resolved by nearest wins (" + graph.getConflicts().size() + "):",
+                    ColorOutputService.ColorType.ORANGE);
+            for (TransitiveDependencies.Conflict conflict : graph.getConflicts()) {
+                colorOutput.println("  - " + conflict, ColorOutputService.ColorType.ORANGE);
+            }
+        }
+        if (!graph.getUnresolved().isEmpty()) {
+            colorOutput.println("\nCould not load the POMs of " + graph.getUnresolved().size()
+                    + " artifacts, their dependencies are missing:", ColorOutputService.ColorType.ORANGE);
+            for (String coordinates : graph.getUnresolved()) {
+                colorOutput.println("  - " + coordinates, ColorOutputService.ColorType.ORANGE);
+            }
+        }
+    }
+
+    private void printDependencyReport(MultiModuleDependencyCollector.DependencyReport report) {
         List<Dependency> consolidatedDependencies = report.getConsolidatedDependencies();
 
         colorOutput.println("\nConsolidated Dependencies (" + consolidatedDependencies.size() + " unique across all modules):", ColorOutputService.ColorType.BLUE);
@@ -179,6 +430,66 @@ public class AnalyzeCommand implements Callable<Integer> {
                 }
             }
         }
+    }
+
+    private Integer writeSingleModuleEvents(Project project, JsonEventWriter events) {
+        events.writeProject(project, false);
+        List<Dependency> dependencies = project.getAllDependencies();
+        for (Dependency dependency : dependencies) {
+            events.writeDependency(dependency, List.of(project.artifactId()));
+        }
+        Map<String, Integer> summary = new LinkedHashMap<>();
+        summary.put("dependencies", dependencies.size());
+        if (transitive) {
+            writeTransitiveEvents(transitiveResolver.resolve(project), events, summary);
+        }
+        events.writeSummary(summary);
         return 0;
     }
+
+    private Integer writeMultiModuleEvents(List<Project> allProjectsInBuild, Project rootProject, JsonEventWriter events) {
+        events.writeProject(rootProject, true);
+        return writeReportEvents(allProjectsInBuild, rootProject, events);
+    }
+
+    private Integer writeReportEvents(List<Project> allProjectsInBuild, Project rootProject, JsonEventWriter events) {
+        for (Project project : allProjectsInBuild) {
+            events.writeModule(project);
+        }
+
+        MultiModuleDependencyCollector.DependencyReport report = dependencyCollector.collectDependencies(allProjectsInBuild);
+        Map<String, List<String>> usageMap = report.getDependencyUsageByModule();
+        List<Dependency> consolidatedDependencies = report.getConsolidatedDependencies();
+        for (Dependency dependency : consolidatedDependencies) {
+            events.writeDependency(dependency,
+                    usageMap.getOrDefault(dependency.groupId() + ":" + dependency.artifactId(), List.of()));
+        }
+        for (MultiModuleDependencyCollector.VersionInconsistency inconsistency : report.getVersionInconsistencies()) {
+            events.writeInconsistency(inconsistency);
+        }
+
+        Map<String, Integer> summary = new LinkedHashMap<>();
+        summary.put("modules", allProjectsInBuild.size());
+        summary.put("dependencies", consolidatedDependencies.size());
+        summary.put("inconsistencies", report.getVersionInconsistencies().size());
+        if (transitive) {
+            writeTransitiveEvents(resolveTransitive(rootProject, allProjectsInBuild), events, summary);
+        }
+        events.writeSummary(summary);
+        return allProjectsInBuild.isEmpty() ? 1 : 0;
+    }
+
+    private void writeTransitiveEvents(TransitiveDependencies graph, JsonEventWriter events, Map<String, Integer> summary) {
+        int directCount = graph.getDirectCount();
+        for (int index = directCount; index < graph.size(); index++) {
+            Dependency via = graph.getDependency(graph.getParent(index));
+            events.writeTransitive(graph.getDependency(index), graph.getDepth(index), via.groupId() + ":" + via.artifactId());
+        }
+        for (TransitiveDependencies.Conflict conflict : graph.getConflicts()) {
+            events.writeConflict(conflict);
+        }
+        summary.put("transitive", graph.size() - directCount);
+        summary.put("conflicts", graph.getConflicts().size());
+        summary.put("unresolved", graph.getUnresolved().size());
+    }
 }
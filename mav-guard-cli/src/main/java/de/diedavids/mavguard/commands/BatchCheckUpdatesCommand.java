@@ -0,0 +1,325 @@
+package de.diedavids.mavguard.commands;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.nexus.service.DependencyVersionService;
+import de.diedavids.mavguard.service.ColorOutputService;
+import de.diedavids.mavguard.service.JsonEventWriter;
+import de.diedavids.mavguard.service.OutputFormat;
+import de.diedavids.mavguard.service.VersionLookupPipeline;
+import de.diedavids.mavguard.xml.MultiModuleDependencyCollector;
+import de.diedavids.mavguard.xml.PomParser;
+import jakarta.xml.bind.JAXBException;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Checks many repositories for updates in one run. All repositories are parsed first, and their
+ * dependencies and parents are unioned into one lookup set: every groupId:artifactId is looked up once,
+ * no matter how many repositories use it. The results are then fanned out into one report per repository.
+ */
+@Component
+@Command(
+    name = "batch-check-updates",
+    description = "Checks many repositories for dependency updates, looking up each artifact only once.",
+    mixinStandardHelpOptions = true
+)
+public class BatchCheckUpdatesCommand implements Callable<Integer> {
+
+    private static final String POM_FILE_NAME = "pom.xml";
+
+    private final PomParser pomParser;
+    private final DependencyVersionService versionService;
+    private final MultiModuleDependencyCollector dependencyCollector;
+    private final ColorOutputService colorOutput;
+
+    @Parameters(arity = "0..*", paramLabel = "<pomFile>", description = "Root POM files (or repository directories) to check")
+    private List<String> pomPaths = new ArrayList<>();
+
+    @Option(names = "--manifest", description = "File listing one root POM file or repository directory per line. "
+            + "Relative paths are resolved against the manifest's directory, lines starting with # are ignored")
+    private String manifestPath;
+
+    @Option(names = "--color", description = "When to use colors: auto (default), always, never")
+    private String colorMode = "auto";
+
+    @Option(names = "--format", description = "Output format: text (default), json, ndjson")
+    private String format = "text";
+
+    @Option(names = "--jobs", description = "Maximum number of concurrent repository lookups, the repository client adapts the actual concurrency (default: 32)")
+    private int jobs = 32;
+
+    // Injected lazily for the same reason as in CheckUpdatesCommand
+    public BatchCheckUpdatesCommand(PomParser pomParser, @Lazy DependencyVersionService versionService, MultiModuleDependencyCollector dependencyCollector, ColorOutputService colorOutput) {
+        this.pomParser = pomParser;
+        this.versionService = versionService;
+        this.dependencyCollector = dependencyCollector;
+        this.colorOutput = colorOutput;
+    }
+
+    @Override
+    public Integer call() {
+        try {
+            ColorOutputService.ColorMode mode = ColorOutputService.ColorMode.valueOf(colorMode.toUpperCase());
+            colorOutput.setColorMode(mode);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid color mode: " + colorMode + ". Valid options: auto, always, never");
+            return 1;
+        }
+
+        OutputFormat outputFormat;
+        try {
+            outputFormat = OutputFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid output format: " + format + ". Valid options: text, json, ndjson");
+            return 1;
+        }
+
+        if (jobs < 1) {
+            System.err.println("Invalid number of jobs: " + jobs + ". Must be at least 1");
+            return 1;
+        }
+
+        List<File> rootPomFiles = new ArrayList<>();
+        for (String pomPath : pomPaths) {
+            rootPomFiles.add(resolvePomFile(new File(pomPath)));
+        }
+        if (manifestPath != null) {
+            try {
+                rootPomFiles.addAll(readManifest(Path.of(manifestPath)));
+            } catch (IOException e) {
+                System.err.println("Error reading manifest file: " + manifestPath);
+                System.err.println("Details: " + e.getMessage());
+                return 1;
+            }
+        }
+        if (rootPomFiles.isEmpty()) {
+            System.err.println("No repositories given. Pass root POM files or --manifest <file>");
+            return 1;
+        }
+        for (File rootPomFile : rootPomFiles) {
+            if (!rootPomFile.exists()) {
+                System.err.println("File not found: " + rootPomFile.getPath());
+                return 1;
+            }
+        }
+
+        try (VersionLookupPipeline pipeline = new VersionLookupPipeline(versionService, jobs)) {
+            // Parsing schedules the lookups of every module, including managed dependencies, so the whole lookup set
+            // is in flight before the first report is rendered
+            List<Repository> repositories = new ArrayList<>();
+            int failedRepositories = 0;
+            for (File rootPomFile : rootPomFiles) {
+                try {
+                    repositories.add(parseRepository(rootPomFile, pipeline));
+                } catch (JAXBException e) {
+                    colorOutput.flush();
+                    System.err.println("Error parsing POM file: " + rootPomFile.getPath());
+                    System.err.println("Details: " + e.getMessage());
+                    failedRepositories++;
+                }
+            }
+
+            if (outputFormat != OutputFormat.TEXT) {
+                try (JsonEventWriter events = new JsonEventWriter(System.out, outputFormat)) {
+                    writeBatchEvents(repositories, failedRepositories, pipeline, events);
+                }
+            } else {
+                printBatchReport(repositories, failedRepositories, pipeline);
+            }
+            if (failedRepositories > 0) {
+                return 1;
+            }
+            return pipeline.unresolvedCount() > 0 ? CheckUpdatesCommand.PARTIAL_EXIT_CODE : 0;
+        } catch (Exception e) {
+            colorOutput.flush();
+            System.err.println("An unexpected error occurred: " + e.getMessage());
+            e.printStackTrace();
+            return 1;
+        } finally {
+            colorOutput.flush();
+        }
+    }
+
+    private List<File> readManifest(Path manifest) throws IOException {
+        Path baseDirectory = manifest.toAbsolutePath().getParent();
+        List<File> rootPomFiles = new ArrayList<>();
+        for (String line : Files.readAllLines(manifest)) {
+            String entry = line.trim();
+            if (entry.isEmpty() || entry.startsWith("#")) {
+                continue;
+            }
+            rootPomFiles.add(resolvePomFile(baseDirectory.resolve(entry).toFile()));
+        }
+        return rootPomFiles;
+    }
+
+    private static File resolvePomFile(File file) {
+        return file.isDirectory() ? new File(file, POM_FILE_NAME) : file;
+    }
+
+    private Repository parseRepository(File rootPomFile, VersionLookupPipeline pipeline) throws JAXBException {
+        Project rootProject = pomParser.parsePomFile(rootPomFile);
+        if (rootProject.isMultiModule()) {
+            List<Project> projects = pipeline.parseAndLookUp(pomParser, rootPomFile);
+            // Already scheduled while parsing, this only makes sure the consolidated report never looks up on its own
+            projects.forEach(pipeline::lookUp);
+            return new Repository(rootPomFile.getPath(), rootProject, projects, true);
+        }
+        pipeline.lookUp(rootProject);
+        return new Repository(rootPomFile.getPath(), rootProject, List.of(rootProject), false);
+    }
+
+    /**
+     * Collects the updates of one repository, in the same way check-updates reports them:
+     * all dependencies of a single module project, the consolidated dependencies of a multi-module project
+     * and the parent of every module.
+     */
+    private List<Update> findUpdates(Repository repository, VersionLookupPipeline pipeline) {
+        List<Dependency> dependencies;
+        Map<String, List<String>> usageMap;
+        if (repository.multiModule()) {
+            MultiModuleDependencyCollector.DependencyReport report = dependencyCollector.collectDependencies(repository.projects());
+            dependencies = report.getConsolidatedDependencies();
+            usageMap = report.getDependencyUsageByModule();
+        } else {
+            dependencies = repository.rootProject().getAllDependencies();
+            usageMap = Map.of();
+        }
+
+        List<Update> updates = new ArrayList<>();
+        for (Dependency dependency : dependencies) {
+            Optional<String> latestVersion = await(pipeline.latestVersion(dependency));
+            if (latestVersion.isPresent() && !latestVersion.get().equals(dependency.version())) {
+                List<String> modules = repository.multiModule()
+                        ? usageMap.getOrDefault(dependency.groupId() + ":" + dependency.artifactId(), List.of())
+                        : List.of(repository.rootProject().artifactId());
+                updates.add(new Update("dependency", dependency.groupId(), dependency.artifactId(),
+                        dependency.version(), latestVersion.get(), modules));
+            }
+        }
+        for (Project project : repository.projects()) {
+            if (project.hasParent()) {
+                Project.Parent parent = project.parent();
+                Optional<String> latestParentVersion = await(pipeline.latestParentVersion(parent));
+                if (latestParentVersion.isPresent() && !latestParentVersion.get().equals(parent.version())) {
+                    updates.add(new Update("parent", parent.groupId(), parent.artifactId(),
+                            parent.version(), latestParentVersion.get(), List.of(project.artifactId())));
+                }
+            }
+        }
+        return updates;
+    }
+
+    /**
+     * Waits for a lookup. Only if it is still running, the rows printed so far are shown first, as they are final.
+     */
+    private Optional<String> await(CompletableFuture<Optional<String>> lookup) {
+        if (!lookup.isDone()) {
+            colorOutput.flush();
+        }
+        return lookup.join();
+    }
+
+    private void printBatchReport(List<Repository> repositories, int failedRepositories, VersionLookupPipeline pipeline) {
+        int updateCount = 0;
+        for (Repository repository : repositories) {
+            colorOutput.println("\n=== " + repository.pomPath() + " (" + repository.rootProject().getCoordinates() + ") ===",
+                    ColorOutputService.ColorType.BLUE, ColorOutputService.ColorType.BOLD);
+            List<Update> updates = findUpdates(repository, pipeline);
+            updateCount += updates.size();
+            if (updates.isEmpty()) {
+                colorOutput.println("  All dependencies and parents are up to date.", ColorOutputService.ColorType.GREEN);
+                continue;
+            }
+            colorOutput.printf("  %-8s %-50s %-20s %-5s %-20s %s%n", "KIND", "ARTIFACT", "CURRENT", " ", "LATEST", "AFFECTED MODULES");
+            colorOutput.println("  " + "-".repeat(120));
+            for (Update update : updates) {
+                String currentVersionDisplay = update.currentVersion() != null ? update.currentVersion() : "managed";
+                String arrow = colorOutput.getUpdateArrow(update.currentVersion(), update.latestVersion());
+                colorOutput.printf("  %-8s %-50s %-20s %s %-20s %s%n",
+                        update.kind(),
+                        update.groupId() + ":" + update.artifactId(),
+                        currentVersionDisplay,
+                        arrow,
+                        update.latestVersion(),
+                        update.modules().isEmpty() ? "root/inherited" : String.join(", ", update.modules()));
+            }
+        }
+
+        colorOutput.println("\n--- Summary ---", ColorOutputService.ColorType.BLUE, ColorOutputService.ColorType.BOLD);
+        colorOutput.println("Checked " + repositories.size() + " repositories with " + pipeline.lookupCount()
+                + " distinct artifact lookups.");
+        versionService.getRequestMetrics()
+                .filter(metrics -> metrics.requests() > 0)
+                .ifPresent(metrics -> colorOutput.println("Repository requests: " + metrics.requests()
+                        + " (concurrency limit " + metrics.limit()
+                        + ", average latency " + metrics.averageLatency().toMillis() + " ms"
+                        + ", min " + metrics.minLatency().toMillis() + " ms"
+                        + ", " + metrics.overloads() + " overloaded)"));
+        if (updateCount == 0) {
+            colorOutput.println("All repositories are up to date.", ColorOutputService.ColorType.GREEN);
+        } else {
+            colorOutput.println("Found " + updateCount + " potential update(s) across all repositories.", ColorOutputService.ColorType.YELLOW);
+        }
+        if (failedRepositories > 0) {
+            colorOutput.println(failedRepositories + " repositories could not be parsed, see errors above.", ColorOutputService.ColorType.ORANGE);
+        }
+        if (pipeline.unresolvedCount() > 0) {
+            colorOutput.println(pipeline.unresolvedCount() + " lookup(s) failed, see errors above. Their updates are missing from this report.",
+                    ColorOutputService.ColorType.ORANGE);
+        }
+    }
+
+    private void writeBatchEvents(List<Repository> repositories, int failedRepositories, VersionLookupPipeline pipeline, JsonEventWriter events) {
+        int updateCount = 0;
+        for (Repository repository : repositories) {
+            events.writeRepository(repository.pomPath(), repository.rootProject(), repository.projects().size());
+            for (Update update : findUpdates(repository, pipeline)) {
+                updateCount++;
+                events.writeUpdate(update.kind(), update.groupId(), update.artifactId(),
+                        update.currentVersion(), update.latestVersion(), update.modules());
+            }
+        }
+
+        Map<String, Integer> summary = new LinkedHashMap<>();
+        summary.put("repositories", repositories.size());
+        summary.put("failed", failedRepositories);
+        summary.put("lookups", pipeline.lookupCount());
+        summary.put("updates", updateCount);
+        if (pipeline.unresolvedCount() > 0) {
+            summary.put("unresolved", pipeline.unresolvedCount());
+        }
+        versionService.getRequestMetrics()
+                .filter(metrics -> metrics.requests() > 0)
+                .ifPresent(metrics -> {
+                    summary.put("requests", (int) metrics.requests());
+                    summary.put("concurrencyLimit", metrics.limit());
+                    summary.put("averageLatencyMs", (int) metrics.averageLatency().toMillis());
+                    summary.put("overloads", (int) metrics.overloads());
+                });
+        events.writeSummary(summary);
+    }
+
+    private record Repository(String pomPath, Project rootProject, List<Project> projects, boolean multiModule) {
+    }
+
+    private record Update(String kind, String groupId, String artifactId,
+                          String currentVersion, String latestVersion, List<String> modules) {
+    }
+}
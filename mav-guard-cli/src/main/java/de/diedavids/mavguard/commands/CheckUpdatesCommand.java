@@ -4,19 +4,41 @@ import de.diedavids.mavguard.model.Dependency;
 import de.diedavids.mavguard.model.Project;
 import de.diedavids.mavguard.nexus.service.DependencyVersionService;
 import de.diedavids.mavguard.service.ColorOutputService;
+import de.diedavids.mavguard.service.GitChangedFiles;
+import de.diedavids.mavguard.service.JsonEventWriter;
+import de.diedavids.mavguard.service.OutputFormat;
+import de.diedavids.mavguard.service.ResultCache;
+import de.diedavids.mavguard.service.UpdateSnapshot;
+import de.diedavids.mavguard.service.VersionLookupPipeline;
+import de.diedavids.mavguard.xml.ChangedModules;
 import de.diedavids.mavguard.xml.MultiModuleDependencyCollector;
 import de.diedavids.mavguard.xml.PomParser; // Changed from PomFileProcessor
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
 
 import jakarta.xml.bind.JAXBException; // For parsing errors
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map; // For detailed usage from report
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 @Command(
@@ -26,10 +48,16 @@ import java.util.concurrent.Callable;
 )
 public class CheckUpdatesCommand implements Callable<Integer> {
 
+    /** Exit code of a run whose lookups did not all complete, the report lacks the unresolved artifacts */
+    static final int PARTIAL_EXIT_CODE = 3;
+
+    private static final String UNRESOLVED = "UNRESOLVED";
+
     private final PomParser pomParser;
     private final DependencyVersionService versionService;
     private final MultiModuleDependencyCollector dependencyCollector;
     private final ColorOutputService colorOutput;
+    private final ResultCache resultCache;
 
     @Parameters(index = "0", description = "Path to the POM file")
     private String filePath;
@@ -40,12 +68,48 @@ public class CheckUpdatesCommand implements Callable<Integer> {
     @Option(names = "--color", description = "When to use colors: auto (default), always, never")
     private String colorMode = "auto";
 
-    public CheckUpdatesCommand(PomParser pomParser, DependencyVersionService versionService, MultiModuleDependencyCollector dependencyCollector, ColorOutputService colorOutput) {
+    @Option(names = "--format", description = "Output format: text (default), json, ndjson")
+    private String format = "text";
+
+    @Option(names = "--jobs", description = "Maximum number of concurrent repository lookups, the repository client adapts the actual concurrency (default: 32)")
+    private int jobs = 32;
+
+    @Option(names = "--since", paramLabel = "<git-ref>",
+            description = "Only check the modules whose POM changed since the given git revision, and the modules inheriting from them")
+    private String since;
+
+    @Option(names = "--snapshot", paramLabel = "<file>",
+            description = "Write the updates found to a binary snapshot file, to compare later runs against with --diff")
+    private Path snapshot;
+
+    @Option(names = "--diff", paramLabel = "<snapshot>",
+            description = "Only report the updates that are new, changed or resolved since the given snapshot")
+    private Path diff;
+
+    @Option(names = "--result-cache",
+            description = "Replay the output of an earlier run if no POM of the reactor and no repository setting changed."
+                    + " Runs inheriting from or importing a SNAPSHOT POM outside the reactor are not stored")
+    private boolean useResultCache = false;
+
+    @Option(names = "--result-cache-ttl", paramLabel = "<minutes>",
+            description = "Maximum age of a replayed result in minutes (default: 60)")
+    private int resultCacheTtl = 60;
+
+    @Option(names = "--deadline", paramLabel = "<seconds>",
+            description = "Time budget of the repository lookups in seconds. Lookups still outstanding when it expires are cancelled,"
+                    + " reported as unresolved, and the run exits with code " + PARTIAL_EXIT_CODE)
+    private Integer deadline;
+
+    // picocli instantiates every subcommand up front, so the version service is injected as a lazy proxy.
+    // The repository client stack is only initialized once check-updates performs its first lookup.
+    public CheckUpdatesCommand(PomParser pomParser, @Lazy DependencyVersionService versionService, MultiModuleDependencyCollector dependencyCollector,
+                               ColorOutputService colorOutput, ResultCache resultCache) {
         // Ensure MultiModuleDependencyCollector is initialized if it's not a Spring bean by default
         this.pomParser = pomParser;
         this.versionService = versionService;
         this.dependencyCollector = dependencyCollector != null ? dependencyCollector : new MultiModuleDependencyCollector();
         this.colorOutput = colorOutput;
+        this.resultCache = resultCache;
     }
 
     @Override
@@ -58,20 +122,212 @@ public class CheckUpdatesCommand implements Callable<Integer> {
             System.err.println("Invalid color mode: " + colorMode + ". Valid options: auto, always, never");
             return 1;
         }
-        
+
+        OutputFormat outputFormat;
+        try {
+            outputFormat = OutputFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid output format: " + format + ". Valid options: text, json, ndjson");
+            return 1;
+        }
+
+        if (jobs < 1) {
+            System.err.println("Invalid number of jobs: " + jobs + ". Must be at least 1");
+            return 1;
+        }
+
         File file = new File(filePath);
         if (!file.exists()) {
             System.err.println("File not found: " + filePath);
             return 1;
         }
 
+        if (useResultCache && (since != null || snapshot != null || diff != null)) {
+            System.err.println("--result-cache cannot be combined with --since, --snapshot or --diff");
+            return 1;
+        }
+        if (resultCacheTtl < 0) {
+            System.err.println("Invalid result cache TTL: " + resultCacheTtl + ". Must not be negative");
+            return 1;
+        }
+
+        if (deadline != null && deadline < 1) {
+            System.err.println("Invalid deadline: " + deadline + ". Must be at least 1 second");
+            return 1;
+        }
+        if (deadline != null && diff != null) {
+            System.err.println("--deadline cannot be combined with --diff, unresolved updates would be reported as resolved");
+            return 1;
+        }
+
+        if (since != null && (snapshot != null || diff != null)) {
+            System.err.println("--snapshot and --diff cannot be combined with --since, a snapshot covers all modules");
+            return 1;
+        }
+
+        List<UpdateSnapshot.Entry> previousUpdates = null;
+        if (diff != null) {
+            try {
+                previousUpdates = UpdateSnapshot.read(diff);
+            } catch (IOException e) {
+                System.err.println("Cannot read snapshot " + diff + ": " + e.getMessage());
+                return 1;
+            }
+        }
+
+        Set<Path> changedFiles = null;
+        if (since != null) {
+            try {
+                changedFiles = GitChangedFiles.since(file.getAbsoluteFile().getParentFile().toPath(), since);
+            } catch (IOException e) {
+                System.err.println("Cannot determine the files changed since " + since + ": " + e.getMessage());
+                return 1;
+            }
+        }
+
+        int exitCode = useResultCache
+                ? checkWithResultCache(file, outputFormat)
+                : check(file, outputFormat, changedFiles, previousUpdates, new ArrayList<>());
+        if (deadline != null) {
+            // The report is complete, refreshes of expired cached versions must not keep the run beyond its deadline
+            versionService.cancelBackgroundRefreshes();
+        }
+        return exitCode;
+    }
+
+    /**
+     * Replays the output of an earlier run with the same options if its POM files did not change, otherwise runs
+     * the check and stores its output. Parents and BOMs loaded from a repository are identified by the coordinates
+     * in the hashed POMs, which only holds for released versions, so runs depending on a SNAPSHOT one are not stored.
+     */
+    private int checkWithResultCache(File file, OutputFormat outputFormat) {
+        String key = String.join("\n", "check-updates", file.getAbsoluteFile().toPath().normalize().toString(),
+                outputFormat.name(), String.valueOf(colorOutput.shouldUseColors()), String.valueOf(forceMultiModule));
+        Optional<byte[]> cachedOutput = resultCache.lookup(key, Duration.ofMinutes(resultCacheTtl));
+        if (cachedOutput.isPresent()) {
+            System.out.write(cachedOutput.get(), 0, cachedOutput.get().length);
+            System.out.flush();
+            return 0;
+        }
+
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        List<Project> reactor = new ArrayList<>();
+        int exitCode;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                originalOut.write(b);
+                output.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                originalOut.write(b, off, len);
+                output.write(b, off, len);
+            }
+
+            @Override
+            public void flush() {
+                originalOut.flush();
+            }
+        }, true, originalOut.charset()));
         try {
+            exitCode = check(file, outputFormat, null, null, reactor);
+        } finally {
+            System.out.flush();
+            System.setOut(originalOut);
+        }
+
+        // Versions answered from expired cache entries are refreshed in the background, a replay would repeat them
+        if (exitCode == 0 && versionService.getPossiblyStaleCount() == 0 && !dependsOnExternalSnapshot(reactor)) {
+            List<Path> inputFiles = reactor.stream().map(ChangedModules::pomFileOf).filter(Objects::nonNull).toList();
+            try {
+                resultCache.store(key, inputFiles, output.toByteArray());
+            } catch (IOException e) {
+                System.err.println("Cannot store the result in the cache: " + e.getMessage());
+            }
+        }
+        return exitCode;
+    }
+
+    /**
+     * Checks whether a project of the reactor inherits from or imports a SNAPSHOT POM that is not part of the reactor,
+     * whose content may change without any hashed file changing.
+     */
+    private static boolean dependsOnExternalSnapshot(List<Project> reactor) {
+        Set<String> modules = reactor.stream()
+                .map(project -> project.groupId() + ":" + project.artifactId())
+                .collect(Collectors.toSet());
+        for (Project project : reactor) {
+            if (project.hasParent() && isExternalSnapshot(project.parent().groupId(), project.parent().artifactId(),
+                    project.parent().version(), modules)) {
+                return true;
+            }
+            if (project.dependencyManagement() == null) {
+                continue;
+            }
+            for (Dependency managed : project.dependencyManagement().dependencies()) {
+                if ("import".equals(managed.scope()) && "pom".equals(managed.type())
+                        && isExternalSnapshot(managed.groupId(), managed.artifactId(), managed.version(), modules)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isExternalSnapshot(String groupId, String artifactId, String version, Set<String> modules) {
+        return version != null && version.endsWith("-SNAPSHOT") && !modules.contains(groupId + ":" + artifactId);
+    }
+
+    /**
+     * Runs the check.
+     *
+     * @param reactor receives the parsed projects of the checked reactor
+     */
+    private int check(File file, OutputFormat outputFormat, Set<Path> changedFiles, List<UpdateSnapshot.Entry> previousUpdates,
+                      List<Project> reactor) {
+        // Lookups start while the reactor is still being parsed, rendering waits for them in report order
+        try (VersionLookupPipeline pipeline = new VersionLookupPipeline(versionService, jobs, true)) {
+            if (deadline != null) {
+                // Covers parsing as well, the lookups overlap with it
+                pipeline.expireAfter(Duration.ofSeconds(deadline));
+            }
             Project initialProject = pomParser.parsePomFile(file); // Parse the given POM first
             boolean isActuallyMultiModule = initialProject.isMultiModule() || forceMultiModule;
 
             if (isActuallyMultiModule) {
-                // This will re-parse the root, but ensures all modules are loaded
-                List<Project> allProjects = pomParser.parseMultiModuleProject(file);
+                List<Project> allProjects;
+                List<Project> checkedModules;
+                if (changedFiles == null) {
+                    // This will re-parse the root, but ensures all modules are loaded
+                    allProjects = pipeline.parseAndLookUp(pomParser, file);
+                    checkedModules = allProjects;
+                } else {
+                    // Parsing is local and cheap, the lookups are only started for the changed modules
+                    allProjects = pomParser.parseMultiModuleProject(file);
+                    checkedModules = ChangedModules.select(allProjects, changedFiles, CheckUpdatesCommand::realPomFile);
+                    pipeline.addReactorModules(allProjects);
+                    checkedModules.forEach(pipeline::lookUp);
+                }
+                reactor.addAll(allProjects);
+                MultiModuleDependencyCollector.DependencyReport report = dependencyCollector.collectDependencies(allProjects);
+                if (previousUpdates != null) {
+                    return reportDelta(initialProject, previousUpdates,
+                            resolveMultiModuleUpdates(report, allProjects, checkedModules, pipeline), pipeline, outputFormat);
+                }
+                if (outputFormat != OutputFormat.TEXT) {
+                    CheckResult result;
+                    try (JsonEventWriter events = new JsonEventWriter(System.out, outputFormat)) {
+                        result = writeMultiModuleUpdateEvents(allProjects, checkedModules, initialProject, report, pipeline, events);
+                    }
+                    return saveSnapshot(exitCode(pipeline), result.updates());
+                }
+                if (checkedModules.isEmpty()) {
+                    colorOutput.println("No module POM changed since " + since + ", nothing to check.", ColorOutputService.ColorType.GREEN);
+                    return 0;
+                }
                  // Try to find the initialProject in the allProjects list to use as the root context
                 Project rootContext = allProjects.stream()
                                        .filter(p -> p.getCoordinates().equals(initialProject.getCoordinates()) &&
@@ -80,25 +336,60 @@ public class CheckUpdatesCommand implements Callable<Integer> {
                                        .orElse(initialProject); // Fallback to initialProject
 
                 colorOutput.println("--- Project Analysis (Multi-Module): " + rootContext.getCoordinates() + " ---", ColorOutputService.ColorType.BLUE, ColorOutputService.ColorType.BOLD);
-                analyzeMultiModuleOutput(allProjects, rootContext); // Display analysis
+                analyzeMultiModuleOutput(allProjects, rootContext, report); // Display analysis
+                if (changedFiles != null) {
+                    printCheckedModules(allProjects, checkedModules);
+                }
                 colorOutput.println("\n--- Update Check Results ---", ColorOutputService.ColorType.BLUE, ColorOutputService.ColorType.BOLD);
-                return handleMultiModuleUpdates(allProjects, rootContext);
+                CheckResult result = resolveMultiModuleUpdates(report, allProjects, checkedModules, pipeline);
+                handleMultiModuleUpdates(report, result, pipeline);
+                return saveSnapshot(exitCode(pipeline), result.updates());
             } else {
+                reactor.add(initialProject);
+                if (changedFiles != null && ChangedModules.select(List.of(initialProject), changedFiles, CheckUpdatesCommand::realPomFile).isEmpty()) {
+                    if (outputFormat != OutputFormat.TEXT) {
+                        try (JsonEventWriter events = new JsonEventWriter(System.out, outputFormat)) {
+                            events.writeProject(initialProject, false);
+                            events.writeSummary(Map.of("updates", 0));
+                        }
+                        return 0;
+                    }
+                    colorOutput.println("POM not changed since " + since + ", nothing to check.", ColorOutputService.ColorType.GREEN);
+                    return 0;
+                }
+                pipeline.lookUp(initialProject);
+                if (previousUpdates != null) {
+                    return reportDelta(initialProject, previousUpdates,
+                            resolveSingleModuleUpdates(initialProject, pipeline), pipeline, outputFormat);
+                }
+                if (outputFormat != OutputFormat.TEXT) {
+                    CheckResult result;
+                    try (JsonEventWriter events = new JsonEventWriter(System.out, outputFormat)) {
+                        result = writeSingleModuleUpdateEvents(initialProject, pipeline, events);
+                    }
+                    return saveSnapshot(exitCode(pipeline), result.updates());
+                }
                 colorOutput.println("--- Project Analysis (Single Module): " + initialProject.getCoordinates() + " ---", ColorOutputService.ColorType.BLUE, ColorOutputService.ColorType.BOLD);
                 analyzeSingleModuleOutput(initialProject); // Display analysis
                 colorOutput.println("\n--- Update Check Results ---", ColorOutputService.ColorType.BLUE, ColorOutputService.ColorType.BOLD);
-                return handleSingleModuleUpdates(initialProject);
+                CheckResult result = resolveSingleModuleUpdates(initialProject, pipeline);
+                handleSingleModuleUpdates(initialProject, result, pipeline);
+                return saveSnapshot(exitCode(pipeline), result.updates());
             }
         } catch (JAXBException e) {
+            colorOutput.flush();
             System.err.println("Error parsing POM file: " + filePath);
             System.err.println("Details: " + e.getMessage());
             System.err.println("Please ensure the file is a valid Maven POM XML file and the path is correct.");
             // e.printStackTrace(); // Uncomment for full stack trace during debugging
             return 1;
         } catch (Exception e) {
+            colorOutput.flush();
             System.err.println("An unexpected error occurred: " + e.getMessage());
             e.printStackTrace(); // Uncomment for full stack trace
             return 1;
+        } finally {
+            colorOutput.flush();
         }
     }
 
@@ -126,7 +417,8 @@ public class CheckUpdatesCommand implements Callable<Integer> {
         }
     }
 
-    private void analyzeMultiModuleOutput(List<Project> allProjectsInBuild, Project rootProjectContext) {
+    private void analyzeMultiModuleOutput(List<Project> allProjectsInBuild, Project rootProjectContext,
+                                          MultiModuleDependencyCollector.DependencyReport report) {
         colorOutput.printf("Root Project: %s%n", rootProjectContext.getCoordinates());
          if (rootProjectContext.name() != null && !rootProjectContext.name().isEmpty()) {
              colorOutput.printf("  Name: %s%n", rootProjectContext.name());
@@ -141,7 +433,6 @@ public class CheckUpdatesCommand implements Callable<Integer> {
             colorOutput.printf("  - %s (Path: %s)%n", project.getCoordinates(), project.relativePath());
         }
 
-        MultiModuleDependencyCollector.DependencyReport report = dependencyCollector.collectDependencies(allProjectsInBuild);
         List<Dependency> consolidatedDependencies = report.getConsolidatedDependencies();
         colorOutput.println("\n  Consolidated Dependencies (" + consolidatedDependencies.size() + " unique):", ColorOutputService.ColorType.BLUE);
         for (Dependency dependency : consolidatedDependencies) {
@@ -161,32 +452,280 @@ public class CheckUpdatesCommand implements Callable<Integer> {
     }
     // --- End of Analysis Display Methods ---
 
+    private void printCheckedModules(List<Project> allProjects, List<Project> checkedModules) {
+        colorOutput.println("\n  Modules changed since " + since + ", including inheriting modules (" + checkedModules.size()
+                + " of " + allProjects.size() + "):", ColorOutputService.ColorType.BLUE);
+        for (Project project : checkedModules) {
+            colorOutput.println("  - " + project.getCoordinates());
+        }
+    }
 
-    private Integer handleSingleModuleUpdates(Project project) throws Exception {
-        List<Dependency> dependencies = project.getAllDependencies();
-        boolean updatesAvailable = false;
-        int updateCount = 0;
+    /**
+     * Returns the artifacts declared by the checked modules, or null if all modules are checked.
+     */
+    private static Set<String> checkedArtifacts(List<Project> projects, List<Project> checkedModules) {
+        if (checkedModules.size() == projects.size()) {
+            return null;
+        }
+        Set<String> artifacts = new HashSet<>();
+        for (Project project : checkedModules) {
+            for (Dependency dependency : project.getAllDependencies()) {
+                artifacts.add(dependency.groupId() + ":" + dependency.artifactId());
+            }
+        }
+        return artifacts;
+    }
+
+    /**
+     * Resolves the updates of a single-module project: all of its dependencies and its parent.
+     */
+    private CheckResult resolveSingleModuleUpdates(Project project, VersionLookupPipeline pipeline) {
+        return resolveUpdates(project.getAllDependencies(), dependency -> List.of(project.artifactId()), List.of(project), pipeline);
+    }
+
+    /**
+     * Resolves the consolidated dependency updates and the parent updates of the checked modules.
+     */
+    private CheckResult resolveMultiModuleUpdates(MultiModuleDependencyCollector.DependencyReport report, List<Project> projects,
+                                                  List<Project> checkedModules, VersionLookupPipeline pipeline) {
+        Set<String> checkedArtifacts = checkedArtifacts(projects, checkedModules);
+        List<Dependency> dependencies = report.getConsolidatedDependencies().stream()
+                .filter(dependency -> checkedArtifacts == null || checkedArtifacts.contains(dependency.groupId() + ":" + dependency.artifactId()))
+                .toList();
+        Map<String, List<String>> usageMap = report.getDependencyUsageByModule();
+        return resolveUpdates(dependencies,
+                dependency -> usageMap.getOrDefault(dependency.groupId() + ":" + dependency.artifactId(), List.of()),
+                checkedModules, pipeline);
+    }
+
+    /**
+     * Waits for the lookups of the checked dependencies and of the parents of the checked modules. This is the only
+     * place a run joins its lookups, the text and JSON output, the snapshot and the delta are all rendered from the
+     * result.
+     *
+     * @param dependencies the checked dependencies in report order
+     * @param modulesOf the modules reported as affected by a dependency update
+     * @param checkedModules the modules whose parent is checked
+     */
+    private CheckResult resolveUpdates(List<Dependency> dependencies, Function<Dependency, List<String>> modulesOf,
+                                       List<Project> checkedModules, VersionLookupPipeline pipeline) {
+        List<UpdateSnapshot.Entry> updates = new ArrayList<>();
+        List<Unresolved> unresolved = new ArrayList<>();
+        for (Dependency dependency : dependencies) {
+            Optional<String> latestVersion = await(pipeline.latestVersion(dependency));
+            addResult(updates, unresolved, "dependency", dependency.groupId(), dependency.artifactId(), dependency.version(),
+                    latestVersion, pipeline.isUnresolved(dependency), modulesOf.apply(dependency));
+        }
+        int checkedParents = 0;
+        for (Project project : checkedModules) {
+            if (project.hasParent()) {
+                checkedParents++;
+                Project.Parent parent = project.parent();
+                Optional<String> latestVersion = await(pipeline.latestParentVersion(parent));
+                addResult(updates, unresolved, "parent", parent.groupId(), parent.artifactId(), parent.version(),
+                        latestVersion, pipeline.isUnresolved(parent), List.of(project.artifactId()));
+            }
+        }
+        return new CheckResult(updates, unresolved, dependencies.size(), checkedParents);
+    }
+
+    private static void addResult(List<UpdateSnapshot.Entry> updates, List<Unresolved> unresolved, String kind, String groupId,
+                                  String artifactId, String currentVersion, Optional<String> latestVersion,
+                                  boolean cutOff, List<String> modules) {
+        if (latestVersion.isPresent() && !latestVersion.get().equals(currentVersion)) {
+            updates.add(new UpdateSnapshot.Entry(kind, groupId, artifactId, currentVersion, latestVersion.get(), modules));
+        } else if (cutOff) {
+            unresolved.add(new Unresolved(kind, groupId, artifactId, currentVersion, modules));
+        }
+    }
 
-        if (!dependencies.isEmpty()) {
+    /**
+     * Waits for a lookup. Only if it is still running, the rows printed so far are shown first, as they are final.
+     */
+    private Optional<String> await(CompletableFuture<Optional<String>> lookup) {
+        if (!lookup.isDone()) {
+            colorOutput.flush();
+        }
+        return lookup.join();
+    }
+
+    /**
+     * Writes the updates to the snapshot file if one was requested.
+     *
+     * @return the exit code of the check, or 1 if the snapshot cannot be written
+     */
+    private int saveSnapshot(int exitCode, List<UpdateSnapshot.Entry> updates) {
+        if (snapshot != null && exitCode == PARTIAL_EXIT_CODE) {
+            colorOutput.flush();
+            System.err.println("Snapshot " + snapshot + " not written, " + (deadline != null
+                    ? "the deadline expired before all lookups completed" : "some lookups failed"));
+        }
+        if (snapshot == null || exitCode != 0) {
+            return exitCode;
+        }
+        try {
+            UpdateSnapshot.write(snapshot, updates);
+            return exitCode;
+        } catch (IOException e) {
+            colorOutput.flush();
+            System.err.println("Cannot write snapshot " + snapshot + ": " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Prints only the updates that are new, changed or resolved since the previous snapshot.
+     */
+    private int reportDelta(Project project, List<UpdateSnapshot.Entry> previousUpdates, CheckResult result,
+                            VersionLookupPipeline pipeline, OutputFormat outputFormat) {
+        // An artifact whose lookup failed is neither resolved nor still outdated, so its previous update is not compared
+        Set<String> unresolved = result.unresolved().stream()
+                .map(artifact -> artifact.kind() + ":" + artifact.groupId() + ":" + artifact.artifactId())
+                .collect(Collectors.toSet());
+        List<UpdateSnapshot.Entry> comparedUpdates = previousUpdates.stream()
+                .filter(entry -> !unresolved.contains(entry.kind() + ":" + entry.groupId() + ":" + entry.artifactId()))
+                .toList();
+        List<UpdateSnapshot.Entry> updates = result.updates();
+        UpdateSnapshot.Delta delta = UpdateSnapshot.diff(comparedUpdates, updates);
+        if (outputFormat != OutputFormat.TEXT) {
+            try (JsonEventWriter events = new JsonEventWriter(System.out, outputFormat)) {
+                events.writeProject(project, project.isMultiModule() || forceMultiModule);
+                delta.added().forEach(entry -> events.writeDelta("new", entry, null));
+                delta.changed().forEach(change -> events.writeDelta("changed", change.current(), change.previous()));
+                delta.resolved().forEach(entry -> events.writeDelta("resolved", entry, null));
+                Map<String, Integer> summary = new LinkedHashMap<>();
+                summary.put("new", delta.added().size());
+                summary.put("changed", delta.changed().size());
+                summary.put("resolved", delta.resolved().size());
+                summary.put("unchanged", delta.unchangedCount());
+                summary.put("updates", updates.size());
+                putUnresolvedCount(summary, pipeline);
+                putLookupMetrics(summary);
+                events.writeSummary(summary);
+            }
+            return saveSnapshot(exitCode(pipeline), updates);
+        }
+
+        colorOutput.println("--- Update Changes Since Snapshot: " + diff + " ---", ColorOutputService.ColorType.BLUE, ColorOutputService.ColorType.BOLD);
+        colorOutput.println("Project: " + project.getCoordinates());
+        if (delta.isEmpty()) {
+            colorOutput.println("\nNo changes since the snapshot.", ColorOutputService.ColorType.GREEN);
+        }
+        if (!delta.added().isEmpty()) {
+            colorOutput.println("\nNew Updates (" + delta.added().size() + "):", ColorOutputService.ColorType.BLUE);
+            for (UpdateSnapshot.Entry entry : delta.added()) {
+                colorOutput.println("  + " + formatUpdate(entry), ColorOutputService.ColorType.YELLOW);
+            }
+        }
+        if (!delta.changed().isEmpty()) {
+            colorOutput.println("\nChanged Updates (" + delta.changed().size() + "):", ColorOutputService.ColorType.BLUE);
+            for (UpdateSnapshot.Change change : delta.changed()) {
+                UpdateSnapshot.Entry previous = change.previous();
+                colorOutput.println("  ~ " + formatUpdate(change.current()) + " [was " + displayVersion(previous.currentVersion())
+                        + " -> " + previous.latestVersion() + "]", ColorOutputService.ColorType.ORANGE);
+            }
+        }
+        if (!delta.resolved().isEmpty()) {
+            colorOutput.println("\nResolved Updates (" + delta.resolved().size() + "):", ColorOutputService.ColorType.BLUE);
+            for (UpdateSnapshot.Entry entry : delta.resolved()) {
+                colorOutput.println("  - " + formatUpdate(entry), ColorOutputService.ColorType.GREEN);
+            }
+        }
+        colorOutput.println("\n--- Summary ---", ColorOutputService.ColorType.BLUE, ColorOutputService.ColorType.BOLD);
+        colorOutput.println(delta.added().size() + " new, " + delta.changed().size() + " changed, " + delta.resolved().size()
+                + " resolved, " + delta.unchangedCount() + " unchanged update(s).");
+        printUnresolvedNote(pipeline);
+        printLookupNotes();
+        return saveSnapshot(exitCode(pipeline), updates);
+    }
+
+    /**
+     * Notes how many versions were answered from expired cache entries, which are refreshed for the next run,
+     * and prints the metrics of the repository requests.
+     */
+    private void printLookupNotes() {
+        int possiblyStale = versionService.getPossiblyStaleCount();
+        if (possiblyStale > 0) {
+            colorOutput.println("\nNOTE: " + possiblyStale + " latest version(s) came from expired cache entries and may be outdated." +
+                               " They are refreshed in the background for the next run.", ColorOutputService.ColorType.ORANGE);
+        }
+        versionService.getRequestMetrics()
+                .filter(metrics -> metrics.requests() > 0)
+                .ifPresent(metrics -> colorOutput.println("Repository requests: " + metrics.requests()
+                        + " (concurrency limit " + metrics.limit()
+                        + ", average latency " + metrics.averageLatency().toMillis() + " ms"
+                        + ", min " + metrics.minLatency().toMillis() + " ms"
+                        + ", " + metrics.overloads() + " overloaded)"));
+    }
+
+    /**
+     * Warns that lookups failed or were cut off by the deadline, so the report is incomplete.
+     */
+    private void printUnresolvedNote(VersionLookupPipeline pipeline) {
+        int unresolvedCount = pipeline.unresolvedCount();
+        if (unresolvedCount > 0) {
+            String reason = deadline != null
+                    ? "The deadline of " + deadline + "s expired before " + unresolvedCount + " lookup(s) completed."
+                    : unresolvedCount + " lookup(s) failed, see errors above.";
+            colorOutput.println("\nWARNING: " + reason + " Their updates are missing from this report.",
+                    ColorOutputService.ColorType.RED);
+        }
+    }
+
+    private static int exitCode(VersionLookupPipeline pipeline) {
+        return pipeline.unresolvedCount() > 0 ? PARTIAL_EXIT_CODE : 0;
+    }
+
+    private void putLookupMetrics(Map<String, Integer> summary) {
+        int possiblyStale = versionService.getPossiblyStaleCount();
+        if (possiblyStale > 0) {
+            summary.put("possiblyStale", possiblyStale);
+        }
+        versionService.getRequestMetrics()
+                .filter(metrics -> metrics.requests() > 0)
+                .ifPresent(metrics -> {
+                    summary.put("requests", (int) metrics.requests());
+                    summary.put("concurrencyLimit", metrics.limit());
+                    summary.put("averageLatencyMs", (int) metrics.averageLatency().toMillis());
+                    summary.put("overloads", (int) metrics.overloads());
+                });
+    }
+
+    private static String formatUpdate(UpdateSnapshot.Entry entry) {
+        return (entry.kind().equals("parent") ? "parent " : "") + entry.groupId() + ":" + entry.artifactId() + " "
+                + displayVersion(entry.currentVersion()) + " -> " + entry.latestVersion() + " (Modules: " + displayModules(entry.modules()) + ")";
+    }
+
+    private static String displayModules(List<String> modules) {
+        return modules.isEmpty() ? "root/inherited" : String.join(", ", modules);
+    }
+
+    private static String displayVersion(String version) {
+        return version != null ? version : "managed";
+    }
+
+    /**
+     * Resolves symbolic links in the POM file of a module, as git reports real paths.
+     */
+    private static Path realPomFile(Project project) {
+        Path pomFile = ChangedModules.pomFileOf(project);
+        if (pomFile == null) {
+            return null;
+        }
+        try {
+            return pomFile.toRealPath();
+        } catch (IOException e) {
+            return pomFile;
+        }
+    }
+
+
+    private void handleSingleModuleUpdates(Project project, CheckResult result, VersionLookupPipeline pipeline) {
+        if (result.checkedDependencies() > 0) {
             colorOutput.println("\nDependency Updates Available:", ColorOutputService.ColorType.BLUE);
             colorOutput.printf("  %-50s %-20s %-5s %-20s%n", "DEPENDENCY", "CURRENT", " ", "LATEST");
             colorOutput.println("  " + "-".repeat(97));
-            boolean depHeaderPrinted = false;
-            for (Dependency dependency : dependencies) {
-                Optional<String> latestVersion = versionService.getLatestVersion(dependency);
-                if (latestVersion.isPresent() && !latestVersion.get().equals(dependency.version())) {
-                    updatesAvailable = true;
-                    updateCount++;
-                    String arrow = colorOutput.getUpdateArrow(dependency.version(), latestVersion.get());
-                    colorOutput.printf("  %-50s %-20s %s %-20s%n",
-                        dependency.groupId() + ":" + dependency.artifactId(),
-                        dependency.version(),
-                        arrow,
-                        latestVersion.get());
-                    depHeaderPrinted = true;
-                }
-            }
-            if (!depHeaderPrinted) {
+            if (!printSingleModuleRows(result, "dependency")) {
                  colorOutput.println("  All dependencies are up to date.", ColorOutputService.ColorType.GREEN);
             }
         } else {
@@ -198,58 +737,65 @@ public class CheckUpdatesCommand implements Callable<Integer> {
             colorOutput.println("\nParent Project Update (" + parent.getCoordinates() + "):", ColorOutputService.ColorType.BLUE);
             colorOutput.printf("  %-50s %-20s %-5s %-20s%n", "PARENT", "CURRENT", " ", "LATEST");
             colorOutput.println("  " + "-".repeat(97));
-            Optional<String> latestParentVersion = versionService.getLatestParentVersion(parent);
-            if (latestParentVersion.isPresent() && !latestParentVersion.get().equals(parent.version())) {
-                updatesAvailable = true;
-                updateCount++;
-                String arrow = colorOutput.getUpdateArrow(parent.version(), latestParentVersion.get());
-                colorOutput.printf("  %-50s %-20s %s %-20s%n",
-                    parent.groupId() + ":" + parent.artifactId(),
-                    parent.version(),
-                    arrow,
-                    latestParentVersion.get());
-            } else {
+            if (!printSingleModuleRows(result, "parent")) {
                  colorOutput.println("  Parent is up to date or no newer version found.", ColorOutputService.ColorType.GREEN);
             }
         }
 
         colorOutput.println("\n--- Summary ---", ColorOutputService.ColorType.BLUE, ColorOutputService.ColorType.BOLD);
-        if (!updatesAvailable) {
-            colorOutput.println("Project is up to date. No dependency or parent updates found.", ColorOutputService.ColorType.GREEN);
+        if (!result.updates().isEmpty()) {
+            colorOutput.println("Found " + result.updates().size() + " potential update(s).", ColorOutputService.ColorType.YELLOW);
+        } else if (pipeline.unresolvedCount() > 0) {
+            colorOutput.println("No dependency or parent updates found among the resolved artifacts.", ColorOutputService.ColorType.YELLOW);
         } else {
-            colorOutput.println("Found " + updateCount + " potential update(s).", ColorOutputService.ColorType.YELLOW);
+            colorOutput.println("Project is up to date. No dependency or parent updates found.", ColorOutputService.ColorType.GREEN);
         }
-        return 0;
+        printUnresolvedNote(pipeline);
+        printLookupNotes();
     }
 
-    private Integer handleMultiModuleUpdates(List<Project> projects, Project rootProjectContext) throws Exception {
-        MultiModuleDependencyCollector.DependencyReport report = dependencyCollector.collectDependencies(projects);
-        List<Dependency> consolidatedDependencies = report.getConsolidatedDependencies();
-        boolean anyUpdatesFound = false;
-        int updateCount = 0;
+    /**
+     * Prints the update and unresolved rows of one kind.
+     *
+     * @return whether any row was printed
+     */
+    private boolean printSingleModuleRows(CheckResult result, String kind) {
+        List<UpdateSnapshot.Entry> updates = result.updates(kind);
+        List<Unresolved> unresolved = result.unresolved(kind);
+        for (UpdateSnapshot.Entry update : updates) {
+            colorOutput.printf("  %-50s %-20s %s %-20s%n",
+                update.groupId() + ":" + update.artifactId(),
+                update.currentVersion(),
+                colorOutput.getUpdateArrow(update.currentVersion(), update.latestVersion()),
+                update.latestVersion());
+        }
+        for (Unresolved artifact : unresolved) {
+            colorOutput.printf("  %-50s %-20s %-5s %-20s%n", ColorOutputService.ColorType.RED,
+                artifact.groupId() + ":" + artifact.artifactId(), artifact.currentVersion(), " ", UNRESOLVED);
+        }
+        return !updates.isEmpty() || !unresolved.isEmpty();
+    }
 
-        if (!consolidatedDependencies.isEmpty()) {
+    private void handleMultiModuleUpdates(MultiModuleDependencyCollector.DependencyReport report, CheckResult result,
+                                          VersionLookupPipeline pipeline) {
+        if (result.checkedDependencies() > 0) {
             colorOutput.println("\nConsolidated Dependency Updates Available:", ColorOutputService.ColorType.BLUE);
             colorOutput.printf("  %-50s %-20s %-5s %-20s %s%n", "DEPENDENCY", "CURRENT", " ", "LATEST", "AFFECTED MODULES");
             colorOutput.println("  " + "-".repeat(120));
-            boolean depHeaderPrinted = false;
-            for (Dependency dependency : consolidatedDependencies) {
-                Optional<String> latestVersion = versionService.getLatestVersion(dependency);
-                if (latestVersion.isPresent() && !latestVersion.get().equals(dependency.version())) {
-                    anyUpdatesFound = true;
-                    updateCount++;
-                    depHeaderPrinted = true;
-                    String depCoord = dependency.groupId() + ":" + dependency.artifactId();
-                    Map<String, List<String>> usageMap = report.getDependencyUsageByModule();
-                    List<String> usingModules = usageMap != null ? usageMap.get(depCoord) : null;
-                    String modulesList = (usingModules != null && !usingModules.isEmpty()) ? String.join(", ", usingModules) : "root/inherited";
-                    String arrow = colorOutput.getUpdateArrow(dependency.version(), latestVersion.get());
-                    String currentVersionDisplay = dependency.version() != null ? dependency.version() : "managed";
-                    colorOutput.printf("  %-50s %-20s %s %-20s (Modules: %s)%n",
-                        depCoord, currentVersionDisplay, arrow, latestVersion.get(), modulesList);
-                }
+            List<UpdateSnapshot.Entry> updates = result.updates("dependency");
+            List<Unresolved> unresolved = result.unresolved("dependency");
+            for (UpdateSnapshot.Entry update : updates) {
+                colorOutput.printf("  %-50s %-20s %s %-20s (Modules: %s)%n",
+                    update.groupId() + ":" + update.artifactId(), displayVersion(update.currentVersion()),
+                    colorOutput.getUpdateArrow(update.currentVersion(), update.latestVersion()), update.latestVersion(),
+                    displayModules(update.modules()));
+            }
+            for (Unresolved artifact : unresolved) {
+                colorOutput.printf("  %-50s %-20s %-5s %-20s (Modules: %s)%n", ColorOutputService.ColorType.RED,
+                    artifact.groupId() + ":" + artifact.artifactId(), displayVersion(artifact.currentVersion()), " ", UNRESOLVED,
+                    displayModules(artifact.modules()));
             }
-            if (!depHeaderPrinted) {
+            if (updates.isEmpty() && unresolved.isEmpty()) {
                  colorOutput.println("  All consolidated dependencies are up to date.", ColorOutputService.ColorType.GREEN);
             }
         } else {
@@ -259,39 +805,34 @@ public class CheckUpdatesCommand implements Callable<Integer> {
         colorOutput.println("\nParent Project Updates (Per Module):", ColorOutputService.ColorType.BLUE);
         colorOutput.printf("  %-20s %-50s %-20s %-5s %-20s%n", "MODULE", "PARENT", "CURRENT", " ", "LATEST");
         colorOutput.println("  " + "-".repeat(120));
-        boolean parentHeaderPrinted = false;
-        boolean hasModulesWithParents = false;
-        for (Project project : projects) {
-            if (project.hasParent()) {
-                hasModulesWithParents = true;
-                Project.Parent parent = project.parent();
-                Optional<String> latestParentVersion = versionService.getLatestParentVersion(parent);
-                if (latestParentVersion.isPresent() && !latestParentVersion.get().equals(parent.version())) {
-                    anyUpdatesFound = true;
-                    updateCount++;
-                    parentHeaderPrinted = true;
-                    String arrow = colorOutput.getUpdateArrow(parent.version(), latestParentVersion.get());
-                    colorOutput.printf("  %-20s %-50s %-20s %s %-20s%n",
-                        project.artifactId(), // Module name
-                        parent.groupId()+":"+parent.artifactId(), // Parent GAV
-                        parent.version(), // Parent current version
-                        arrow, // Colored arrow
-                        latestParentVersion.get()); // Parent latest version
-                }
-            }
+        List<UpdateSnapshot.Entry> parentUpdates = result.updates("parent");
+        List<Unresolved> unresolvedParents = result.unresolved("parent");
+        for (UpdateSnapshot.Entry update : parentUpdates) {
+            colorOutput.printf("  %-20s %-50s %-20s %s %-20s%n",
+                update.modules().get(0), // Module name
+                update.groupId() + ":" + update.artifactId(), // Parent GAV
+                update.currentVersion(), // Parent current version
+                colorOutput.getUpdateArrow(update.currentVersion(), update.latestVersion()), // Colored arrow
+                update.latestVersion()); // Parent latest version
+        }
+        for (Unresolved artifact : unresolvedParents) {
+            colorOutput.printf("  %-20s %-50s %-20s %-5s %-20s%n", ColorOutputService.ColorType.RED,
+                artifact.modules().get(0), artifact.groupId() + ":" + artifact.artifactId(), artifact.currentVersion(), " ", UNRESOLVED);
         }
 
-        if (!parentHeaderPrinted && hasModulesWithParents) {
-             colorOutput.println("  All module parents are up to date or no newer versions found.", ColorOutputService.ColorType.GREEN);
-        } else if (!hasModulesWithParents) {
+        if (result.checkedParents() == 0) {
             colorOutput.println("  No parent projects defined in any of the modules.");
+        } else if (parentUpdates.isEmpty() && unresolvedParents.isEmpty()) {
+             colorOutput.println("  All module parents are up to date or no newer versions found.", ColorOutputService.ColorType.GREEN);
         }
 
         colorOutput.println("\n--- Summary ---", ColorOutputService.ColorType.BLUE, ColorOutputService.ColorType.BOLD);
-        if (!anyUpdatesFound) {
-            colorOutput.println("Project is up to date. No consolidated dependency or parent updates found.", ColorOutputService.ColorType.GREEN);
+        if (!result.updates().isEmpty()) {
+            colorOutput.println("Found " + result.updates().size() + " potential update(s) across the multi-module project.", ColorOutputService.ColorType.YELLOW);
+        } else if (pipeline.unresolvedCount() > 0) {
+            colorOutput.println("No consolidated dependency or parent updates found among the resolved artifacts.", ColorOutputService.ColorType.YELLOW);
         } else {
-            colorOutput.println("Found " + updateCount + " potential update(s) across the multi-module project.", ColorOutputService.ColorType.YELLOW);
+            colorOutput.println("Project is up to date. No consolidated dependency or parent updates found.", ColorOutputService.ColorType.GREEN);
         }
 
         if (report.hasVersionInconsistencies()) {
@@ -299,6 +840,90 @@ public class CheckUpdatesCommand implements Callable<Integer> {
                                " inconsistent dependency version(s) identified in the analysis section." +
                                " Please review them as they might affect update decisions.", ColorOutputService.ColorType.ORANGE);
         }
-        return 0;
+        printUnresolvedNote(pipeline);
+        printLookupNotes();
+    }
+
+    private CheckResult writeSingleModuleUpdateEvents(Project project, VersionLookupPipeline pipeline, JsonEventWriter events) {
+        events.writeProject(project, false);
+        CheckResult result = resolveSingleModuleUpdates(project, pipeline);
+        writeResultEvents(result, events);
+
+        Map<String, Integer> summary = new LinkedHashMap<>();
+        summary.put("updates", result.updates().size());
+        putUnresolvedCount(summary, pipeline);
+        putLookupMetrics(summary);
+        events.writeSummary(summary);
+        return result;
+    }
+
+    private CheckResult writeMultiModuleUpdateEvents(List<Project> projects, List<Project> checkedModules, Project rootProject,
+                                                     MultiModuleDependencyCollector.DependencyReport report,
+                                                     VersionLookupPipeline pipeline, JsonEventWriter events) {
+        events.writeProject(rootProject, true);
+        for (Project project : projects) {
+            events.writeModule(project);
+        }
+        for (MultiModuleDependencyCollector.VersionInconsistency inconsistency : report.getVersionInconsistencies()) {
+            events.writeInconsistency(inconsistency);
+        }
+        CheckResult result = resolveMultiModuleUpdates(report, projects, checkedModules, pipeline);
+        writeResultEvents(result, events);
+
+        Map<String, Integer> summary = new LinkedHashMap<>();
+        summary.put("modules", projects.size());
+        if (since != null) {
+            summary.put("checked", checkedModules.size());
+        }
+        summary.put("inconsistencies", report.getVersionInconsistencies().size());
+        summary.put("updates", result.updates().size());
+        putUnresolvedCount(summary, pipeline);
+        putLookupMetrics(summary);
+        events.writeSummary(summary);
+        return result;
+    }
+
+    private static void writeResultEvents(CheckResult result, JsonEventWriter events) {
+        for (UpdateSnapshot.Entry update : result.updates()) {
+            events.writeUpdate(update.kind(), update.groupId(), update.artifactId(),
+                    update.currentVersion(), update.latestVersion(), update.modules());
+        }
+        for (Unresolved artifact : result.unresolved()) {
+            events.writeUnresolved(artifact.kind(), artifact.groupId(), artifact.artifactId(),
+                    artifact.currentVersion(), artifact.modules());
+        }
+    }
+
+    private static void putUnresolvedCount(Map<String, Integer> summary, VersionLookupPipeline pipeline) {
+        int unresolvedCount = pipeline.unresolvedCount();
+        if (unresolvedCount > 0) {
+            summary.put("unresolved", unresolvedCount);
+        }
+    }
+
+    /**
+     * The outcome of the lookups of a run in report order, dependencies before parents.
+     *
+     * @param updates the available updates
+     * @param unresolved the artifacts whose lookup failed or was cut off by the deadline
+     * @param checkedDependencies the number of dependencies checked
+     * @param checkedParents the number of module parents checked
+     */
+    private record CheckResult(List<UpdateSnapshot.Entry> updates, List<Unresolved> unresolved,
+                               int checkedDependencies, int checkedParents) {
+
+        List<UpdateSnapshot.Entry> updates(String kind) {
+            return updates.stream().filter(update -> update.kind().equals(kind)).toList();
+        }
+
+        List<Unresolved> unresolved(String kind) {
+            return unresolved.stream().filter(artifact -> artifact.kind().equals(kind)).toList();
+        }
+    }
+
+    /**
+     * An artifact whose lookup failed or was cut off by the deadline.
+     */
+    private record Unresolved(String kind, String groupId, String artifactId, String currentVersion, List<String> modules) {
     }
 }
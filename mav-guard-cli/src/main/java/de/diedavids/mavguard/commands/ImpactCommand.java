@@ -0,0 +1,187 @@
+package de.diedavids.mavguard.commands;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.service.ColorOutputService;
+import de.diedavids.mavguard.service.JsonEventWriter;
+import de.diedavids.mavguard.service.OutputFormat;
+import de.diedavids.mavguard.xml.ModuleDependencyIndex;
+import de.diedavids.mavguard.xml.PomDirectoryScanner;
+import de.diedavids.mavguard.xml.PomParser;
+import jakarta.xml.bind.JAXBException;
+import org.springframework.stereotype.Component;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Shows which modules are affected by a change of an artifact, for example a version bump: the modules declaring it
+ * and, through a {@link ModuleDependencyIndex}, every module depending on or inheriting from them within the build.
+ */
+@Component
+@Command(
+    name = "impact",
+    description = "Shows the modules affected by changing a dependency, including modules depending on them.",
+    mixinStandardHelpOptions = true
+)
+public class ImpactCommand implements Callable<Integer> {
+
+    private final PomParser pomParser;
+    private final PomDirectoryScanner directoryScanner;
+    private final ColorOutputService colorOutput;
+
+    @Parameters(index = "0", paramLabel = "<groupId:artifactId>", description = "The artifact to check, e.g. org.slf4j:slf4j-api")
+    private String artifact;
+
+    @Parameters(index = "1", arity = "0..1", paramLabel = "<filePath>",
+            description = "Path to the root POM file (or directory with --scan), defaults to pom.xml")
+    private String filePath = "pom.xml";
+
+    @Option(names = "--scan", description = "Scan the given directory for all pom.xml files and check them as one workspace")
+    private boolean scan = false;
+
+    @Option(names = "--ignore", split = ",", paramLabel = "<glob>",
+            description = "Glob pattern of paths to skip during --scan, relative to the scanned directory (repeatable)")
+    private List<String> ignorePatterns = new ArrayList<>();
+
+    @Option(names = "--color", description = "When to use colors: auto (default), always, never")
+    private String colorMode = "auto";
+
+    @Option(names = "--format", description = "Output format: text (default), json, ndjson")
+    private String format = "text";
+
+    public ImpactCommand(PomParser pomParser, PomDirectoryScanner directoryScanner, ColorOutputService colorOutput) {
+        this.pomParser = pomParser;
+        this.directoryScanner = directoryScanner;
+        this.colorOutput = colorOutput;
+    }
+
+    @Override
+    public Integer call() {
+        try {
+            ColorOutputService.ColorMode mode = ColorOutputService.ColorMode.valueOf(colorMode.toUpperCase());
+            colorOutput.setColorMode(mode);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid color mode: " + colorMode + ". Valid options: auto, always, never");
+            return 1;
+        }
+
+        OutputFormat outputFormat;
+        try {
+            outputFormat = OutputFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid output format: " + format + ". Valid options: text, json, ndjson");
+            return 1;
+        }
+
+        String[] coordinates = artifact.split(":");
+        if (coordinates.length != 2 || coordinates[0].isEmpty() || coordinates[1].isEmpty()) {
+            System.err.println("Invalid artifact: " + artifact + ". Expected groupId:artifactId");
+            return 1;
+        }
+        String groupId = coordinates[0];
+        String artifactId = coordinates[1];
+
+        File file = new File(filePath);
+        if (!scan && file.isDirectory()) {
+            file = new File(file, "pom.xml");
+        }
+        if (!file.exists()) {
+            System.err.println("File not found: " + file.getPath());
+            return 1;
+        }
+        if (scan && !file.isDirectory()) {
+            System.err.println("Not a directory: " + filePath + ". --scan expects the directory to scan");
+            return 1;
+        }
+
+        try {
+            List<Project> projects = scan
+                    ? directoryScanner.scan(file.toPath(), ignorePatterns)
+                    : pomParser.parseMultiModuleProject(file);
+            ModuleDependencyIndex index = new ModuleDependencyIndex(projects);
+            BitSet declaring = index.getDeclaringModules(groupId, artifactId);
+            BitSet affected = index.getAffectedModules(groupId, artifactId);
+
+            if (outputFormat != OutputFormat.TEXT) {
+                try (JsonEventWriter events = new JsonEventWriter(System.out, outputFormat)) {
+                    for (int module = affected.nextSetBit(0); module >= 0; module = affected.nextSetBit(module + 1)) {
+                        events.writeImpact(index.getModule(module), declaring.get(module),
+                                declaredVersion(index.getModule(module), groupId, artifactId));
+                    }
+                    Map<String, Integer> summary = new LinkedHashMap<>();
+                    summary.put("modules", index.getModules().size());
+                    summary.put("declaring", declaring.cardinality());
+                    summary.put("affected", affected.cardinality());
+                    events.writeSummary(summary);
+                }
+                return 0;
+            }
+
+            printImpact(index, groupId, artifactId, declaring, affected);
+            return 0;
+        } catch (JAXBException e) {
+            colorOutput.flush();
+            System.err.println("Error parsing POM file: " + filePath);
+            System.err.println("Details: " + e.getMessage());
+            return 1;
+        } finally {
+            colorOutput.flush();
+        }
+    }
+
+    private void printImpact(ModuleDependencyIndex index, String groupId, String artifactId, BitSet declaring, BitSet affected) {
+        String artifact = groupId + ":" + artifactId;
+        if (affected.isEmpty()) {
+            colorOutput.println("No module of the " + index.getModules().size() + " modules uses " + artifact + ".",
+                    ColorOutputService.ColorType.GREEN);
+            return;
+        }
+        colorOutput.println("Impact of " + artifact + " (" + affected.cardinality() + " of " + index.getModules().size()
+                + " modules affected)", ColorOutputService.ColorType.BLUE, ColorOutputService.ColorType.BOLD);
+
+        if (!declaring.isEmpty()) {
+            colorOutput.println("\nDeclared by (" + declaring.cardinality() + "):", ColorOutputService.ColorType.BLUE);
+            for (int module = declaring.nextSetBit(0); module >= 0; module = declaring.nextSetBit(module + 1)) {
+                Project project = index.getModule(module);
+                String version = declaredVersion(project, groupId, artifactId);
+                colorOutput.println("  - " + project.getCoordinates() + (version != null ? " (" + version + ")" : ""));
+            }
+        }
+
+        BitSet indirect = (BitSet) affected.clone();
+        indirect.andNot(declaring);
+        if (!indirect.isEmpty()) {
+            colorOutput.println("\nAffected through module dependencies and inheritance (" + indirect.cardinality() + "):",
+                    ColorOutputService.ColorType.ORANGE);
+            for (int module = indirect.nextSetBit(0); module >= 0; module = indirect.nextSetBit(module + 1)) {
+                colorOutput.println("  - " + index.getModule(module).getCoordinates());
+            }
+        }
+    }
+
+    /**
+     * Returns how a module declares the artifact: the version of its dependency or managed dependency, "managed"
+     * if that has no version of its own, "parent" followed by the version if it is the module's parent, or null if
+     * the module does not declare it.
+     */
+    private static String declaredVersion(Project project, String groupId, String artifactId) {
+        for (Dependency dependency : project.getAllDependencies()) {
+            if (groupId.equals(dependency.groupId()) && artifactId.equals(dependency.artifactId())) {
+                return dependency.version() != null ? dependency.version() : "managed";
+            }
+        }
+        if (project.hasParent() && groupId.equals(project.parent().groupId()) && artifactId.equals(project.parent().artifactId())) {
+            return "parent " + project.parent().version();
+        }
+        return null;
+    }
+}
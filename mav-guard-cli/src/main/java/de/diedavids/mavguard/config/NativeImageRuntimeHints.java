@@ -0,0 +1,80 @@
+package de.diedavids.mavguard.config;
+
+import de.diedavids.mavguard.MavGuardApplication;
+import de.diedavids.mavguard.commands.AnalyzeCommand;
+import de.diedavids.mavguard.commands.BatchCheckUpdatesCommand;
+import de.diedavids.mavguard.commands.CheckUpdatesCommand;
+import de.diedavids.mavguard.commands.ImpactCommand;
+import de.diedavids.mavguard.nexus.client.NexusClient;
+import de.diedavids.mavguard.nexus.model.MavenMetadata;
+import de.diedavids.mavguard.xml.model.XmlDependency;
+import de.diedavids.mavguard.xml.model.XmlPluginDependency;
+import de.diedavids.mavguard.xml.model.XmlProject;
+import de.diedavids.mavguard.xml.model.XmlProperties;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Runtime hints for the GraalVM native image build of the CLI.
+ * Spring AOT covers the bean definitions, but the JAXB models, the picocli command
+ * classes and the HTTP interface proxy for {@link NexusClient} are only reached
+ * reflectively and have to be registered explicitly.
+ */
+public class NativeImageRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final MemberCategory[] JAXB_MEMBERS = {
+            MemberCategory.DECLARED_FIELDS,
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_DECLARED_METHODS
+    };
+
+    private static final MemberCategory[] COMMAND_MEMBERS = {
+            MemberCategory.DECLARED_FIELDS,
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_DECLARED_METHODS,
+            MemberCategory.INVOKE_PUBLIC_METHODS
+    };
+
+    static final List<Class<?>> JAXB_MODEL_TYPES = List.of(
+            XmlProject.class,
+            XmlProject.XmlParent.class,
+            XmlProject.XmlDependencyManagement.class,
+            XmlProject.XmlBuild.class,
+            XmlDependency.class,
+            XmlDependency.XmlExclusion.class,
+            XmlPluginDependency.class,
+            XmlProperties.class,
+            MavenMetadata.class,
+            MavenMetadata.Versioning.class
+    );
+
+    static final List<Class<?>> COMMAND_TYPES = List.of(
+            MavGuardApplication.class,
+            AnalyzeCommand.class,
+            CheckUpdatesCommand.class,
+            BatchCheckUpdatesCommand.class,
+            ImpactCommand.class
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        JAXB_MODEL_TYPES.forEach(type -> hints.reflection().registerType(type, JAXB_MEMBERS));
+
+        COMMAND_TYPES.forEach(type -> hints.reflection().registerType(type, COMMAND_MEMBERS));
+        // Added by picocli for mixinStandardHelpOptions (--help / --version)
+        hints.reflection().registerType(TypeReference.of("picocli.CommandLine$AutoHelpMixin"), COMMAND_MEMBERS);
+
+        // HttpServiceProxyFactory creates a JDK proxy for the client interface at runtime
+        hints.reflection().registerType(NexusClient.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(NexusClient.class));
+
+        // Optional configuration imported via spring.config.import
+        hints.resources().registerPattern("application-secrets.properties");
+        hints.resources().registerPattern("META-INF/services/jakarta.xml.bind.JAXBContextFactory");
+    }
+}
@@ -0,0 +1,44 @@
+package de.diedavids.mavguard.config;
+
+import de.diedavids.mavguard.cache.CacheFiles;
+import de.diedavids.mavguard.nexus.config.NexusProperties;
+import de.diedavids.mavguard.nexus.service.VersionMetadataCache;
+import de.diedavids.mavguard.service.ResultCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration for the cache of complete check-updates results.
+ */
+@Configuration
+public class ResultCacheConfig {
+
+    /**
+     * Creates the ResultCache bean. Entries are stored in the {@code results} directory of the POM cache and are
+     * only valid for the repository configuration they were created with and the generation of the version cache,
+     * which changes once looked-up versions differ from the cached ones. The repository properties are resolved
+     * when the cache is used, so commands not using it never bind them.
+     *
+     * @param repositoryProperties the configured repository
+     * @param versionMetadataCache the versions cached for the configured repository
+     * @param cacheDirectory the directory of the POM cache, defaults to {@code ~/.mav-guard/cache}
+     * @return the ResultCache instance
+     */
+    @Bean
+    public ResultCache resultCache(ObjectProvider<NexusProperties> repositoryProperties,
+                                   ObjectProvider<VersionMetadataCache> versionMetadataCache,
+                                   @Value("${mavguard.cache.directory:}") String cacheDirectory) {
+        Path directory = cacheDirectory.isBlank() ? CacheFiles.defaultDirectory() : Path.of(cacheDirectory);
+        return new ResultCache(directory.resolve("results"), () -> {
+            NexusProperties properties = repositoryProperties.getObject();
+            // The password is left out, it does not change which versions are found
+            return String.join("\n", String.valueOf(properties.type()), properties.baseUrl(),
+                    String.valueOf(properties.repository()), String.valueOf(properties.username()),
+                    String.valueOf(versionMetadataCache.getObject().generation()));
+        });
+    }
+}
@@ -1,9 +1,23 @@
 package de.diedavids.mavguard.config;
 
+import de.diedavids.mavguard.cache.CacheFiles;
+import de.diedavids.mavguard.nexus.service.RepositoryServiceFactory;
+import de.diedavids.mavguard.service.RepositoryPomSource;
+import de.diedavids.mavguard.xml.PomDirectoryScanner;
 import de.diedavids.mavguard.xml.PomParser;
+import de.diedavids.mavguard.xml.TransitiveDependencyResolver;
 import de.diedavids.mavguard.xml.XmlParser;
+import de.diedavids.mavguard.xml.repository.BomResolver;
+import de.diedavids.mavguard.xml.repository.CachingPomSource;
+import de.diedavids.mavguard.xml.repository.LocalRepositoryPomSource;
+import de.diedavids.mavguard.xml.repository.ParentPomResolver;
+import de.diedavids.mavguard.xml.repository.PomSource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.nio.file.Path;
 
 /**
  * Configuration for XML parser beans.
@@ -21,14 +35,77 @@ public class XmlParserConfig {
         return new XmlParser();
     }
 
+    /**
+     * Creates the ParentPomResolver bean. Being a singleton, its cache is shared by all commands,
+     * so every parent POM is parsed at most once per run.
+     *
+     * <p>
+     * Parents are read from the local Maven repository first. Parents missing there are fetched through the
+     * configured repository service and kept in a content-addressed cache. The repository service is injected
+     * lazily, so projects whose parents are all available locally never set up the repository client stack.
+     *
+     * @param xmlParser the XML parser to use
+     * @param repositoryServiceFactory the factory for the configured repository service
+     * @param cacheDirectory the directory of the POM cache, defaults to {@code ~/.mav-guard/cache}
+     * @return the ParentPomResolver instance
+     */
+    @Bean
+    public ParentPomResolver parentPomResolver(XmlParser xmlParser, @Lazy RepositoryServiceFactory repositoryServiceFactory,
+                                               @Value("${mavguard.cache.directory:}") String cacheDirectory) {
+        PomSource remoteSource = new CachingPomSource(new RepositoryPomSource(repositoryServiceFactory), cachePath(cacheDirectory));
+        return new ParentPomResolver(xmlParser, LocalRepositoryPomSource.fromDefaultLocation().orElse(remoteSource));
+    }
+
+    /**
+     * Creates the BomResolver bean. Flattened BOMs are kept in memory for the run and on disk next to
+     * the cached POMs, so BOMs like {@code spring-boot-dependencies} are flattened once per machine.
+     *
+     * @param parentPomResolver the resolver used to load BOM POMs
+     * @param cacheDirectory the directory of the POM cache, defaults to {@code ~/.mav-guard/cache}
+     * @return the BomResolver instance
+     */
+    @Bean
+    public BomResolver bomResolver(ParentPomResolver parentPomResolver, @Value("${mavguard.cache.directory:}") String cacheDirectory) {
+        return new BomResolver(parentPomResolver, cachePath(cacheDirectory));
+    }
+
     /**
      * Creates a PomParser bean.
      *
      * @param xmlParser the XML parser to use
+     * @param parentPomResolver the resolver for parents outside of the parsed build
+     * @param bomResolver the resolver for imported BOMs
      * @return the PomParser instance
      */
     @Bean
-    public PomParser pomParser(XmlParser xmlParser) {
-        return new PomParser(xmlParser);
+    public PomParser pomParser(XmlParser xmlParser, ParentPomResolver parentPomResolver, BomResolver bomResolver) {
+        return new PomParser(xmlParser, parentPomResolver, bomResolver);
+    }
+
+    /**
+     * Creates a TransitiveDependencyResolver bean sharing the POM and BOM caches with the parser.
+     *
+     * @param parentPomResolver the resolver used to fetch dependency POMs
+     * @param bomResolver the resolver for managed versions of dependency POMs
+     * @return the TransitiveDependencyResolver instance
+     */
+    @Bean
+    public TransitiveDependencyResolver transitiveDependencyResolver(ParentPomResolver parentPomResolver, BomResolver bomResolver) {
+        return new TransitiveDependencyResolver(parentPomResolver, bomResolver);
+    }
+
+    /**
+     * Creates a PomDirectoryScanner bean for workspace scans.
+     *
+     * @param pomParser the POM parser to use
+     * @return the PomDirectoryScanner instance
+     */
+    @Bean
+    public PomDirectoryScanner pomDirectoryScanner(PomParser pomParser) {
+        return new PomDirectoryScanner(pomParser);
+    }
+
+    private static Path cachePath(String cacheDirectory) {
+        return cacheDirectory.isBlank() ? CacheFiles.defaultDirectory() : Path.of(cacheDirectory);
     }
 }
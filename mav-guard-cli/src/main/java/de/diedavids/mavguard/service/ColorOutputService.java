@@ -2,9 +2,20 @@ package de.diedavids.mavguard.service;
 
 import org.springframework.stereotype.Service;
 
+import java.io.PrintStream;
+import java.util.Formatter;
+import java.util.Locale;
+
 /**
  * Service for handling color-coded terminal output with ANSI color codes.
  * Supports different color modes (auto, always, never) and graceful degradation.
+ * <p>
+ * Output is rendered into a single reusable buffer and written to stdout in large chunks.
+ * The buffer is flushed when it exceeds {@link #FLUSH_THRESHOLD} characters, when a write
+ * finds that {@link #FLUSH_INTERVAL_NANOS} have passed since the last flush, or when {@link #flush()}
+ * is called. The interval is only checked on the next write, an idle buffer is not flushed by time,
+ * so commands call {@link #flush()} once rows are final, e.g. before blocking on a network lookup,
+ * and before they exit.
  */
 @Service
 public class ColorOutputService {
@@ -40,14 +51,35 @@ public class ColorOutputService {
         }
     }
     
+    /** Buffered characters that trigger a write to stdout */
+    static final int FLUSH_THRESHOLD = 32 * 1024;
+
+    /** Maximum time buffered output is held back while rows keep arriving */
+    static final long FLUSH_INTERVAL_NANOS = 100_000_000L;
+
     private ColorMode colorMode = ColorMode.AUTO;
     private Boolean terminalSupportsColor = null;
+    private Boolean useColors = null;
+
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+    private final Formatter formatter = new Formatter(buffer, Locale.getDefault(Locale.Category.FORMAT));
+    private final long flushIntervalNanos;
+    private long lastFlush = System.nanoTime();
+
+    public ColorOutputService() {
+        this(FLUSH_INTERVAL_NANOS);
+    }
+
+    ColorOutputService(long flushIntervalNanos) {
+        this.flushIntervalNanos = flushIntervalNanos;
+    }
     
     /**
      * Set the color mode for output
      */
     public void setColorMode(ColorMode mode) {
         this.colorMode = mode;
+        this.useColors = null;
     }
     
     /**
@@ -61,6 +93,14 @@ public class ColorOutputService {
      * Check if colors should be used based on current mode and terminal support
      */
     public boolean shouldUseColors() {
+        // The decision only depends on the mode and the environment, so it is computed once per mode
+        if (useColors == null) {
+            useColors = detectColorUsage();
+        }
+        return useColors;
+    }
+
+    private boolean detectColorUsage() {
         // Check NO_COLOR environment variable (https://no-color.org/)
         if (System.getenv("NO_COLOR") != null && !System.getenv("NO_COLOR").isEmpty()) {
             return false;
@@ -133,47 +173,94 @@ public class ColorOutputService {
             return text;
         }
         
-        StringBuilder prefix = new StringBuilder();
+        StringBuilder colored = new StringBuilder(text.length() + 16);
         for (ColorType color : colors) {
-            prefix.append(color.getAnsiCode());
+            colored.append(color.getAnsiCode());
         }
         
-        return prefix.toString() + text + ColorType.RESET.getAnsiCode();
+        return colored.append(text).append(ColorType.RESET.getAnsiCode()).toString();
     }
     
     /**
      * Print colored text to stdout
      */
-    public void println(String text, ColorType color) {
-        System.out.println(colorize(text, color));
+    public synchronized void println(String text, ColorType color) {
+        appendColored(text, color);
+        endLine();
     }
     
     /**
      * Print colored text with multiple colors to stdout
      */
-    public void println(String text, ColorType... colors) {
-        System.out.println(colorize(text, colors));
+    public synchronized void println(String text, ColorType... colors) {
+        appendColored(text, colors);
+        endLine();
     }
     
     /**
      * Print regular text to stdout (no color)
      */
-    public void println(String text) {
-        System.out.println(text);
+    public synchronized void println(String text) {
+        buffer.append(text);
+        endLine();
     }
     
     /**
      * Print formatted colored text to stdout
      */
-    public void printf(String format, ColorType color, Object... args) {
-        System.out.printf(colorize(format, color), args);
+    public synchronized void printf(String format, ColorType color, Object... args) {
+        if (shouldUseColors()) {
+            buffer.append(color.getAnsiCode());
+            formatter.format(format, args);
+            buffer.append(ColorType.RESET.getAnsiCode());
+        } else {
+            formatter.format(format, args);
+        }
+        flushIfNeeded();
     }
     
     /**
      * Print formatted regular text to stdout (no color)
      */
-    public void printf(String format, Object... args) {
-        System.out.printf(format, args);
+    public synchronized void printf(String format, Object... args) {
+        formatter.format(format, args);
+        flushIfNeeded();
+    }
+
+    /**
+     * Write all buffered output to stdout
+     */
+    public synchronized void flush() {
+        if (!buffer.isEmpty()) {
+            // Resolved on every flush so redirected streams (e.g. output capture in tests) are honored
+            PrintStream out = System.out;
+            out.append(buffer);
+            out.flush();
+            buffer.setLength(0);
+        }
+        lastFlush = System.nanoTime();
+    }
+
+    private void appendColored(String text, ColorType... colors) {
+        if (!shouldUseColors()) {
+            buffer.append(text);
+            return;
+        }
+        for (ColorType color : colors) {
+            buffer.append(color.getAnsiCode());
+        }
+        buffer.append(text).append(ColorType.RESET.getAnsiCode());
+    }
+
+    private void endLine() {
+        buffer.append(System.lineSeparator());
+        flushIfNeeded();
+    }
+
+    private void flushIfNeeded() {
+        if (buffer.length() >= FLUSH_THRESHOLD || System.nanoTime() - lastFlush >= flushIntervalNanos) {
+            flush();
+        }
     }
     
     /**
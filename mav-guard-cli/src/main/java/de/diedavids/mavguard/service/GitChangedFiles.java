@@ -0,0 +1,82 @@
+package de.diedavids.mavguard.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the files changed since a git revision from the local repository by running the {@code git} executable.
+ * Changes are the differences between the revision and the working tree, committed or not, plus untracked files
+ * that are not ignored, so new modules are included before they are committed.
+ */
+public final class GitChangedFiles {
+
+    private static final long TIMEOUT_SECONDS = 60;
+
+    private GitChangedFiles() {
+    }
+
+    /**
+     * Returns the files changed since a revision in the repository containing a directory.
+     *
+     * @param directory a directory inside the working tree
+     * @param revision the revision to compare with, e.g. {@code origin/main} or a commit hash
+     * @return the absolute, real paths of the changed files, deleted files included
+     * @throws IOException if git fails, e.g. because the directory is not in a repository or the revision is unknown
+     */
+    public static Set<Path> since(Path directory, String revision) throws IOException {
+        Path workTree = Path.of(run(directory, "rev-parse", "--show-toplevel").trim());
+        Set<Path> changedFiles = new LinkedHashSet<>();
+        for (String output : List.of(
+                run(directory, "diff", "--name-only", "-z", revision, "--"),
+                run(directory, "ls-files", "--others", "--exclude-standard", "-z", "--full-name"))) {
+            for (String file : output.split("\0")) {
+                if (!file.isEmpty()) {
+                    changedFiles.add(workTree.resolve(file).normalize());
+                }
+            }
+        }
+        return changedFiles;
+    }
+
+    private static String run(Path directory, String... arguments) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.add("-C");
+        command.add(directory.toString());
+        command.addAll(List.of(arguments));
+        Process process = new ProcessBuilder(command).start();
+        try {
+            // Stderr is drained concurrently so a chatty git cannot block on a full pipe
+            CompletableFuture<String> error = CompletableFuture.supplyAsync(() -> read(process.getErrorStream()));
+            String output = read(process.getInputStream());
+            if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("git " + arguments[0] + " did not finish within " + TIMEOUT_SECONDS + " seconds");
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException("git " + arguments[0] + " failed: " + error.join().trim());
+            }
+            return output;
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running git " + arguments[0], e);
+        }
+    }
+
+    private static String read(InputStream stream) {
+        try (stream) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package de.diedavids.mavguard.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.xml.MultiModuleDependencyCollector.VersionInconsistency;
+import de.diedavids.mavguard.xml.TransitiveDependencies;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams analysis and update results as JSON events for machine consumers.
+ * Every event is written and flushed as soon as it is produced, so consumers can process
+ * large reports incrementally. In {@link OutputFormat#NDJSON} mode each event is one line,
+ * in {@link OutputFormat#JSON} mode the events are elements of a single top-level array.
+ */
+public class JsonEventWriter implements Closeable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+    private final OutputFormat format;
+
+    /**
+     * Creates a writer for the given stream. The stream itself is not closed by {@link #close()}.
+     *
+     * @param out the target stream, typically {@code System.out}
+     * @param format either {@link OutputFormat#JSON} or {@link OutputFormat#NDJSON}
+     */
+    public JsonEventWriter(OutputStream out, OutputFormat format) {
+        if (format == OutputFormat.TEXT) {
+            throw new IllegalArgumentException("JsonEventWriter does not support the text format");
+        }
+        this.format = format;
+        try {
+            this.generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // NDJSON events are terminated by a newline instead of Jackson's default root value separator
+            this.generator.setRootValueSeparator(null);
+            if (format == OutputFormat.JSON) {
+                generator.writeStartArray();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the event describing the analyzed project (the root POM for multi-module projects).
+     */
+    public void writeProject(Project project, boolean multiModule) {
+        writeEvent("project", () -> {
+            writeCoordinates(project.groupId(), project.artifactId(), project.version());
+            writeStringField("name", project.name());
+            generator.writeBooleanField("multiModule", multiModule);
+            if (project.hasParent()) {
+                generator.writeStringField("parent", project.parent().getCoordinates());
+            }
+        });
+    }
+
+    /**
+     * Writes the event opening a workspace scan.
+     *
+     * @param directory the scanned directory
+     */
+    public void writeWorkspace(String directory) {
+        writeEvent("workspace", () -> generator.writeStringField("directory", directory));
+    }
+
+    /**
+     * Writes the event opening the results of one repository in a batch run.
+     *
+     * @param pomPath the root POM of the repository
+     * @param project the root project
+     * @param modules the number of modules in the repository's build
+     */
+    public void writeRepository(String pomPath, Project project, int modules) {
+        writeEvent("repository", () -> {
+            generator.writeStringField("pom", pomPath);
+            writeCoordinates(project.groupId(), project.artifactId(), project.version());
+            generator.writeNumberField("modules", modules);
+        });
+    }
+
+    /**
+     * Writes the event for a module that is part of the build.
+     */
+    public void writeModule(Project project) {
+        writeEvent("module", () -> {
+            writeCoordinates(project.groupId(), project.artifactId(), project.version());
+            writeStringField("path", project.relativePath());
+            if (project.hasParent()) {
+                generator.writeStringField("parent", project.parent().getCoordinates());
+            }
+        });
+    }
+
+    /**
+     * Writes the event for a dependency.
+     *
+     * @param dependency the dependency
+     * @param modules the modules declaring the dependency, may be empty
+     */
+    public void writeDependency(Dependency dependency, List<String> modules) {
+        writeEvent("dependency", () -> {
+            writeCoordinates(dependency.groupId(), dependency.artifactId(), dependency.version());
+            writeStringField("scope", dependency.scope());
+            writeStringField("dependencyType", dependency.type());
+            if (dependency.optional() != null) {
+                generator.writeBooleanField("optional", dependency.optional());
+            }
+            writeStringArray("modules", modules);
+        });
+    }
+
+    /**
+     * Writes the event for a module affected by a change of an artifact.
+     *
+     * @param module the affected module
+     * @param declaring whether the module declares the artifact itself
+     * @param declaredVersion how the module declares the artifact, null if it is only affected through other modules
+     */
+    public void writeImpact(Project module, boolean declaring, String declaredVersion) {
+        writeEvent("impact", () -> {
+            writeCoordinates(module.groupId(), module.artifactId(), module.version());
+            writeStringField("path", module.relativePath());
+            generator.writeBooleanField("declaring", declaring);
+            writeStringField("declaredVersion", declaredVersion);
+        });
+    }
+
+    /**
+     * Writes the event for a transitive dependency.
+     *
+     * @param dependency the dependency in its selected version
+     * @param depth the distance from the project, 2 for dependencies of direct dependencies
+     * @param via the coordinates of the dependency that introduced it
+     */
+    public void writeTransitive(Dependency dependency, int depth, String via) {
+        writeEvent("transitive", () -> {
+            writeCoordinates(dependency.groupId(), dependency.artifactId(), dependency.version());
+            writeStringField("scope", dependency.scope());
+            generator.writeNumberField("depth", depth);
+            generator.writeStringField("via", via);
+        });
+    }
+
+    /**
+     * Writes the event for a transitive version omitted by nearest-wins mediation.
+     */
+    public void writeConflict(TransitiveDependencies.Conflict conflict) {
+        writeEvent("conflict", () -> {
+            generator.writeStringField("groupId", conflict.groupId());
+            generator.writeStringField("artifactId", conflict.artifactId());
+            generator.writeStringField("selectedVersion", conflict.selectedVersion());
+            generator.writeStringField("omittedVersion", conflict.omittedVersion());
+            generator.writeStringField("requestedBy", conflict.requestedBy());
+        });
+    }
+
+    /**
+     * Writes the event for a dependency that is used in different versions across modules.
+     */
+    public void writeInconsistency(VersionInconsistency inconsistency) {
+        writeEvent("inconsistency", () -> {
+            generator.writeStringField("dependency", inconsistency.getDependencyCoordinate());
+            generator.writeObjectFieldStart("versions");
+            for (Map.Entry<String, List<String>> entry : inconsistency.getVersionToModules().entrySet()) {
+                writeStringArray(entry.getKey(), entry.getValue());
+            }
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * Writes the event for an available update.
+     *
+     * @param kind either "dependency" or "parent"
+     * @param groupId the group ID of the updated artifact
+     * @param artifactId the artifact ID of the updated artifact
+     * @param currentVersion the version in use, null for managed dependencies
+     * @param latestVersion the latest available version
+     * @param modules the affected modules, may be empty
+     */
+    public void writeUpdate(String kind, String groupId, String artifactId,
+                            String currentVersion, String latestVersion, List<String> modules) {
+        writeEvent("update", () -> {
+            generator.writeStringField("kind", kind);
+            generator.writeStringField("groupId", groupId);
+            generator.writeStringField("artifactId", artifactId);
+            writeStringField("currentVersion", currentVersion);
+            generator.writeStringField("latestVersion", latestVersion);
+            writeStringArray("modules", modules);
+        });
+    }
+
+    /**
+     * Writes the event for an artifact whose latest version was not looked up before the deadline expired.
+     *
+     * @param kind either "dependency" or "parent"
+     * @param groupId the group ID of the artifact
+     * @param artifactId the artifact ID of the artifact
+     * @param currentVersion the version in use, null for managed dependencies
+     * @param modules the affected modules, may be empty
+     */
+    public void writeUnresolved(String kind, String groupId, String artifactId, String currentVersion, List<String> modules) {
+        writeEvent("unresolved", () -> {
+            generator.writeStringField("kind", kind);
+            generator.writeStringField("groupId", groupId);
+            generator.writeStringField("artifactId", artifactId);
+            writeStringField("currentVersion", currentVersion);
+            writeStringArray("modules", modules);
+        });
+    }
+
+    /**
+     * Writes the event for an update that differs from a previous snapshot.
+     *
+     * @param change either "new", "changed" or "resolved"
+     * @param update the update, for resolved updates as it was in the snapshot
+     * @param previous the update as it was in the snapshot for changed updates, otherwise null
+     */
+    public void writeDelta(String change, UpdateSnapshot.Entry update, UpdateSnapshot.Entry previous) {
+        writeEvent("delta", () -> {
+            generator.writeStringField("change", change);
+            generator.writeStringField("kind", update.kind());
+            generator.writeStringField("groupId", update.groupId());
+            generator.writeStringField("artifactId", update.artifactId());
+            writeStringField("currentVersion", update.currentVersion());
+            generator.writeStringField("latestVersion", update.latestVersion());
+            writeStringArray("modules", update.modules());
+            if (previous != null) {
+                writeStringField("previousCurrentVersion", previous.currentVersion());
+                generator.writeStringField("previousLatestVersion", previous.latestVersion());
+            }
+        });
+    }
+
+    /**
+     * Writes the closing summary event.
+     *
+     * @param counts named counters, e.g. number of updates or inconsistencies
+     */
+    public void writeSummary(Map<String, Integer> counts) {
+        writeEvent("summary", () -> {
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                generator.writeNumberField(entry.getKey(), entry.getValue());
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (format == OutputFormat.JSON) {
+                generator.writeEndArray();
+                generator.writeRaw('\n');
+            }
+            generator.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeEvent(String type, EventBody body) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("type", type);
+            body.write();
+            generator.writeEndObject();
+            if (format == OutputFormat.NDJSON) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCoordinates(String groupId, String artifactId, String version) throws IOException {
+        generator.writeStringField("groupId", groupId);
+        generator.writeStringField("artifactId", artifactId);
+        writeStringField("version", version);
+    }
+
+    private void writeStringField(String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+
+    private void writeStringArray(String name, List<String> values) throws IOException {
+        generator.writeArrayFieldStart(name);
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+
+    @FunctionalInterface
+    private interface EventBody {
+        void write() throws IOException;
+    }
+}
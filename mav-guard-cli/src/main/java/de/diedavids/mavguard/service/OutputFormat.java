@@ -0,0 +1,13 @@
+package de.diedavids.mavguard.service;
+
+/**
+ * Output formats supported by the analyze and check-updates commands.
+ */
+public enum OutputFormat {
+    /** Human-readable, color-coded tables */
+    TEXT,
+    /** A single JSON array of events, written incrementally */
+    JSON,
+    /** One JSON event object per line (newline-delimited JSON) */
+    NDJSON
+}
@@ -0,0 +1,32 @@
+package de.diedavids.mavguard.service;
+
+import de.diedavids.mavguard.nexus.service.RepositoryServiceFactory;
+import de.diedavids.mavguard.xml.repository.PomSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Adapts the configured repository service (Maven Central or Nexus) to a {@link PomSource},
+ * so the parser can fetch parent POMs that are not available locally.
+ */
+public class RepositoryPomSource implements PomSource {
+
+    private final RepositoryServiceFactory repositoryServiceFactory;
+
+    /**
+     * @param repositoryServiceFactory the factory for the configured repository service, ideally a lazy proxy
+     *                                 so the repository stack is only set up when a POM is actually fetched
+     */
+    public RepositoryPomSource(RepositoryServiceFactory repositoryServiceFactory) {
+        this.repositoryServiceFactory = repositoryServiceFactory;
+    }
+
+    @Override
+    public Optional<InputStream> openPom(String groupId, String artifactId, String version) {
+        return repositoryServiceFactory.createRepositoryService()
+                .getPom(groupId, artifactId, version)
+                .map(ByteArrayInputStream::new);
+    }
+}
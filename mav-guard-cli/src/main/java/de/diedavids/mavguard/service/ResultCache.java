@@ -0,0 +1,203 @@
+package de.diedavids.mavguard.service;
+
+import de.diedavids.mavguard.cache.CacheFiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Caches the complete output of a run, so a repeated run over an unchanged reactor replays it instead of
+ * parsing the POMs and looking up versions again.
+ * <p>
+ * An entry is stored per run key (root POM and output options) together with the POM files the run read and
+ * a Merkle hash over them: the leaves are the hashes of the files' paths and contents, sorted by path, and the
+ * configuration fingerprint of the repository is mixed into the root. On lookup the listed files are hashed
+ * again, in parallel and through memory-mapped reads; the entry is only replayed if the root is unchanged.
+ * A module added to the reactor always changes a listed POM, the one declaring it. Entries also expire after
+ * a maximum age, because new versions are released while the POMs stay the same.
+ */
+public class ResultCache {
+
+    private static final int MAGIC = 0x4D475243; // "MGRC"
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path directory;
+    private final Supplier<String> configurationFingerprint;
+    private final Clock clock;
+
+    /**
+     * Creates a cache.
+     *
+     * @param directory the directory holding the cache entries
+     * @param configurationFingerprint identifies the repository configuration the results were looked up with,
+     *                                 only evaluated when the cache is used
+     */
+    public ResultCache(Path directory, Supplier<String> configurationFingerprint) {
+        this(directory, configurationFingerprint, Clock.systemUTC());
+    }
+
+    ResultCache(Path directory, Supplier<String> configurationFingerprint, Clock clock) {
+        this.directory = directory;
+        this.configurationFingerprint = configurationFingerprint;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the stored output of a run if none of its input files changed and it is not older than the maximum age.
+     *
+     * @param key identifies the run, e.g. the root POM and the output options
+     * @param maxAge the maximum age of a replayed entry
+     * @return the stored output, or empty if there is no valid entry
+     */
+    public Optional<byte[]> lookup(String key, Duration maxAge) {
+        Path entryFile = entryFile(key);
+        try {
+            Entry entry = readEntry(Files.readAllBytes(entryFile));
+            if (entry == null || clock.millis() - entry.createdMillis() > maxAge.toMillis()) {
+                return Optional.empty();
+            }
+            return entry.hash().equals(hash(entry.inputFiles())) ? Optional.of(entry.output()) : Optional.empty();
+        } catch (IOException | UncheckedIOException e) {
+            // Missing or unreadable entries and deleted input files are misses, the entry is replaced after the run
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the output of a run.
+     *
+     * @param key identifies the run
+     * @param inputFiles the files the run read
+     * @param output the output of the run
+     * @throws IOException if an input file cannot be hashed or the entry cannot be written
+     */
+    public void store(String key, List<Path> inputFiles, byte[] output) throws IOException {
+        List<Path> files = inputFiles.stream().map(file -> file.toAbsolutePath().normalize()).distinct().toList();
+        String hash;
+        try {
+            hash = hash(files);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(output.length + 64 * files.size() + 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(clock.millis());
+            out.writeUTF(hash);
+            out.writeInt(files.size());
+            for (Path file : files) {
+                out.writeUTF(file.toString());
+            }
+            out.writeInt(output.length);
+            out.write(output);
+        }
+        CacheFiles.writeAtomically(entryFile(key), bytes.toByteArray());
+    }
+
+    /**
+     * Computes the Merkle root over the given files and the configuration fingerprint.
+     *
+     * @throws UncheckedIOException if a file cannot be read
+     */
+    String hash(List<Path> files) {
+        List<byte[]> leaves = files.parallelStream()
+                .sorted(Comparator.comparing(Path::toString))
+                .map(file -> leafHash(file, contentHash(file)))
+                .toList();
+
+        List<byte[]> level = leaves;
+        while (level.size() > 1) {
+            List<byte[]> parents = new ArrayList<>((level.size() + 1) / 2);
+            for (int i = 0; i < level.size(); i += 2) {
+                // An odd node is promoted unchanged
+                parents.add(i + 1 < level.size() ? sha256(level.get(i), level.get(i + 1)) : level.get(i));
+            }
+            level = parents;
+        }
+        byte[] root = level.isEmpty() ? sha256() : level.get(0);
+        return HexFormat.of().formatHex(sha256(configurationFingerprint.get().getBytes(StandardCharsets.UTF_8), root));
+    }
+
+    private static byte[] leafHash(Path file, byte[] contentHash) {
+        return sha256(file.toString().getBytes(StandardCharsets.UTF_8), new byte[] {0}, contentHash);
+    }
+
+    private static byte[] contentHash(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MessageDigest digest = newDigest();
+            long size = channel.size();
+            // Mapped in chunks, a single mapping is limited to 2 GB
+            for (long position = 0; position < size; position += Integer.MAX_VALUE) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(Integer.MAX_VALUE, size - position));
+                digest.update(buffer);
+            }
+            return digest.digest();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Entry readEntry(byte[] content) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(content))) {
+            if (content.length < 5 || in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+                return null;
+            }
+            long createdMillis = in.readLong();
+            String hash = in.readUTF();
+            int fileCount = in.readInt();
+            List<Path> files = new ArrayList<>(fileCount);
+            for (int i = 0; i < fileCount; i++) {
+                files.add(Path.of(in.readUTF()));
+            }
+            byte[] output = new byte[in.readInt()];
+            in.readFully(output);
+            return new Entry(createdMillis, hash, files, output);
+        }
+    }
+
+    private Path entryFile(String key) {
+        return directory.resolve(HexFormat.of().formatHex(sha256(key.getBytes(StandardCharsets.UTF_8))) + ".result");
+    }
+
+    private static byte[] sha256(byte[]... parts) {
+        MessageDigest digest = newDigest();
+        for (byte[] part : parts) {
+            digest.update(part);
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Entry(long createdMillis, String hash, List<Path> inputFiles, byte[] output) {
+    }
+}
@@ -0,0 +1,282 @@
+package de.diedavids.mavguard.service;
+
+import de.diedavids.mavguard.cache.CacheFiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The updates found by a check-updates run, stored in a compact binary file so a later run can report only
+ * what changed in between.
+ * <p>
+ * The file starts with a magic number and a format version, followed by a table of the distinct strings
+ * (coordinates, versions, module names) and the entries referencing them by index. Indices and lengths are
+ * written as variable-length integers, so a snapshot of thousands of updates stays in the kilobytes. Entries
+ * are stored sorted by {@link Entry#KEY_ORDER}, which lets {@link #diff(List, List)} compare two snapshots
+ * with a single merge pass.
+ */
+public final class UpdateSnapshot {
+
+    private static final int MAGIC = 0x4D475355; // "MGSU"
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte KIND_DEPENDENCY = 0;
+    private static final byte KIND_PARENT = 1;
+
+    private UpdateSnapshot() {
+    }
+
+    /**
+     * Writes a snapshot, replacing an existing file atomically.
+     *
+     * @param file the snapshot file
+     * @param entries the updates, in any order
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, List<Entry> entries) throws IOException {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Entry.KEY_ORDER);
+
+        Map<String, Integer> stringIndices = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (Entry entry : sorted) {
+            for (String value : entry.strings()) {
+                if (value != null && stringIndices.putIfAbsent(value, strings.size()) == null) {
+                    strings.add(value);
+                }
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            writeVarInt(out, strings.size());
+            for (String value : strings) {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(out, utf8.length);
+                out.write(utf8);
+            }
+            writeVarInt(out, sorted.size());
+            for (Entry entry : sorted) {
+                out.writeByte(entry.kind().equals("parent") ? KIND_PARENT : KIND_DEPENDENCY);
+                // 0 encodes null, string indices are shifted by one
+                for (String value : List.of(entry.groupId(), entry.artifactId())) {
+                    writeVarInt(out, stringIndices.get(value) + 1);
+                }
+                writeVarInt(out, entry.currentVersion() == null ? 0 : stringIndices.get(entry.currentVersion()) + 1);
+                writeVarInt(out, stringIndices.get(entry.latestVersion()) + 1);
+                writeVarInt(out, entry.modules().size());
+                for (String module : entry.modules()) {
+                    writeVarInt(out, stringIndices.get(module) + 1);
+                }
+            }
+        }
+        CacheFiles.writeAtomically(file.toAbsolutePath(), bytes.toByteArray());
+    }
+
+    /**
+     * Reads a snapshot through a memory-mapped, read-only view of the file.
+     *
+     * @param file the snapshot file
+     * @return the updates, sorted by {@link Entry#KEY_ORDER}
+     * @throws IOException if the file cannot be read or is not a snapshot
+     */
+    public static List<Entry> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                return decode(buffer);
+            } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+                throw new IOException("Corrupt update snapshot: " + file, e);
+            }
+        }
+    }
+
+    private static List<Entry> decode(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 5 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not an update snapshot");
+        }
+        int formatVersion = buffer.get();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported update snapshot version " + formatVersion);
+        }
+        String[] strings = new String[readVarInt(buffer)];
+        for (int i = 0; i < strings.length; i++) {
+            int length = readVarInt(buffer);
+            byte[] utf8 = new byte[length];
+            buffer.get(utf8);
+            strings[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        int entryCount = readVarInt(buffer);
+        List<Entry> entries = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            String kind = buffer.get() == KIND_PARENT ? "parent" : "dependency";
+            String groupId = string(strings, readVarInt(buffer));
+            String artifactId = string(strings, readVarInt(buffer));
+            String currentVersion = string(strings, readVarInt(buffer));
+            String latestVersion = string(strings, readVarInt(buffer));
+            int moduleCount = readVarInt(buffer);
+            List<String> modules = new ArrayList<>(moduleCount);
+            for (int m = 0; m < moduleCount; m++) {
+                modules.add(string(strings, readVarInt(buffer)));
+            }
+            entries.add(new Entry(kind, groupId, artifactId, currentVersion, latestVersion, modules));
+        }
+        // Written sorted, but a hand-made file must not break the merge
+        for (int i = 1; i < entries.size(); i++) {
+            if (Entry.KEY_ORDER.compare(entries.get(i - 1), entries.get(i)) > 0) {
+                entries.sort(Entry.KEY_ORDER);
+                break;
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Compares the updates of two runs with a sorted-merge join on {@link Entry#KEY_ORDER}.
+     *
+     * @param previous the updates of the earlier run, sorted
+     * @param current the updates of this run, in any order
+     * @return the updates that are new, changed or resolved since the earlier run
+     */
+    public static Delta diff(List<Entry> previous, List<Entry> current) {
+        List<Entry> sortedCurrent = new ArrayList<>(current);
+        sortedCurrent.sort(Entry.KEY_ORDER);
+
+        List<Entry> added = new ArrayList<>();
+        List<Change> changed = new ArrayList<>();
+        List<Entry> resolved = new ArrayList<>();
+        int unchanged = 0;
+        int p = 0;
+        int c = 0;
+        while (p < previous.size() || c < sortedCurrent.size()) {
+            int order;
+            if (p == previous.size()) {
+                order = 1;
+            } else if (c == sortedCurrent.size()) {
+                order = -1;
+            } else {
+                order = Entry.KEY_ORDER.compare(previous.get(p), sortedCurrent.get(c));
+            }
+            if (order < 0) {
+                resolved.add(previous.get(p++));
+            } else if (order > 0) {
+                added.add(sortedCurrent.get(c++));
+            } else {
+                Entry before = previous.get(p++);
+                Entry after = sortedCurrent.get(c++);
+                if (before.equals(after)) {
+                    unchanged++;
+                } else {
+                    changed.add(new Change(before, after));
+                }
+            }
+        }
+        return new Delta(added, changed, resolved, unchanged);
+    }
+
+    private static String string(String[] strings, int index) {
+        return index == 0 ? null : strings[index - 1];
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Variable-length integer too long");
+    }
+
+    /**
+     * An available update.
+     *
+     * @param kind either "dependency" or "parent"
+     * @param groupId the group ID of the updated artifact
+     * @param artifactId the artifact ID of the updated artifact
+     * @param currentVersion the version in use, null for managed dependencies
+     * @param latestVersion the latest available version
+     * @param modules the affected modules, may be empty
+     */
+    public record Entry(String kind, String groupId, String artifactId, String currentVersion, String latestVersion,
+                        List<String> modules) {
+
+        /**
+         * Identifies the same update across runs: dependencies by groupId and artifactId, parent updates
+         * additionally by the module they belong to, as every module is reported separately.
+         */
+        public static final Comparator<Entry> KEY_ORDER = Comparator.comparing(Entry::kind)
+                .thenComparing(Entry::groupId)
+                .thenComparing(Entry::artifactId)
+                .thenComparing(Entry::parentModule, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        public Entry {
+            Objects.requireNonNull(kind, "kind");
+            Objects.requireNonNull(groupId, "groupId");
+            Objects.requireNonNull(artifactId, "artifactId");
+            Objects.requireNonNull(latestVersion, "latestVersion");
+            modules = List.copyOf(modules);
+        }
+
+        private String parentModule() {
+            return kind.equals("parent") && !modules.isEmpty() ? modules.get(0) : null;
+        }
+
+        private List<String> strings() {
+            List<String> strings = new ArrayList<>(List.of(groupId, artifactId, latestVersion));
+            if (currentVersion != null) {
+                strings.add(currentVersion);
+            }
+            strings.addAll(modules);
+            return strings;
+        }
+    }
+
+    /**
+     * An update present in both runs with a different current version, latest version or affected modules.
+     */
+    public record Change(Entry previous, Entry current) {
+    }
+
+    /**
+     * The differences between two runs.
+     *
+     * @param added the updates that are new
+     * @param changed the updates that changed
+     * @param resolved the updates that are gone, because the project was updated or the artifact was removed
+     * @param unchangedCount the number of updates present unchanged in both runs
+     */
+    public record Delta(List<Entry> added, List<Change> changed, List<Entry> resolved, int unchangedCount) {
+
+        public boolean isEmpty() {
+            return added.isEmpty() && changed.isEmpty() && resolved.isEmpty();
+        }
+    }
+}
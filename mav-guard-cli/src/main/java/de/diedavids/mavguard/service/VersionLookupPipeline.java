@@ -0,0 +1,318 @@
+package de.diedavids.mavguard.service;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.nexus.service.DependencyVersionService;
+import de.diedavids.mavguard.xml.PomFileProcessor;
+import jakarta.xml.bind.JAXBException;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Overlaps POM parsing with repository lookups in three stages:
+ * <ol>
+ *     <li>the calling thread parses the reactor and publishes every project as soon as it is final,</li>
+ *     <li>a subscriber schedules the latest-version lookups for each published project's dependencies (including
+ *     managed ones) and parent,</li>
+ *     <li>the caller renders results in report order through {@link #latestVersion(Dependency)} and
+ *     {@link #latestParentVersion(Project.Parent)}, which complete as soon as the lookup has finished.</li>
+ * </ol>
+ * Both hand-offs are bounded. When the lookup queue is full the subscriber runs a lookup itself and stops
+ * requesting projects; once the project buffer is full as well, parsing blocks until lookups catch up.
+ * Lookups are deduplicated by groupId and artifactId, as the latest version does not depend on the version in use.
+ * Optionally, artifacts built by the reactor itself are never looked up: they are not published yet, or are
+ * published only to an internal repository, and their version is the one being built anyway.
+ * <p>
+ * All lookups can share a time budget. When it expires, the lookups still queued or running are cancelled and
+ * complete without a version, and are reported as {@link #isUnresolved(Dependency) unresolved}; lookups started
+ * afterwards are unresolved right away. Results that completed in time are kept, so a partial report can be rendered.
+ * A lookup that fails, e.g. because the repository is unreachable, is reported and unresolved as well, so one failed
+ * artifact does not abort the whole run.
+ */
+public class VersionLookupPipeline implements AutoCloseable {
+
+    /** Number of parsed projects buffered between the parser and the lookup scheduler */
+    static final int PROJECT_BUFFER_CAPACITY = 32;
+
+    /** Number of queued lookups per concurrent lookup thread */
+    static final int LOOKUP_QUEUE_CAPACITY_PER_JOB = 16;
+
+    private static final CompletableFuture<Optional<String>> NOT_LOOKED_UP = CompletableFuture.completedFuture(Optional.empty());
+
+    private final DependencyVersionService versionService;
+    private final ThreadPoolExecutor lookupExecutor;
+    private final ExecutorService publisherExecutor;
+    private final Map<String, CompletableFuture<Optional<String>>> lookups = new ConcurrentHashMap<>();
+    private final boolean skipReactorArtifacts;
+    private final Set<String> reactorArtifacts = ConcurrentHashMap.newKeySet();
+    private final Set<String> unresolved = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean expired;
+    private CompletableFuture<Void> deadline;
+
+    /**
+     * Creates a pipeline.
+     *
+     * @param versionService the service performing the repository lookups
+     * @param jobs the number of concurrent repository lookups
+     */
+    public VersionLookupPipeline(DependencyVersionService versionService, int jobs) {
+        this(versionService, jobs, false);
+    }
+
+    /**
+     * Creates a pipeline.
+     *
+     * @param versionService the service performing the repository lookups
+     * @param jobs the number of concurrent repository lookups
+     * @param skipReactorArtifacts whether dependencies on and parents from modules of the parsed reactor are skipped
+     */
+    public VersionLookupPipeline(DependencyVersionService versionService, int jobs, boolean skipReactorArtifacts) {
+        if (jobs < 1) {
+            throw new IllegalArgumentException("jobs must be at least 1");
+        }
+        this.versionService = versionService;
+        this.skipReactorArtifacts = skipReactorArtifacts;
+        this.lookupExecutor = new ThreadPoolExecutor(jobs, jobs, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(jobs * LOOKUP_QUEUE_CAPACITY_PER_JOB),
+                Thread.ofPlatform().name("mav-guard-lookup-", 1).daemon(true).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.publisherExecutor = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("mav-guard-pipeline").daemon(true).factory());
+    }
+
+    /**
+     * Parses a multi-module project and starts the lookups for every module's dependencies, including managed ones,
+     * and parent as soon as the module has been parsed and resolved.
+     *
+     * @param parser the POM parser
+     * @param rootPomFile the root POM file
+     * @return all parsed projects, as returned by {@link PomFileProcessor#parseMultiModuleProject(File)}
+     * @throws JAXBException if the root POM cannot be parsed
+     */
+    public List<Project> parseAndLookUp(PomFileProcessor parser, File rootPomFile) throws JAXBException {
+        LookupScheduler scheduler = new LookupScheduler();
+        List<Project> projects;
+        try (SubmissionPublisher<Project> publisher = new SubmissionPublisher<>(publisherExecutor, PROJECT_BUFFER_CAPACITY)) {
+            publisher.subscribe(scheduler);
+            projects = parser.parseMultiModuleProject(rootPomFile, publisher::submit);
+        }
+        // All lookups are scheduled once the subscriber has drained the buffer
+        scheduler.completion.join();
+        addReactorModules(projects);
+        return projects;
+    }
+
+    /**
+     * Registers the modules of a reactor, so dependencies on them and parents from them are not looked up if
+     * reactor artifacts are skipped. Projects parsed through {@link #parseAndLookUp(PomFileProcessor, File)}
+     * are registered automatically.
+     *
+     * @param projects the modules of the reactor
+     */
+    public void addReactorModules(Collection<Project> projects) {
+        if (skipReactorArtifacts) {
+            projects.forEach(project -> reactorArtifacts.add(project.groupId() + ":" + project.artifactId()));
+        }
+    }
+
+    /**
+     * Starts the lookups for all dependencies (including managed ones) and the parent of a single project.
+     *
+     * @param project the project
+     */
+    public void lookUp(Project project) {
+        project.getAllDependencies().forEach(this::latestVersion);
+        if (project.hasParent()) {
+            latestParentVersion(project.parent());
+        }
+    }
+
+    /**
+     * Gives all lookups, including the ones already running, a time budget starting now. Once it has expired, the
+     * outstanding lookups complete without a version and are reported as unresolved.
+     *
+     * @param budget the time the lookups may take
+     */
+    public synchronized void expireAfter(Duration budget) {
+        if (deadline != null) {
+            deadline.cancel(false);
+        }
+        deadline = CompletableFuture.runAsync(this::expire,
+                CompletableFuture.delayedExecutor(budget.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Returns whether the lookup of a dependency failed or was cut off by the time budget.
+     */
+    public boolean isUnresolved(Dependency dependency) {
+        return unresolved.contains("dependency:" + dependency.groupId() + ":" + dependency.artifactId());
+    }
+
+    /**
+     * Returns whether the lookup of a parent failed or was cut off by the time budget.
+     */
+    public boolean isUnresolved(Project.Parent parent) {
+        return unresolved.contains("parent:" + parent.groupId() + ":" + parent.artifactId());
+    }
+
+    /**
+     * Returns the number of distinct lookups that failed or were cut off by the time budget so far, not counting
+     * lookups of artifacts found to be built by the reactor afterwards.
+     */
+    public int unresolvedCount() {
+        return (int) unresolved.stream()
+                .filter(key -> !reactorArtifacts.contains(key.substring(key.indexOf(':') + 1)))
+                .count();
+    }
+
+    /**
+     * Returns the lookup of the latest version of a dependency, starting it if it was not scheduled yet.
+     *
+     * @param dependency the dependency
+     * @return a future completing with the latest version, or empty if none was found
+     */
+    public CompletableFuture<Optional<String>> latestVersion(Dependency dependency) {
+        if (reactorArtifacts.contains(dependency.groupId() + ":" + dependency.artifactId())) {
+            return NOT_LOOKED_UP;
+        }
+        return lookup("dependency:" + dependency.groupId() + ":" + dependency.artifactId(),
+                () -> versionService.getLatestVersion(dependency));
+    }
+
+    /**
+     * Returns the lookup of the latest version of a parent, starting it if it was not scheduled yet.
+     *
+     * @param parent the parent
+     * @return a future completing with the latest version, or empty if none was found
+     */
+    public CompletableFuture<Optional<String>> latestParentVersion(Project.Parent parent) {
+        if (reactorArtifacts.contains(parent.groupId() + ":" + parent.artifactId())) {
+            return NOT_LOOKED_UP;
+        }
+        return lookup("parent:" + parent.groupId() + ":" + parent.artifactId(),
+                () -> versionService.getLatestParentVersion(parent));
+    }
+
+    /**
+     * Returns the number of distinct lookups started so far.
+     */
+    public int lookupCount() {
+        return lookups.size();
+    }
+
+    private CompletableFuture<Optional<String>> lookup(String key, Supplier<Optional<String>> lookup) {
+        CompletableFuture<Optional<String>> existing = lookups.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture<Optional<String>> future = new CompletableFuture<>();
+        existing = lookups.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+        if (expired) {
+            cutOff(key, future);
+            return future;
+        }
+        // Executed outside of the map so a lookup run by the caller (queue full) does not block other keys.
+        // Once the budget expired, the executor silently discards the lookup (CallerRunsPolicy after shutdown). Its
+        // future still completes: it was put into the map before expired was read, so either the check above or
+        // expire() cuts it off.
+        lookupExecutor.execute(() -> {
+            try {
+                future.complete(lookup.get());
+            } catch (RuntimeException e) {
+                System.err.println("Error looking up the latest version of " + key.substring(key.indexOf(':') + 1)
+                        + ": " + e.getMessage());
+                cutOff(key, future);
+            }
+        });
+        return future;
+    }
+
+    private void expire() {
+        // Set before iterating, so every lookup either sees it or is in the map when it is iterated
+        expired = true;
+        lookups.forEach(this::cutOff);
+        // Drops the queued lookups and interrupts the running ones, e.g. while they wait for a connection
+        lookupExecutor.shutdownNow();
+    }
+
+    private void cutOff(String key, CompletableFuture<Optional<String>> future) {
+        if (future.isDone()) {
+            return;
+        }
+        // Marked first, so a caller seeing the empty result also sees it as unresolved
+        unresolved.add(key);
+        if (!future.complete(Optional.empty())) {
+            unresolved.remove(key);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (deadline != null) {
+                deadline.cancel(false);
+            }
+        }
+        lookupExecutor.shutdownNow();
+        publisherExecutor.shutdownNow();
+    }
+
+    /**
+     * Requests one project at a time and schedules its lookups before requesting the next one.
+     */
+    private class LookupScheduler implements Flow.Subscriber<Project> {
+
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(Project project) {
+            // Parents are parsed before their modules, so they are never looked up. A dependency on a module that is
+            // parsed later may still be looked up, its result is ignored once the module is known. Managed
+            // dependencies are reported by the multi-module renderers as well, so they are prefetched too.
+            addReactorModules(List.of(project));
+            project.getAllDependencies().forEach(VersionLookupPipeline.this::latestVersion);
+            if (project.hasParent()) {
+                latestParentVersion(project.parent());
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completion.completeExceptionally(new CompletionException(throwable));
+        }
+
+        @Override
+        public void onComplete() {
+            completion.complete(null);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+#
+# Compares wall-clock startup time and peak RSS of the JVM jar and the native binary
+# for an offline "analyze" run. Invoked by the "native" Maven profile during verify.
+#
+# Usage: startup-comparison.sh <jar> <native-binary> <pom.xml> [runs]
+
+set -euo pipefail
+
+JAR="$1"
+NATIVE="$2"
+POM="$3"
+RUNS="${4:-5}"
+
+if [[ ! -x /usr/bin/time ]]; then
+    echo "startup-comparison: /usr/bin/time not available, skipping comparison"
+    exit 0
+fi
+
+# Prints "<average seconds> <max RSS in KB>" over $RUNS runs of the given command
+measure() {
+    local total=0 max_rss=0 out elapsed rss
+    for _ in $(seq "$RUNS"); do
+        out=$( { /usr/bin/time -f "%e %M" "$@" analyze --color=never "$POM" > /dev/null; } 2>&1 | tail -n 1)
+        elapsed=${out% *}
+        rss=${out#* }
+        total=$(awk -v a="$total" -v b="$elapsed" 'BEGIN { print a + b }')
+        (( rss > max_rss )) && max_rss=$rss
+    done
+    echo "$(awk -v t="$total" -v n="$RUNS" 'BEGIN { printf "%.3f", t / n }') $max_rss"
+}
+
+read -r jvm_time jvm_rss < <(measure java -jar "$JAR")
+read -r native_time native_rss < <(measure "$NATIVE")
+
+echo ""
+echo "Startup comparison (analyze $(basename "$(dirname "$POM")"), $RUNS runs)"
+printf "  %-8s %12s %14s\n" "RUNTIME" "AVG TIME (s)" "MAX RSS (MB)"
+printf "  %-8s %12s %14s\n" "jvm" "$jvm_time" "$((jvm_rss / 1024))"
+printf "  %-8s %12s %14s\n" "native" "$native_time" "$((native_rss / 1024))"
@@ -0,0 +1,59 @@
+package de.diedavids.mavguard;
+
+import de.diedavids.mavguard.nexus.config.NexusProperties;
+import de.diedavids.mavguard.nexus.service.DependencyVersionService;
+import de.diedavids.mavguard.nexus.service.RepositoryServiceFactory;
+import de.diedavids.mavguard.xml.PomParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the offline analyze command starts without initializing the repository client stack.
+ */
+class LazyInitializationTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void analyzeShouldNotInitializeRepositoryBeans() throws IOException {
+        // Given
+        Path pomFile = tempDir.resolve("pom.xml");
+        Files.writeString(pomFile, """
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>lazy-project</artifactId>
+                    <version>1.0.0</version>
+                </project>
+                """);
+
+        // When
+        try (ConfigurableApplicationContext context = SpringApplication.run(
+                MavGuardApplication.class, "analyze", "--color=never", pomFile.toString())) {
+            ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+
+            // Then
+            assertThat(isInstantiated(beanFactory, PomParser.class)).isTrue();
+            assertThat(beanFactory.containsSingleton("nexusClient")).isFalse();
+            assertThat(isInstantiated(beanFactory, RepositoryServiceFactory.class)).isFalse();
+            assertThat(isInstantiated(beanFactory, DependencyVersionService.class)).isFalse();
+            assertThat(isInstantiated(beanFactory, NexusProperties.class)).isFalse();
+        }
+    }
+
+    private boolean isInstantiated(ConfigurableListableBeanFactory beanFactory, Class<?> type) {
+        return Arrays.stream(beanFactory.getBeanNamesForType(type, true, false))
+                .anyMatch(beanFactory::containsSingleton);
+    }
+}
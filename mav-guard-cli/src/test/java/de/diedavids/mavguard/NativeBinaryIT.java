@@ -0,0 +1,88 @@
+package de.diedavids.mavguard;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the GraalVM native binary built by the "native" profile as a separate process.
+ * Executed by failsafe only when the profile provides the binary location.
+ */
+@EnabledIfSystemProperty(named = "mavguard.native.binary", matches = ".+")
+class NativeBinaryIT {
+
+    private final String binary = System.getProperty("mavguard.native.binary");
+    private final Path sampleDir = Path.of(System.getProperty("mavguard.sample.dir", "../sample"));
+
+    @Test
+    void shouldPrintHelpWithoutSubcommand() throws Exception {
+        // When
+        ProcessResult result = run();
+
+        // Then
+        assertThat(result.exitCode()).isZero();
+        assertThat(result.output()).contains("analyze", "check-updates");
+    }
+
+    @Test
+    void shouldAnalyzeSingleModuleProject() throws Exception {
+        // Given
+        Path pom = sampleDir.resolve("simple-project/pom.xml");
+
+        // When
+        ProcessResult result = run("analyze", "--color=never", pom.toString());
+
+        // Then
+        assertThat(result.exitCode()).isZero();
+        assertThat(result.output()).contains("Analyzing single module project: com.example:simple-project:1.0.0");
+        assertThat(result.output()).contains("Dependencies (");
+    }
+
+    @Test
+    void shouldAnalyzeMultiModuleProject() throws Exception {
+        // Given
+        Path pom = sampleDir.resolve("multi-module-project/pom.xml");
+
+        // When
+        ProcessResult result = run("analyze", "--color=never", "--detailed-usage", pom.toString());
+
+        // Then
+        assertThat(result.exitCode()).isZero();
+        assertThat(result.output()).contains("Analyzing multi-module project:");
+        assertThat(result.output()).contains("Consolidated Dependencies (");
+        assertThat(result.output()).contains("Dependency Usage by Module:");
+    }
+
+    @Test
+    void shouldFailForMissingPomFile() throws Exception {
+        // When
+        ProcessResult result = run("analyze", "does-not-exist.xml");
+
+        // Then
+        assertThat(result.exitCode()).isEqualTo(1);
+        assertThat(result.output()).contains("File not found: does-not-exist.xml");
+    }
+
+    private ProcessResult run(String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(binary);
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(process.waitFor(60, TimeUnit.SECONDS)).isTrue();
+        return new ProcessResult(process.exitValue(), output);
+    }
+
+    private record ProcessResult(int exitCode, String output) {
+    }
+}
@@ -0,0 +1,74 @@
+package de.diedavids.mavguard;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the startup of an offline analyze run with lazy and eager bean initialization.
+ * Every run uses a fresh JVM, as class loading dominates the startup cost.
+ * Run with: mvn -pl mav-guard-cli test -Dtest=StartupBenchmarkTest -Dmavguard.benchmark=true
+ */
+@EnabledIfSystemProperty(named = "mavguard.benchmark", matches = "true")
+class StartupBenchmarkTest {
+
+    private static final int WARMUP_RUNS = 1;
+    private static final int MEASURED_RUNS = 5;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void compareLazyAndEagerStartup() throws Exception {
+        // Given
+        Path pomFile = tempDir.resolve("pom.xml");
+        Files.writeString(pomFile, """
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>benchmark-project</artifactId>
+                    <version>1.0.0</version>
+                </project>
+                """);
+
+        // When
+        measure(true, pomFile, WARMUP_RUNS);
+        measure(false, pomFile, WARMUP_RUNS);
+        double lazyMillis = measure(true, pomFile, MEASURED_RUNS);
+        double eagerMillis = measure(false, pomFile, MEASURED_RUNS);
+
+        // Then
+        System.out.printf("Startup (analyze, %d runs): lazy %.0f ms, eager %.0f ms, gain %.1f%%%n",
+                MEASURED_RUNS, lazyMillis, eagerMillis, (eagerMillis - lazyMillis) / eagerMillis * 100);
+    }
+
+    private double measure(boolean lazy, Path pomFile, int runs) throws IOException, InterruptedException {
+        Path javaBinary = Path.of(System.getProperty("java.home"), "bin", "java");
+        List<String> command = List.of(
+                javaBinary.toString(),
+                "-cp", System.getProperty("java.class.path"),
+                "-Dspring.main.lazy-initialization=" + lazy,
+                "-Dlogging.level.root=WARN",
+                MavGuardApplication.class.getName(),
+                "analyze", "--color=never", pomFile.toString());
+
+        long total = 0;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            assertThat(process.waitFor()).isZero();
+            total += System.nanoTime() - start;
+        }
+        return total / (double) runs / 1_000_000;
+    }
+}
@@ -1,7 +1,10 @@
 package de.diedavids.mavguard.commands;
 
 import de.diedavids.mavguard.MavGuardApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.diedavids.mavguard.model.Project;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.system.CapturedOutput;
 import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import picocli.CommandLine;
 
 import java.io.File;
@@ -16,8 +20,11 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern; // Import Pattern
 
+import static de.diedavids.mavguard.xml.TestFixtures.readTree;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @ExtendWith(OutputCaptureExtension.class)
@@ -30,6 +37,14 @@ class AnalyzeCommandIntegrationTest {
     @Autowired
     private CommandLine.IFactory factory;
 
+    @AfterEach
+    void resetOutputFormat() {
+        // picocli takes the current field values of the shared command bean as option defaults
+        ReflectionTestUtils.setField(analyzeCommand, "format", "text");
+        ReflectionTestUtils.setField(analyzeCommand, "scan", false);
+        ReflectionTestUtils.setField(analyzeCommand, "ignorePatterns", new ArrayList<>());
+        ReflectionTestUtils.setField(analyzeCommand, "transitive", false);
+    }
 
     private File createTempPomFile(String content) throws IOException {
         Path tempFilePath = Files.createTempFile("pom", ".xml");
@@ -225,15 +240,18 @@ class AnalyzeCommandIntegrationTest {
         return rootPomFile;
     }
 
-
     @Test
     void testUsageHelp(CapturedOutput output) {
         int exitCode = new CommandLine(analyzeCommand, factory).execute("--help");
         assertThat(exitCode).isEqualTo(0);
-        assertThat(output).contains("Usage: analyze [-hV] [--detailed-usage] [--force-multi-module]");
-        assertThat(output).contains("[--color=<colorMode>] <filePath>");
+        assertThat(output).contains("Usage: analyze [-hV] [--detailed-usage] [--force-multi-module] [--scan]");
+        assertThat(output).contains("[--transitive] [--watch] [--color=<colorMode>]");
+        assertThat(output).contains("[--format=<format>] [--ignore=<glob>[,<glob>...]]... <filePath>");
         assertThat(output).contains("--force-multi-module", "Force parsing as a multi-module project");
         assertThat(output).contains("--color=<colorMode>", "When to use colors: auto (default), always, never");
+        assertThat(output).contains("--format=<format>", "Output format: text (default), json, ndjson");
+        assertThat(output).contains("--scan", "Scan the given directory for all pom.xml files");
+        assertThat(output).contains("--transitive", "Resolve and report transitive dependencies");
     }
 
     @Test
@@ -268,7 +286,6 @@ class AnalyzeCommandIntegrationTest {
         assertThat(output).containsPattern(Pattern.compile("  - Module: com.example:module-a:1.0.0 \\(Path: .*module-a[\\\\/]pom\\.xml\\)"));
     }
 
-
     @Test
     void testAnalyzeMultiModuleCommandShowsConsolidatedDependencies(CapturedOutput output) throws IOException {
         File rootPom = createMultiModuleProject(getRootPomXml("module-a"), getModuleAPomXml());
@@ -300,6 +317,115 @@ class AnalyzeCommandIntegrationTest {
         assertThat(output).containsPattern(Pattern.compile("org\\.apache\\.commons:commons-collections4\\s*-\\s*Used/Declared in modules:\\s*module-a"));
     }
 
+    @Test
+    void testAnalyzeSinglePomAsJson(CapturedOutput output) throws IOException {
+        File pomFile = createTempPomFile(getSimplePomXml());
+        int exitCode = new CommandLine(analyzeCommand, factory).execute("--format=json", pomFile.getAbsolutePath());
+
+        assertThat(exitCode).isEqualTo(0);
+        JsonNode events = new ObjectMapper().readTree(commandOutput(output, "["));
+        assertThat(events.isArray()).isTrue();
+        assertThat(events).hasSize(3);
+        assertThat(events.get(0).get("type").asText()).isEqualTo("project");
+        assertThat(events.get(0).get("artifactId").asText()).isEqualTo("simple-project");
+        assertThat(events.get(1).get("type").asText()).isEqualTo("dependency");
+        assertThat(events.get(1).get("artifactId").asText()).isEqualTo("commons-lang3");
+        assertThat(events.get(1).get("version").asText()).isEqualTo("3.12.0");
+        assertThat(events.get(2).get("type").asText()).isEqualTo("summary");
+        assertThat(events.get(2).get("dependencies").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    void testAnalyzeMultiModuleAsNdjson(CapturedOutput output) throws IOException {
+        File rootPomFile = createMultiModuleProjectWithVersionInconsistencies();
+        int exitCode = new CommandLine(analyzeCommand, factory).execute("--format=ndjson", rootPomFile.getAbsolutePath());
+
+        assertThat(exitCode).isEqualTo(0);
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> lines = commandOutput(output, "{").lines().toList();
+        List<String> types = lines.stream()
+                .map(line -> readTree(mapper, line).get("type").asText())
+                .toList();
+        assertThat(types).containsExactly("project", "module", "module", "module",
+                "dependency", "inconsistency", "summary");
+
+        JsonNode inconsistency = mapper.readTree(lines.get(5));
+        assertThat(inconsistency.get("dependency").asText()).isEqualTo("org.slf4j:slf4j-api");
+        assertThat(inconsistency.get("versions").get("1.7.32").get(0).asText()).isEqualTo("module-a");
+        assertThat(inconsistency.get("versions").get("1.7.30").get(0).asText()).isEqualTo("module-b");
+
+        JsonNode summary = mapper.readTree(lines.get(6));
+        assertThat(summary.get("modules").asInt()).isEqualTo(3);
+        assertThat(summary.get("inconsistencies").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    void testAnalyzeWithInvalidFormat(CapturedOutput output) throws IOException {
+        File pomFile = createTempPomFile(getSimplePomXml());
+        int exitCode = new CommandLine(analyzeCommand, factory).execute("--format=xml", pomFile.getAbsolutePath());
+
+        assertThat(exitCode).isEqualTo(1);
+        assertThat(output.getErr()).contains("Invalid output format: xml. Valid options: text, json, ndjson");
+    }
+
+    @Test
+    void testAnalyzeWorkspaceScan(CapturedOutput output) throws IOException {
+        // Given
+        Path workspace = Files.createTempDirectory("mavguard-workspace");
+        writeWorkspacePom(workspace.resolve("service-a"), "service-a", "1.7.32");
+        writeWorkspacePom(workspace.resolve("libs/service-b"), "service-b", "1.7.30");
+        writeWorkspacePom(workspace.resolve("service-a/target"), "build-output", "1.0.0");
+        writeWorkspacePom(workspace.resolve("legacy"), "legacy", "1.0.0");
+
+        // When
+        int exitCode = new CommandLine(analyzeCommand, factory)
+                .execute("--scan", "--ignore=legacy", workspace.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        assertThat(output).contains("Analyzing workspace: " + workspace.toAbsolutePath());
+        assertThat(output).contains("Projects found (2):");
+        assertThat(output).contains("com.example:service-a:1.0.0", "com.example:service-b:1.0.0");
+        assertThat(output).doesNotContain("build-output", "com.example:legacy");
+        assertThat(output).contains("WARNING: Found 1 inconsistent dependency versions:");
+    }
+
+    @Test
+    void testAnalyzeWorkspaceScanRequiresDirectory(CapturedOutput output) throws IOException {
+        File pomFile = createTempPomFile(getSimplePomXml());
+        int exitCode = new CommandLine(analyzeCommand, factory).execute("--scan", pomFile.getAbsolutePath());
+
+        assertThat(exitCode).isEqualTo(1);
+        assertThat(output.getErr()).contains("Not a directory: " + pomFile.getAbsolutePath());
+    }
+
+    private static void writeWorkspacePom(Path directory, String artifactId, String slf4jVersion) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("pom.xml"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>%s</artifactId>
+                    <version>1.0.0</version>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.slf4j</groupId>
+                            <artifactId>slf4j-api</artifactId>
+                            <version>%s</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """.formatted(artifactId, slf4jVersion));
+    }
+
+    // The captured output also contains the banner and usage printed when the shared context started
+    private static String commandOutput(CapturedOutput output, String firstLinePrefix) {
+        String out = output.getOut();
+        int start = out.startsWith(firstLinePrefix) ? 0 : out.indexOf("\n" + firstLinePrefix) + 1;
+        return out.substring(start);
+    }
+
     @Disabled("Functionality of checking inconsistencies with non-zero exit code was removed, this is now default part of analyze output.")
     @Test
     void testAnalyzeMultiModuleCommandWithCheckInconsistencies(CapturedOutput output) throws IOException {
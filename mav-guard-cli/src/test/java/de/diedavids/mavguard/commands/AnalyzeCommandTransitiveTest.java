@@ -0,0 +1,115 @@
+package de.diedavids.mavguard.commands;
+
+import de.diedavids.mavguard.service.ColorOutputService;
+import de.diedavids.mavguard.xml.MultiModuleDependencyCollector;
+import de.diedavids.mavguard.xml.PomDirectoryScanner;
+import de.diedavids.mavguard.xml.PomParser;
+import de.diedavids.mavguard.xml.TransitiveDependencyResolver;
+import de.diedavids.mavguard.xml.XmlParser;
+import de.diedavids.mavguard.xml.repository.BomResolver;
+import de.diedavids.mavguard.xml.repository.LocalRepositoryPomSource;
+import de.diedavids.mavguard.xml.repository.ParentPomResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static de.diedavids.mavguard.xml.TestFixtures.writePom;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class AnalyzeCommandTransitiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LocalRepositoryPomSource repository;
+    private AnalyzeCommand command;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = new LocalRepositoryPomSource(tempDir.resolve("repository"));
+        ParentPomResolver pomResolver = new ParentPomResolver(new XmlParser(), repository);
+        PomParser pomParser = new PomParser();
+        command = new AnalyzeCommand(pomParser, new PomDirectoryScanner(pomParser), new MultiModuleDependencyCollector(),
+                new TransitiveDependencyResolver(pomResolver, new BomResolver(pomResolver)), new ColorOutputService());
+
+        installPom("web", """
+                <dependencies>
+                    <dependency><groupId>org.example</groupId><artifactId>core</artifactId><version>1</version></dependency>
+                </dependencies>
+                """);
+        installPom("core", "");
+        installPom("unused", """
+                <dependencies>
+                    <dependency><groupId>org.example</groupId><artifactId>extra</artifactId><version>1</version></dependency>
+                </dependencies>
+                """);
+        installPom("extra", "");
+    }
+
+    @Test
+    void shouldOnlyResolveDeclaredDependenciesOfModules(CapturedOutput output) throws IOException {
+        // Given: the parent manages an artifact no module declares
+        writePom(tempDir.resolve("pom.xml"), """
+                <groupId>com.example</groupId>
+                <artifactId>root</artifactId>
+                <version>1.0.0</version>
+                <packaging>pom</packaging>
+                <modules>
+                    <module>app</module>
+                </modules>
+                <dependencyManagement>
+                    <dependencies>
+                        <dependency><groupId>org.example</groupId><artifactId>web</artifactId><version>1</version></dependency>
+                        <dependency><groupId>org.example</groupId><artifactId>unused</artifactId><version>1</version></dependency>
+                    </dependencies>
+                </dependencyManagement>
+                """);
+        writePom(tempDir.resolve("app/pom.xml"), """
+                <parent>
+                    <groupId>com.example</groupId>
+                    <artifactId>root</artifactId>
+                    <version>1.0.0</version>
+                </parent>
+                <groupId>com.example</groupId>
+                <artifactId>app</artifactId>
+                <version>1.0.0</version>
+                <dependencies>
+                    <dependency><groupId>org.example</groupId><artifactId>web</artifactId></dependency>
+                    <dependency><groupId>com.example</groupId><artifactId>root</artifactId><version>1.0.0</version><type>pom</type></dependency>
+                </dependencies>
+                """);
+
+        // When
+        int exitCode = new CommandLine(command).execute("--transitive", "--color=never", tempDir.resolve("pom.xml").toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        String transitiveSection = output.getOut().substring(output.getOut().indexOf("Transitive Dependencies"));
+        assertThat(transitiveSection).startsWith("Transitive Dependencies (1 beyond 1 direct, max depth 2):");
+        assertThat(transitiveSection).contains("org.example:core:1", "via org.example:web");
+        assertThat(transitiveSection).doesNotContain("unused", "extra", "com.example:root");
+    }
+
+    private void installPom(String artifactId, String body) throws IOException {
+        Path pomFile = repository.getPomPath("org.example", artifactId, "1");
+        Files.createDirectories(pomFile.getParent());
+        Files.writeString(pomFile, """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>org.example</groupId>
+                    <artifactId>%s</artifactId>
+                    <version>1</version>
+                %s</project>
+                """.formatted(artifactId, body));
+    }
+}
@@ -0,0 +1,103 @@
+package de.diedavids.mavguard.commands;
+
+import de.diedavids.mavguard.service.ColorOutputService;
+import de.diedavids.mavguard.xml.MultiModuleDependencyCollector;
+import de.diedavids.mavguard.xml.PomDirectoryScanner;
+import de.diedavids.mavguard.xml.PomParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static de.diedavids.mavguard.xml.TestFixtures.writePom;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class AnalyzeCommandWatchTest {
+
+    @TempDir
+    Path tempDir;
+
+    private AnalyzeCommand command;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        PomParser pomParser = new PomParser();
+        command = new AnalyzeCommand(pomParser, new PomDirectoryScanner(pomParser), new MultiModuleDependencyCollector(),
+                null, new ColorOutputService());
+
+        writePom(tempDir.resolve("pom.xml"), """
+                <groupId>com.example</groupId>
+                <artifactId>root</artifactId>
+                <version>1.0.0</version>
+                <packaging>pom</packaging>
+                <modules>
+                    <module>api</module>
+                    <module>impl</module>
+                </modules>
+                """);
+        writeModule("api", "1.7.30");
+        writeModule("impl", "1.7.30");
+    }
+
+    @Test
+    void shouldReportChangesUntilRootPomIsRemoved(CapturedOutput output) throws Exception {
+        // Given
+        CompletableFuture<Integer> exitCode = CompletableFuture.supplyAsync(() -> new CommandLine(command)
+                .execute("--watch", "--color=never", tempDir.resolve("pom.xml").toString()));
+        awaitOutput(() -> output.getOut().contains("Watching 3 directories for POM changes"));
+
+        // When
+        writeModule("impl", "2.0.13");
+        awaitOutput(() -> output.getOut().contains("New inconsistency"));
+        Files.delete(tempDir.resolve("pom.xml"));
+
+        // Then
+        assertThat(exitCode.get(30, TimeUnit.SECONDS)).isEqualTo(0);
+        assertThat(output.getOut()).contains("Changed: impl" + tempDir.getFileSystem().getSeparator() + "pom.xml (re-parsed 1 of 3 modules");
+        assertThat(output.getOut()).contains("Dependency org.slf4j:slf4j-api has inconsistent versions:");
+        assertThat(output.getOut()).contains("Root POM removed, stopping watch.");
+    }
+
+    @Test
+    void shouldRejectWatchWithScan(CapturedOutput output) {
+        // When
+        int exitCode = new CommandLine(command).execute("--watch", "--scan", tempDir.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(1);
+        assertThat(output.getErr()).contains("--watch cannot be combined with --scan");
+    }
+
+    private static void awaitOutput(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("waiting for the watch output").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private void writeModule(String artifactId, String slf4jVersion) throws IOException {
+        writePom(tempDir.resolve(artifactId).resolve("pom.xml"), """
+                <parent>
+                    <groupId>com.example</groupId>
+                    <artifactId>root</artifactId>
+                    <version>1.0.0</version>
+                </parent>
+                <artifactId>%s</artifactId>
+                <dependencies>
+                    <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId><version>%s</version></dependency>
+                </dependencies>
+                """.formatted(artifactId, slf4jVersion));
+    }
+}
@@ -0,0 +1,242 @@
+package de.diedavids.mavguard.commands;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.nexus.service.DependencyVersionService;
+import de.diedavids.mavguard.service.ColorOutputService;
+import de.diedavids.mavguard.xml.MultiModuleDependencyCollector;
+import de.diedavids.mavguard.xml.PomParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static de.diedavids.mavguard.xml.TestFixtures.readTree;
+import static de.diedavids.mavguard.xml.TestFixtures.writePom;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class BatchCheckUpdatesCommandTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final CountingVersionService versionService = new CountingVersionService();
+    private BatchCheckUpdatesCommand command;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        command = new BatchCheckUpdatesCommand(new PomParser(), versionService,
+                new MultiModuleDependencyCollector(), new ColorOutputService());
+
+        writePom(tempDir.resolve("orders/pom.xml"), """
+                <groupId>com.example</groupId>
+                <artifactId>orders</artifactId>
+                <version>1.0.0</version>
+                <dependencies>
+                    <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId><version>1.7.30</version></dependency>
+                    <dependency><groupId>junit</groupId><artifactId>junit</artifactId><version>4.12</version></dependency>
+                </dependencies>
+                """);
+        writePom(tempDir.resolve("billing/pom.xml"), """
+                <groupId>com.example</groupId>
+                <artifactId>billing-parent</artifactId>
+                <version>1.0.0</version>
+                <packaging>pom</packaging>
+                <modules>
+                    <module>billing-core</module>
+                </modules>
+                """);
+        writePom(tempDir.resolve("billing/billing-core/pom.xml"), """
+                <parent>
+                    <groupId>com.example</groupId>
+                    <artifactId>billing-parent</artifactId>
+                    <version>1.0.0</version>
+                </parent>
+                <artifactId>billing-core</artifactId>
+                <dependencies>
+                    <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId><version>1.7.32</version></dependency>
+                </dependencies>
+                """);
+    }
+
+    @Test
+    void shouldLookUpSharedArtifactsOnceAndReportPerRepository(CapturedOutput output) throws IOException {
+        // Given
+        Path manifest = tempDir.resolve("repositories.txt");
+        Files.writeString(manifest, """
+                # service repositories
+                orders/pom.xml
+
+                billing
+                """);
+
+        // When
+        int exitCode = new CommandLine(command).execute("--color=never", "--manifest", manifest.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        assertThat(versionService.calls).containsEntry("org.slf4j:slf4j-api", 1);
+        assertThat(output).contains("(com.example:orders:1.0.0) ===", "(com.example:billing-parent:1.0.0) ===");
+        assertThat(output).containsPattern("dependency\\s+org\\.slf4j:slf4j-api\\s+1\\.7\\.30\\s+\\S+\\s+2\\.0\\.0\\s+orders");
+        assertThat(output).containsPattern("dependency\\s+org\\.slf4j:slf4j-api\\s+1\\.7\\.32\\s+\\S+\\s+2\\.0\\.0\\s+billing-core");
+        assertThat(output).contains("Checked 2 repositories with 3 distinct artifact lookups.");
+        assertThat(output).contains("Found 3 potential update(s) across all repositories.");
+    }
+
+    @Test
+    void shouldStreamRepositoryEventsAsNdjson(CapturedOutput output) throws IOException {
+        // When
+        int exitCode = new CommandLine(command).execute("--format=ndjson",
+                tempDir.resolve("orders/pom.xml").toString(), tempDir.resolve("billing").toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        ObjectMapper mapper = new ObjectMapper();
+        List<JsonNode> events = output.getOut().lines().map(line -> readTree(mapper, line)).toList();
+        assertThat(events).extracting(event -> event.get("type").asText())
+                .containsExactly("repository", "update", "update", "repository", "update", "summary");
+        assertThat(events.get(3).get("artifactId").asText()).isEqualTo("billing-parent");
+        assertThat(events.get(3).get("modules").asInt()).isEqualTo(2);
+        JsonNode summary = events.get(5);
+        assertThat(summary.get("repositories").asInt()).isEqualTo(2);
+        assertThat(summary.get("lookups").asInt()).isEqualTo(3);
+        assertThat(summary.get("updates").asInt()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldStartEveryLookupBeforeReporting(CapturedOutput output) throws IOException {
+        // Given: a parent that manages an artifact none of its modules declares
+        writePom(tempDir.resolve("managed/pom.xml"), """
+                <groupId>com.example</groupId>
+                <artifactId>managed-parent</artifactId>
+                <version>1.0.0</version>
+                <packaging>pom</packaging>
+                <modules>
+                    <module>managed-core</module>
+                </modules>
+                <dependencyManagement>
+                    <dependencies>
+                        <dependency><groupId>org.apache.commons</groupId><artifactId>commons-lang3</artifactId><version>3.12.0</version></dependency>
+                    </dependencies>
+                </dependencyManagement>
+                """);
+        writePom(tempDir.resolve("managed/managed-core/pom.xml"), """
+                <parent>
+                    <groupId>com.example</groupId>
+                    <artifactId>managed-parent</artifactId>
+                    <version>1.0.0</version>
+                </parent>
+                <artifactId>managed-core</artifactId>
+                <dependencies>
+                    <dependency><groupId>junit</groupId><artifactId>junit</artifactId><version>4.12</version></dependency>
+                </dependencies>
+                """);
+        // Every lookup waits until all three distinct lookups have started, so a lookup that is only started while
+        // reporting keeps the others waiting until the timeout
+        CountDownLatch allStarted = new CountDownLatch(3);
+        AtomicBoolean startedWhileReporting = new AtomicBoolean();
+        CountingVersionService waitingService = new CountingVersionService() {
+            @Override
+            public List<String> getAvailableVersions(Dependency dependency) {
+                awaitOthers();
+                return super.getAvailableVersions(dependency);
+            }
+
+            @Override
+            public Optional<String> getLatestParentVersion(Project.Parent parent) {
+                awaitOthers();
+                return super.getLatestParentVersion(parent);
+            }
+
+            private void awaitOthers() {
+                allStarted.countDown();
+                try {
+                    if (!allStarted.await(5, TimeUnit.SECONDS)) {
+                        startedWhileReporting.set(true);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        BatchCheckUpdatesCommand waitingCommand = new BatchCheckUpdatesCommand(new PomParser(), waitingService,
+                new MultiModuleDependencyCollector(), new ColorOutputService());
+
+        // When
+        int exitCode = new CommandLine(waitingCommand).execute("--color=never", tempDir.resolve("managed").toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        assertThat(startedWhileReporting).isFalse();
+        assertThat(waitingService.calls).containsKeys("org.apache.commons:commons-lang3", "junit:junit");
+        assertThat(output).containsPattern("dependency\\s+org\\.apache\\.commons:commons-lang3\\s+3\\.12\\.0");
+    }
+
+    @Test
+    void shouldReportOtherRepositoriesWhenOneCannotBeParsed(CapturedOutput output) throws IOException {
+        // Given
+        Path broken = tempDir.resolve("broken/pom.xml");
+        Files.createDirectories(broken.getParent());
+        Files.writeString(broken, "<project><unclosed></project>");
+
+        // When
+        int exitCode = new CommandLine(command).execute("--color=never",
+                broken.toString(), tempDir.resolve("orders/pom.xml").toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(1);
+        assertThat(output.getErr()).contains("Error parsing POM file: " + broken);
+        assertThat(output).contains("(com.example:orders:1.0.0) ===");
+        assertThat(output).contains("1 repositories could not be parsed, see errors above.");
+    }
+
+    @Test
+    void shouldRequireAtLeastOneRepository(CapturedOutput output) {
+        // When
+        int exitCode = new CommandLine(command).execute();
+
+        // Then
+        assertThat(exitCode).isEqualTo(1);
+        assertThat(output.getErr()).contains("No repositories given. Pass root POM files or --manifest <file>");
+    }
+
+    private static class CountingVersionService implements DependencyVersionService {
+
+        private final Map<String, Integer> calls = new ConcurrentHashMap<>();
+
+        @Override
+        public List<String> getAvailableVersions(Dependency dependency) {
+            calls.merge(dependency.groupId() + ":" + dependency.artifactId(), 1, Integer::sum);
+            return List.of("2.0.0");
+        }
+
+        @Override
+        public List<String> getAvailableParentVersions(Project.Parent parent) {
+            calls.merge("parent:" + parent.groupId() + ":" + parent.artifactId(), 1, Integer::sum);
+            return List.of("1.0.0");
+        }
+
+        @Override
+        public Optional<String> getLatestParentVersion(Project.Parent parent) {
+            calls.merge("parent:" + parent.groupId() + ":" + parent.artifactId(), 1, Integer::sum);
+            return Optional.of(parent.version());
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package de.diedavids.mavguard.commands;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.service.ColorOutputService;
+import de.diedavids.mavguard.service.ResultCache;
+import de.diedavids.mavguard.xml.MultiModuleDependencyCollector;
+import de.diedavids.mavguard.xml.PomParser;
+import de.diedavids.mavguard.xml.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class CheckUpdatesDeadlineTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final CountDownLatch repositoryAnswers = new CountDownLatch(1);
+    private final AtomicBoolean refreshesCancelled = new AtomicBoolean();
+
+    @AfterEach
+    void releaseLookups() {
+        repositoryAnswers.countDown();
+    }
+
+    @Test
+    void shouldReportResolvedUpdatesAndMarkUnresolvedWhenDeadlineExpires(CapturedOutput output) throws IOException {
+        // Given
+        Path pom = writePom("""
+                <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId><version>1.7.30</version></dependency>
+                <dependency><groupId>com.example</groupId><artifactId>slow-lib</artifactId><version>1.0.0</version></dependency>
+                """);
+
+        // When
+        int exitCode = execute("--deadline=1", "--color=never", pom.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(CheckUpdatesCommand.PARTIAL_EXIT_CODE);
+        assertThat(output.getOut()).containsPattern("org\\.slf4j:slf4j-api\\s+1\\.7\\.30 .* 1\\.7\\.36");
+        assertThat(output.getOut()).containsPattern("com\\.example:slow-lib\\s+1\\.0\\.0\\s+UNRESOLVED");
+        assertThat(output.getOut()).contains("Found 1 potential update(s).");
+        assertThat(output.getOut()).contains("WARNING: The deadline of 1s expired before 1 lookup(s) completed.");
+        assertThat(refreshesCancelled).isTrue();
+    }
+
+    @Test
+    void shouldWriteUnresolvedEventsWhenDeadlineExpires(CapturedOutput output) throws IOException {
+        // Given
+        Path pom = writePom("""
+                <dependency><groupId>com.example</groupId><artifactId>slow-lib</artifactId><version>1.0.0</version></dependency>
+                """);
+
+        // When
+        int exitCode = execute("--deadline=1", "--format=ndjson", pom.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(CheckUpdatesCommand.PARTIAL_EXIT_CODE);
+        assertThat(output.getOut()).contains("{\"type\":\"unresolved\",\"kind\":\"dependency\",\"groupId\":\"com.example\",\"artifactId\":\"slow-lib\"");
+        assertThat(output.getOut()).contains("\"updates\":0,\"unresolved\":1");
+    }
+
+    @Test
+    void shouldExitNormallyWhenLookupsCompleteInTime(CapturedOutput output) throws IOException {
+        // Given
+        Path pom = writePom("""
+                <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId><version>1.7.30</version></dependency>
+                """);
+
+        // When
+        int exitCode = execute("--deadline=30", "--format=ndjson", pom.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        assertThat(output.getOut()).contains("\"latestVersion\":\"1.7.36\"");
+        assertThat(output.getOut()).doesNotContain("unresolved");
+        assertThat(refreshesCancelled).isTrue();
+    }
+
+    @Test
+    void shouldKeepBackgroundRefreshesWithoutDeadline() throws IOException {
+        // Given
+        Path pom = writePom("""
+                <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId><version>1.7.30</version></dependency>
+                """);
+
+        // When
+        int exitCode = execute("--format=ndjson", pom.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        assertThat(refreshesCancelled).isFalse();
+    }
+
+    @Test
+    void shouldNotWriteSnapshotOfPartialRun(CapturedOutput output) throws IOException {
+        // Given
+        Path pom = writePom("""
+                <dependency><groupId>com.example</groupId><artifactId>slow-lib</artifactId><version>1.0.0</version></dependency>
+                """);
+        Path snapshot = tempDir.resolve("updates.snapshot");
+
+        // When
+        int exitCode = execute("--deadline=1", "--snapshot", snapshot.toString(), pom.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(CheckUpdatesCommand.PARTIAL_EXIT_CODE);
+        assertThat(snapshot).doesNotExist();
+        assertThat(output.getErr()).contains("not written, the deadline expired before all lookups completed");
+    }
+
+    @Test
+    void shouldReportFailedLookupAsUnresolvedAndCheckTheRest(CapturedOutput output) throws IOException {
+        // Given
+        Path pom = writePom("""
+                <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId><version>1.7.30</version></dependency>
+                <dependency><groupId>com.example</groupId><artifactId>broken-lib</artifactId><version>1.0.0</version></dependency>
+                """);
+
+        // When
+        int exitCode = execute("--color=never", pom.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(CheckUpdatesCommand.PARTIAL_EXIT_CODE);
+        assertThat(output.getErr()).contains("Error looking up the latest version of com.example:broken-lib: Repository returned 503");
+        assertThat(output.getOut()).containsPattern("org\\.slf4j:slf4j-api\\s+1\\.7\\.30 .* 1\\.7\\.36");
+        assertThat(output.getOut()).containsPattern("com\\.example:broken-lib\\s+1\\.0\\.0\\s+UNRESOLVED");
+        assertThat(output.getOut()).contains("WARNING: 1 lookup(s) failed, see errors above.");
+    }
+
+    @Test
+    void shouldRejectInvalidDeadline(CapturedOutput output) throws IOException {
+        // Given
+        Path pom = writePom("");
+
+        // When
+        int exitCode = execute("--deadline=0", pom.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(1);
+        assertThat(output.getErr()).contains("Invalid deadline: 0. Must be at least 1 second");
+    }
+
+    @Test
+    void shouldRejectDeadlineWithDiff(CapturedOutput output) throws IOException {
+        // Given
+        Path pom = writePom("");
+
+        // When
+        int exitCode = execute("--deadline=5", "--diff", "old.snapshot", pom.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(1);
+        assertThat(output.getErr()).contains("--deadline cannot be combined with --diff");
+    }
+
+    private int execute(String... arguments) {
+        TestDependencyVersionService versionService = new TestDependencyVersionService() {
+            @Override
+            public Optional<String> getLatestVersion(Dependency dependency) {
+                if (dependency.artifactId().equals("broken-lib")) {
+                    throw new IllegalStateException("Repository returned 503");
+                }
+                if (dependency.artifactId().equals("slow-lib")) {
+                    try {
+                        repositoryAnswers.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Optional.of("2.0.0");
+                }
+                return super.getLatestVersion(dependency);
+            }
+
+            @Override
+            public void cancelBackgroundRefreshes() {
+                refreshesCancelled.set(true);
+            }
+        };
+        CheckUpdatesCommand command = new CheckUpdatesCommand(new PomParser(), versionService, new MultiModuleDependencyCollector(),
+                new ColorOutputService(), new ResultCache(tempDir.resolve("results"), () -> "test"));
+        return new CommandLine(command).execute(arguments);
+    }
+
+    private Path writePom(String dependencies) throws IOException {
+        return TestFixtures.writePom(tempDir.resolve("pom.xml"), """
+                    <groupId>com.example</groupId>
+                    <artifactId>app</artifactId>
+                    <version>1.0.0</version>
+                    <dependencies>
+                %s    </dependencies>
+                """.formatted(dependencies));
+    }
+}
@@ -0,0 +1,175 @@
+package de.diedavids.mavguard.commands;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.service.ColorOutputService;
+import de.diedavids.mavguard.service.ResultCache;
+import de.diedavids.mavguard.xml.MultiModuleDependencyCollector;
+import de.diedavids.mavguard.xml.PomParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.diedavids.mavguard.xml.TestFixtures.writePom;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class CheckUpdatesResultCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicInteger possiblyStale = new AtomicInteger();
+    private Path rootPom;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        rootPom = writePom(tempDir.resolve("pom.xml"), """
+                <groupId>com.example</groupId>
+                <artifactId>root</artifactId>
+                <version>1.0.0</version>
+                <packaging>pom</packaging>
+                <modules>
+                    <module>core</module>
+                </modules>
+                """);
+        writePom(tempDir.resolve("core/pom.xml"), """
+                <groupId>com.example</groupId>
+                <artifactId>core</artifactId>
+                <version>1.0.0</version>
+                <dependencies>
+                    <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId><version>1.7.30</version></dependency>
+                </dependencies>
+                """);
+    }
+
+    @Test
+    void shouldReplayUnchangedReactorWithoutLookups(CapturedOutput output) {
+        // Given
+        assertThat(execute("--result-cache", "--format=ndjson", rootPom.toString())).isEqualTo(0);
+        String firstOutput = output.getOut();
+        int firstLookups = lookups.getAndSet(0);
+
+        // When
+        int exitCode = execute("--result-cache", "--format=ndjson", rootPom.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        assertThat(firstLookups).isGreaterThan(0);
+        assertThat(lookups.get()).isZero();
+        assertThat(output.getOut()).isEqualTo(firstOutput + firstOutput);
+        assertThat(firstOutput).contains("\"latestVersion\":\"1.7.36\"");
+    }
+
+    @Test
+    void shouldRunAgainWhenModulePomChanges(CapturedOutput output) throws IOException {
+        // Given
+        assertThat(execute("--result-cache", "--format=ndjson", rootPom.toString())).isEqualTo(0);
+        writePom(tempDir.resolve("core/pom.xml"), """
+                <groupId>com.example</groupId>
+                <artifactId>core</artifactId>
+                <version>1.0.0</version>
+                <dependencies>
+                    <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId><version>1.7.36</version></dependency>
+                </dependencies>
+                """);
+        lookups.set(0);
+        int offset = output.getOut().length();
+
+        // When
+        int exitCode = execute("--result-cache", "--format=ndjson", rootPom.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        assertThat(lookups.get()).isGreaterThan(0);
+        assertThat(output.getOut().substring(offset)).contains("\"updates\":0");
+    }
+
+    @Test
+    void shouldNotStoreRunAnsweredFromExpiredVersions(CapturedOutput output) {
+        // Given
+        possiblyStale.set(1);
+        assertThat(execute("--result-cache", "--format=ndjson", rootPom.toString())).isEqualTo(0);
+        possiblyStale.set(0);
+        lookups.set(0);
+
+        // When
+        int exitCode = execute("--result-cache", "--format=ndjson", rootPom.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        assertThat(lookups.get()).isGreaterThan(0);
+    }
+
+    @Test
+    void shouldNotStoreRunImportingExternalSnapshotBom(CapturedOutput output) throws IOException {
+        // Given: the content of the BOM may change without any reactor POM changing
+        writePom(tempDir.resolve("core/pom.xml"), """
+                <groupId>com.example</groupId>
+                <artifactId>core</artifactId>
+                <version>1.0.0</version>
+                <dependencyManagement>
+                    <dependencies>
+                        <dependency><groupId>org.example</groupId><artifactId>platform-bom</artifactId><version>1.0-SNAPSHOT</version><type>pom</type><scope>import</scope></dependency>
+                    </dependencies>
+                </dependencyManagement>
+                <dependencies>
+                    <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId><version>1.7.30</version></dependency>
+                </dependencies>
+                """);
+        assertThat(execute("--result-cache", "--format=ndjson", rootPom.toString())).isEqualTo(0);
+        lookups.set(0);
+
+        // When
+        int exitCode = execute("--result-cache", "--format=ndjson", rootPom.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        assertThat(lookups.get()).isGreaterThan(0);
+    }
+
+    @Test
+    void shouldRejectResultCacheWithDiff(CapturedOutput output) {
+        // When
+        int exitCode = execute("--result-cache", "--diff", "old.snapshot", rootPom.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(1);
+        assertThat(output.getErr()).contains("--result-cache cannot be combined with --since, --snapshot or --diff");
+    }
+
+    private int execute(String... arguments) {
+        TestDependencyVersionService delegate = new TestDependencyVersionService();
+        TestDependencyVersionService versionService = new TestDependencyVersionService() {
+            @Override
+            public Optional<String> getLatestVersion(Dependency dependency) {
+                lookups.incrementAndGet();
+                return delegate.getLatestVersion(dependency);
+            }
+
+            @Override
+            public Optional<String> getLatestParentVersion(Project.Parent parent) {
+                lookups.incrementAndGet();
+                return delegate.getLatestParentVersion(parent);
+            }
+
+            @Override
+            public int getPossiblyStaleCount() {
+                return possiblyStale.get();
+            }
+        };
+        CheckUpdatesCommand command = new CheckUpdatesCommand(new PomParser(), versionService, new MultiModuleDependencyCollector(),
+                new ColorOutputService(), new ResultCache(tempDir.resolve("results"), () -> "test"));
+        return new CommandLine(command).execute(arguments);
+    }
+}
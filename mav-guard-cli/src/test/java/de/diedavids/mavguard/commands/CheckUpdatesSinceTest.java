@@ -0,0 +1,161 @@
+package de.diedavids.mavguard.commands;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.nexus.service.DependencyVersionService;
+import de.diedavids.mavguard.service.ColorOutputService;
+import de.diedavids.mavguard.service.ResultCache;
+import de.diedavids.mavguard.xml.MultiModuleDependencyCollector;
+import de.diedavids.mavguard.xml.PomParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static de.diedavids.mavguard.xml.TestFixtures.readTree;
+import static de.diedavids.mavguard.xml.TestFixtures.writePom;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class CheckUpdatesSinceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<String> lookups = Collections.synchronizedList(new ArrayList<>());
+
+    private CheckUpdatesCommand command;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        command = new CheckUpdatesCommand(new PomParser(), new RecordingVersionService(), new MultiModuleDependencyCollector(),
+                new ColorOutputService(), new ResultCache(tempDir.resolve("results"), () -> "test"));
+
+        writePom(tempDir.resolve("pom.xml"), """
+                <groupId>com.example</groupId>
+                <artifactId>root</artifactId>
+                <version>1.0.0</version>
+                <packaging>pom</packaging>
+                <modules>
+                    <module>api</module>
+                    <module>impl</module>
+                    <module>web</module>
+                </modules>
+                """);
+        writeModule("api", "root", "org.slf4j", "slf4j-api", "1.7.30");
+        writeModule("impl", "api", "org.apache.commons", "commons-lang3", "3.12.0");
+        writeModule("web", "root", "org.springframework", "spring-core", "5.3.10");
+        git("init", "-q");
+        git("add", ".");
+        git("-c", "user.name=test", "-c", "user.email=test@example.com", "commit", "-q", "-m", "Initial commit");
+    }
+
+    @Test
+    void shouldOnlyCheckChangedModulesAndTheirChildren(CapturedOutput output) throws Exception {
+        // Given
+        writeModule("api", "root", "org.slf4j", "slf4j-api", "1.7.32");
+
+        // When
+        int exitCode = new CommandLine(command).execute("--since", "HEAD", "--format=ndjson", tempDir.resolve("pom.xml").toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        ObjectMapper mapper = new ObjectMapper();
+        List<JsonNode> events = output.getOut().lines().map(line -> readTree(mapper, line)).toList();
+        JsonNode summary = events.get(events.size() - 1);
+        assertThat(summary.get("modules").asInt()).isEqualTo(4);
+        assertThat(summary.get("checked").asInt()).isEqualTo(2);
+        assertThat(events).filteredOn(event -> event.get("type").asText().equals("update"))
+                .extracting(event -> event.get("artifactId").asText())
+                .containsExactly("slf4j-api");
+        assertThat(lookups).doesNotContain("org.springframework:spring-core").contains("org.slf4j:slf4j-api");
+    }
+
+    @Test
+    void shouldReportWhenNothingChanged(CapturedOutput output) {
+        // When
+        int exitCode = new CommandLine(command).execute("--since", "HEAD", "--color=never", tempDir.resolve("pom.xml").toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        assertThat(output.getOut()).contains("No module POM changed since HEAD, nothing to check.");
+        assertThat(lookups).isEmpty();
+    }
+
+    @Test
+    void shouldRejectUnknownRevision(CapturedOutput output) {
+        // When
+        int exitCode = new CommandLine(command).execute("--since", "no-such-branch", tempDir.resolve("pom.xml").toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(1);
+        assertThat(output.getErr()).contains("Cannot determine the files changed since no-such-branch: git diff failed:");
+    }
+
+    private void git(String... arguments) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of("git", "-C", tempDir.toString()));
+        command.addAll(List.of(arguments));
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        assertThat(process.waitFor(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(process.exitValue()).isEqualTo(0);
+    }
+
+    private void writeModule(String artifactId, String parentArtifactId, String groupId, String dependency, String version) throws IOException {
+        writePom(tempDir.resolve(artifactId).resolve("pom.xml"), """
+                <parent>
+                    <groupId>com.example</groupId>
+                    <artifactId>%s</artifactId>
+                    <version>1.0.0</version>
+                    <relativePath>../%s</relativePath>
+                </parent>
+                <artifactId>%s</artifactId>
+                <dependencies>
+                    <dependency><groupId>%s</groupId><artifactId>%s</artifactId><version>%s</version></dependency>
+                </dependencies>
+                """.formatted(parentArtifactId, parentArtifactId.equals("root") ? "" : parentArtifactId, artifactId,
+                groupId, dependency, version));
+    }
+
+    /**
+     * Records every lookup and answers from the shared test data.
+     */
+    private class RecordingVersionService implements DependencyVersionService {
+
+        private final TestDependencyVersionService delegate = new TestDependencyVersionService();
+
+        @Override
+        public List<String> getAvailableVersions(Dependency dependency) {
+            return delegate.getAvailableVersions(dependency);
+        }
+
+        @Override
+        public Optional<String> getLatestVersion(Dependency dependency) {
+            lookups.add(dependency.groupId() + ":" + dependency.artifactId());
+            return delegate.getLatestVersion(dependency);
+        }
+
+        @Override
+        public List<String> getAvailableParentVersions(Project.Parent parent) {
+            return delegate.getAvailableParentVersions(parent);
+        }
+
+        @Override
+        public Optional<String> getLatestParentVersion(Project.Parent parent) {
+            lookups.add("parent:" + parent.groupId() + ":" + parent.artifactId());
+            return delegate.getLatestParentVersion(parent);
+        }
+    }
+}
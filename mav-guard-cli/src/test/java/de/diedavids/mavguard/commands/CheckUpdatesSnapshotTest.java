@@ -0,0 +1,170 @@
+package de.diedavids.mavguard.commands;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.nexus.service.DependencyVersionService;
+import de.diedavids.mavguard.service.ColorOutputService;
+import de.diedavids.mavguard.service.ResultCache;
+import de.diedavids.mavguard.xml.MultiModuleDependencyCollector;
+import de.diedavids.mavguard.xml.PomParser;
+import de.diedavids.mavguard.xml.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class CheckUpdatesSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path pomFile;
+    private Path snapshotFile;
+
+    /** The latest versions in the repository, changed between runs to simulate new releases */
+    private final Map<String, String> latestVersions = new HashMap<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pomFile = tempDir.resolve("pom.xml");
+        snapshotFile = tempDir.resolve("updates.snapshot");
+        writePom("""
+                <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId><version>1.7.30</version></dependency>
+                <dependency><groupId>org.springframework</groupId><artifactId>spring-core</artifactId><version>5.3.10</version></dependency>
+                <dependency><groupId>org.springframework</groupId><artifactId>spring-context</artifactId><version>5.3.10</version></dependency>
+                <dependency><groupId>org.apache.commons</groupId><artifactId>commons-lang3</artifactId><version>3.14.0</version></dependency>
+                """);
+        latestVersions.put("org.slf4j:slf4j-api", "2.0.9");
+        latestVersions.put("org.springframework:spring-core", "6.0.0");
+        latestVersions.put("org.springframework:spring-context", "6.0.0");
+        latestVersions.put("org.apache.commons:commons-lang3", "3.14.0");
+    }
+
+    @Test
+    void shouldPrintOnlyUpdatesChangedSinceSnapshot(CapturedOutput output) throws IOException {
+        // Given
+        assertThat(execute("--snapshot", snapshotFile.toString(), "--color=never", pomFile.toString())).isEqualTo(0);
+        assertThat(snapshotFile).exists();
+        writePom("""
+                <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId><version>2.0.9</version></dependency>
+                <dependency><groupId>org.springframework</groupId><artifactId>spring-core</artifactId><version>5.3.10</version></dependency>
+                <dependency><groupId>org.springframework</groupId><artifactId>spring-context</artifactId><version>5.3.10</version></dependency>
+                <dependency><groupId>org.apache.commons</groupId><artifactId>commons-lang3</artifactId><version>3.14.0</version></dependency>
+                """);
+        latestVersions.put("org.springframework:spring-core", "6.1.0");
+        latestVersions.put("org.apache.commons:commons-lang3", "3.15.0");
+        int offset = output.getOut().length();
+
+        // When
+        int exitCode = execute("--diff", snapshotFile.toString(), "--color=never", pomFile.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        String diffOutput = output.getOut().substring(offset);
+        assertThat(diffOutput)
+                .contains("New Updates (1):", "  + org.apache.commons:commons-lang3 3.14.0 -> 3.15.0 (Modules: test-project)")
+                .contains("Changed Updates (1):", "  ~ org.springframework:spring-core 5.3.10 -> 6.1.0 (Modules: test-project) [was 5.3.10 -> 6.0.0]")
+                .contains("Resolved Updates (1):", "  - org.slf4j:slf4j-api 1.7.30 -> 2.0.9 (Modules: test-project)")
+                .contains("1 new, 1 changed, 1 resolved, 1 unchanged update(s).")
+                .doesNotContain("spring-context");
+    }
+
+    @Test
+    void shouldWriteDeltaEventsAndRefreshSnapshot(CapturedOutput output) throws IOException {
+        // Given
+        assertThat(execute("--snapshot", snapshotFile.toString(), "--format=ndjson", pomFile.toString())).isEqualTo(0);
+        writePom("""
+                <dependency><groupId>org.springframework</groupId><artifactId>spring-core</artifactId><version>5.3.10</version></dependency>
+                <dependency><groupId>org.springframework</groupId><artifactId>spring-context</artifactId><version>5.3.10</version></dependency>
+                <dependency><groupId>org.apache.commons</groupId><artifactId>commons-lang3</artifactId><version>3.14.0</version></dependency>
+                """);
+        int offset = output.getOut().length();
+
+        // When
+        int exitCode = execute("--diff", snapshotFile.toString(), "--snapshot", snapshotFile.toString(),
+                "--format=ndjson", pomFile.toString());
+        int secondOffset = output.getOut().length();
+        int secondExitCode = execute("--diff", snapshotFile.toString(), "--format=ndjson", pomFile.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        assertThat(secondExitCode).isEqualTo(0);
+        List<JsonNode> events = readEvents(output.getOut().substring(offset, secondOffset));
+        assertThat(events).filteredOn(event -> event.get("type").asText().equals("delta"))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.get("change").asText()).isEqualTo("resolved");
+                    assertThat(event.get("artifactId").asText()).isEqualTo("slf4j-api");
+                });
+        JsonNode summary = events.get(events.size() - 1);
+        assertThat(summary.get("resolved").asInt()).isEqualTo(1);
+        assertThat(summary.get("unchanged").asInt()).isEqualTo(2);
+
+        List<JsonNode> secondEvents = readEvents(output.getOut().substring(secondOffset));
+        assertThat(secondEvents).noneMatch(event -> event.get("type").asText().equals("delta"));
+        assertThat(secondEvents.get(secondEvents.size() - 1).get("unchanged").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRejectMissingSnapshot(CapturedOutput output) {
+        // When
+        int exitCode = execute("--diff", tempDir.resolve("missing.snapshot").toString(), pomFile.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(1);
+        assertThat(output.getErr()).contains("Cannot read snapshot");
+    }
+
+    private int execute(String... arguments) {
+        DependencyVersionService versionService = new DependencyVersionService() {
+            @Override
+            public List<String> getAvailableVersions(Dependency dependency) {
+                return Optional.ofNullable(latestVersions.get(dependency.groupId() + ":" + dependency.artifactId())).stream().toList();
+            }
+
+            @Override
+            public List<String> getAvailableParentVersions(Project.Parent parent) {
+                return List.of();
+            }
+        };
+        CheckUpdatesCommand command = new CheckUpdatesCommand(new PomParser(), versionService,
+                new MultiModuleDependencyCollector(),
+                new ColorOutputService(), new ResultCache(tempDir.resolve("results"), () -> "test"));
+        return new CommandLine(command).execute(arguments);
+    }
+
+    private void writePom(String dependencies) throws IOException {
+        TestFixtures.writePom(pomFile, """
+                    <groupId>com.example</groupId>
+                    <artifactId>test-project</artifactId>
+                    <version>1.0.0</version>
+                    <dependencies>
+                %s    </dependencies>
+                """.formatted(dependencies));
+    }
+
+    private static List<JsonNode> readEvents(String output) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<JsonNode> events = new ArrayList<>();
+        for (String line : output.lines().toList()) {
+            events.add(mapper.readTree(line));
+        }
+        return events;
+    }
+}
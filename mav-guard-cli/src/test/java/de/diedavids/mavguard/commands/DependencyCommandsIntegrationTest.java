@@ -5,8 +5,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.diedavids.mavguard.model.Dependency;
 import de.diedavids.mavguard.nexus.service.DependencyVersionService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 // import java.util.List; // No longer directly used here
 
@@ -19,6 +23,7 @@ import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.test.system.CapturedOutput;
 import org.springframework.boot.test.system.OutputCaptureExtension;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import de.diedavids.mavguard.MavGuardApplication;
 import picocli.CommandLine;
@@ -46,6 +51,12 @@ class DependencyCommandsIntegrationTest {
         // No mocking needed - it provides test data directly
     }
 
+    @AfterEach
+    void resetOutputFormat() {
+        // picocli takes the current field values of the shared command bean as option defaults
+        ReflectionTestUtils.setField(checkUpdatesCommand, "format", "text");
+    }
+
     @Test
     void testCheckUpdatesCommand(CapturedOutput output) throws IOException {
         // Given
@@ -87,6 +98,42 @@ class DependencyCommandsIntegrationTest {
         assertThat(output).contains("org.slf4j:slf4j-api");
     }
     
+    @Test
+    void testCheckUpdatesAsNdjson(CapturedOutput output) throws IOException {
+        // Given
+        Path pomFile = tempDir.resolve("pom.xml");
+        Files.writeString(pomFile, getTestPomXml());
+
+        // When
+        int exitCode = new CommandLine(checkUpdatesCommand, factory)
+                .execute("--format=ndjson", pomFile.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        ObjectMapper mapper = new ObjectMapper();
+        List<JsonNode> events = output.getOut().lines()
+                .filter(line -> line.startsWith("{"))
+                .map(line -> {
+                    try {
+                        return mapper.readTree(line);
+                    } catch (IOException e) {
+                        throw new AssertionError("Not a JSON line: " + line, e);
+                    }
+                })
+                .toList();
+        assertThat(events.get(0).get("type").asText()).isEqualTo("project");
+        assertThat(events.get(events.size() - 1).get("type").asText()).isEqualTo("summary");
+        // Every event in between reports an update found in the repository
+        List<JsonNode> updates = events.subList(1, events.size() - 1);
+        assertThat(updates).allSatisfy(update -> {
+            assertThat(update.get("type").asText()).isEqualTo("update");
+            assertThat(update.get("artifactId").asText()).isEqualTo("junit");
+            assertThat(update.get("currentVersion").asText()).isEqualTo("4.12");
+        });
+        assertThat(events.get(events.size() - 1).get("updates").asInt()).isEqualTo(updates.size());
+        assertThat(output).doesNotContain("--- Update Check Results ---");
+    }
+
     private void createMultiModuleProject() throws IOException {
         Path parentPomFile = tempDir.resolve("pom.xml");
         Files.writeString(parentPomFile, getMultiModuleParentPomXml());
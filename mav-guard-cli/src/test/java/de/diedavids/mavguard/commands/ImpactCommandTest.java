@@ -0,0 +1,136 @@
+package de.diedavids.mavguard.commands;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.diedavids.mavguard.service.ColorOutputService;
+import de.diedavids.mavguard.xml.PomDirectoryScanner;
+import de.diedavids.mavguard.xml.PomParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static de.diedavids.mavguard.xml.TestFixtures.readTree;
+import static de.diedavids.mavguard.xml.TestFixtures.writePom;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class ImpactCommandTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ImpactCommand command;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        PomParser pomParser = new PomParser();
+        command = new ImpactCommand(pomParser, new PomDirectoryScanner(pomParser), new ColorOutputService());
+
+        writePom(tempDir.resolve("pom.xml"), """
+                <groupId>com.example</groupId>
+                <artifactId>root</artifactId>
+                <version>1.0.0</version>
+                <packaging>pom</packaging>
+                <modules>
+                    <module>api</module>
+                    <module>impl</module>
+                    <module>app</module>
+                    <module>other-api</module>
+                </modules>
+                """);
+        writePom(tempDir.resolve("api/pom.xml"), parent() + """
+                <artifactId>api</artifactId>
+                <dependencies>
+                    <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId><version>1.7.30</version></dependency>
+                </dependencies>
+                """);
+        writePom(tempDir.resolve("impl/pom.xml"), parent() + """
+                <artifactId>impl</artifactId>
+                <dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>api</artifactId><version>1.0.0</version></dependency>
+                </dependencies>
+                """);
+        writePom(tempDir.resolve("app/pom.xml"), parent() + """
+                <artifactId>app</artifactId>
+                <dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>impl</artifactId><version>1.0.0</version></dependency>
+                </dependencies>
+                """);
+        // Same artifactId as the api module, but in another group
+        writePom(tempDir.resolve("other-api/pom.xml"), parent() + """
+                <groupId>com.other</groupId>
+                <artifactId>api</artifactId>
+                """);
+    }
+
+    @Test
+    void shouldReportDeclaringAndTransitivelyAffectedModules(CapturedOutput output) {
+        // When
+        int exitCode = new CommandLine(command).execute("--color=never", "org.slf4j:slf4j-api", tempDir.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        assertThat(output).contains("Impact of org.slf4j:slf4j-api (3 of 5 modules affected)");
+        assertThat(output).contains("Declared by (1):", "  - com.example:api:1.0.0 (1.7.30)");
+        assertThat(output).contains("Affected through module dependencies and inheritance (2):",
+                "  - com.example:impl:1.0.0", "  - com.example:app:1.0.0");
+        assertThat(output).doesNotContain("com.other:api:1.0.0", "com.example:root:1.0.0");
+    }
+
+    @Test
+    void shouldIncludeChildrenOfAModuleAndStreamNdjson(CapturedOutput output) {
+        // When
+        int exitCode = new CommandLine(command).execute("--format=ndjson", "com.example:root",
+                tempDir.resolve("pom.xml").toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(0);
+        ObjectMapper mapper = new ObjectMapper();
+        List<JsonNode> events = output.getOut().lines().map(line -> readTree(mapper, line)).toList();
+        assertThat(events).hasSize(6);
+        assertThat(events.get(0).get("artifactId").asText()).isEqualTo("root");
+        assertThat(events.get(0).get("declaring").asBoolean()).isFalse();
+        JsonNode summary = events.get(5);
+        assertThat(summary.get("modules").asInt()).isEqualTo(5);
+        assertThat(summary.get("declaring").asInt()).isEqualTo(4);
+        assertThat(summary.get("affected").asInt()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldRejectInvalidArtifact(CapturedOutput output) {
+        // When
+        int exitCode = new CommandLine(command).execute("slf4j-api", tempDir.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(1);
+        assertThat(output.getErr()).contains("Invalid artifact: slf4j-api. Expected groupId:artifactId");
+    }
+
+    @Test
+    void shouldRejectArtifactWithVersion(CapturedOutput output) {
+        // When
+        int exitCode = new CommandLine(command).execute("org.slf4j:slf4j-api:2.0.9", tempDir.toString());
+
+        // Then
+        assertThat(exitCode).isEqualTo(1);
+        assertThat(output.getErr()).contains("Invalid artifact: org.slf4j:slf4j-api:2.0.9. Expected groupId:artifactId");
+    }
+
+    private static String parent() {
+        return """
+                <parent>
+                    <groupId>com.example</groupId>
+                    <artifactId>root</artifactId>
+                    <version>1.0.0</version>
+                </parent>
+                """;
+    }
+}
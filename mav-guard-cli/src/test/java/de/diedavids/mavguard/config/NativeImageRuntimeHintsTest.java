@@ -0,0 +1,59 @@
+package de.diedavids.mavguard.config;
+
+import de.diedavids.mavguard.commands.AnalyzeCommand;
+import de.diedavids.mavguard.nexus.client.NexusClient;
+import de.diedavids.mavguard.nexus.model.MavenMetadata;
+import de.diedavids.mavguard.xml.model.XmlProject;
+import de.diedavids.mavguard.xml.model.XmlProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeImageRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeImageRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void shouldRegisterJaxbModelsForReflection() {
+        // Then
+        assertThat(RuntimeHintsPredicates.reflection().onType(XmlProject.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(XmlProject.XmlParent.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(XmlProperties.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(MavenMetadata.Versioning.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+    }
+
+    @Test
+    void shouldRegisterPicocliCommandsForReflection() {
+        // Then
+        assertThat(RuntimeHintsPredicates.reflection().onType(AnalyzeCommand.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+    }
+
+    @Test
+    void shouldRegisterNexusClientProxy() {
+        // Then
+        assertThat(RuntimeHintsPredicates.proxies()
+                .forInterfaces(AopProxyUtils.completeJdkProxyInterfaces(NexusClient.class))).accepts(hints);
+    }
+
+    @Test
+    void shouldRegisterOptionalSecretsResource() {
+        // Then
+        assertThat(RuntimeHintsPredicates.resource().forResource("application-secrets.properties")).accepts(hints);
+    }
+}
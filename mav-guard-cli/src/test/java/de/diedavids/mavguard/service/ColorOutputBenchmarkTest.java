@@ -0,0 +1,88 @@
+package de.diedavids.mavguard.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Measures rendering throughput of a check-updates style table in lines per second,
+ * comparing per-line writes to stdout with the buffered renderer of {@link ColorOutputService}.
+ * Stdout is redirected to a file with the same buffering and auto-flush behavior as the console stream.
+ * Run with: mvn -pl mav-guard-cli test -Dtest=ColorOutputBenchmarkTest -Dmavguard.benchmark=true
+ */
+@EnabledIfSystemProperty(named = "mavguard.benchmark", matches = "true")
+class ColorOutputBenchmarkTest {
+
+    private static final int ROWS = 50_000;
+    private static final int ROUNDS = 5;
+    private static final String ROW_FORMAT = "  %-50s %-20s %s %-20s (Modules: %s)%n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void compareUnbufferedAndBufferedRendering() throws IOException {
+        // Given
+        ColorOutputService service = new ColorOutputService();
+        service.setColorMode(ColorOutputService.ColorMode.ALWAYS);
+        PrintStream originalOut = System.out;
+
+        try (PrintStream fileOut = new PrintStream(
+                new BufferedOutputStream(new FileOutputStream(tempDir.resolve("out.txt").toFile()), 8192),
+                true, StandardCharsets.UTF_8)) {
+            System.setOut(fileOut);
+
+            // When
+            double unbuffered = 0;
+            double buffered = 0;
+            for (int round = 0; round <= ROUNDS; round++) {
+                double unbufferedRound = linesPerSecond(() -> renderUnbuffered(service));
+                double bufferedRound = linesPerSecond(() -> renderBuffered(service));
+                // Round 0 is warmup
+                if (round > 0) {
+                    unbuffered += unbufferedRound / ROUNDS;
+                    buffered += bufferedRound / ROUNDS;
+                }
+            }
+
+            // Then
+            System.setOut(originalOut);
+            System.out.printf("Rendering %d rows (%d rounds): per-line %.0f lines/s, buffered %.0f lines/s, speedup %.2fx%n",
+                    ROWS, ROUNDS, unbuffered, buffered, buffered / unbuffered);
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    // Previous behavior: colorize by concatenation and write every row straight to stdout
+    private void renderUnbuffered(ColorOutputService service) {
+        for (int i = 0; i < ROWS; i++) {
+            String arrow = service.getUpdateArrow("1.0." + (i % 10), "2.0.0");
+            System.out.printf(service.colorize(ROW_FORMAT, ColorOutputService.ColorType.BLUE),
+                    "com.example:artifact-" + i, "1.0." + (i % 10), arrow, "2.0.0", "module-a, module-b");
+        }
+        System.out.flush();
+    }
+
+    private void renderBuffered(ColorOutputService service) {
+        for (int i = 0; i < ROWS; i++) {
+            String arrow = service.getUpdateArrow("1.0." + (i % 10), "2.0.0");
+            service.printf(ROW_FORMAT, ColorOutputService.ColorType.BLUE,
+                    "com.example:artifact-" + i, "1.0." + (i % 10), arrow, "2.0.0", "module-a, module-b");
+        }
+        service.flush();
+    }
+
+    private double linesPerSecond(Runnable render) {
+        long start = System.nanoTime();
+        render.run();
+        return ROWS / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+}
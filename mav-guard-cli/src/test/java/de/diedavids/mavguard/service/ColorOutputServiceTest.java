@@ -1,19 +1,32 @@
 package de.diedavids.mavguard.service;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class ColorOutputServiceTest {
 
     private ColorOutputService colorOutputService;
 
+    private final PrintStream originalOut = System.out;
+    private final ByteArrayOutputStream capturedOut = new ByteArrayOutputStream();
+
     @BeforeEach
     void setUp() {
         colorOutputService = new ColorOutputService();
     }
 
+    @AfterEach
+    void restoreSystemOut() {
+        System.setOut(originalOut);
+    }
+
     @Test
     void testColorizeWithAlwaysMode() {
         colorOutputService.setColorMode(ColorOutputService.ColorMode.ALWAYS);
@@ -111,4 +124,84 @@ class ColorOutputServiceTest {
         assertThat(status).isEqualTo("managed dependency");
         assertThat(status).doesNotContain("\u001B[34m");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testOutputIsBufferedUntilFlush() {
+        // Given
+        ColorOutputService service = new ColorOutputService(Long.MAX_VALUE);
+        service.setColorMode(ColorOutputService.ColorMode.NEVER);
+        captureSystemOut();
+
+        // When
+        service.println("header");
+        service.printf("  %-10s %s%n", "junit:junit", "4.12");
+
+        // Then
+        assertThat(capturedOut.size()).isZero();
+        service.flush();
+        assertThat(capturedOut.toString(StandardCharsets.UTF_8))
+                .isEqualTo("header" + System.lineSeparator() + "  junit:junit 4.12" + System.lineSeparator());
+    }
+
+    @Test
+    void testOutputIsFlushedWhenBufferThresholdIsReached() {
+        // Given
+        ColorOutputService service = new ColorOutputService(Long.MAX_VALUE);
+        service.setColorMode(ColorOutputService.ColorMode.NEVER);
+        captureSystemOut();
+        String line = "x".repeat(1023);
+
+        // When
+        for (int i = 0; i < ColorOutputService.FLUSH_THRESHOLD / 1024; i++) {
+            service.println(line);
+        }
+
+        // Then
+        assertThat(capturedOut.size()).isGreaterThanOrEqualTo(ColorOutputService.FLUSH_THRESHOLD);
+    }
+
+    @Test
+    void testOutputIsFlushedAfterInterval() {
+        // Given
+        ColorOutputService service = new ColorOutputService(0);
+        service.setColorMode(ColorOutputService.ColorMode.NEVER);
+        captureSystemOut();
+
+        // When
+        service.println("row");
+
+        // Then
+        assertThat(capturedOut.toString(StandardCharsets.UTF_8)).isEqualTo("row" + System.lineSeparator());
+    }
+
+    @Test
+    void testColoredPrintfWrapsFormattedText() {
+        // Given
+        colorOutputService.setColorMode(ColorOutputService.ColorMode.ALWAYS);
+        captureSystemOut();
+
+        // When
+        colorOutputService.printf("%s -> %s", ColorOutputService.ColorType.YELLOW, "1.0", "1.1");
+        colorOutputService.flush();
+
+        // Then
+        assertThat(capturedOut.toString(StandardCharsets.UTF_8)).isEqualTo("\u001B[33m1.0 -> 1.1\u001B[0m");
+    }
+
+    @Test
+    void testColorDecisionIsRecomputedWhenModeChanges() {
+        // When
+        colorOutputService.setColorMode(ColorOutputService.ColorMode.ALWAYS);
+        boolean withAlways = colorOutputService.shouldUseColors();
+        colorOutputService.setColorMode(ColorOutputService.ColorMode.NEVER);
+        boolean withNever = colorOutputService.shouldUseColors();
+
+        // Then
+        assertThat(withAlways).isEqualTo(System.getenv("NO_COLOR") == null || System.getenv("NO_COLOR").isEmpty());
+        assertThat(withNever).isFalse();
+    }
+
+    private void captureSystemOut() {
+        System.setOut(new PrintStream(capturedOut, true, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,75 @@
+package de.diedavids.mavguard.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.diedavids.mavguard.model.Dependency;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonEventWriterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void shouldWriteOneEventPerLineInNdjsonMode() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonEventWriter writer = new JsonEventWriter(out, OutputFormat.NDJSON);
+
+        // When
+        writer.writeDependency(new Dependency("org.slf4j", "slf4j-api", "2.0.9", "compile", null, null), List.of("core"));
+        String afterFirstEvent = out.toString(StandardCharsets.UTF_8);
+        writer.writeUpdate("parent", "org.springframework.boot", "spring-boot-starter-parent", "3.4.0", "3.4.5", List.of("app"));
+        writer.close();
+
+        // Then
+        assertThat(afterFirstEvent).endsWith("\n");
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(2);
+
+        JsonNode dependency = mapper.readTree(lines.get(0));
+        assertThat(dependency.get("type").asText()).isEqualTo("dependency");
+        assertThat(dependency.get("groupId").asText()).isEqualTo("org.slf4j");
+        assertThat(dependency.get("scope").asText()).isEqualTo("compile");
+        assertThat(dependency.has("optional")).isFalse();
+        assertThat(dependency.get("modules").get(0).asText()).isEqualTo("core");
+
+        JsonNode update = mapper.readTree(lines.get(1));
+        assertThat(update.get("kind").asText()).isEqualTo("parent");
+        assertThat(update.get("currentVersion").asText()).isEqualTo("3.4.0");
+        assertThat(update.get("latestVersion").asText()).isEqualTo("3.4.5");
+    }
+
+    @Test
+    void shouldWriteEventsAsArrayInJsonMode() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        try (JsonEventWriter writer = new JsonEventWriter(out, OutputFormat.JSON)) {
+            writer.writeUpdate("dependency", "com.example", "lib", null, "1.0.0", List.of());
+            writer.writeSummary(Map.of("updates", 1));
+        }
+
+        // Then
+        JsonNode events = mapper.readTree(out.toString(StandardCharsets.UTF_8));
+        assertThat(events.isArray()).isTrue();
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).has("currentVersion")).isFalse();
+        assertThat(events.get(1).get("type").asText()).isEqualTo("summary");
+        assertThat(events.get(1).get("updates").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectTextFormat() {
+        assertThatThrownBy(() -> new JsonEventWriter(new ByteArrayOutputStream(), OutputFormat.TEXT))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
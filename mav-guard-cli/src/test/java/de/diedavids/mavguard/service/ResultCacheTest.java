@@ -0,0 +1,128 @@
+package de.diedavids.mavguard.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultCacheTest {
+
+    private static final Duration MAX_AGE = Duration.ofHours(1);
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2025-01-01T10:00:00Z"));
+    private final AtomicReference<String> fingerprint = new AtomicReference<>("MAVEN_CENTRAL");
+    private ResultCache cache;
+    private Path rootPom;
+    private Path modulePom;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cache = new ResultCache(tempDir.resolve("cache"), fingerprint::get, new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        });
+        rootPom = Files.writeString(tempDir.resolve("pom.xml"), "<project><modules><module>core</module></modules></project>");
+        Files.createDirectories(tempDir.resolve("core"));
+        modulePom = Files.writeString(tempDir.resolve("core/pom.xml"), "<project><artifactId>core</artifactId></project>");
+    }
+
+    @Test
+    void shouldReplayOutputWhileInputsAreUnchanged() throws Exception {
+        // Given
+        cache.store("run", List.of(rootPom, modulePom), "report".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        now.set(now.get().plus(Duration.ofMinutes(59)));
+
+        // Then
+        assertThat(cache.lookup("run", MAX_AGE)).hasValueSatisfying(output ->
+                assertThat(new String(output, StandardCharsets.UTF_8)).isEqualTo("report"));
+        assertThat(cache.lookup("other run", MAX_AGE)).isEmpty();
+    }
+
+    @Test
+    void shouldMissWhenAnyPomChanges() throws Exception {
+        // Given
+        cache.store("run", List.of(rootPom, modulePom), "report".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        Files.writeString(modulePom, "<project><artifactId>core</artifactId><version>2</version></project>");
+
+        // Then
+        assertThat(cache.lookup("run", MAX_AGE)).isEmpty();
+    }
+
+    @Test
+    void shouldMissWhenPomIsDeleted() throws Exception {
+        // Given
+        cache.store("run", List.of(rootPom, modulePom), "report".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        Files.delete(modulePom);
+
+        // Then
+        assertThat(cache.lookup("run", MAX_AGE)).isEmpty();
+    }
+
+    @Test
+    void shouldMissWhenRepositoryConfigurationChanges() throws Exception {
+        // Given
+        cache.store("run", List.of(rootPom, modulePom), "report".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        fingerprint.set("NEXUS");
+
+        // Then
+        assertThat(cache.lookup("run", MAX_AGE)).isEmpty();
+    }
+
+    @Test
+    void shouldMissWhenEntryIsTooOld() throws Exception {
+        // Given
+        cache.store("run", List.of(rootPom, modulePom), "report".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        now.set(now.get().plus(Duration.ofMinutes(61)));
+
+        // Then
+        assertThat(cache.lookup("run", MAX_AGE)).isEmpty();
+    }
+
+    @Test
+    void shouldHashIndependentlyOfFileOrder() throws Exception {
+        // Given
+        Path third = Files.writeString(tempDir.resolve("third.xml"), "<project/>");
+
+        // When / Then
+        assertThat(cache.hash(List.of(rootPom, modulePom, third)))
+                .isEqualTo(cache.hash(List.of(third, rootPom, modulePom)))
+                .isNotEqualTo(cache.hash(List.of(rootPom, modulePom)));
+    }
+}
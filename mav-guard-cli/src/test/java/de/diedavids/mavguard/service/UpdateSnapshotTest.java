@@ -0,0 +1,132 @@
+package de.diedavids.mavguard.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpdateSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldReadWrittenSnapshotSortedByKey() throws Exception {
+        // Given
+        Path file = tempDir.resolve("updates.snapshot");
+        List<UpdateSnapshot.Entry> entries = List.of(
+                dependency("org.slf4j", "slf4j-api", "1.7.30", "2.0.9", "core", "web"),
+                new UpdateSnapshot.Entry("parent", "org.springframework.boot", "spring-boot-starter-parent", "3.4.0", "3.4.5", List.of("web")),
+                dependency("com.example", "managed-lib", null, "1.0.0"),
+                new UpdateSnapshot.Entry("parent", "org.springframework.boot", "spring-boot-starter-parent", "3.3.0", "3.4.5", List.of("core")));
+
+        // When
+        UpdateSnapshot.write(file, entries);
+        List<UpdateSnapshot.Entry> read = UpdateSnapshot.read(file);
+
+        // Then
+        List<UpdateSnapshot.Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(UpdateSnapshot.Entry.KEY_ORDER);
+        assertThat(read).containsExactlyElementsOf(sorted);
+        assertThat(read.get(0).currentVersion()).isNull();
+    }
+
+    @Test
+    void shouldStoreRepeatedStringsOnce() throws Exception {
+        // Given
+        Path file = tempDir.resolve("updates.snapshot");
+        List<UpdateSnapshot.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            entries.add(dependency("com.example.group", "artifact-" + i, "1.0.0", "2.0.0", "module-a", "module-b"));
+        }
+
+        // When
+        UpdateSnapshot.write(file, entries);
+
+        // Then
+        assertThat(Files.size(file)).isLessThan(25_000);
+        assertThat(UpdateSnapshot.read(file)).hasSize(1_000);
+    }
+
+    @Test
+    void shouldReportNewChangedAndResolvedUpdates() {
+        // Given
+        List<UpdateSnapshot.Entry> previous = new ArrayList<>(List.of(
+                dependency("com.example", "changed", "1.0.0", "1.1.0", "core"),
+                dependency("com.example", "resolved", "1.0.0", "2.0.0", "core"),
+                dependency("com.example", "unchanged", "1.0.0", "2.0.0", "core")));
+        previous.sort(UpdateSnapshot.Entry.KEY_ORDER);
+        List<UpdateSnapshot.Entry> current = List.of(
+                dependency("com.example", "unchanged", "1.0.0", "2.0.0", "core"),
+                dependency("com.example", "new", "3.0.0", "3.1.0", "web"),
+                dependency("com.example", "changed", "1.0.0", "1.2.0", "core"));
+
+        // When
+        UpdateSnapshot.Delta delta = UpdateSnapshot.diff(previous, current);
+
+        // Then
+        assertThat(delta.added()).extracting(UpdateSnapshot.Entry::artifactId).containsExactly("new");
+        assertThat(delta.changed()).singleElement().satisfies(change -> {
+            assertThat(change.previous().latestVersion()).isEqualTo("1.1.0");
+            assertThat(change.current().latestVersion()).isEqualTo("1.2.0");
+        });
+        assertThat(delta.resolved()).extracting(UpdateSnapshot.Entry::artifactId).containsExactly("resolved");
+        assertThat(delta.unchangedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldMatchParentUpdatesPerModule() {
+        // Given
+        List<UpdateSnapshot.Entry> previous = List.of(
+                new UpdateSnapshot.Entry("parent", "com.example", "parent", "1.0.0", "2.0.0", List.of("core")));
+        List<UpdateSnapshot.Entry> current = List.of(
+                new UpdateSnapshot.Entry("parent", "com.example", "parent", "1.0.0", "2.0.0", List.of("core")),
+                new UpdateSnapshot.Entry("parent", "com.example", "parent", "1.0.0", "2.0.0", List.of("web")));
+
+        // When
+        UpdateSnapshot.Delta delta = UpdateSnapshot.diff(previous, current);
+
+        // Then
+        assertThat(delta.added()).singleElement().extracting(UpdateSnapshot.Entry::modules).isEqualTo(List.of("web"));
+        assertThat(delta.changed()).isEmpty();
+        assertThat(delta.resolved()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectFilesThatAreNoSnapshot() throws Exception {
+        // Given
+        Path file = tempDir.resolve("pom.xml");
+        Files.writeString(file, "<project/>");
+
+        // When / Then
+        assertThatThrownBy(() -> UpdateSnapshot.read(file))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Not an update snapshot");
+    }
+
+    @Test
+    void shouldRejectTruncatedSnapshots() throws Exception {
+        // Given
+        Path file = tempDir.resolve("updates.snapshot");
+        UpdateSnapshot.write(file, List.of(dependency("com.example", "lib", "1.0.0", "2.0.0", "core")));
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length - 3));
+
+        // When / Then
+        assertThatThrownBy(() -> UpdateSnapshot.read(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Corrupt update snapshot");
+    }
+
+    private static UpdateSnapshot.Entry dependency(String groupId, String artifactId, String current, String latest, String... modules) {
+        return new UpdateSnapshot.Entry("dependency", groupId, artifactId, current, latest, List.of(modules));
+    }
+}
@@ -0,0 +1,268 @@
+package de.diedavids.mavguard.service;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.nexus.service.DependencyVersionService;
+import de.diedavids.mavguard.xml.PomFileProcessor;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionLookupPipelineTest {
+
+    private final StubVersionService versionService = new StubVersionService();
+
+    @Test
+    void shouldStartLookupsWhileParsingContinues() throws Exception {
+        // Given
+        Project moduleA = project("module-a", dependency("org.slf4j", "slf4j-api", "1.7.30"));
+        Project moduleB = project("module-b", dependency("junit", "junit", "4.12"));
+        PomFileProcessor parser = new StubParser(List.of(moduleA, moduleB), () -> {
+            // module-b is only parsed after the lookup for module-a's dependency has started
+            assertThat(versionService.started.await(5, TimeUnit.SECONDS)).isTrue();
+        });
+
+        // When
+        List<Project> projects;
+        try (VersionLookupPipeline pipeline = new VersionLookupPipeline(versionService, 2)) {
+            projects = pipeline.parseAndLookUp(parser, new File("pom.xml"));
+
+            // Then
+            assertThat(projects).containsExactly(moduleA, moduleB);
+            assertThat(pipeline.latestVersion(moduleA.dependencies().get(0)).get(5, TimeUnit.SECONDS)).contains("2.0.0");
+            assertThat(pipeline.latestVersion(moduleB.dependencies().get(0)).get(5, TimeUnit.SECONDS)).contains("2.0.0");
+        }
+    }
+
+    @Test
+    void shouldLookUpEachArtifactOnlyOnce() throws Exception {
+        // Given
+        Project moduleA = project("module-a", dependency("org.slf4j", "slf4j-api", "1.7.30"));
+        Project moduleB = project("module-b", dependency("org.slf4j", "slf4j-api", "1.7.32"));
+        PomFileProcessor parser = new StubParser(List.of(moduleA, moduleB), () -> { });
+
+        // When
+        try (VersionLookupPipeline pipeline = new VersionLookupPipeline(versionService, 4)) {
+            pipeline.parseAndLookUp(parser, new File("pom.xml"));
+            pipeline.latestVersion(moduleA.dependencies().get(0)).get(5, TimeUnit.SECONDS);
+            pipeline.latestVersion(moduleB.dependencies().get(0)).get(5, TimeUnit.SECONDS);
+            pipeline.latestParentVersion(moduleA.parent()).get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(pipeline.lookupCount()).isEqualTo(2);
+        }
+        assertThat(versionService.calls).containsEntry("org.slf4j:slf4j-api", 1);
+        assertThat(versionService.calls).containsEntry("parent:com.example:root", 1);
+    }
+
+    @Test
+    void shouldCompleteAllLookupsWithSingleJob() throws Exception {
+        // Given
+        Dependency[] dependencies = new Dependency[200];
+        for (int i = 0; i < dependencies.length; i++) {
+            dependencies[i] = dependency("com.example", "lib-" + i, "1.0.0");
+        }
+        Project project = project("module-a", dependencies);
+
+        // When
+        try (VersionLookupPipeline pipeline = new VersionLookupPipeline(versionService, 1)) {
+            pipeline.lookUp(project);
+
+            // Then
+            for (Dependency dependency : dependencies) {
+                assertThat(pipeline.latestVersion(dependency).get(5, TimeUnit.SECONDS)).contains("2.0.0");
+            }
+            assertThat(pipeline.latestParentVersion(project.parent()).get(5, TimeUnit.SECONDS)).contains("2.0.0");
+        }
+        assertThat(versionService.calls).hasSize(201);
+    }
+
+    @Test
+    void shouldSkipArtifactsBuiltByReactor() throws Exception {
+        // Given
+        Project root = new Project("com.example", "root", "1.0.0", "pom", null, List.of(), null, null,
+                Map.of(), null, List.of("module-a", "module-b"), "pom.xml");
+        Project moduleA = project("module-a", dependency("org.slf4j", "slf4j-api", "1.7.30"));
+        Project moduleB = project("module-b", dependency("com.example", "module-a", "1.0.0"),
+                dependency("junit", "junit", "4.12"));
+        PomFileProcessor parser = new StubParser(List.of(root, moduleA, moduleB), () -> { });
+
+        // When
+        try (VersionLookupPipeline pipeline = new VersionLookupPipeline(versionService, 2, true)) {
+            pipeline.parseAndLookUp(parser, new File("pom.xml"));
+
+            // Then
+            assertThat(pipeline.latestVersion(moduleB.dependencies().get(0)).get(5, TimeUnit.SECONDS)).isEmpty();
+            assertThat(pipeline.latestParentVersion(moduleA.parent()).get(5, TimeUnit.SECONDS)).isEmpty();
+            assertThat(pipeline.latestVersion(moduleA.dependencies().get(0)).get(5, TimeUnit.SECONDS)).contains("2.0.0");
+            assertThat(pipeline.latestVersion(moduleB.dependencies().get(1)).get(5, TimeUnit.SECONDS)).contains("2.0.0");
+        }
+        assertThat(versionService.calls).containsOnlyKeys("org.slf4j:slf4j-api", "junit:junit");
+    }
+
+    @Test
+    void shouldPrefetchManagedDependenciesWhileParsing() throws Exception {
+        // Given
+        Dependency managed = dependency("org.apache.commons", "commons-lang3", "3.12.0");
+        Project root = new Project("com.example", "root", "1.0.0", "pom", null, List.of(),
+                new Project.DependencyManagement(List.of(managed)), null, Map.of(), null, List.of("module-a"), "pom.xml");
+        Project moduleA = project("module-a", dependency("junit", "junit", "4.12"));
+        PomFileProcessor parser = new StubParser(List.of(root, moduleA), () -> { });
+
+        // When
+        try (VersionLookupPipeline pipeline = new VersionLookupPipeline(versionService, 2, true)) {
+            pipeline.parseAndLookUp(parser, new File("pom.xml"));
+
+            // Then: the managed-only artifact is scheduled before anything is rendered
+            assertThat(pipeline.lookupCount()).isEqualTo(2);
+            assertThat(pipeline.latestVersion(managed).get(5, TimeUnit.SECONDS)).contains("2.0.0");
+        }
+        assertThat(versionService.calls).containsEntry("org.apache.commons:commons-lang3", 1);
+    }
+
+    @Test
+    void shouldCutOffOutstandingLookupsWhenBudgetExpires() throws Exception {
+        // Given
+        Dependency fast = dependency("org.slf4j", "slf4j-api", "1.7.30");
+        Dependency hanging = dependency("com.example", "hanging", "1.0.0");
+        CountDownLatch never = new CountDownLatch(1);
+        DependencyVersionService hangingService = new StubVersionService() {
+            @Override
+            public List<String> getAvailableVersions(Dependency dependency) {
+                if (dependency.artifactId().equals("hanging")) {
+                    try {
+                        never.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return List.of("9.9.9");
+                }
+                return super.getAvailableVersions(dependency);
+            }
+        };
+
+        try (VersionLookupPipeline pipeline = new VersionLookupPipeline(hangingService, 2)) {
+            // When
+            pipeline.expireAfter(Duration.ofMillis(200));
+            assertThat(pipeline.latestVersion(fast).get(5, TimeUnit.SECONDS)).contains("2.0.0");
+            CompletableFuture<Optional<String>> hangingLookup = pipeline.latestVersion(hanging);
+
+            // Then
+            assertThat(hangingLookup.get(5, TimeUnit.SECONDS)).isEmpty();
+            assertThat(pipeline.isUnresolved(hanging)).isTrue();
+            assertThat(pipeline.isUnresolved(fast)).isFalse();
+            assertThat(pipeline.latestVersion(fast).get()).contains("2.0.0");
+
+            Dependency late = dependency("junit", "junit", "4.12");
+            assertThat(pipeline.latestVersion(late).getNow(Optional.of("pending"))).isEmpty();
+            assertThat(pipeline.isUnresolved(late)).isTrue();
+            assertThat(pipeline.unresolvedCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldReportFailedLookupAsUnresolved() throws Exception {
+        // Given
+        Dependency available = dependency("org.slf4j", "slf4j-api", "1.7.30");
+        Dependency failing = dependency("com.example", "failing", "1.0.0");
+        DependencyVersionService failingService = new StubVersionService() {
+            @Override
+            public List<String> getAvailableVersions(Dependency dependency) {
+                if (dependency.artifactId().equals("failing")) {
+                    throw new IllegalStateException("Repository returned 503");
+                }
+                return super.getAvailableVersions(dependency);
+            }
+        };
+
+        try (VersionLookupPipeline pipeline = new VersionLookupPipeline(failingService, 2)) {
+            // When
+            CompletableFuture<Optional<String>> failedLookup = pipeline.latestVersion(failing);
+
+            // Then
+            assertThat(failedLookup.get(5, TimeUnit.SECONDS)).isEmpty();
+            assertThat(pipeline.isUnresolved(failing)).isTrue();
+            assertThat(pipeline.latestVersion(available).get(5, TimeUnit.SECONDS)).contains("2.0.0");
+            assertThat(pipeline.isUnresolved(available)).isFalse();
+            assertThat(pipeline.unresolvedCount()).isEqualTo(1);
+        }
+    }
+
+    private static Project project(String artifactId, Dependency... dependencies) {
+        return new Project("com.example", artifactId, "1.0.0", "jar", null, List.of(dependencies), null, null,
+                Map.of(), new Project.Parent("com.example", "root", "1.0.0", null), List.of(), artifactId + "/pom.xml");
+    }
+
+    private static Dependency dependency(String groupId, String artifactId, String version) {
+        return new Dependency(groupId, artifactId, version, null, null, null);
+    }
+
+    private static class StubVersionService implements DependencyVersionService {
+
+        private final Map<String, Integer> calls = new ConcurrentHashMap<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        @Override
+        public List<String> getAvailableVersions(Dependency dependency) {
+            calls.merge(dependency.groupId() + ":" + dependency.artifactId(), 1, Integer::sum);
+            started.countDown();
+            return List.of("2.0.0", "1.0.0");
+        }
+
+        @Override
+        public List<String> getAvailableParentVersions(Project.Parent parent) {
+            calls.merge("parent:" + parent.groupId() + ":" + parent.artifactId(), 1, Integer::sum);
+            return List.of("2.0.0");
+        }
+    }
+
+    private record StubParser(List<Project> projects, CheckedRunnable betweenProjects) implements PomFileProcessor {
+
+        @Override
+        public Project parsePomFile(File pomFile) {
+            return projects.get(0);
+        }
+
+        @Override
+        public Project parsePomStream(InputStream inputStream) {
+            return projects.get(0);
+        }
+
+        @Override
+        public List<Project> parseMultiModuleProject(File rootPomFile) {
+            return projects;
+        }
+
+        @Override
+        public List<Project> parseMultiModuleProject(File rootPomFile, Consumer<Project> projectListener) {
+            for (int i = 0; i < projects.size(); i++) {
+                if (i > 0) {
+                    try {
+                        betweenProjects.run();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                projectListener.accept(projects.get(i));
+            }
+            return projects;
+        }
+    }
+
+    @FunctionalInterface
+    private interface CheckedRunnable {
+        void run() throws Exception;
+    }
+}
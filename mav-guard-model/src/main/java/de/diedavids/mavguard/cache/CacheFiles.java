@@ -0,0 +1,67 @@
+package de.diedavids.mavguard.cache;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Location and writing of the files mav-guard keeps across runs: POM, BOM, version and result caches,
+ * latency histograms and update snapshots.
+ */
+public final class CacheFiles {
+
+    /** System property overriding the cache location */
+    public static final String CACHE_DIRECTORY_PROPERTY = "mavguard.cache.directory";
+
+    private CacheFiles() {
+    }
+
+    /**
+     * Returns the default cache location: the directory given by {@value #CACHE_DIRECTORY_PROPERTY},
+     * otherwise {@code ~/.mav-guard/cache}.
+     *
+     * @return the cache directory
+     */
+    public static Path defaultDirectory() {
+        return directory(System.getProperty(CACHE_DIRECTORY_PROPERTY));
+    }
+
+    /**
+     * Returns the configured cache directory, or {@code ~/.mav-guard/cache} if none is configured.
+     *
+     * @param configured the configured location, may be null or blank
+     * @return the cache directory
+     */
+    public static Path directory(String configured) {
+        if (configured == null || configured.isBlank()) {
+            return Path.of(System.getProperty("user.home"), ".mav-guard", "cache");
+        }
+        return Path.of(configured);
+    }
+
+    /**
+     * Writes a file through a temporary file in the same directory, which is moved into place, so readers and
+     * concurrent processes never see partial content. Missing parent directories are created.
+     *
+     * @param target the file to write
+     * @param content the complete content
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeAtomically(Path target, byte[] content) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporary, content);
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package de.diedavids.mavguard.model;
 
+import java.util.List;
+
 /**
  * Represents a Maven dependency with groupId, artifactId, and version.
+ * Exclusions are kept as groupId:artifactId patterns, either part may be the wildcard {@code *}.
  */
 public record Dependency(
     String groupId,
@@ -9,8 +12,40 @@ public record Dependency(
     String version,
     String scope,
     Boolean optional,
-    String type
+    String type,
+    List<String> exclusions
 ) {
+    public Dependency {
+        exclusions = exclusions != null ? List.copyOf(exclusions) : List.of();
+    }
+
+    /**
+     * Constructor for a dependency without exclusions.
+     */
+    public Dependency(String groupId, String artifactId, String version, String scope, Boolean optional, String type) {
+        this(groupId, artifactId, version, scope, optional, type, List.of());
+    }
+
+    /**
+     * Checks if the given artifact is excluded from this dependency's transitive dependencies.
+     *
+     * @param groupId the group ID of the transitive dependency
+     * @param artifactId the artifact ID of the transitive dependency
+     * @return true if one of the exclusions matches
+     */
+    public boolean excludes(String groupId, String artifactId) {
+        for (String exclusion : exclusions) {
+            int separator = exclusion.indexOf(':');
+            String excludedGroupId = exclusion.substring(0, separator);
+            String excludedArtifactId = exclusion.substring(separator + 1);
+            if (("*".equals(excludedGroupId) || excludedGroupId.equals(groupId))
+                    && ("*".equals(excludedArtifactId) || excludedArtifactId.equals(artifactId))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public String toString() {
         return groupId + ":" + artifactId + ":" + version + 
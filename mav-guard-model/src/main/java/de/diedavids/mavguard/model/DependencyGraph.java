@@ -0,0 +1,315 @@
+package de.diedavids.mavguard.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * A compact, immutable dependency graph for large workspaces.
+ * <p>
+ * Nodes are artifacts identified by an int ID, with their groupId, artifactId and version interned into a shared
+ * symbol table. Edges point from a dependent to its dependency and are stored in compressed sparse row (CSR) form:
+ * the dependencies of node {@code n} are {@code targets[offsets[n]..offsets[n + 1])}. A second CSR over the
+ * reversed edges answers "who depends on this artifact" without scanning the graph. Scope and optional flag of
+ * every edge are packed into one byte of a side table.
+ * <p>
+ * Compared to {@link Project}/{@link Dependency} records this needs a few ints per node and edge instead of
+ * several objects, so graphs with hundreds of thousands of edges stay in the range of a few megabytes.
+ */
+public final class DependencyGraph {
+
+    /** Scopes in the order of their codes in the edge side table, compile is the default */
+    private static final String[] SCOPES = {"compile", "provided", "runtime", "test", "system", "import"};
+    private static final int OPTIONAL_FLAG = 0x80;
+    private static final int SCOPE_MASK = 0x7F;
+
+    private final String[] symbols;
+    private final int[] groupIds;
+    private final int[] artifactIds;
+    private final int[] versions;
+    private final int[] offsets;
+    private final int[] targets;
+    private final byte[] edgeFlags;
+    private final int[] reverseOffsets;
+    private final int[] reverseSources;
+    /** Open-addressing hash table of node IDs + 1 by coordinates, 0 marks a free slot */
+    private final int[] nodeSlots;
+
+    private DependencyGraph(String[] symbols, int[] groupIds, int[] artifactIds, int[] versions,
+                            int[] offsets, int[] targets, byte[] edgeFlags) {
+        this.symbols = symbols;
+        this.groupIds = groupIds;
+        this.artifactIds = artifactIds;
+        this.versions = versions;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.edgeFlags = edgeFlags;
+
+        int nodeCount = groupIds.length;
+        this.reverseOffsets = new int[nodeCount + 1];
+        this.reverseSources = new int[targets.length];
+        for (int target : targets) {
+            reverseOffsets[target + 1]++;
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            reverseOffsets[node + 1] += reverseOffsets[node];
+        }
+        int[] next = Arrays.copyOf(reverseOffsets, nodeCount);
+        for (int node = 0; node < nodeCount; node++) {
+            for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+                reverseSources[next[targets[edge]]++] = node;
+            }
+        }
+
+        this.nodeSlots = new int[Integer.highestOneBit(Math.max(nodeCount, 1)) << 2];
+        for (int node = 0; node < nodeCount; node++) {
+            int slot = slot(symbols[groupIds[node]], symbols[artifactIds[node]], symbols[versions[node]]);
+            while (nodeSlots[slot] != 0) {
+                slot = (slot + 1) & (nodeSlots.length - 1);
+            }
+            nodeSlots[slot] = node + 1;
+        }
+    }
+
+    public int getNodeCount() {
+        return groupIds.length;
+    }
+
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the ID of an artifact.
+     *
+     * @return the node ID, or -1 if the artifact is not part of the graph
+     */
+    public int indexOf(String groupId, String artifactId, String version) {
+        for (int slot = slot(groupId, artifactId, version); nodeSlots[slot] != 0; slot = (slot + 1) & (nodeSlots.length - 1)) {
+            int node = nodeSlots[slot] - 1;
+            if (Objects.equals(symbols[groupIds[node]], groupId) && Objects.equals(symbols[artifactIds[node]], artifactId)
+                    && Objects.equals(symbols[versions[node]], version)) {
+                return node;
+            }
+        }
+        return -1;
+    }
+
+    public String getGroupId(int node) {
+        return symbols[groupIds[node]];
+    }
+
+    public String getArtifactId(int node) {
+        return symbols[artifactIds[node]];
+    }
+
+    public String getVersion(int node) {
+        return symbols[versions[node]];
+    }
+
+    /**
+     * Returns the coordinates of a node as groupId:artifactId:version.
+     */
+    public String getCoordinates(int node) {
+        return getGroupId(node) + ":" + getArtifactId(node) + ":" + getVersion(node);
+    }
+
+    /**
+     * Returns the first edge of a node; its edges are {@code getFirstEdge(node)} up to {@code getFirstEdge(node + 1)}.
+     */
+    public int getFirstEdge(int node) {
+        return offsets[node];
+    }
+
+    public int getEdgeTarget(int edge) {
+        return targets[edge];
+    }
+
+    public String getEdgeScope(int edge) {
+        return SCOPES[edgeFlags[edge] & SCOPE_MASK];
+    }
+
+    public boolean isEdgeOptional(int edge) {
+        return (edgeFlags[edge] & OPTIONAL_FLAG) != 0;
+    }
+
+    public int getDependencyCount(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    public int getDependentCount(int node) {
+        return reverseOffsets[node + 1] - reverseOffsets[node];
+    }
+
+    /**
+     * Calls the consumer with the ID of every direct dependency of a node.
+     */
+    public void forEachDependency(int node, IntConsumer consumer) {
+        for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+            consumer.accept(targets[edge]);
+        }
+    }
+
+    /**
+     * Calls the consumer with the ID of every node that directly depends on a node.
+     */
+    public void forEachDependent(int node, IntConsumer consumer) {
+        for (int index = reverseOffsets[node]; index < reverseOffsets[node + 1]; index++) {
+            consumer.accept(reverseSources[index]);
+        }
+    }
+
+    /**
+     * Returns all nodes reachable from the given nodes along dependency edges, the given nodes included.
+     */
+    public BitSet reachableFrom(int... nodes) {
+        return traverse(nodes, offsets, targets);
+    }
+
+    /**
+     * Returns all nodes that directly or transitively depend on the given nodes, the given nodes included.
+     */
+    public BitSet dependentsOf(int... nodes) {
+        return traverse(nodes, reverseOffsets, reverseSources);
+    }
+
+    private BitSet traverse(int[] start, int[] rowOffsets, int[] columns) {
+        BitSet visited = new BitSet(getNodeCount());
+        int[] queue = new int[getNodeCount()];
+        int tail = 0;
+        for (int node : start) {
+            if (!visited.get(node)) {
+                visited.set(node);
+                queue[tail++] = node;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int node = queue[head];
+            for (int index = rowOffsets[node]; index < rowOffsets[node + 1]; index++) {
+                int next = columns[index];
+                if (!visited.get(next)) {
+                    visited.set(next);
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return visited;
+    }
+
+    private int slot(String groupId, String artifactId, String version) {
+        int hash = Objects.hash(groupId, artifactId, version);
+        return (hash ^ (hash >>> 16)) & (nodeSlots.length - 1);
+    }
+
+    /**
+     * Collects nodes and edges in any order and packs them into a {@link DependencyGraph}.
+     * Adding the same coordinates twice returns the same node ID.
+     */
+    public static final class Builder {
+
+        private final Map<String, Integer> symbolIds = new HashMap<>();
+        private final Map<String, Integer> nodeIds = new HashMap<>();
+        private String[] symbols = new String[64];
+        private int symbolCount;
+        private int[] groupIds = new int[16];
+        private int[] artifactIds = new int[16];
+        private int[] versions = new int[16];
+        private int nodeCount;
+        private long[] edges = new long[16];
+        private byte[] edgeFlags = new byte[16];
+        private int edgeCount;
+
+        /**
+         * Adds an artifact, unless it was already added.
+         *
+         * @return the node ID
+         */
+        public int addNode(String groupId, String artifactId, String version) {
+            Integer existing = nodeIds.get(groupId + ":" + artifactId + ":" + version);
+            if (existing != null) {
+                return existing;
+            }
+            if (nodeCount == groupIds.length) {
+                groupIds = Arrays.copyOf(groupIds, nodeCount * 2);
+                artifactIds = Arrays.copyOf(artifactIds, nodeCount * 2);
+                versions = Arrays.copyOf(versions, nodeCount * 2);
+            }
+            groupIds[nodeCount] = intern(groupId);
+            artifactIds[nodeCount] = intern(artifactId);
+            versions[nodeCount] = intern(version);
+            nodeIds.put(groupId + ":" + artifactId + ":" + version, nodeCount);
+            return nodeCount++;
+        }
+
+        /**
+         * Adds an edge from a dependent to one of its dependencies.
+         *
+         * @param from the ID of the dependent
+         * @param to the ID of the dependency
+         * @param scope the scope of the dependency, null for compile
+         * @param optional whether the dependency is optional
+         */
+        public Builder addEdge(int from, int to, String scope, boolean optional) {
+            if (from < 0 || from >= nodeCount || to < 0 || to >= nodeCount) {
+                throw new IllegalArgumentException("Unknown node in edge " + from + " -> " + to);
+            }
+            if (edgeCount == edges.length) {
+                edges = Arrays.copyOf(edges, edgeCount * 2);
+                edgeFlags = Arrays.copyOf(edgeFlags, edgeCount * 2);
+            }
+            edges[edgeCount] = ((long) from << 32) | to;
+            edgeFlags[edgeCount] = (byte) (scopeCode(scope) | (optional ? OPTIONAL_FLAG : 0));
+            edgeCount++;
+            return this;
+        }
+
+        public DependencyGraph build() {
+            int[] offsets = new int[nodeCount + 1];
+            for (int edge = 0; edge < edgeCount; edge++) {
+                offsets[(int) (edges[edge] >>> 32) + 1]++;
+            }
+            for (int node = 0; node < nodeCount; node++) {
+                offsets[node + 1] += offsets[node];
+            }
+            // Counting sort by source keeps the insertion order of each node's edges
+            int[] targets = new int[edgeCount];
+            byte[] flags = new byte[edgeCount];
+            int[] next = Arrays.copyOf(offsets, nodeCount);
+            for (int edge = 0; edge < edgeCount; edge++) {
+                int position = next[(int) (edges[edge] >>> 32)]++;
+                targets[position] = (int) edges[edge];
+                flags[position] = edgeFlags[edge];
+            }
+            return new DependencyGraph(Arrays.copyOf(symbols, symbolCount), Arrays.copyOf(groupIds, nodeCount),
+                    Arrays.copyOf(artifactIds, nodeCount), Arrays.copyOf(versions, nodeCount), offsets, targets, flags);
+        }
+
+        private int intern(String value) {
+            Integer id = symbolIds.get(value);
+            if (id != null) {
+                return id;
+            }
+            if (symbolCount == symbols.length) {
+                symbols = Arrays.copyOf(symbols, symbolCount * 2);
+            }
+            symbols[symbolCount] = value;
+            symbolIds.put(value, symbolCount);
+            return symbolCount++;
+        }
+
+        private static int scopeCode(String scope) {
+            if (scope == null) {
+                return 0;
+            }
+            for (int code = 0; code < SCOPES.length; code++) {
+                if (SCOPES[code].equals(scope)) {
+                    return code;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package de.diedavids.mavguard.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheFilesTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldReplaceFileWithoutLeavingTemporaryFiles() throws IOException {
+        // Given
+        Path target = tempDir.resolve("versions/central.cache");
+        CacheFiles.writeAtomically(target, new byte[] {1, 2, 3});
+
+        // When
+        CacheFiles.writeAtomically(target, new byte[] {4});
+
+        // Then
+        assertThat(Files.readAllBytes(target)).containsExactly(4);
+        try (Stream<Path> files = Files.list(target.getParent())) {
+            assertThat(files).containsExactly(target);
+        }
+    }
+
+    @Test
+    void shouldUseConfiguredDirectoryOrDefault() {
+        // When / Then
+        assertThat(CacheFiles.directory("/tmp/cache")).isEqualTo(Path.of("/tmp/cache"));
+        assertThat(CacheFiles.directory(" ")).isEqualTo(Path.of(System.getProperty("user.home"), ".mav-guard", "cache"));
+        assertThat(CacheFiles.directory(null)).isEqualTo(CacheFiles.directory(""));
+    }
+}
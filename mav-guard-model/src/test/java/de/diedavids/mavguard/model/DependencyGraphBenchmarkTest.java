@@ -0,0 +1,94 @@
+package de.diedavids.mavguard.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the retained heap of a synthetic graph with 100k edges held as {@link Project}/{@link Dependency}
+ * records with the same graph packed into a {@link DependencyGraph}, and times a reverse traversal.
+ * Run with: mvn -pl mav-guard-model test -Dtest=DependencyGraphBenchmarkTest -Dmavguard.benchmark=true
+ */
+@EnabledIfSystemProperty(named = "mavguard.benchmark", matches = "true")
+class DependencyGraphBenchmarkTest {
+
+    private static final int NODES = 20_000;
+    private static final int EDGES_PER_NODE = 5;
+    private static final int REVERSE_QUERIES = 1_000;
+
+    @Test
+    void compareRecordAndCsrHeapUsage() {
+        // Given
+        long baseline = usedHeap();
+        List<Project> projects = recordGraph();
+        long recordBytes = usedHeap() - baseline;
+
+        // When
+        baseline = usedHeap();
+        DependencyGraph graph = csrGraph(projects);
+        long csrBytes = usedHeap() - baseline;
+
+        long start = System.nanoTime();
+        long reached = 0;
+        for (int node = 0; node < REVERSE_QUERIES; node++) {
+            reached += graph.dependentsOf(node).cardinality();
+        }
+        double queryMicros = (System.nanoTime() - start) / 1_000.0 / REVERSE_QUERIES;
+
+        // Then
+        assertThat(graph.getEdgeCount()).isEqualTo(NODES * EDGES_PER_NODE);
+        System.out.printf("Heap for %d nodes, %d edges: records %.1f MB, CSR %.1f MB (%.1fx); "
+                        + "transitive dependents: %.0f us per query, %.0f nodes on average%n",
+                NODES, graph.getEdgeCount(), recordBytes / 1e6, csrBytes / 1e6, (double) recordBytes / csrBytes,
+                queryMicros, (double) reached / REVERSE_QUERIES);
+        // Keep both representations reachable until they have been measured
+        assertThat(projects).hasSize(NODES);
+    }
+
+    /**
+     * Builds the graph the way the parser does, with fresh strings for every declaration.
+     */
+    private static List<Project> recordGraph() {
+        Random random = new Random(42);
+        List<Project> projects = new ArrayList<>(NODES);
+        for (int node = 0; node < NODES; node++) {
+            List<Dependency> dependencies = new ArrayList<>(EDGES_PER_NODE);
+            for (int edge = 0; edge < EDGES_PER_NODE; edge++) {
+                int target = random.nextInt(NODES);
+                dependencies.add(new Dependency(new String("com.example.group" + target % 100),
+                        new String("artifact-" + target), new String("1.0." + target % 10), "compile", false, "jar"));
+            }
+            projects.add(new Project("com.example.group" + node % 100, "artifact-" + node, "1.0." + node % 10,
+                    "jar", null, dependencies, null, null, Map.of()));
+        }
+        return projects;
+    }
+
+    private static DependencyGraph csrGraph(List<Project> projects) {
+        DependencyGraph.Builder builder = new DependencyGraph.Builder();
+        for (Project project : projects) {
+            builder.addNode(project.groupId(), project.artifactId(), project.version());
+        }
+        for (int node = 0; node < projects.size(); node++) {
+            for (Dependency dependency : projects.get(node).dependencies()) {
+                int target = builder.addNode(dependency.groupId(), dependency.artifactId(), dependency.version());
+                builder.addEdge(node, target, dependency.scope(), Boolean.TRUE.equals(dependency.optional()));
+            }
+        }
+        return builder.build();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
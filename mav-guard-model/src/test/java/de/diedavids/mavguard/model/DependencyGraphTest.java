@@ -0,0 +1,83 @@
+package de.diedavids.mavguard.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DependencyGraphTest {
+
+    @Test
+    void shouldAnswerForwardAndReverseQueries() {
+        // Given
+        DependencyGraph.Builder builder = new DependencyGraph.Builder();
+        int app = builder.addNode("com.example", "app", "1.0.0");
+        int web = builder.addNode("org.example", "web", "1");
+        int core = builder.addNode("org.example", "core", "2");
+        int junit = builder.addNode("junit", "junit", "4.13.2");
+        builder.addEdge(web, core, "runtime", false)
+                .addEdge(app, web, null, false)
+                .addEdge(app, junit, "test", true)
+                .addEdge(app, core, "compile", false);
+
+        // When
+        DependencyGraph graph = builder.build();
+
+        // Then
+        assertThat(graph.getNodeCount()).isEqualTo(4);
+        assertThat(graph.getEdgeCount()).isEqualTo(4);
+        assertThat(graph.indexOf("org.example", "core", "2")).isEqualTo(core);
+        assertThat(graph.indexOf("org.example", "core", "1")).isEqualTo(-1);
+        assertThat(graph.getCoordinates(junit)).isEqualTo("junit:junit:4.13.2");
+
+        List<Integer> dependencies = new ArrayList<>();
+        graph.forEachDependency(app, dependencies::add);
+        assertThat(dependencies).containsExactly(web, junit, core);
+        int junitEdge = graph.getFirstEdge(app) + 1;
+        assertThat(graph.getEdgeScope(junitEdge)).isEqualTo("test");
+        assertThat(graph.isEdgeOptional(junitEdge)).isTrue();
+        assertThat(graph.getEdgeScope(graph.getFirstEdge(app))).isEqualTo("compile");
+
+        List<Integer> dependents = new ArrayList<>();
+        graph.forEachDependent(core, dependents::add);
+        assertThat(dependents).containsExactly(app, web);
+        assertThat(graph.getDependentCount(app)).isZero();
+    }
+
+    @Test
+    void shouldTraverseTransitivelyInBothDirections() {
+        // Given
+        DependencyGraph.Builder builder = new DependencyGraph.Builder();
+        int a = builder.addNode("g", "a", "1");
+        int b = builder.addNode("g", "b", "1");
+        int c = builder.addNode("g", "c", "1");
+        int d = builder.addNode("g", "d", "1");
+        builder.addEdge(a, b, null, false).addEdge(b, c, null, false).addEdge(c, a, null, false);
+
+        // When
+        DependencyGraph graph = builder.build();
+
+        // Then
+        assertThat(graph.reachableFrom(b).stream().toArray()).containsExactly(a, b, c);
+        assertThat(graph.dependentsOf(d).stream().toArray()).containsExactly(d);
+        assertThat(graph.dependentsOf(c).cardinality()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldInternNodesAndRejectUnknownEdges() {
+        // Given
+        DependencyGraph.Builder builder = new DependencyGraph.Builder();
+        int first = builder.addNode("org.example", "core", "2");
+
+        // When
+        int second = builder.addNode("org.example", "core", "2");
+
+        // Then
+        assertThat(second).isEqualTo(first);
+        assertThatThrownBy(() -> builder.addEdge(first, 7, null, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,164 @@
+package de.diedavids.mavguard.nexus.client;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of concurrent requests to the repository, adapting the limit to how the repository copes
+ * (additive increase, multiplicative decrease).
+ * <p>
+ * A request that would exceed the limit waits until another one completes. While the limit is used and latency
+ * stays flat, the limit grows by one per window of {@code limit} successful requests. It is reduced by a quarter
+ * when a request times out or fails, when the repository answers 429 or 5xx, or when the recent latency rises
+ * above twice the long-term latency (plus a few milliseconds of jitter). Only one reduction is applied per window:
+ * the requests already in flight when the limit was reduced were started under the old limit and do not reduce
+ * it again.
+ */
+public class AdaptiveConcurrencyLimiter implements ClientHttpRequestInterceptor {
+
+    private static final int MIN_LIMIT = 1;
+    private static final double BACKOFF_RATIO = 0.75;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    /** Latency differences below this are jitter, not a sign of load */
+    private static final long LATENCY_NOISE_NANOS = 5_000_000;
+    private static final double RECENT_SMOOTHING = 0.2;
+    private static final double LONG_TERM_SMOOTHING = 0.02;
+
+    private final int maxLimit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private long started;
+    private long lastBackoff;
+    private long requests;
+    private long overloads;
+    private long totalLatencyNanos;
+    private long minLatencyNanos = Long.MAX_VALUE;
+    private double recentLatencyNanos;
+    private double longTermLatencyNanos;
+
+    /**
+     * Creates a limiter.
+     *
+     * @param initialLimit the number of concurrent requests allowed at first
+     * @param maxLimit the number of concurrent requests the limit never exceeds
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int maxLimit) {
+        if (initialLimit < MIN_LIMIT || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limits: initial " + initialLimit + ", max " + maxLimit);
+        }
+        this.limit = initialLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        long ticket = acquire();
+        long start = System.nanoTime();
+        boolean overloaded = true;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int status = response.getStatusCode().value();
+            overloaded = status == 429 || status >= 500;
+            return response;
+        } finally {
+            // Exceptions are timeouts and refused or reset connections, all signs of an overloaded repository
+            release(ticket, System.nanoTime() - start, overloaded);
+        }
+    }
+
+    /**
+     * Returns the current limit and the latencies observed so far.
+     */
+    public RequestMetrics metrics() {
+        lock.lock();
+        try {
+            long successful = requests - overloads;
+            return new RequestMetrics((int) limit, requests, overloads,
+                    Duration.ofNanos(successful == 0 ? 0 : totalLatencyNanos / successful),
+                    Duration.ofNanos(successful == 0 ? 0 : minLatencyNanos),
+                    Duration.ofNanos((long) recentLatencyNanos));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long acquire() throws InterruptedIOException {
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                released.await();
+            }
+            inFlight++;
+            return started++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a repository connection");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long ticket, long latencyNanos, boolean overloaded) {
+        lock.lock();
+        try {
+            boolean saturated = inFlight * 2 >= limit;
+            inFlight--;
+            requests++;
+            if (overloaded) {
+                overloads++;
+                backOff(ticket);
+            } else {
+                totalLatencyNanos += latencyNanos;
+                minLatencyNanos = Math.min(minLatencyNanos, latencyNanos);
+                if (longTermLatencyNanos == 0) {
+                    recentLatencyNanos = latencyNanos;
+                    longTermLatencyNanos = latencyNanos;
+                } else {
+                    recentLatencyNanos += RECENT_SMOOTHING * (latencyNanos - recentLatencyNanos);
+                    longTermLatencyNanos += LONG_TERM_SMOOTHING * (latencyNanos - longTermLatencyNanos);
+                }
+                if (recentLatencyNanos > LATENCY_TOLERANCE * longTermLatencyNanos + LATENCY_NOISE_NANOS) {
+                    backOff(ticket);
+                } else if (saturated) {
+                    // Only grown while the limit is used, an idle limit says nothing about the repository
+                    limit = Math.min(maxLimit, limit + 1 / limit);
+                }
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void backOff(long ticket) {
+        if (ticket >= lastBackoff) {
+            limit = Math.max(MIN_LIMIT, limit * BACKOFF_RATIO);
+            lastBackoff = started;
+        }
+    }
+
+    /**
+     * The state of the limiter.
+     *
+     * @param limit the current number of concurrent requests allowed
+     * @param requests the number of completed requests
+     * @param overloads the number of requests that failed, timed out or were answered with 429 or 5xx
+     * @param averageLatency the average latency of the successful requests
+     * @param minLatency the lowest latency of a successful request
+     * @param recentLatency the latency of the latest successful requests, exponentially smoothed
+     */
+    public record RequestMetrics(int limit, long requests, long overloads, Duration averageLatency,
+                                 Duration minLatency, Duration recentLatency) {
+    }
+}
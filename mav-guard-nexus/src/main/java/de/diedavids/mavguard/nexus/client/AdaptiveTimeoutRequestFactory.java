@@ -0,0 +1,143 @@
+package de.diedavids.mavguard.nexus.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates repository requests whose timeouts follow the latencies observed for the repository.
+ * <p>
+ * Once enough latencies are recorded, a request is cut off after three times the 99th percentile (at least
+ * half a second) instead of the configured timeouts, which stay the upper bounds. A request that times out
+ * this way is retried once with the configured timeouts, so a slow but working repository still answers, while
+ * a single hung connection no longer stalls a lookup for the full read timeout. The latency of every answered
+ * request is recorded in the histogram.
+ */
+public class AdaptiveTimeoutRequestFactory implements ClientHttpRequestFactory {
+
+    private static final double PERCENTILE = 0.99;
+    private static final double MULTIPLIER = 3;
+    private static final int MINIMUM_SAMPLES = 100;
+    private static final int MINIMUM_DEADLINE_MILLIS = 500;
+
+    private final LatencyHistogram histogram;
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final int minimumSamples;
+    private final int minimumDeadlineMillis;
+    private final AtomicInteger retries = new AtomicInteger();
+
+    /**
+     * Creates a request factory.
+     *
+     * @param histogram the latencies observed for the repository
+     * @param connectTimeout the configured connection timeout in milliseconds, the upper bound
+     * @param readTimeout the configured read timeout in milliseconds, the upper bound
+     */
+    public AdaptiveTimeoutRequestFactory(LatencyHistogram histogram, int connectTimeout, int readTimeout) {
+        this(histogram, connectTimeout, readTimeout, MINIMUM_SAMPLES, MINIMUM_DEADLINE_MILLIS);
+    }
+
+    AdaptiveTimeoutRequestFactory(LatencyHistogram histogram, int connectTimeout, int readTimeout,
+                                  int minimumSamples, int minimumDeadlineMillis) {
+        this.histogram = histogram;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.minimumSamples = minimumSamples;
+        this.minimumDeadlineMillis = minimumDeadlineMillis;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new RetryingRequest(uri, httpMethod);
+    }
+
+    /**
+     * Returns the timeout of a first attempt in milliseconds: the configured read timeout until enough latencies
+     * are recorded, then a multiple of their 99th percentile.
+     */
+    public int deadlineMillis() {
+        if (histogram.sampleCount() < minimumSamples) {
+            return readTimeout;
+        }
+        long deadline = Math.max(minimumDeadlineMillis, (long) Math.ceil(histogram.percentileMillis(PERCENTILE) * MULTIPLIER));
+        return (int) Math.min(readTimeout, deadline);
+    }
+
+    /**
+     * Returns the number of requests retried after being cut off.
+     */
+    public int retryCount() {
+        return retries.get();
+    }
+
+    private ClientHttpResponse attempt(URI uri, HttpMethod method, HttpHeaders headers, byte[] body,
+                                      int connectMillis, int readMillis) throws IOException {
+        // The factory only holds the settings, a new one per attempt keeps concurrent timeouts apart
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(connectMillis);
+        factory.setReadTimeout(readMillis);
+        ClientHttpRequest request = factory.createRequest(uri, method);
+        request.getHeaders().putAll(headers);
+        if (body.length > 0) {
+            request.getBody().write(body);
+        }
+        long start = System.nanoTime();
+        ClientHttpResponse response = request.execute();
+        histogram.record((System.nanoTime() - start) / 1_000_000);
+        return response;
+    }
+
+    private class RetryingRequest extends AbstractClientHttpRequest {
+
+        private final URI uri;
+        private final HttpMethod method;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(0);
+
+        RetryingRequest(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return body;
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            int deadline = deadlineMillis();
+            try {
+                return attempt(uri, method, headers, body.toByteArray(), Math.min(connectTimeout, deadline), deadline);
+            } catch (SocketTimeoutException e) {
+                boolean idempotent = method == HttpMethod.GET || method == HttpMethod.HEAD;
+                if (deadline >= readTimeout || !idempotent) {
+                    throw e;
+                }
+                retries.incrementAndGet();
+                return attempt(uri, method, headers, body.toByteArray(), connectTimeout, readTimeout);
+            }
+        }
+    }
+}
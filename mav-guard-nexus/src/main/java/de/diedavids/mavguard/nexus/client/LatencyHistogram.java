@@ -0,0 +1,187 @@
+package de.diedavids.mavguard.nexus.client;
+
+import de.diedavids.mavguard.cache.CacheFiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records the latencies of the requests to one repository across runs.
+ * <p>
+ * The latencies are counted in logarithmic buckets, four per power of two from 1 ms to about 65 s, so a percentile
+ * is known to within 20 %. The counts of earlier runs are read from a file on first use; the counts of this run
+ * are added to the file when the histogram is closed. Once more than {@value #MAX_SAMPLES} latencies are stored,
+ * all counts are halved, so recent runs outweigh old ones.
+ */
+public class LatencyHistogram implements Closeable {
+
+    private static final int MAGIC = 0x4D474C48; // "MGLH"
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int BUCKETS_PER_DOUBLING = 4;
+    private static final int BUCKETS = 16 * BUCKETS_PER_DOUBLING;
+    private static final long MAX_SAMPLES = 10_000;
+
+    private final Path file;
+    private final AtomicLongArray recorded = new AtomicLongArray(BUCKETS);
+
+    private long[] persisted;
+
+    /**
+     * Creates a histogram backed by a file, which is created when the histogram is closed.
+     *
+     * @param file the file holding the counts of earlier runs
+     */
+    public LatencyHistogram(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Records the latency of a request.
+     *
+     * @param millis the latency in milliseconds
+     */
+    public void record(long millis) {
+        recorded.incrementAndGet(bucket(millis));
+    }
+
+    /**
+     * Returns the number of latencies recorded in this and earlier runs.
+     */
+    public long sampleCount() {
+        long count = 0;
+        long[] counts = counts();
+        for (long bucketCount : counts) {
+            count += bucketCount;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the latency below which the given share of the recorded latencies lies, rounded up to the bucket.
+     *
+     * @param percentile the share, between 0 and 1, e.g. 0.99
+     * @return the latency in milliseconds, or 0 if nothing was recorded
+     */
+    public long percentileMillis(double percentile) {
+        long[] counts = counts();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBoundMillis(i);
+            }
+        }
+        return upperBoundMillis(BUCKETS - 1);
+    }
+
+    /**
+     * Adds the latencies of this run to the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        long[] counts = read();
+        boolean recordedAny = false;
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = recorded.getAndSet(i, 0);
+            counts[i] += count;
+            recordedAny |= count > 0;
+        }
+        if (!recordedAny) {
+            return;
+        }
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        while (total > MAX_SAMPLES) {
+            total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] /= 2;
+                total += counts[i];
+            }
+        }
+        write(counts);
+        persisted = counts;
+    }
+
+    private synchronized long[] counts() {
+        if (persisted == null) {
+            persisted = read();
+        }
+        long[] counts = persisted.clone();
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += recorded.get(i);
+        }
+        return counts;
+    }
+
+    private static int bucket(long millis) {
+        if (millis <= 1) {
+            return 0;
+        }
+        int bucket = (int) (BUCKETS_PER_DOUBLING * Math.log(millis) / Math.log(2));
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static long upperBoundMillis(int bucket) {
+        return (long) Math.ceil(Math.pow(2, (bucket + 1) / (double) BUCKETS_PER_DOUBLING));
+    }
+
+    /**
+     * Reads the counts of earlier runs. A missing or unreadable file is treated as empty.
+     */
+    private long[] read() {
+        long[] counts = new long[BUCKETS];
+        try {
+            byte[] content = Files.readAllBytes(file);
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(content))) {
+                if (content.length < 5 || in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION
+                        || in.readInt() != BUCKETS) {
+                    return counts;
+                }
+                for (int i = 0; i < BUCKETS; i++) {
+                    counts[i] = in.readLong();
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Nothing recorded yet
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable latency histogram " + file + ": " + e.getMessage());
+            return new long[BUCKETS];
+        }
+        return counts;
+    }
+
+    private void write(long[] counts) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(BUCKETS);
+            for (long count : counts) {
+                out.writeLong(count);
+            }
+        }
+
+        CacheFiles.writeAtomically(file, bytes.toByteArray());
+    }
+}
@@ -68,4 +68,34 @@ public interface NexusClient {
             @PathVariable("repository") String repository,
             @PathVariable("groupId") String groupId,
             @PathVariable("artifactId") String artifactId);
-}
\ No newline at end of file
+
+    /**
+     * Downloads the POM of a specific artifact version from a Nexus repository.
+     *
+     * @param repository the repository name (e.g., "private")
+     * @param groupId the artifact group ID with slashes instead of dots (e.g., "com/company")
+     * @param artifactId the artifact ID (e.g., "company-parent")
+     * @param version the artifact version
+     * @return the raw POM content
+     */
+    @GetExchange(value = "/content/groups/{repository}/{groupId}/{artifactId}/{version}/{artifactId}-{version}.pom", accept = "*/*")
+    byte[] getPom(
+            @PathVariable("repository") String repository,
+            @PathVariable("groupId") String groupId,
+            @PathVariable("artifactId") String artifactId,
+            @PathVariable("version") String version);
+
+    /**
+     * Downloads the POM of a specific artifact version using Maven Central layout.
+     *
+     * @param groupId the artifact group ID with slashes instead of dots (e.g., "org/springframework/boot")
+     * @param artifactId the artifact ID (e.g., "spring-boot-starter-parent")
+     * @param version the artifact version
+     * @return the raw POM content
+     */
+    @GetExchange(value = "/{groupId}/{artifactId}/{version}/{artifactId}-{version}.pom", accept = "*/*")
+    byte[] getPomSimple(
+            @PathVariable("groupId") String groupId,
+            @PathVariable("artifactId") String artifactId,
+            @PathVariable("version") String version);
+}
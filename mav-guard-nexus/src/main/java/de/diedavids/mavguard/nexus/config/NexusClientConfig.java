@@ -1,14 +1,25 @@
 package de.diedavids.mavguard.nexus.config;
 
+import de.diedavids.mavguard.cache.CacheFiles;
+import de.diedavids.mavguard.nexus.client.AdaptiveConcurrencyLimiter;
+import de.diedavids.mavguard.nexus.client.AdaptiveTimeoutRequestFactory;
+import de.diedavids.mavguard.nexus.client.LatencyHistogram;
 import de.diedavids.mavguard.nexus.client.NexusClient;
+import de.diedavids.mavguard.nexus.service.NegativeLookupCache;
+import de.diedavids.mavguard.nexus.service.VersionMetadataCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.support.RestClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+
 /**
  * Configuration for Nexus HTTP client.
  */
@@ -20,20 +31,23 @@ public class NexusClientConfig {
      * Creates a Nexus HTTP client using Spring 6 HTTP Interface with RestClient.
      * 
      * @param properties the Nexus properties
+     * @param concurrencyLimiter limits the concurrent requests to the repository
+     * @param latencyHistogram the latencies observed for the repository, which the timeouts are derived from
      * @return a configured Nexus client
      */
     @Bean
-    public NexusClient nexusClient(NexusProperties properties) {
-        // Create request factory with timeouts
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setConnectTimeout(properties.connectionTimeout());
-        requestFactory.setReadTimeout(properties.readTimeout());
+    public NexusClient nexusClient(NexusProperties properties, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                   LatencyHistogram latencyHistogram) {
+        // Create request factory with timeouts, the configured ones are the upper bounds
+        AdaptiveTimeoutRequestFactory requestFactory = new AdaptiveTimeoutRequestFactory(latencyHistogram,
+                properties.connectionTimeout(), properties.readTimeout());
         
         // Create rest client with base URL and timeouts
         RestClient.Builder builder = RestClient.builder()
                 .baseUrl(properties.baseUrl())
                 .defaultHeaders(headers -> headers.add("Accept", "application/xml"))
-                .requestFactory(requestFactory);
+                .requestFactory(requestFactory)
+                .requestInterceptor(concurrencyLimiter);
         
         // Add basic auth only for Nexus type and if credentials are provided
         if (properties.isNexus() && 
@@ -55,4 +69,73 @@ public class NexusClientConfig {
         // Create the NexusClient instance
         return serviceFactory.createClient(NexusClient.class);
     }
+
+    /**
+     * Creates the limiter of concurrent repository requests. It starts with the initial limit and adapts it to the
+     * latencies and errors of the repository, up to the maximum.
+     *
+     * @param initialConcurrency the number of concurrent requests allowed at first, defaults to 8
+     * @param maxConcurrency the upper bound of the limit, defaults to 64
+     * @return the concurrency limiter
+     */
+    @Bean
+    public AdaptiveConcurrencyLimiter concurrencyLimiter(@Value("${mavguard.repository.initial-concurrency:8}") int initialConcurrency,
+                                                         @Value("${mavguard.repository.max-concurrency:64}") int maxConcurrency) {
+        return new AdaptiveConcurrencyLimiter(initialConcurrency, maxConcurrency);
+    }
+
+    /**
+     * Creates the histogram of the latencies observed for the repository. Every repository configuration has its
+     * own file below the cache directory; the latencies of a run are added when the context is closed.
+     *
+     * @param properties the repository properties
+     * @param cacheDirectory the cache directory, defaults to {@code ~/.mav-guard/cache}
+     * @return the latency histogram
+     */
+    @Bean
+    public LatencyHistogram latencyHistogram(NexusProperties properties, @Value("${mavguard.cache.directory:}") String cacheDirectory) {
+        return new LatencyHistogram(cacheFile(properties, cacheDirectory, "latency", ".hist"));
+    }
+
+    /**
+     * Creates the cache of artifacts the repository does not know. Every repository configuration has its own
+     * file below the cache directory; the cache is written back when the context is closed.
+     *
+     * @param properties the repository properties
+     * @param cacheDirectory the cache directory, defaults to {@code ~/.mav-guard/cache}
+     * @param ttl how long a missing artifact is skipped, defaults to one day
+     * @return the negative lookup cache
+     */
+    @Bean
+    public NegativeLookupCache negativeLookupCache(NexusProperties properties,
+                                                   @Value("${mavguard.cache.directory:}") String cacheDirectory,
+                                                   @Value("${mavguard.repository.negative-cache-ttl:P1D}") Duration ttl) {
+        return new NegativeLookupCache(cacheFile(properties, cacheDirectory, "missing", ".bloom"), ttl);
+    }
+
+    /**
+     * Creates the cache of the versions available in the repository. Every repository configuration has its own
+     * file below the cache directory; the cache is written back when the context is closed.
+     *
+     * @param properties the repository properties
+     * @param cacheDirectory the cache directory, defaults to {@code ~/.mav-guard/cache}
+     * @param ttl how long cached versions are answered without a refresh, defaults to one hour
+     * @param grace how long expired versions are still answered while they are refreshed in the background,
+     *              defaults to seven days
+     * @return the version metadata cache
+     */
+    @Bean
+    public VersionMetadataCache versionMetadataCache(NexusProperties properties,
+                                                     @Value("${mavguard.cache.directory:}") String cacheDirectory,
+                                                     @Value("${mavguard.repository.metadata-cache-ttl:PT1H}") Duration ttl,
+                                                     @Value("${mavguard.repository.metadata-cache-grace:P7D}") Duration grace) {
+        return new VersionMetadataCache(cacheFile(properties, cacheDirectory, "versions", ".cache"), ttl, grace);
+    }
+
+    private static Path cacheFile(NexusProperties properties, String cacheDirectory, String subdirectory, String extension) {
+        Path directory = CacheFiles.directory(cacheDirectory);
+        String repository = properties.type() + "\n" + properties.baseUrl() + "\n" + properties.repository();
+        String fileName = UUID.nameUUIDFromBytes(repository.getBytes(StandardCharsets.UTF_8)) + extension;
+        return directory.resolve(subdirectory).resolve(fileName);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package de.diedavids.mavguard.nexus.service;
+
+/**
+ * Thrown by a {@link RepositoryService} when the repository does not know an artifact at all, as opposed to
+ * failing to answer. Internal artifacts looked up in a public repository are the typical case.
+ */
+public class ArtifactNotFoundException extends RuntimeException {
+
+    private final String groupId;
+    private final String artifactId;
+
+    public ArtifactNotFoundException(String groupId, String artifactId, Throwable cause) {
+        super("Artifact not found in repository: " + groupId + ":" + artifactId, cause);
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getArtifactId() {
+        return artifactId;
+    }
+}
@@ -2,6 +2,7 @@ package de.diedavids.mavguard.nexus.service;
 
 import de.diedavids.mavguard.model.Dependency;
 import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.nexus.client.AdaptiveConcurrencyLimiter;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -74,4 +75,29 @@ public interface DependencyVersionService {
                 .map(latest -> !latest.equals(parent.version()))
                 .orElse(false);
     }
+
+    /**
+     * Returns the number of lookups answered so far from cached versions that had expired and may be outdated.
+     *
+     * @return the number of possibly stale answers
+     */
+    default int getPossiblyStaleCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the metrics of the requests sent to the repository so far, if the service sends any.
+     *
+     * @return the current concurrency limit and the observed latencies
+     */
+    default Optional<AdaptiveConcurrencyLimiter.RequestMetrics> getRequestMetrics() {
+        return Optional.empty();
+    }
+
+    /**
+     * Cancels the background work still running for later runs, e.g. refreshes of expired cached versions, so
+     * shutting down does not wait for it. Further background work is not started.
+     */
+    default void cancelBackgroundRefreshes() {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,287 @@
+package de.diedavids.mavguard.nexus.service;
+
+import de.diedavids.mavguard.cache.CacheFiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers artifacts the repository reported as unknown, so later runs skip their lookups until a TTL expires.
+ * <p>
+ * The entries are persisted in one file: a header, a Bloom filter over all entries and the entries with the
+ * time they were recorded. The file is memory-mapped on first use, but only the Bloom filter is read up front.
+ * Most looked-up artifacts exist, and for them the filter answers without decoding any entry; the entries are
+ * decoded only when the filter reports a possible match. New entries are written back when the cache is closed,
+ * merged into the entries another run may have written in the meantime.
+ */
+public class NegativeLookupCache implements Closeable {
+
+    private static final int MAGIC = 0x4D474E43; // "MGNC"
+    private static final int FORMAT_VERSION = 1;
+
+    /** Bits per entry and hash functions for a false positive rate of about 1% */
+    private static final int BITS_PER_ENTRY = 10;
+    private static final int HASH_FUNCTIONS = 7;
+
+    private final Path file;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final Map<String, Long> recorded = new ConcurrentHashMap<>();
+    private final Set<String> found = ConcurrentHashMap.newKeySet();
+
+    private boolean loaded;
+    private BloomFilter bloomFilter;
+    private ByteBuffer entryBuffer;
+    private Map<String, Long> persisted;
+
+    /**
+     * Creates a cache backed by a file, which is created when the first entry is stored.
+     *
+     * @param file the file holding the entries
+     * @param ttl how long a missing artifact is skipped before it is looked up again
+     */
+    public NegativeLookupCache(Path file, Duration ttl) {
+        this(file, ttl, Clock.systemUTC());
+    }
+
+    NegativeLookupCache(Path file, Duration ttl, Clock clock) {
+        this.file = file;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks whether an artifact was reported missing within the TTL.
+     *
+     * @param groupId the group ID
+     * @param artifactId the artifact ID
+     * @return true if the lookup can be skipped
+     */
+    public boolean isKnownMissing(String groupId, String artifactId) {
+        String key = key(groupId, artifactId);
+        Long recordedAt = recorded.get(key);
+        if (recordedAt == null && mightBePersisted(key)) {
+            recordedAt = persistedEntries().get(key);
+        }
+        return recordedAt != null && !found.contains(key) && clock.millis() - recordedAt < ttl.toMillis();
+    }
+
+    /**
+     * Records that the repository does not know an artifact.
+     */
+    public void recordMissing(String groupId, String artifactId) {
+        String key = key(groupId, artifactId);
+        found.remove(key);
+        recorded.put(key, clock.millis());
+    }
+
+    /**
+     * Records that an artifact exists, e.g. because it was published after it had been reported missing.
+     */
+    public void recordFound(String groupId, String artifactId) {
+        String key = key(groupId, artifactId);
+        if (recorded.remove(key) != null || mightBePersisted(key) && persistedEntries().containsKey(key)) {
+            found.add(key);
+        }
+    }
+
+    /**
+     * Writes the entries back if any were recorded or found since the file was read. Expired entries are dropped.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (recorded.isEmpty() && found.isEmpty()) {
+            return;
+        }
+        long now = clock.millis();
+        // Re-read the file, so entries recorded by a concurrent run since this run started are kept
+        Map<String, Long> entries = new HashMap<>();
+        MappedFile current = map();
+        if (current != null) {
+            entries.putAll(decode(current.entries()));
+        }
+        entries.putAll(recorded);
+        found.forEach(entries::remove);
+        entries.values().removeIf(recordedAt -> now - recordedAt >= ttl.toMillis());
+        write(entries);
+        recorded.clear();
+        found.clear();
+    }
+
+    private boolean mightBePersisted(String key) {
+        load();
+        return bloomFilter != null && bloomFilter.mightContain(key);
+    }
+
+    /**
+     * Maps the file and reads the Bloom filter on first use.
+     */
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        MappedFile current = map();
+        if (current != null) {
+            bloomFilter = current.bloomFilter();
+            entryBuffer = current.entries();
+        }
+    }
+
+    /**
+     * Maps the file and reads its Bloom filter. A missing or unreadable file is treated as empty.
+     *
+     * @return the Bloom filter and the still encoded entries, or null if there are none
+     */
+    private MappedFile map() {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 5 || buffer.getInt() != MAGIC || buffer.get() != FORMAT_VERSION) {
+                return null;
+            }
+            int hashFunctions = buffer.getInt();
+            long[] bits = new long[buffer.getInt()];
+            buffer.asLongBuffer().get(bits);
+            buffer.position(buffer.position() + bits.length * Long.BYTES);
+            return new MappedFile(new BloomFilter(bits, hashFunctions), buffer.slice());
+        } catch (NoSuchFileException e) {
+            // Nothing recorded yet
+            return null;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            System.err.println("Ignoring unreadable negative lookup cache " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private synchronized Map<String, Long> persistedEntries() {
+        if (persisted == null) {
+            persisted = decode(entryBuffer);
+        }
+        return persisted;
+    }
+
+    private Map<String, Long> decode(ByteBuffer entries) {
+        Map<String, Long> decoded = new HashMap<>();
+        try {
+            ByteBuffer buffer = entries.duplicate();
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                byte[] key = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(key);
+                decoded.put(new String(key, StandardCharsets.UTF_8), buffer.getLong());
+            }
+        } catch (BufferUnderflowException e) {
+            System.err.println("Ignoring truncated negative lookup cache " + file);
+            decoded.clear();
+        }
+        return decoded;
+    }
+
+    private void write(Map<String, Long> entries) throws IOException {
+        BloomFilter filter = new BloomFilter(Math.max(64, entries.size() * BITS_PER_ENTRY), HASH_FUNCTIONS);
+        entries.keySet().forEach(filter::add);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(filter.hashFunctions);
+            out.writeInt(filter.bits.length);
+            for (long word : filter.bits) {
+                out.writeLong(word);
+            }
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Long> entry : entries.entrySet()) {
+                byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                out.writeShort(key.length);
+                out.write(key);
+                out.writeLong(entry.getValue());
+            }
+        }
+
+        CacheFiles.writeAtomically(file, bytes.toByteArray());
+    }
+
+    private static String key(String groupId, String artifactId) {
+        return groupId + ":" + artifactId;
+    }
+
+    /**
+     * The Bloom filter of the file and its entries, decoded only on demand.
+     */
+    private record MappedFile(BloomFilter bloomFilter, ByteBuffer entries) {
+    }
+
+    /**
+     * A Bloom filter using double hashing: the k bit positions are derived from the two halves of one
+     * 64-bit FNV-1a hash.
+     */
+    static final class BloomFilter {
+
+        private final long[] bits;
+        private final int hashFunctions;
+
+        BloomFilter(int bitCount, int hashFunctions) {
+            this(new long[(bitCount + Long.SIZE - 1) / Long.SIZE], hashFunctions);
+        }
+
+        BloomFilter(long[] bits, int hashFunctions) {
+            if (bits.length == 0 || hashFunctions < 1) {
+                throw new IllegalArgumentException("Invalid Bloom filter");
+            }
+            this.bits = bits;
+            this.hashFunctions = hashFunctions;
+        }
+
+        void add(String key) {
+            long hash = hash(key);
+            for (int i = 0; i < hashFunctions; i++) {
+                int bit = bitIndex(hash, i);
+                bits[bit >>> 6] |= 1L << bit;
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash = hash(key);
+            for (int i = 0; i < hashFunctions; i++) {
+                int bit = bitIndex(hash, i);
+                if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int bitIndex(long hash, int i) {
+            int combined = (int) hash + i * (int) (hash >>> 32);
+            return Math.floorMod(combined, bits.length * Long.SIZE);
+        }
+
+        private static long hash(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xFF;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
@@ -8,11 +8,13 @@ import de.diedavids.mavguard.nexus.model.MavenMetadata;
 import de.diedavids.mavguard.nexus.model.NexusArtifactVersion;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository service implementation for Nexus Repository Manager.
@@ -49,6 +51,8 @@ public class NexusRepositoryService implements RepositoryService {
                     ))
                     .sorted(Comparator.comparing(NexusArtifactVersion::version).reversed())
                     .toList();
+        } catch (HttpClientErrorException.NotFound e) {
+            throw new ArtifactNotFoundException(dependency.groupId(), dependency.artifactId(), e);
         } catch (Exception e) {
             // Log the error and return empty list
             System.err.println("Error fetching versions from Nexus: " + e.getMessage());
@@ -88,12 +92,26 @@ public class NexusRepositoryService implements RepositoryService {
                     ))
                     .sorted(Comparator.comparing(NexusArtifactVersion::version).reversed())
                     .toList();
+        } catch (HttpClientErrorException.NotFound e) {
+            throw new ArtifactNotFoundException(parent.groupId(), parent.artifactId(), e);
         } catch (Exception e) {
             // Silently return empty list for any errors (network issues, parsing errors, etc.)
             return Collections.emptyList();
         }
     }
 
+    @Override
+    public Optional<byte[]> getPom(String groupId, String artifactId, String version) {
+        try {
+            return Optional.ofNullable(nexusClient.getPom(properties.repository(), groupId.replace('.', '/'), artifactId, version));
+        } catch (HttpClientErrorException.NotFound e) {
+            return Optional.empty();
+        } catch (Exception e) {
+            System.err.println("Error fetching POM " + groupId + ":" + artifactId + ":" + version + " from Nexus: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     @Override
     public String getRepositoryType() {
         return RepositoryType.NEXUS.name();
@@ -2,12 +2,15 @@ package de.diedavids.mavguard.nexus.service;
 
 import de.diedavids.mavguard.model.Dependency;
 import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.nexus.client.AdaptiveConcurrencyLimiter;
 import de.diedavids.mavguard.nexus.model.NexusArtifactVersion;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Service implementation for interacting with repository managers using strategy pattern.
@@ -16,14 +19,24 @@ import java.util.List;
 public class RepositoryDependencyService implements DependencyVersionService {
 
     private final RepositoryServiceFactory repositoryServiceFactory;
+    private final NegativeLookupCache negativeLookupCache;
+    private final VersionMetadataCache versionMetadataCache;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
 
     /**
      * Creates a new RepositoryDependencyService.
      *
      * @param repositoryServiceFactory factory for creating appropriate repository service
+     * @param negativeLookupCache the artifacts recently reported as unknown by the repository, which are not looked up
+     * @param versionMetadataCache the versions looked up in earlier runs, answered while fresh or refreshed in the background
+     * @param concurrencyLimiter the limiter of the repository requests, reporting their metrics
      */
-    public RepositoryDependencyService(RepositoryServiceFactory repositoryServiceFactory) {
+    public RepositoryDependencyService(RepositoryServiceFactory repositoryServiceFactory, NegativeLookupCache negativeLookupCache,
+                                       VersionMetadataCache versionMetadataCache, AdaptiveConcurrencyLimiter concurrencyLimiter) {
         this.repositoryServiceFactory = repositoryServiceFactory;
+        this.negativeLookupCache = negativeLookupCache;
+        this.versionMetadataCache = versionMetadataCache;
+        this.concurrencyLimiter = concurrencyLimiter;
     }
 
     /**
@@ -34,23 +47,12 @@ public class RepositoryDependencyService implements DependencyVersionService {
      */
     @Override
     public List<String> getAvailableVersions(Dependency dependency) {
-        try {
-            RepositoryService repositoryService = repositoryServiceFactory.createRepositoryService();
-            List<NexusArtifactVersion> versions = repositoryService.getAvailableVersions(dependency);
-            
-            // Extract version strings and sort in descending order (newest first)
-            return versions.stream()
-                    .map(NexusArtifactVersion::version)
-                    .sorted(Comparator.reverseOrder())
-                    .toList();
-        } catch (Exception e) {
-            // Log the error and return empty list
-            System.err.println("Error fetching versions from repository: " + e.getMessage());
-            return Collections.emptyList();
-        }
+        return availableVersions("dependency", dependency.groupId(), dependency.artifactId(),
+                repositoryService -> repositoryService.getAvailableVersions(dependency),
+                "Error fetching versions from repository: ");
     }
 
-    
+
     /**
      * Gets all available versions for a parent.
      *
@@ -59,20 +61,71 @@ public class RepositoryDependencyService implements DependencyVersionService {
      */
     @Override
     public List<String> getAvailableParentVersions(Project.Parent parent) {
+        return availableVersions("parent", parent.groupId(), parent.artifactId(),
+                repositoryService -> repositoryService.getAvailableParentVersions(parent),
+                "Error fetching parent versions from repository: ");
+    }
+
+    @Override
+    public int getPossiblyStaleCount() {
+        return versionMetadataCache.staleAnswerCount();
+    }
+
+    @Override
+    public Optional<AdaptiveConcurrencyLimiter.RequestMetrics> getRequestMetrics() {
+        return Optional.of(concurrencyLimiter.metrics());
+    }
+
+    @Override
+    public void cancelBackgroundRefreshes() {
+        versionMetadataCache.cancelRefreshes();
+    }
+
+    private List<String> availableVersions(String kind, String groupId, String artifactId,
+                                           Function<RepositoryService, List<NexusArtifactVersion>> lookup, String errorMessage) {
+        if (negativeLookupCache.isKnownMissing(groupId, artifactId)) {
+            return Collections.emptyList();
+        }
+        String key = kind + ":" + groupId + ":" + artifactId;
+        Optional<VersionMetadataCache.CachedVersions> cached = versionMetadataCache.lookup(key);
+        if (cached.isPresent()) {
+            if (cached.get().stale()) {
+                // Answered right away, the refreshed versions are stored for the next run
+                versionMetadataCache.revalidate(key, () -> fetch(key, groupId, artifactId, lookup));
+            }
+            return cached.get().versions();
+        }
+        try {
+            return fetch(key, groupId, artifactId, lookup);
+        } catch (Exception e) {
+            // Log the error and return empty list
+            System.err.println(errorMessage + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private List<String> fetch(String key, String groupId, String artifactId,
+                               Function<RepositoryService, List<NexusArtifactVersion>> lookup) {
         try {
             RepositoryService repositoryService = repositoryServiceFactory.createRepositoryService();
-            List<NexusArtifactVersion> versions = repositoryService.getAvailableParentVersions(parent);
-            
+            List<NexusArtifactVersion> versions = lookup.apply(repositoryService);
+
             // Extract version strings and sort in descending order (newest first)
-            return versions.stream()
+            List<String> sortedVersions = versions.stream()
                     .map(NexusArtifactVersion::version)
                     .sorted(Comparator.reverseOrder())
                     .toList();
-        } catch (Exception e) {
-            // Log the error and return empty list
-            System.err.println("Error fetching parent versions from repository: " + e.getMessage());
+            // The repository services answer failed requests (timeouts, 5xx) with no versions. Those say nothing about
+            // the artifact, so neither cache is updated; only versions from actual metadata prove that it exists.
+            if (!sortedVersions.isEmpty()) {
+                negativeLookupCache.recordFound(groupId, artifactId);
+                versionMetadataCache.store(key, sortedVersions);
+            }
+            return sortedVersions;
+        } catch (ArtifactNotFoundException e) {
+            negativeLookupCache.recordMissing(e.getGroupId(), e.getArtifactId());
+            versionMetadataCache.remove(key);
             return Collections.emptyList();
         }
     }
-
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@ import de.diedavids.mavguard.model.Project;
 import de.diedavids.mavguard.nexus.model.NexusArtifactVersion;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Interface for repository services that can fetch artifact version information.
@@ -15,7 +16,8 @@ public interface RepositoryService {
      * Retrieves available versions for a given dependency.
      *
      * @param dependency the dependency to check
-     * @return list of available versions, or empty list if not found
+     * @return list of available versions, or empty list if they cannot be fetched
+     * @throws ArtifactNotFoundException if the repository does not know the artifact
      */
     List<NexusArtifactVersion> getAvailableVersions(Dependency dependency);
     
@@ -23,10 +25,21 @@ public interface RepositoryService {
      * Retrieves available versions for a given parent.
      *
      * @param parent the parent to check
-     * @return list of available versions, or empty list if not found
+     * @return list of available versions, or empty list if they cannot be fetched
+     * @throws ArtifactNotFoundException if the repository does not know the artifact
      */
     List<NexusArtifactVersion> getAvailableParentVersions(Project.Parent parent);
     
+    /**
+     * Downloads the POM of a specific artifact version, e.g. a parent POM that is not available locally.
+     *
+     * @param groupId the group ID
+     * @param artifactId the artifact ID
+     * @param version the version
+     * @return the raw POM content, or empty if the artifact does not exist or cannot be fetched
+     */
+    Optional<byte[]> getPom(String groupId, String artifactId, String version);
+
     /**
      * Gets the type of repository this service supports.
      *
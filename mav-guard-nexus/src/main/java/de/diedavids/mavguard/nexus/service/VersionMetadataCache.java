@@ -0,0 +1,333 @@
+package de.diedavids.mavguard.nexus.service;
+
+import de.diedavids.mavguard.cache.CacheFiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caches the versions available in the repository across runs, with a stale-while-revalidate policy.
+ * <p>
+ * An entry younger than the TTL is fresh and answered directly. An expired entry is still answered as long as it
+ * is inside the grace window, but marked as stale and refreshed in the background, so the next run sees the
+ * current versions without this run waiting for the repository. Entries older than TTL and grace window are not
+ * used. The entries are persisted in one file, read on first use and written back when the cache is closed; closing
+ * waits a bounded time for running refreshes, refreshes still running after that are dropped.
+ * <p>
+ * The file carries a generation that is incremented whenever known versions of an artifact changed or an artifact
+ * was removed, so results derived from the cache, e.g. replayed reports, can tell that they may be outdated.
+ */
+public class VersionMetadataCache implements Closeable {
+
+    private static final int MAGIC = 0x4D475643; // "MGVC"
+    private static final int FORMAT_VERSION = 2;
+
+    private static final int REFRESH_THREADS = 4;
+    private static final Duration REFRESH_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Path file;
+    private final Duration ttl;
+    private final Duration grace;
+    private final Clock clock;
+
+    private final Map<String, CachedEntry> entries = new ConcurrentHashMap<>();
+    private final Map<String, CachedEntry> updated = new ConcurrentHashMap<>();
+    private final Set<String> removed = ConcurrentHashMap.newKeySet();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger staleAnswers = new AtomicInteger();
+    private final AtomicBoolean versionsChanged = new AtomicBoolean();
+
+    private boolean loaded;
+    private long generation;
+    private boolean refreshesCancelled;
+    private ExecutorService refreshExecutor;
+
+    /**
+     * Creates a cache backed by a file, which is created when the first entry is stored.
+     *
+     * @param file the file holding the entries
+     * @param ttl how long an entry is answered without a refresh
+     * @param grace how long after the TTL an entry is still answered while it is refreshed in the background
+     */
+    public VersionMetadataCache(Path file, Duration ttl, Duration grace) {
+        this(file, ttl, grace, Clock.systemUTC());
+    }
+
+    VersionMetadataCache(Path file, Duration ttl, Duration grace, Clock clock) {
+        this.file = file;
+        this.ttl = ttl;
+        this.grace = grace;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached versions of an artifact if they are fresh or inside the grace window.
+     *
+     * @param key identifies the artifact and the kind of lookup
+     * @return the cached versions, or empty if they have to be looked up
+     */
+    public Optional<CachedVersions> lookup(String key) {
+        load();
+        CachedEntry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        long age = clock.millis() - entry.fetchedMillis();
+        if (age < ttl.toMillis()) {
+            return Optional.of(new CachedVersions(entry.versions(), false));
+        }
+        if (age < ttl.plus(grace).toMillis()) {
+            staleAnswers.incrementAndGet();
+            return Optional.of(new CachedVersions(entry.versions(), true));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Stores the versions just looked up for an artifact.
+     */
+    public void store(String key, List<String> versions) {
+        load();
+        CachedEntry entry = new CachedEntry(List.copyOf(versions), clock.millis());
+        CachedEntry previous = entries.put(key, entry);
+        if (previous != null && !previous.versions().equals(entry.versions())) {
+            versionsChanged.set(true);
+        }
+        updated.put(key, entry);
+        removed.remove(key);
+    }
+
+    /**
+     * Removes an artifact, e.g. because the repository no longer knows it.
+     */
+    public void remove(String key) {
+        load();
+        if (entries.remove(key) != null) {
+            versionsChanged.set(true);
+        }
+        updated.remove(key);
+        removed.add(key);
+    }
+
+    /**
+     * Runs a refresh of a stale entry in the background, unless one is already running for the same key.
+     * The refresh is expected to {@link #store(String, List) store} its result; if it fails, the stale entry is kept.
+     *
+     * @param key identifies the artifact
+     * @param refresh looks up and stores the current versions
+     */
+    public void revalidate(String key, Runnable refresh) {
+        synchronized (this) {
+            if (refreshesCancelled) {
+                return;
+            }
+        }
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor().execute(() -> {
+                try {
+                    refresh.run();
+                } catch (RuntimeException e) {
+                    // The stale entry stays, the next run tries again
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Rejected because the cache is closing
+            refreshing.remove(key);
+        }
+    }
+
+    /**
+     * Cancels the running refreshes and starts no further ones, so closing the cache does not wait for them.
+     * Refreshes that already stored their versions are kept. Used when the run has to finish within a deadline.
+     */
+    public void cancelRefreshes() {
+        ExecutorService executor;
+        synchronized (this) {
+            refreshesCancelled = true;
+            executor = refreshExecutor;
+        }
+        if (executor != null) {
+            // Interrupted refreshes may still be blocked in a read, their threads are daemons and not waited for
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the generation of the cache file as it was read by this run. It changes once a run stored different
+     * versions for an artifact or removed one.
+     */
+    public synchronized long generation() {
+        load();
+        return generation;
+    }
+
+    /**
+     * Returns the number of answers given from entries that had expired and may be outdated.
+     */
+    public int staleAnswerCount() {
+        return staleAnswers.get();
+    }
+
+    /**
+     * Waits for running refreshes unless they were {@link #cancelRefreshes() cancelled}, then writes the entries
+     * back if any were stored or removed since the file was read. Entries outside the grace window are dropped.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        // Not synchronized while waiting, the refreshes store their results through this cache
+        ExecutorService executor;
+        synchronized (this) {
+            executor = refreshesCancelled ? null : refreshExecutor;
+        }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(REFRESH_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        writeBack();
+    }
+
+    private synchronized void writeBack() throws IOException {
+        if (updated.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        // Re-read the file, so entries refreshed by a concurrent run since this run started are kept
+        CacheFile current = read();
+        Map<String, CachedEntry> merged = new HashMap<>(current.entries());
+        merged.putAll(updated);
+        removed.forEach(merged::remove);
+        long oldest = clock.millis() - ttl.plus(grace).toMillis();
+        merged.values().removeIf(entry -> entry.fetchedMillis() <= oldest);
+        long mergedGeneration = Math.max(generation, current.generation()) + (versionsChanged.getAndSet(false) ? 1 : 0);
+        write(merged, mergedGeneration);
+        updated.clear();
+        removed.clear();
+    }
+
+    private synchronized ExecutorService refreshExecutor() {
+        if (refreshExecutor == null) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            refreshExecutor = Executors.newFixedThreadPool(REFRESH_THREADS, runnable -> {
+                Thread thread = new Thread(runnable, "mavguard-refresh-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return refreshExecutor;
+    }
+
+    private synchronized void load() {
+        if (!loaded) {
+            loaded = true;
+            CacheFile current = read();
+            entries.putAll(current.entries());
+            generation = current.generation();
+        }
+    }
+
+    /**
+     * Reads the entries of the file. A missing or unreadable file is treated as empty.
+     */
+    private CacheFile read() {
+        Map<String, CachedEntry> result = new HashMap<>();
+        long fileGeneration = 0;
+        try {
+            byte[] content = Files.readAllBytes(file);
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(content))) {
+                if (content.length < 5 || in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+                    return new CacheFile(result, fileGeneration);
+                }
+                fileGeneration = in.readLong();
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    String key = in.readUTF();
+                    long fetchedMillis = in.readLong();
+                    int versionCount = in.readUnsignedShort();
+                    List<String> versions = new ArrayList<>(versionCount);
+                    for (int j = 0; j < versionCount; j++) {
+                        versions.add(in.readUTF());
+                    }
+                    result.put(key, new CachedEntry(List.copyOf(versions), fetchedMillis));
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Nothing stored yet
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable version cache " + file + ": " + e.getMessage());
+            result.clear();
+        }
+        return new CacheFile(result, fileGeneration);
+    }
+
+    private void write(Map<String, CachedEntry> entries, long generation) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(generation);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, CachedEntry> entry : entries.entrySet()) {
+                List<String> versions = entry.getValue().versions();
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue().fetchedMillis());
+                // Newest first, an artifact with more versions than fit keeps the most recent ones
+                int count = Math.min(versions.size(), 0xFFFF);
+                out.writeShort(count);
+                for (String version : versions.subList(0, count)) {
+                    out.writeUTF(version);
+                }
+            }
+        }
+
+        CacheFiles.writeAtomically(file, bytes.toByteArray());
+    }
+
+    /**
+     * Versions answered from the cache.
+     *
+     * @param versions the available versions, newest first
+     * @param stale whether the entry had expired and is being refreshed in the background
+     */
+    public record CachedVersions(List<String> versions, boolean stale) {
+    }
+
+    private record CachedEntry(List<String> versions, long fetchedMillis) {
+    }
+
+    private record CacheFile(Map<String, CachedEntry> entries, long generation) {
+    }
+}
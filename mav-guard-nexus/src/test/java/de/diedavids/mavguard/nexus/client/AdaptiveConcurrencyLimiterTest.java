@@ -0,0 +1,158 @@
+package de.diedavids.mavguard.nexus.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("https://repo.example.com/maven-metadata.xml"));
+
+    @Test
+    void shouldGrowLimitWhileRequestsSucceed() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 16);
+
+        // When
+        runConcurrently(limiter, 8, 400, () -> {
+            sleep();
+            return response(HttpStatus.OK);
+        });
+
+        // Then
+        AdaptiveConcurrencyLimiter.RequestMetrics metrics = limiter.metrics();
+        assertThat(metrics.limit()).isGreaterThan(2).isLessThanOrEqualTo(16);
+        assertThat(metrics.requests()).isEqualTo(400);
+        assertThat(metrics.overloads()).isZero();
+    }
+
+    @Test
+    void shouldBackOffOnServerErrors() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 64);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            limiter.intercept(request, new byte[0], (r, body) -> response(HttpStatus.BAD_GATEWAY));
+        }
+
+        // Then
+        AdaptiveConcurrencyLimiter.RequestMetrics metrics = limiter.metrics();
+        assertThat(metrics.limit()).isEqualTo(5);
+        assertThat(metrics.overloads()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldBackOffOnTimeoutsButNotOnMissingArtifacts() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 64);
+
+        // When
+        limiter.intercept(request, new byte[0], (r, body) -> response(HttpStatus.NOT_FOUND));
+        int limitAfterNotFound = limiter.metrics().limit();
+        assertThatThrownBy(() -> limiter.intercept(request, new byte[0], (r, body) -> {
+            throw new SocketTimeoutException("Read timed out");
+        })).isInstanceOf(SocketTimeoutException.class);
+
+        // Then
+        assertThat(limitAfterNotFound).isEqualTo(8);
+        assertThat(limiter.metrics().limit()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldApplyOneReductionPerWindow() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 64);
+
+        CountDownLatch allInFlight = new CountDownLatch(8);
+
+        // When: 8 requests in flight fail together
+        runConcurrently(limiter, 8, 8, () -> {
+            allInFlight.countDown();
+            try {
+                allInFlight.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return response(HttpStatus.SERVICE_UNAVAILABLE);
+        });
+
+        // Then
+        assertThat(limiter.metrics().limit()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldNeverExceedLimit() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(3, 3);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        // When
+        runConcurrently(limiter, 10, 100, () -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep();
+            inFlight.decrementAndGet();
+            return response(HttpStatus.OK);
+        });
+
+        // Then
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(3);
+    }
+
+    private void runConcurrently(AdaptiveConcurrencyLimiter limiter, int threads, int requests, ResponseSupplier responses)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return limiter.intercept(request, new byte[0], (r, body) -> responses.get());
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ClientHttpResponse response(HttpStatus status) {
+        return new MockClientHttpResponse(new byte[0], status);
+    }
+
+    @FunctionalInterface
+    private interface ResponseSupplier {
+        ClientHttpResponse get() throws IOException;
+    }
+}
@@ -0,0 +1,117 @@
+package de.diedavids.mavguard.nexus.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveTimeoutRequestFactoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger hangingRequests = new AtomicInteger();
+    private HttpServer server;
+    private URI uri;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            if (hangingRequests.getAndDecrement() > 0) {
+                try {
+                    Thread.sleep(3_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = "<metadata/>".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/maven-metadata.xml");
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldUseConfiguredTimeoutUntilEnoughLatenciesAreKnown() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram(tempDir.resolve("central.hist"));
+        AdaptiveTimeoutRequestFactory factory = new AdaptiveTimeoutRequestFactory(histogram, 5_000, 10_000, 20, 50);
+        for (int i = 0; i < 19; i++) {
+            histogram.record(10);
+        }
+
+        // When
+        int beforeEnoughSamples = factory.deadlineMillis();
+        histogram.record(10);
+        int afterEnoughSamples = factory.deadlineMillis();
+
+        // Then
+        assertThat(beforeEnoughSamples).isEqualTo(10_000);
+        assertThat(afterEnoughSamples).isBetween(50, 100);
+    }
+
+    @Test
+    void shouldCutOffHungRequestAndRetryWithConfiguredTimeout() throws Exception {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram(tempDir.resolve("central.hist"));
+        for (int i = 0; i < 20; i++) {
+            histogram.record(10);
+        }
+        AdaptiveTimeoutRequestFactory factory = new AdaptiveTimeoutRequestFactory(histogram, 5_000, 10_000, 20, 200);
+        hangingRequests.set(1);
+
+        // When
+        long start = System.nanoTime();
+        try (ClientHttpResponse response = factory.createRequest(uri, HttpMethod.GET).execute()) {
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            // Then
+            assertThat(response.getStatusCode().value()).isEqualTo(200);
+            assertThat(elapsedMillis).isLessThan(2_000);
+        }
+        assertThat(requests.get()).isEqualTo(2);
+        assertThat(factory.retryCount()).isEqualTo(1);
+        assertThat(histogram.sampleCount()).isEqualTo(21);
+    }
+
+    @Test
+    void shouldNotRetryWhenConfiguredTimeoutIsReached() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram(tempDir.resolve("central.hist"));
+        AdaptiveTimeoutRequestFactory factory = new AdaptiveTimeoutRequestFactory(histogram, 5_000, 300, 20, 50);
+        hangingRequests.set(1);
+
+        // When / Then
+        assertThatThrownBy(() -> factory.createRequest(uri, HttpMethod.GET).execute())
+                .isInstanceOf(SocketTimeoutException.class);
+        assertThat(requests.get()).isEqualTo(1);
+        assertThat(factory.retryCount()).isZero();
+    }
+}
@@ -0,0 +1,86 @@
+package de.diedavids.mavguard.nexus.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyHistogramTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldReportPercentilesWithinBucketResolution() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram(tempDir.resolve("central.hist"));
+
+        // When
+        for (int i = 0; i < 98; i++) {
+            histogram.record(100);
+        }
+        histogram.record(2_000);
+        histogram.record(9_000);
+
+        // Then
+        assertThat(histogram.sampleCount()).isEqualTo(100);
+        assertThat(histogram.percentileMillis(0.5)).isBetween(100L, 120L);
+        assertThat(histogram.percentileMillis(0.99)).isBetween(2_000L, 2_400L);
+        assertThat(histogram.percentileMillis(1.0)).isBetween(9_000L, 10_800L);
+    }
+
+    @Test
+    void shouldAccumulateLatenciesAcrossRuns() throws Exception {
+        // Given
+        Path file = tempDir.resolve("latency/central.hist");
+        try (LatencyHistogram firstRun = new LatencyHistogram(file)) {
+            for (int i = 0; i < 60; i++) {
+                firstRun.record(50);
+            }
+        }
+
+        // When
+        LatencyHistogram secondRun = new LatencyHistogram(file);
+        for (int i = 0; i < 40; i++) {
+            secondRun.record(400);
+        }
+
+        // Then
+        assertThat(secondRun.sampleCount()).isEqualTo(100);
+        assertThat(secondRun.percentileMillis(0.5)).isBetween(50L, 60L);
+        assertThat(secondRun.percentileMillis(0.9)).isBetween(400L, 480L);
+    }
+
+    @Test
+    void shouldHalveOldCountsWhenFull() throws Exception {
+        // Given
+        Path file = tempDir.resolve("central.hist");
+        try (LatencyHistogram histogram = new LatencyHistogram(file)) {
+            for (int i = 0; i < 12_000; i++) {
+                histogram.record(100);
+            }
+        }
+
+        // When
+        LatencyHistogram nextRun = new LatencyHistogram(file);
+
+        // Then
+        assertThat(nextRun.sampleCount()).isEqualTo(6_000);
+    }
+
+    @Test
+    void shouldIgnoreUnreadableFile() throws Exception {
+        // Given
+        Path file = Files.writeString(tempDir.resolve("central.hist"), "not a histogram");
+
+        // When
+        LatencyHistogram histogram = new LatencyHistogram(file);
+
+        // Then
+        assertThat(histogram.sampleCount()).isZero();
+        assertThat(histogram.percentileMillis(0.99)).isZero();
+    }
+}
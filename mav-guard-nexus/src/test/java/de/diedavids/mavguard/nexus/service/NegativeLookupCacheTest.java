@@ -0,0 +1,279 @@
+package de.diedavids.mavguard.nexus.service;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.nexus.client.AdaptiveConcurrencyLimiter;
+import de.diedavids.mavguard.nexus.config.NexusProperties;
+import de.diedavids.mavguard.nexus.config.RepositoryType;
+import de.diedavids.mavguard.nexus.model.NexusArtifactVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NegativeLookupCacheTest {
+
+    private static final Duration TTL = Duration.ofDays(1);
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2025-01-01T10:00:00Z"));
+
+    @Test
+    void shouldSkipMissingArtifactsInLaterRuns() throws Exception {
+        // Given
+        Path file = tempDir.resolve("missing/central.bloom");
+        try (NegativeLookupCache cache = cache(file)) {
+            cache.recordMissing("com.example.demo", "demo-core");
+            assertThat(cache.isKnownMissing("com.example.demo", "demo-core")).isTrue();
+        }
+
+        // When
+        now.set(now.get().plus(Duration.ofHours(23)));
+        NegativeLookupCache nextRun = cache(file);
+
+        // Then
+        assertThat(file).exists();
+        assertThat(nextRun.isKnownMissing("com.example.demo", "demo-core")).isTrue();
+        assertThat(nextRun.isKnownMissing("org.slf4j", "slf4j-api")).isFalse();
+    }
+
+    @Test
+    void shouldLookUpAgainAfterTtl() throws Exception {
+        // Given
+        Path file = tempDir.resolve("central.bloom");
+        try (NegativeLookupCache cache = cache(file)) {
+            cache.recordMissing("com.example.demo", "demo-core");
+        }
+
+        // When
+        now.set(now.get().plus(Duration.ofHours(25)));
+
+        // Then
+        assertThat(cache(file).isKnownMissing("com.example.demo", "demo-core")).isFalse();
+    }
+
+    @Test
+    void shouldForgetArtifactsThatWereFound() throws Exception {
+        // Given
+        Path file = tempDir.resolve("central.bloom");
+        try (NegativeLookupCache cache = cache(file)) {
+            cache.recordMissing("com.example.demo", "demo-core");
+            cache.recordMissing("com.example.demo", "demo-web");
+        }
+
+        // When
+        try (NegativeLookupCache cache = cache(file)) {
+            cache.recordFound("com.example.demo", "demo-core");
+            assertThat(cache.isKnownMissing("com.example.demo", "demo-core")).isFalse();
+        }
+
+        // Then
+        NegativeLookupCache nextRun = cache(file);
+        assertThat(nextRun.isKnownMissing("com.example.demo", "demo-core")).isFalse();
+        assertThat(nextRun.isKnownMissing("com.example.demo", "demo-web")).isTrue();
+    }
+
+    @Test
+    void shouldKeepEntriesOfConcurrentRuns() throws Exception {
+        // Given: two runs that started before either wrote the file
+        Path file = tempDir.resolve("central.bloom");
+        try (NegativeLookupCache cache = cache(file)) {
+            cache.recordMissing("com.example.demo", "demo-old");
+        }
+        NegativeLookupCache first = cache(file);
+        NegativeLookupCache second = cache(file);
+        assertThat(first.isKnownMissing("com.example.demo", "demo-old")).isTrue();
+        assertThat(second.isKnownMissing("com.example.demo", "demo-old")).isTrue();
+        first.recordMissing("com.example.demo", "demo-core");
+        second.recordMissing("com.example.demo", "demo-web");
+        second.recordFound("com.example.demo", "demo-old");
+
+        // When
+        first.close();
+        second.close();
+
+        // Then
+        NegativeLookupCache nextRun = cache(file);
+        assertThat(nextRun.isKnownMissing("com.example.demo", "demo-core")).isTrue();
+        assertThat(nextRun.isKnownMissing("com.example.demo", "demo-web")).isTrue();
+        assertThat(nextRun.isKnownMissing("com.example.demo", "demo-old")).isFalse();
+    }
+
+    @Test
+    void shouldKeepEveryEntryThroughTheBloomFilter() throws Exception {
+        // Given
+        Path file = tempDir.resolve("central.bloom");
+        try (NegativeLookupCache cache = cache(file)) {
+            for (int i = 0; i < 1_000; i++) {
+                cache.recordMissing("com.example.internal", "module-" + i);
+            }
+        }
+
+        // When
+        NegativeLookupCache nextRun = cache(file);
+
+        // Then
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(nextRun.isKnownMissing("com.example.internal", "module-" + i)).isTrue();
+        }
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(nextRun.isKnownMissing("org.example.public", "library-" + i)).isFalse();
+        }
+    }
+
+    @Test
+    void shouldIgnoreUnreadableFile() throws Exception {
+        // Given
+        Path file = Files.writeString(tempDir.resolve("central.bloom"), "not a cache");
+
+        // When
+        NegativeLookupCache cache = cache(file);
+
+        // Then
+        assertThat(cache.isKnownMissing("com.example.demo", "demo-core")).isFalse();
+    }
+
+    @Test
+    void shouldNotQueryRepositoryForKnownMissingArtifacts() throws Exception {
+        // Given
+        StubRepositoryService repository = new StubRepositoryService();
+        NexusProperties properties = new NexusProperties(RepositoryType.MAVEN_CENTRAL, "https://repo1.maven.org/maven2",
+                null, null, null, null, null);
+        Path file = tempDir.resolve("central.bloom");
+        Dependency internal = new Dependency("com.example.demo", "demo-core", "1.0.0", null, null, null);
+        Project.Parent internalParent = new Project.Parent("com.example.demo", "demo-parent", "1.0.0", null);
+        Dependency external = new Dependency("org.slf4j", "slf4j-api", "2.0.9", null, null, null);
+
+        // When
+        try (NegativeLookupCache cache = cache(file)) {
+            RepositoryDependencyService service = new RepositoryDependencyService(
+                    new RepositoryServiceFactory(List.of(repository), properties), cache, noVersionCache(),
+                    new AdaptiveConcurrencyLimiter(8, 64));
+            service.getAvailableVersions(internal);
+            service.getAvailableParentVersions(internalParent);
+            service.getAvailableVersions(external);
+        }
+        RepositoryDependencyService nextRun = new RepositoryDependencyService(
+                new RepositoryServiceFactory(List.of(repository), properties), cache(file), noVersionCache(),
+                new AdaptiveConcurrencyLimiter(8, 64));
+        List<String> internalVersions = nextRun.getAvailableVersions(internal);
+        List<String> parentVersions = nextRun.getAvailableParentVersions(internalParent);
+        List<String> externalVersions = nextRun.getAvailableVersions(external);
+
+        // Then
+        assertThat(internalVersions).isEmpty();
+        assertThat(parentVersions).isEmpty();
+        assertThat(externalVersions).containsExactly("2.0.9");
+        assertThat(repository.calls).containsEntry("com.example.demo:demo-core", 1)
+                .containsEntry("com.example.demo:demo-parent", 1)
+                .containsEntry("org.slf4j:slf4j-api", 2);
+    }
+
+    @Test
+    void shouldNotRecordFailedRequestsAsFound() {
+        // Given: the repository service answers a failed request (timeout, 5xx) with no versions
+        NexusProperties properties = new NexusProperties(RepositoryType.MAVEN_CENTRAL, "https://repo1.maven.org/maven2",
+                null, null, null, null, null);
+        StubRepositoryService failingRepository = new StubRepositoryService() {
+            @Override
+            public List<NexusArtifactVersion> getAvailableVersions(Dependency dependency) {
+                return dependency.groupId().equals("org.slf4j") ? super.getAvailableVersions(dependency) : List.of();
+            }
+        };
+        List<String> found = new CopyOnWriteArrayList<>();
+        NegativeLookupCache cache = new NegativeLookupCache(tempDir.resolve("central.bloom"), TTL) {
+            @Override
+            public void recordFound(String groupId, String artifactId) {
+                found.add(groupId + ":" + artifactId);
+                super.recordFound(groupId, artifactId);
+            }
+        };
+        RepositoryDependencyService service = new RepositoryDependencyService(
+                new RepositoryServiceFactory(List.of(failingRepository), properties), cache, noVersionCache(),
+                new AdaptiveConcurrencyLimiter(8, 64));
+
+        // When
+        List<String> failedVersions = service.getAvailableVersions(new Dependency("com.example.demo", "demo-core", "1.0.0", null, null, null));
+        List<String> versions = service.getAvailableVersions(new Dependency("org.slf4j", "slf4j-api", "2.0.9", null, null, null));
+
+        // Then
+        assertThat(failedVersions).isEmpty();
+        assertThat(versions).containsExactly("2.0.9");
+        assertThat(found).containsExactly("org.slf4j:slf4j-api");
+    }
+
+    private VersionMetadataCache noVersionCache() {
+        return new VersionMetadataCache(tempDir.resolve("versions.cache"), Duration.ZERO, Duration.ZERO);
+    }
+
+    private NegativeLookupCache cache(Path file) {
+        return new NegativeLookupCache(file, TTL, new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        });
+    }
+
+    /**
+     * Knows only org.slf4j artifacts, like a public repository asked for internal artifacts.
+     */
+    private static class StubRepositoryService implements RepositoryService {
+
+        private final Map<String, Integer> calls = new ConcurrentHashMap<>();
+
+        @Override
+        public List<NexusArtifactVersion> getAvailableVersions(Dependency dependency) {
+            return lookUp(dependency.groupId(), dependency.artifactId());
+        }
+
+        @Override
+        public List<NexusArtifactVersion> getAvailableParentVersions(Project.Parent parent) {
+            return lookUp(parent.groupId(), parent.artifactId());
+        }
+
+        private List<NexusArtifactVersion> lookUp(String groupId, String artifactId) {
+            calls.merge(groupId + ":" + artifactId, 1, Integer::sum);
+            if (!groupId.equals("org.slf4j")) {
+                throw new ArtifactNotFoundException(groupId, artifactId, null);
+            }
+            return List.of(new NexusArtifactVersion("2.0.9", null, false));
+        }
+
+        @Override
+        public Optional<byte[]> getPom(String groupId, String artifactId, String version) {
+            return Optional.empty();
+        }
+
+        @Override
+        public String getRepositoryType() {
+            return RepositoryType.MAVEN_CENTRAL.name();
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package de.diedavids.mavguard.nexus.service;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.nexus.client.AdaptiveConcurrencyLimiter;
+import de.diedavids.mavguard.nexus.config.NexusProperties;
+import de.diedavids.mavguard.nexus.config.RepositoryType;
+import de.diedavids.mavguard.nexus.model.NexusArtifactVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionMetadataCacheTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final Duration GRACE = Duration.ofDays(7);
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2025-01-01T10:00:00Z"));
+
+    @Test
+    void shouldAnswerFreshEntriesInLaterRuns() throws Exception {
+        // Given
+        Path file = tempDir.resolve("versions/central.cache");
+        try (VersionMetadataCache cache = cache(file)) {
+            cache.store("dependency:org.slf4j:slf4j-api", List.of("2.0.9", "1.7.36"));
+        }
+
+        // When
+        now.set(now.get().plus(Duration.ofMinutes(59)));
+        VersionMetadataCache nextRun = cache(file);
+
+        // Then
+        assertThat(nextRun.lookup("dependency:org.slf4j:slf4j-api")).hasValueSatisfying(cached -> {
+            assertThat(cached.versions()).containsExactly("2.0.9", "1.7.36");
+            assertThat(cached.stale()).isFalse();
+        });
+        assertThat(nextRun.lookup("dependency:junit:junit")).isEmpty();
+        assertThat(nextRun.staleAnswerCount()).isZero();
+    }
+
+    @Test
+    void shouldAnswerExpiredEntriesOnlyInsideGraceWindow() throws Exception {
+        // Given
+        Path file = tempDir.resolve("central.cache");
+        try (VersionMetadataCache cache = cache(file)) {
+            cache.store("dependency:org.slf4j:slf4j-api", List.of("2.0.9"));
+        }
+
+        // When
+        now.set(now.get().plus(Duration.ofDays(2)));
+        VersionMetadataCache insideGrace = cache(file);
+        Optional<VersionMetadataCache.CachedVersions> staleAnswer = insideGrace.lookup("dependency:org.slf4j:slf4j-api");
+        now.set(now.get().plus(Duration.ofDays(6)));
+        Optional<VersionMetadataCache.CachedVersions> expiredAnswer = cache(file).lookup("dependency:org.slf4j:slf4j-api");
+
+        // Then
+        assertThat(staleAnswer).hasValueSatisfying(cached -> {
+            assertThat(cached.versions()).containsExactly("2.0.9");
+            assertThat(cached.stale()).isTrue();
+        });
+        assertThat(insideGrace.staleAnswerCount()).isEqualTo(1);
+        assertThat(expiredAnswer).isEmpty();
+    }
+
+    @Test
+    void shouldAnswerStaleVersionsAndRefreshThemForNextRun() throws Exception {
+        // Given
+        StubRepositoryService repository = new StubRepositoryService("2.0.9");
+        Path file = tempDir.resolve("central.cache");
+        Dependency dependency = new Dependency("org.slf4j", "slf4j-api", "1.7.36", null, null, null);
+        try (VersionMetadataCache cache = cache(file)) {
+            service(repository, cache).getAvailableVersions(dependency);
+        }
+        repository.latest.set("2.0.10");
+        now.set(now.get().plus(Duration.ofHours(2)));
+
+        // When
+        List<String> staleVersions;
+        int possiblyStale;
+        try (VersionMetadataCache cache = cache(file)) {
+            RepositoryDependencyService service = service(repository, cache);
+            staleVersions = service.getAvailableVersions(dependency);
+            possiblyStale = service.getPossiblyStaleCount();
+        }
+        RepositoryDependencyService nextRun = service(repository, cache(file));
+
+        // Then
+        assertThat(staleVersions).containsExactly("2.0.9");
+        assertThat(possiblyStale).isEqualTo(1);
+        assertThat(nextRun.getAvailableVersions(dependency)).containsExactly("2.0.10");
+        assertThat(nextRun.getPossiblyStaleCount()).isZero();
+        assertThat(repository.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepStaleEntryWhenRefreshFails() throws Exception {
+        // Given
+        Path file = tempDir.resolve("central.cache");
+        try (VersionMetadataCache cache = cache(file)) {
+            cache.store("parent:com.example:root", List.of("1.0.0"));
+        }
+        now.set(now.get().plus(Duration.ofHours(2)));
+
+        // When
+        try (VersionMetadataCache cache = cache(file)) {
+            cache.lookup("parent:com.example:root");
+            cache.revalidate("parent:com.example:root", () -> {
+                throw new IllegalStateException("Repository unavailable");
+            });
+        }
+
+        // Then
+        assertThat(cache(file).lookup("parent:com.example:root")).hasValueSatisfying(cached ->
+                assertThat(cached.versions()).containsExactly("1.0.0"));
+    }
+
+    @Test
+    void shouldNotWaitForCancelledRefreshesOnClose() throws Exception {
+        // Given: a refresh that hangs and ignores interrupts
+        Path file = tempDir.resolve("central.cache");
+        try (VersionMetadataCache cache = cache(file)) {
+            cache.store("parent:com.example:root", List.of("1.0.0"));
+        }
+        now.set(now.get().plus(Duration.ofHours(2)));
+        CountDownLatch repositoryAnswers = new CountDownLatch(1);
+        VersionMetadataCache cache = cache(file);
+        cache.lookup("parent:com.example:root");
+        cache.revalidate("parent:com.example:root", () -> {
+            while (true) {
+                try {
+                    repositoryAnswers.await();
+                    return;
+                } catch (InterruptedException e) {
+                    // keeps waiting like a refresh blocked in a socket read
+                }
+            }
+        });
+
+        try {
+            // When
+            long start = System.nanoTime();
+            cache.cancelRefreshes();
+            cache.revalidate("parent:com.example:other", () -> {
+                throw new AssertionError("Refresh started after cancellation");
+            });
+            cache.close();
+
+            // Then
+            assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(2));
+            assertThat(cache(file).lookup("parent:com.example:root")).hasValueSatisfying(cached ->
+                    assertThat(cached.versions()).containsExactly("1.0.0"));
+        } finally {
+            repositoryAnswers.countDown();
+        }
+    }
+
+    private RepositoryDependencyService service(StubRepositoryService repository, VersionMetadataCache cache) {
+        NexusProperties properties = new NexusProperties(RepositoryType.MAVEN_CENTRAL, "https://repo1.maven.org/maven2",
+                null, null, null, null, null);
+        return new RepositoryDependencyService(new RepositoryServiceFactory(List.of(repository), properties),
+                new NegativeLookupCache(tempDir.resolve("missing.bloom"), Duration.ofDays(1)), cache,
+                new AdaptiveConcurrencyLimiter(8, 64));
+    }
+
+    @Test
+    void shouldAdvanceGenerationOnlyWhenKnownVersionsChange() throws Exception {
+        // Given
+        Path file = tempDir.resolve("central.cache");
+        try (VersionMetadataCache cache = cache(file)) {
+            cache.store("dependency:org.slf4j:slf4j-api", List.of("2.0.9"));
+        }
+        long initialGeneration = cache(file).generation();
+        try (VersionMetadataCache cache = cache(file)) {
+            cache.store("dependency:org.slf4j:slf4j-api", List.of("2.0.9"));
+            cache.store("dependency:junit:junit", List.of("4.13.2"));
+        }
+        long unchangedGeneration = cache(file).generation();
+
+        // When
+        try (VersionMetadataCache cache = cache(file)) {
+            cache.store("dependency:org.slf4j:slf4j-api", List.of("2.0.10", "2.0.9"));
+        }
+
+        // Then
+        assertThat(unchangedGeneration).isEqualTo(initialGeneration);
+        assertThat(cache(file).generation()).isEqualTo(initialGeneration + 1);
+    }
+
+    private VersionMetadataCache cache(Path file) {
+        return new VersionMetadataCache(file, TTL, GRACE, new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        });
+    }
+
+    private static class StubRepositoryService implements RepositoryService {
+
+        private final AtomicReference<String> latest;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        StubRepositoryService(String latest) {
+            this.latest = new AtomicReference<>(latest);
+        }
+
+        @Override
+        public List<NexusArtifactVersion> getAvailableVersions(Dependency dependency) {
+            calls.incrementAndGet();
+            return List.of(new NexusArtifactVersion(latest.get(), null, false));
+        }
+
+        @Override
+        public List<NexusArtifactVersion> getAvailableParentVersions(Project.Parent parent) {
+            calls.incrementAndGet();
+            return List.of(new NexusArtifactVersion(latest.get(), null, false));
+        }
+
+        @Override
+        public Optional<byte[]> getPom(String groupId, String artifactId, String version) {
+            return Optional.empty();
+        }
+
+        @Override
+        public String getRepositoryType() {
+            return RepositoryType.MAVEN_CENTRAL.name();
+        }
+    }
+}
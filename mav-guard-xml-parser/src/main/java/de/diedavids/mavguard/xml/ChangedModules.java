@@ -0,0 +1,85 @@
+package de.diedavids.mavguard.xml;
+
+import de.diedavids.mavguard.model.Project;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Selects the modules of a reactor that are affected by changed POM files: the modules whose POM changed and,
+ * as they inherit properties, dependency management and parents from them, all modules below them in the
+ * parent hierarchy.
+ */
+public final class ChangedModules {
+
+    private ChangedModules() {
+    }
+
+    /**
+     * Selects the modules affected by changed POM files, using the absolute POM file path stored as the
+     * projects' relativePath.
+     *
+     * @param projects the modules of the reactor
+     * @param changedPomFiles the changed POM files, absolute and normalized
+     * @return the affected modules, in reactor order
+     */
+    public static List<Project> select(List<Project> projects, Collection<Path> changedPomFiles) {
+        return select(projects, changedPomFiles, ChangedModules::pomFileOf);
+    }
+
+    /**
+     * Selects the modules affected by changed POM files.
+     *
+     * @param projects the modules of the reactor
+     * @param changedPomFiles the changed POM files
+     * @param pomFileFunction the POM file of a module, comparable to the changed files, or null if it has none
+     * @return the affected modules, in reactor order
+     */
+    public static List<Project> select(List<Project> projects, Collection<Path> changedPomFiles,
+                                       Function<Project, Path> pomFileFunction) {
+        Set<Path> changed = new HashSet<>(changedPomFiles);
+        Map<String, List<Project>> childrenByParent = new HashMap<>();
+        Set<Project> affected = new HashSet<>();
+        Deque<Project> pending = new ArrayDeque<>();
+        for (Project project : projects) {
+            if (project.hasParent()) {
+                childrenByParent.computeIfAbsent(project.parent().groupId() + ":" + project.parent().artifactId(),
+                        key -> new ArrayList<>()).add(project);
+            }
+            Path pomFile = pomFileFunction.apply(project);
+            if (pomFile != null && changed.contains(pomFile) && affected.add(project)) {
+                pending.add(project);
+            }
+        }
+
+        while (!pending.isEmpty()) {
+            Project project = pending.poll();
+            for (Project child : childrenByParent.getOrDefault(project.groupId() + ":" + project.artifactId(), List.of())) {
+                if (affected.add(child)) {
+                    pending.add(child);
+                }
+            }
+        }
+        return projects.stream().filter(affected::contains).toList();
+    }
+
+    /**
+     * Returns the POM file of a parsed module, or null for virtual parents and projects not parsed from a file.
+     */
+    public static Path pomFileOf(Project project) {
+        if (project.relativePath() == null) {
+            return null;
+        }
+        Path pomFile = Path.of(project.relativePath());
+        return pomFile.isAbsolute() ? pomFile.normalize() : null;
+    }
+}
@@ -5,8 +5,10 @@ import de.diedavids.mavguard.model.Project;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Resolves dependency conflicts across a multi-module project structure
@@ -42,7 +44,7 @@ public class DependencyConflictResolver {
      * @return a map of project coordinates to Project objects
      */
     private Map<String, Project> createProjectMap(List<Project> projects) {
-        Map<String, Project> projectMap = new HashMap<>();
+        Map<String, Project> projectMap = new LinkedHashMap<>();
         for (Project project : projects) {
             projectMap.put(project.getCoordinates(), project);
         }
@@ -87,7 +89,10 @@ public class DependencyConflictResolver {
 
     /**
      * Resolves conflicts between dependencies and returns a consolidated list.
-     * 
+     * The effective dependencies of every module are computed once, parents before their children and the modules
+     * of one level of the module graph in parallel, and reused by all children instead of walking the parent chain
+     * again for every module.
+     *
      * @param dependenciesByModule map of module coordinates to dependency maps
      * @param projectMap map of project coordinates to projects
      * @return a consolidated list of dependencies with conflicts resolved
@@ -95,68 +100,56 @@ public class DependencyConflictResolver {
     private List<Dependency> resolveConflictsAndConsolidate(
             Map<String, Map<String, Dependency>> dependenciesByModule,
             Map<String, Project> projectMap) {
-        
+
+        ModuleDag<Project> moduleDag = new ModuleDag<>(new ArrayList<>(projectMap.values()), Project::getCoordinates,
+                project -> project.hasParent() ? List.of(project.parent().getCoordinates()) : List.of());
+        Map<String, Map<String, Dependency>> effectiveByModule = new ConcurrentHashMap<>();
+        moduleDag.forEachLevel(project -> {
+            String moduleCoord = project.getCoordinates();
+            effectiveByModule.put(moduleCoord, resolveEffectiveDependencies(
+                    project, dependenciesByModule.get(moduleCoord), effectiveByModule));
+        });
+
         // Final consolidated dependencies
         Map<String, Dependency> resolvedDependencies = new HashMap<>();
-        
-        // For each module, find dependencies with inheritance priority
-        for (String moduleCoord : dependenciesByModule.keySet()) {
-            Project project = projectMap.get(moduleCoord);
-            
-            // Get dependencies for this module
-            Map<String, Dependency> moduleDependencies = dependenciesByModule.get(moduleCoord);
-            
-            // Resolve parent inheritance
-            resolveParentInheritance(project, moduleDependencies, dependenciesByModule, projectMap, resolvedDependencies);
+        for (List<Project> level : moduleDag.getLevels()) {
+            for (Project project : level) {
+                resolvedDependencies.putAll(effectiveByModule.get(project.getCoordinates()));
+            }
         }
-        
+        for (Project project : moduleDag.getCyclicModules()) {
+            resolvedDependencies.putAll(effectiveByModule.get(project.getCoordinates()));
+        }
+
         return new ArrayList<>(resolvedDependencies.values());
     }
 
     /**
-     * Resolves parent inheritance for dependencies, applying the "nearest wins" rule.
-     * 
+     * Combines the dependencies of a module with the effective dependencies of its parent.
+     * Dependencies inherited from the parent chain replace the module's own declarations.
+     *
      * @param project current project
      * @param moduleDependencies direct dependencies from the module
-     * @param dependenciesByModule all dependencies by module
-     * @param projectMap map of project coordinates to projects
-     * @param resolvedDependencies map to collect resolved dependencies
+     * @param effectiveByModule the effective dependencies of the modules computed so far
+     * @return the effective dependencies of the module
      */
-    private void resolveParentInheritance(
+    private Map<String, Dependency> resolveEffectiveDependencies(
             Project project,
             Map<String, Dependency> moduleDependencies,
-            Map<String, Map<String, Dependency>> dependenciesByModule,
-            Map<String, Project> projectMap,
-            Map<String, Dependency> resolvedDependencies) {
-        
-        // Process dependencies from the current module first
-        for (Map.Entry<String, Dependency> entry : moduleDependencies.entrySet()) {
-            String depCoord = entry.getKey();
-            Dependency dependency = entry.getValue();
-            
-            // Apply "nearest wins" - current module dependencies take precedence
-            // over parent dependencies that were already processed
-            resolvedDependencies.put(depCoord, dependency);
+            Map<String, Map<String, Dependency>> effectiveByModule) {
+
+        Map<String, Dependency> parentDependencies = project.hasParent()
+                ? effectiveByModule.get(project.parent().getCoordinates())
+                : null;
+        if (parentDependencies == null) {
+            return moduleDependencies;
         }
-        
-        // Process parent inheritances recursively
-        if (project.hasParent()) {
-            Project.Parent parent = project.parent();
-            String parentCoords = parent.getCoordinates();
-            Project parentProject = projectMap.get(parentCoords);
-            
-            if (parentProject != null) {
-                Map<String, Dependency> parentDependencies = dependenciesByModule.get(parentCoords);
-                if (parentDependencies != null) {
-                    // Continue recursion with parent project
-                    resolveParentInheritance(
-                            parentProject,
-                            parentDependencies,
-                            dependenciesByModule,
-                            projectMap,
-                            resolvedDependencies);
-                }
-            }
+        if (moduleDependencies.isEmpty()) {
+            // Share the parent's map instead of copying it
+            return parentDependencies;
         }
+        Map<String, Dependency> effective = new HashMap<>(moduleDependencies);
+        effective.putAll(parentDependencies);
+        return effective;
     }
-}
\ No newline at end of file
+}
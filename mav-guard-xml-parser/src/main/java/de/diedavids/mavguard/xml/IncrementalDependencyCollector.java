@@ -0,0 +1,464 @@
+package de.diedavids.mavguard.xml;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.xml.MultiModuleDependencyCollector.DependencyReport;
+import de.diedavids.mavguard.xml.MultiModuleDependencyCollector.VersionInconsistency;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Maintains the dependency report of a multi-module project while modules are added, changed or removed, and
+ * describes every update as a {@link ChangeSet}. The report is always the one
+ * {@link MultiModuleDependencyCollector#collectDependencies(List)} builds for the current modules in insertion order.
+ * <p>
+ * Usages and versions are kept as reference counts per groupId:artifactId, and the consolidated dependency of an
+ * artifact is derived from the modules declaring it. A change to the dependencies of a module therefore only
+ * touches the artifacts that module declares. Adding or removing modules or changing a parent changes the order
+ * of the reactor and rebuilds the consolidation of all artifacts.
+ * <p>
+ * Modules are identified by their coordinates. Instances are not thread-safe.
+ */
+public class IncrementalDependencyCollector {
+
+    /** The modules by coordinates, in insertion order */
+    private final Map<String, Module> modules = new LinkedHashMap<>();
+    private final Map<Integer, Module> modulesBySequence = new HashMap<>();
+    /** The modules in reactor order: by depth in the parent hierarchy, then in insertion order */
+    private List<Module> modulesByPosition = new ArrayList<>();
+    private int nextSequence;
+    private boolean cyclic;
+
+    /** groupId:artifactId -> declaring module sequence -> dependency declared there (dependencies before dependencyManagement) */
+    private final Map<String, Map<Integer, Dependency>> declarations = new HashMap<>();
+    /** groupId:artifactId -> last position in reactor order of the subtree of each declaring module -> count */
+    private final Map<String, TreeMap<Integer, Integer>> candidates = new HashMap<>();
+    private final Map<String, Dependency> consolidated = new HashMap<>();
+    /** groupId:artifactId -> module sequence -> number of direct declarations */
+    private final Map<String, TreeMap<Integer, Integer>> usages = new HashMap<>();
+    /** groupId:artifactId -> version -> module sequence -> number of direct declarations with that version */
+    private final Map<String, Map<String, TreeMap<Integer, Integer>>> versions = new HashMap<>();
+    private final Set<String> inconsistentArtifacts = new TreeSet<>();
+
+    /**
+     * Adds a module, or replaces the module with the same coordinates.
+     */
+    public ChangeSet moduleAdded(Project project) {
+        return apply(List.of(), List.of(project));
+    }
+
+    public ChangeSet moduleChanged(Project previous, Project current) {
+        return apply(List.of(previous), List.of(current));
+    }
+
+    public ChangeSet moduleRemoved(Project project) {
+        return apply(List.of(project), List.of());
+    }
+
+    /**
+     * Applies several module changes at once. A module that is both removed and added keeps its position in the
+     * reactor, a module that is only added is appended.
+     *
+     * @param removedModules modules that were removed, or the previous state of changed modules
+     * @param addedModules modules that were added, or the new state of changed modules
+     * @return the changes to the report
+     */
+    public ChangeSet apply(Collection<Project> removedModules, Collection<Project> addedModules) {
+        Map<String, Project> removedByCoordinates = new LinkedHashMap<>();
+        for (Project project : removedModules) {
+            if (modules.containsKey(project.getCoordinates())) {
+                removedByCoordinates.put(project.getCoordinates(), project);
+            }
+        }
+        Map<String, Project> addedByCoordinates = new LinkedHashMap<>();
+        for (Project project : addedModules) {
+            addedByCoordinates.put(project.getCoordinates(), project);
+        }
+
+        boolean structural = false;
+        Set<String> touched = new TreeSet<>();
+        for (Project project : removedByCoordinates.values()) {
+            touched.addAll(modules.get(project.getCoordinates()).declared.keySet());
+            Project replacement = addedByCoordinates.get(project.getCoordinates());
+            structural |= replacement == null || !Objects.equals(parentCoordinates(modules.get(project.getCoordinates()).project),
+                    parentCoordinates(replacement));
+        }
+        for (Project project : addedByCoordinates.values()) {
+            touched.addAll(declare(project).keySet());
+            Module existing = modules.get(project.getCoordinates());
+            if (existing != null && !removedByCoordinates.containsKey(project.getCoordinates())) {
+                touched.addAll(existing.declared.keySet());
+            }
+            structural |= existing == null || (!removedByCoordinates.containsKey(project.getCoordinates())
+                    && !Objects.equals(parentCoordinates(existing.project), parentCoordinates(project)));
+        }
+
+        boolean rebuild = structural || cyclic;
+        Map<String, Dependency> previousConsolidated = rebuild ? new HashMap<>(consolidated) : snapshot(consolidated, touched);
+        Map<String, VersionInconsistency> previousInconsistencies = new HashMap<>();
+        Map<String, List<String>> previousUsages = new HashMap<>();
+        for (String artifact : touched) {
+            previousInconsistencies.put(artifact, getInconsistency(artifact));
+            previousUsages.put(artifact, getUsage(artifact));
+        }
+
+        for (Project project : removedByCoordinates.values()) {
+            Module module = modules.get(project.getCoordinates());
+            unregister(module, !rebuild);
+            if (!addedByCoordinates.containsKey(project.getCoordinates())) {
+                modules.remove(project.getCoordinates());
+                modulesBySequence.remove(module.sequence);
+            }
+        }
+        for (Project project : addedByCoordinates.values()) {
+            Module module = modules.get(project.getCoordinates());
+            if (module == null) {
+                module = new Module(nextSequence++);
+                modules.put(project.getCoordinates(), module);
+                modulesBySequence.put(module.sequence, module);
+            } else if (!removedByCoordinates.containsKey(project.getCoordinates())) {
+                unregister(module, !rebuild);
+            }
+            module.project = project;
+            module.declared = declare(project);
+            register(module, !rebuild);
+        }
+
+        Set<String> changedArtifacts = touched;
+        if (rebuild) {
+            rebuildConsolidation();
+            changedArtifacts = new TreeSet<>(previousConsolidated.keySet());
+            changedArtifacts.addAll(consolidated.keySet());
+            changedArtifacts.addAll(touched);
+        } else {
+            for (String artifact : touched) {
+                updateConsolidated(artifact);
+            }
+        }
+        return createChangeSet(changedArtifacts, touched, previousConsolidated, previousInconsistencies, previousUsages);
+    }
+
+    /**
+     * Returns the report for the current modules. It is built from the maintained indexes, in time proportional
+     * to the number of distinct artifacts.
+     */
+    public DependencyReport getReport() {
+        List<VersionInconsistency> inconsistencies = new ArrayList<>();
+        for (String artifact : inconsistentArtifacts) {
+            inconsistencies.add(getInconsistency(artifact));
+        }
+        Map<String, List<String>> usageMap = new HashMap<>();
+        for (String artifact : usages.keySet()) {
+            usageMap.put(artifact, getUsage(artifact));
+        }
+        return new DependencyReport(new ArrayList<>(consolidated.values()), inconsistencies, usageMap);
+    }
+
+    public int getModuleCount() {
+        return modules.size();
+    }
+
+    /**
+     * Collects the artifacts a module declares, as {@link DependencyConflictResolver} does:
+     * direct dependencies first (the last declaration wins), then managed dependencies that are not declared directly.
+     */
+    private static Map<String, Dependency> declare(Project project) {
+        Map<String, Dependency> declared = new HashMap<>();
+        for (Dependency dependency : project.dependencies()) {
+            declared.put(artifactKey(dependency), dependency);
+        }
+        if (project.dependencyManagement() != null) {
+            for (Dependency dependency : project.dependencyManagement().dependencies()) {
+                declared.putIfAbsent(artifactKey(dependency), dependency);
+            }
+        }
+        return declared;
+    }
+
+    private void register(Module module, boolean updateCandidates) {
+        for (Map.Entry<String, Dependency> entry : module.declared.entrySet()) {
+            declarations.computeIfAbsent(entry.getKey(), key -> new HashMap<>()).put(module.sequence, entry.getValue());
+            if (updateCandidates) {
+                increment(candidates.computeIfAbsent(entry.getKey(), key -> new TreeMap<>()), module.lastInSubtree);
+            }
+        }
+        for (Dependency dependency : module.project.dependencies()) {
+            String artifact = artifactKey(dependency);
+            increment(usages.computeIfAbsent(artifact, key -> new TreeMap<>()), module.sequence);
+            if (dependency.version() != null) {
+                increment(versions.computeIfAbsent(artifact, key -> new HashMap<>())
+                        .computeIfAbsent(dependency.version(), key -> new TreeMap<>()), module.sequence);
+                updateInconsistency(artifact);
+            }
+        }
+    }
+
+    private void unregister(Module module, boolean updateCandidates) {
+        for (String artifact : module.declared.keySet()) {
+            removeEntry(declarations, artifact, module.sequence);
+            if (updateCandidates) {
+                decrement(candidates, artifact, module.lastInSubtree);
+            }
+        }
+        for (Dependency dependency : module.project.dependencies()) {
+            String artifact = artifactKey(dependency);
+            decrement(usages, artifact, module.sequence);
+            if (dependency.version() != null) {
+                Map<String, TreeMap<Integer, Integer>> versionCounts = versions.get(artifact);
+                decrement(versionCounts, dependency.version(), module.sequence);
+                if (versionCounts.isEmpty()) {
+                    versions.remove(artifact);
+                }
+                updateInconsistency(artifact);
+            }
+        }
+    }
+
+    /**
+     * Derives the consolidated dependency of an artifact. Every module inherits the declarations of its parents,
+     * the topmost declaration winning, and the last module in reactor order that has the artifact decides.
+     * That module is the last one in the subtree of some declaring module, so it is found through the candidates.
+     */
+    private void updateConsolidated(String artifact) {
+        TreeMap<Integer, Integer> artifactCandidates = candidates.get(artifact);
+        if (artifactCandidates == null || artifactCandidates.isEmpty()) {
+            consolidated.remove(artifact);
+            return;
+        }
+        Map<Integer, Dependency> declaringModules = declarations.get(artifact);
+        Dependency effective = null;
+        for (Module module = modulesByPosition.get(artifactCandidates.lastKey()); module != null; module = module.parent) {
+            Dependency declared = declaringModules.get(module.sequence);
+            if (declared != null) {
+                effective = declared;
+            }
+        }
+        consolidated.put(artifact, effective);
+    }
+
+    /**
+     * Links the parents, orders the modules like {@link ModuleDag} (by depth in the parent hierarchy, then in
+     * insertion order) and derives the consolidated dependencies of all artifacts again.
+     */
+    private void rebuildConsolidation() {
+        Map<Module, Integer> depths = new HashMap<>();
+        cyclic = false;
+        for (Module module : modules.values()) {
+            Module parent = module.project.hasParent() ? modules.get(module.project.parent().getCoordinates()) : null;
+            module.parent = parent != module ? parent : null;
+        }
+        for (Module module : modules.values()) {
+            int depth = 0;
+            for (Module ancestor = module.parent; ancestor != null; ancestor = ancestor.parent) {
+                if (++depth > modules.size()) {
+                    cyclic = true;
+                    break;
+                }
+            }
+            depths.put(module, depth);
+        }
+
+        consolidated.clear();
+        candidates.clear();
+        if (cyclic) {
+            // Parent cycles are resolved in declaration order, which the batch resolver defines
+            List<Project> projects = modules.values().stream().map(module -> module.project).toList();
+            for (Dependency dependency : new DependencyConflictResolver().resolveConflicts(projects)) {
+                consolidated.put(artifactKey(dependency), dependency);
+            }
+            return;
+        }
+
+        modulesByPosition = new ArrayList<>(modules.values());
+        modulesByPosition.sort(Comparator.comparingInt((Module module) -> depths.get(module))
+                .thenComparingInt(module -> module.sequence));
+        for (int position = 0; position < modulesByPosition.size(); position++) {
+            modulesByPosition.get(position).lastInSubtree = position;
+        }
+        for (Module module : modulesByPosition) {
+            for (Module ancestor = module.parent; ancestor != null; ancestor = ancestor.parent) {
+                ancestor.lastInSubtree = Math.max(ancestor.lastInSubtree, module.lastInSubtree);
+            }
+        }
+        for (Map.Entry<String, Map<Integer, Dependency>> entry : declarations.entrySet()) {
+            TreeMap<Integer, Integer> artifactCandidates = new TreeMap<>();
+            for (Integer sequence : entry.getValue().keySet()) {
+                increment(artifactCandidates, modulesBySequence.get(sequence).lastInSubtree);
+            }
+            candidates.put(entry.getKey(), artifactCandidates);
+            updateConsolidated(entry.getKey());
+        }
+    }
+
+    private void updateInconsistency(String artifact) {
+        Map<String, TreeMap<Integer, Integer>> versionCounts = versions.get(artifact);
+        if (versionCounts != null && versionCounts.size() > 1) {
+            inconsistentArtifacts.add(artifact);
+        } else {
+            inconsistentArtifacts.remove(artifact);
+        }
+    }
+
+    private VersionInconsistency getInconsistency(String artifact) {
+        if (!inconsistentArtifacts.contains(artifact)) {
+            return null;
+        }
+        Map<String, List<String>> versionToModules = new HashMap<>();
+        for (Map.Entry<String, TreeMap<Integer, Integer>> entry : versions.get(artifact).entrySet()) {
+            versionToModules.put(entry.getKey(), moduleNames(entry.getValue()));
+        }
+        return new VersionInconsistency(artifact, versionToModules);
+    }
+
+    private List<String> getUsage(String artifact) {
+        TreeMap<Integer, Integer> counts = usages.get(artifact);
+        return counts != null ? moduleNames(counts) : null;
+    }
+
+    /**
+     * Lists the artifactIds of the counted modules in insertion order, each as often as it was counted.
+     */
+    private List<String> moduleNames(TreeMap<Integer, Integer> counts) {
+        List<String> names = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : counts.entrySet()) {
+            String name = modulesBySequence.get(entry.getKey()).project.artifactId();
+            for (int count = 0; count < entry.getValue(); count++) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    private ChangeSet createChangeSet(Set<String> changedArtifacts, Set<String> touched,
+                                      Map<String, Dependency> previousConsolidated,
+                                      Map<String, VersionInconsistency> previousInconsistencies,
+                                      Map<String, List<String>> previousUsages) {
+        List<Dependency> added = new ArrayList<>();
+        List<Dependency> removed = new ArrayList<>();
+        List<DependencyChange> changed = new ArrayList<>();
+        for (String artifact : changedArtifacts) {
+            Dependency previous = previousConsolidated.get(artifact);
+            Dependency current = consolidated.get(artifact);
+            if (previous == null && current != null) {
+                added.add(current);
+            } else if (previous != null && current == null) {
+                removed.add(previous);
+            } else if (previous != null && !previous.equals(current)) {
+                changed.add(new DependencyChange(previous, current));
+            }
+        }
+
+        List<VersionInconsistency> newInconsistencies = new ArrayList<>();
+        List<VersionInconsistency> changedInconsistencies = new ArrayList<>();
+        List<String> resolvedInconsistencies = new ArrayList<>();
+        List<String> changedUsages = new ArrayList<>();
+        for (String artifact : touched) {
+            VersionInconsistency previous = previousInconsistencies.get(artifact);
+            VersionInconsistency current = getInconsistency(artifact);
+            if (previous == null && current != null) {
+                newInconsistencies.add(current);
+            } else if (previous != null && current == null) {
+                resolvedInconsistencies.add(artifact);
+            } else if (previous != null && !previous.getVersionToModules().equals(current.getVersionToModules())) {
+                changedInconsistencies.add(current);
+            }
+            if (!Objects.equals(previousUsages.get(artifact), getUsage(artifact))) {
+                changedUsages.add(artifact);
+            }
+        }
+        return new ChangeSet(added, removed, changed, newInconsistencies, changedInconsistencies,
+                resolvedInconsistencies, changedUsages);
+    }
+
+    private static Map<String, Dependency> snapshot(Map<String, Dependency> values, Set<String> keys) {
+        Map<String, Dependency> snapshot = new HashMap<>();
+        for (String key : keys) {
+            Dependency value = values.get(key);
+            if (value != null) {
+                snapshot.put(key, value);
+            }
+        }
+        return snapshot;
+    }
+
+    private static String parentCoordinates(Project project) {
+        return project.hasParent() ? project.parent().getCoordinates() : null;
+    }
+
+    private static String artifactKey(Dependency dependency) {
+        return dependency.groupId() + ":" + dependency.artifactId();
+    }
+
+    private static void increment(TreeMap<Integer, Integer> counts, int key) {
+        counts.merge(key, 1, Integer::sum);
+    }
+
+    private static <K> void decrement(Map<K, TreeMap<Integer, Integer>> countsByKey, K key, int countKey) {
+        TreeMap<Integer, Integer> counts = countsByKey.get(key);
+        if (counts.merge(countKey, -1, Integer::sum) == 0) {
+            counts.remove(countKey);
+        }
+        if (counts.isEmpty()) {
+            countsByKey.remove(key);
+        }
+    }
+
+    private static void removeEntry(Map<String, Map<Integer, Dependency>> valuesByKey, String key, int entryKey) {
+        Map<Integer, Dependency> values = valuesByKey.get(key);
+        values.remove(entryKey);
+        if (values.isEmpty()) {
+            valuesByKey.remove(key);
+        }
+    }
+
+    private static final class Module {
+        private final int sequence;
+        private Project project;
+        private Map<String, Dependency> declared = Map.of();
+        private Module parent;
+        private int lastInSubtree;
+
+        private Module(int sequence) {
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * A consolidated dependency whose version or other attributes changed.
+     */
+    public record DependencyChange(Dependency previous, Dependency current) {
+    }
+
+    /**
+     * The changes of one update to the report, each list sorted by groupId:artifactId.
+     *
+     * @param addedDependencies consolidated dependencies that were added
+     * @param removedDependencies consolidated dependencies that were removed
+     * @param changedDependencies consolidated dependencies that changed
+     * @param newInconsistencies artifacts that became inconsistent
+     * @param changedInconsistencies inconsistent artifacts whose versions or modules changed
+     * @param resolvedInconsistencies groupId:artifactId of artifacts that are consistent again
+     * @param changedUsages groupId:artifactId of artifacts whose using modules changed
+     */
+    public record ChangeSet(List<Dependency> addedDependencies, List<Dependency> removedDependencies,
+                            List<DependencyChange> changedDependencies, List<VersionInconsistency> newInconsistencies,
+                            List<VersionInconsistency> changedInconsistencies, List<String> resolvedInconsistencies,
+                            List<String> changedUsages) {
+
+        public boolean isEmpty() {
+            return addedDependencies.isEmpty() && removedDependencies.isEmpty() && changedDependencies.isEmpty()
+                    && newInconsistencies.isEmpty() && changedInconsistencies.isEmpty()
+                    && resolvedInconsistencies.isEmpty() && changedUsages.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package de.diedavids.mavguard.xml;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The directed acyclic graph of the modules of a build, with an edge from every module to the modules it builds on:
+ * its parent and the modules it depends on. Modules are sorted into topological levels with Kahn's algorithm:
+ * level 0 holds the modules without upstream modules, and every module is placed one level above its highest
+ * upstream module. All modules of a level are independent of each other and can be processed in parallel once
+ * the previous levels are done.
+ * <p>
+ * Modules on a cycle, and modules building on them, cannot be ordered; they are reported by
+ * {@link #getCyclicModules()} and processed after all levels.
+ *
+ * @param <T> the module type
+ */
+public final class ModuleDag<T> {
+
+    private final List<List<T>> levels;
+    private final List<T> cyclicModules;
+
+    /**
+     * Builds the graph. Upstream keys without a matching module, e.g. external parents, are ignored.
+     *
+     * @param modules the modules, the first module wins if several share a key
+     * @param keyFunction the key of a module, typically groupId:artifactId
+     * @param upstreamKeysFunction the keys of the modules a module builds on
+     */
+    public ModuleDag(List<T> modules, Function<T, String> keyFunction,
+                     Function<T, ? extends Collection<String>> upstreamKeysFunction) {
+        int moduleCount = modules.size();
+        Map<String, Integer> indexByKey = new HashMap<>();
+        for (int index = 0; index < moduleCount; index++) {
+            indexByKey.putIfAbsent(keyFunction.apply(modules.get(index)), index);
+        }
+
+        int[] pendingUpstream = new int[moduleCount];
+        List<List<Integer>> downstream = new ArrayList<>(moduleCount);
+        for (int index = 0; index < moduleCount; index++) {
+            downstream.add(new ArrayList<>());
+        }
+        for (int index = 0; index < moduleCount; index++) {
+            Set<Integer> upstream = new LinkedHashSet<>();
+            for (String key : upstreamKeysFunction.apply(modules.get(index))) {
+                Integer upstreamIndex = indexByKey.get(key);
+                if (upstreamIndex != null && upstreamIndex != index) {
+                    upstream.add(upstreamIndex);
+                }
+            }
+            pendingUpstream[index] = upstream.size();
+            for (int upstreamIndex : upstream) {
+                downstream.get(upstreamIndex).add(index);
+            }
+        }
+
+        List<List<T>> sortedLevels = new ArrayList<>();
+        List<Integer> level = new ArrayList<>();
+        for (int index = 0; index < moduleCount; index++) {
+            if (pendingUpstream[index] == 0) {
+                level.add(index);
+            }
+        }
+        while (!level.isEmpty()) {
+            sortedLevels.add(level.stream().map(modules::get).toList());
+            List<Integer> nextLevel = new ArrayList<>();
+            for (int index : level) {
+                for (int downstreamIndex : downstream.get(index)) {
+                    if (--pendingUpstream[downstreamIndex] == 0) {
+                        nextLevel.add(downstreamIndex);
+                    }
+                }
+            }
+            // Keep the declaration order within a level
+            Collections.sort(nextLevel);
+            level = nextLevel;
+        }
+
+        List<T> cyclic = new ArrayList<>();
+        for (int index = 0; index < moduleCount; index++) {
+            if (pendingUpstream[index] > 0) {
+                cyclic.add(modules.get(index));
+            }
+        }
+        this.levels = Collections.unmodifiableList(sortedLevels);
+        this.cyclicModules = Collections.unmodifiableList(cyclic);
+    }
+
+    /**
+     * Returns the topological levels, upstream modules first.
+     */
+    public List<List<T>> getLevels() {
+        return levels;
+    }
+
+    /**
+     * Returns the modules on a cycle or building on one, in declaration order.
+     */
+    public List<T> getCyclicModules() {
+        return cyclicModules;
+    }
+
+    public boolean hasCycles() {
+        return !cyclicModules.isEmpty();
+    }
+
+    /**
+     * Runs a task for every module, level by level. The modules of a level run in parallel, and a level only
+     * starts when the previous one is complete, so a task always sees the results of its upstream modules.
+     * Cyclic modules run last, one after the other.
+     *
+     * @param task the task, called from several threads
+     */
+    public void forEachLevel(Consumer<T> task) {
+        for (List<T> level : levels) {
+            if (level.size() == 1) {
+                task.accept(level.get(0));
+            } else {
+                level.parallelStream().forEach(task);
+            }
+        }
+        cyclicModules.forEach(task);
+    }
+}
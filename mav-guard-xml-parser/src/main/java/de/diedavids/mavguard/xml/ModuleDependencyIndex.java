@@ -0,0 +1,122 @@
+package de.diedavids.mavguard.xml;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.DependencyGraph;
+import de.diedavids.mavguard.model.Project;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reverse-dependency index over the modules of a build: for every groupId:artifactId the set of modules declaring it,
+ * as a bitset of module IDs, and the module graph formed by dependencies on other modules and by parent POMs that are
+ * part of the build.
+ * <p>
+ * Module IDs are the positions in {@link #getModules()}. Modules are identified by their full coordinates, so modules
+ * with the same artifactId in different groups do not collide; a module listed twice with the same coordinates is
+ * indexed once. Queries only touch bitsets and the int arrays of the module graph, so even the transitive closure
+ * over thousands of modules takes microseconds.
+ */
+public final class ModuleDependencyIndex {
+
+    private final List<Project> modules;
+    private final DependencyGraph moduleGraph;
+    /** Modules declaring an artifact as dependency, managed dependency or parent, by groupId:artifactId */
+    private final Map<String, BitSet> declaringModules = new HashMap<>();
+    /** Modules by their own groupId:artifactId, more than one in workspaces with several versions of a project */
+    private final Map<String, BitSet> modulesByArtifact = new HashMap<>();
+
+    /**
+     * Builds the index.
+     *
+     * @param projects the modules of the build, for example as returned by {@link PomParser#parseMultiModuleProject}
+     */
+    public ModuleDependencyIndex(List<Project> projects) {
+        DependencyGraph.Builder builder = new DependencyGraph.Builder();
+        List<Project> distinct = new ArrayList<>();
+        for (Project project : projects) {
+            int id = builder.addNode(project.groupId(), project.artifactId(), project.version());
+            if (id == distinct.size()) {
+                distinct.add(project);
+                modulesByArtifact.computeIfAbsent(key(project.groupId(), project.artifactId()), k -> new BitSet()).set(id);
+            }
+        }
+        this.modules = Collections.unmodifiableList(distinct);
+
+        for (int module = 0; module < modules.size(); module++) {
+            Project project = modules.get(module);
+            for (Dependency dependency : project.getAllDependencies()) {
+                String key = key(dependency.groupId(), dependency.artifactId());
+                declaringModules.computeIfAbsent(key, k -> new BitSet()).set(module);
+                addModuleEdges(builder, module, key, dependency.scope(), Boolean.TRUE.equals(dependency.optional()));
+            }
+            if (project.hasParent()) {
+                String key = key(project.parent().groupId(), project.parent().artifactId());
+                declaringModules.computeIfAbsent(key, k -> new BitSet()).set(module);
+                addModuleEdges(builder, module, key, null, false);
+            }
+        }
+        this.moduleGraph = builder.build();
+    }
+
+    private void addModuleEdges(DependencyGraph.Builder builder, int module, String key, String scope, boolean optional) {
+        BitSet targets = modulesByArtifact.get(key);
+        if (targets == null) {
+            return;
+        }
+        for (int target = targets.nextSetBit(0); target >= 0; target = targets.nextSetBit(target + 1)) {
+            if (target != module) {
+                builder.addEdge(module, target, scope, optional);
+            }
+        }
+    }
+
+    public List<Project> getModules() {
+        return modules;
+    }
+
+    public Project getModule(int id) {
+        return modules.get(id);
+    }
+
+    /**
+     * Returns the graph between the modules, with an edge from every module to the modules it depends on or
+     * inherits from. Node IDs are module IDs.
+     */
+    public DependencyGraph getModuleGraph() {
+        return moduleGraph;
+    }
+
+    /**
+     * Returns the modules declaring an artifact as dependency, managed dependency or parent.
+     *
+     * @return a new bitset of module IDs
+     */
+    public BitSet getDeclaringModules(String groupId, String artifactId) {
+        BitSet declaring = declaringModules.get(key(groupId, artifactId));
+        return declaring != null ? (BitSet) declaring.clone() : new BitSet();
+    }
+
+    /**
+     * Returns the modules affected by a change of an artifact: the modules declaring it, the modules of the build
+     * with these coordinates, and every module depending on or inheriting from one of them, directly or transitively.
+     *
+     * @return a new bitset of module IDs
+     */
+    public BitSet getAffectedModules(String groupId, String artifactId) {
+        BitSet start = getDeclaringModules(groupId, artifactId);
+        BitSet own = modulesByArtifact.get(key(groupId, artifactId));
+        if (own != null) {
+            start.or(own);
+        }
+        return moduleGraph.dependentsOf(start.stream().toArray());
+    }
+
+    private static String key(String groupId, String artifactId) {
+        return groupId + ":" + artifactId;
+    }
+}
@@ -0,0 +1,148 @@
+package de.diedavids.mavguard.xml;
+
+import de.diedavids.mavguard.model.Project;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Discovers and parses all Maven projects below a directory, e.g. a monorepo with many independent
+ * projects and no aggregator POM. The tree is walked on a work-stealing {@link ForkJoinPool} with one task
+ * per directory, and the POM files found are parsed on the same pool.
+ * Build output and tooling directories ({@link #SKIPPED_DIRECTORIES}) are never descended into,
+ * symbolic links to directories are not followed.
+ */
+public class PomDirectoryScanner {
+
+    /** Directory names that are never scanned */
+    static final Set<String> SKIPPED_DIRECTORIES = Set.of("target", "node_modules", ".git");
+
+    private static final String POM_FILE_NAME = "pom.xml";
+
+    private final PomParser pomParser;
+    private final int parallelism;
+
+    public PomDirectoryScanner(PomParser pomParser) {
+        this(pomParser, Runtime.getRuntime().availableProcessors());
+    }
+
+    public PomDirectoryScanner(PomParser pomParser, int parallelism) {
+        this.pomParser = pomParser;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Finds and parses all POM files below the given directory.
+     *
+     * @param rootDirectory the directory to scan
+     * @param ignorePatterns glob patterns matched against paths relative to the root directory,
+     *                       e.g. {@code legacy/**} to skip the legacy directory
+     * @return the parsed projects, ordered by file path
+     * @throws IllegalArgumentException if rootDirectory is not a directory
+     */
+    public List<Project> scan(Path rootDirectory, List<String> ignorePatterns) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<File> pomFiles = pool.invoke(createWalk(rootDirectory, ignorePatterns)).stream()
+                    .map(Path::toFile)
+                    .toList();
+            // Parallel streams started from a pool task run on that pool
+            return pool.submit(() -> pomParser.parseWorkspace(pomFiles)).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Finds all POM files below the given directory without parsing them.
+     *
+     * @param rootDirectory the directory to scan
+     * @param ignorePatterns glob patterns matched against paths relative to the root directory
+     * @return the POM files, ordered by path
+     * @throws IllegalArgumentException if rootDirectory is not a directory
+     */
+    public List<Path> findPomFiles(Path rootDirectory, List<String> ignorePatterns) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(createWalk(rootDirectory, ignorePatterns));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private DirectoryTask createWalk(Path rootDirectory, List<String> ignorePatterns) {
+        if (rootDirectory == null || !Files.isDirectory(rootDirectory)) {
+            throw new IllegalArgumentException("Scan root must be an existing directory: " + rootDirectory);
+        }
+        Path root = rootDirectory.toAbsolutePath().normalize();
+        List<PathMatcher> matchers = ignorePatterns.stream()
+                .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern))
+                .toList();
+        return new DirectoryTask(root, root, matchers);
+    }
+
+    /**
+     * Collects the POM files of one directory and forks a task for every subdirectory.
+     */
+    private static class DirectoryTask extends RecursiveTask<List<Path>> {
+
+        private final Path root;
+        private final Path directory;
+        private final List<PathMatcher> ignoreMatchers;
+
+        DirectoryTask(Path root, Path directory, List<PathMatcher> ignoreMatchers) {
+            this.root = root;
+            this.directory = directory;
+            this.ignoreMatchers = ignoreMatchers;
+        }
+
+        @Override
+        protected List<Path> compute() {
+            List<Path> pomFiles = new ArrayList<>();
+            List<DirectoryTask> subdirectories = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    Path relativePath = root.relativize(entry);
+                    if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+                        if (!SKIPPED_DIRECTORIES.contains(entry.getFileName().toString())
+                                && !isIgnored(relativePath)
+                                && !isIgnored(relativePath.resolve(POM_FILE_NAME))) {
+                            DirectoryTask task = new DirectoryTask(root, entry, ignoreMatchers);
+                            task.fork();
+                            subdirectories.add(task);
+                        }
+                    } else if (entry.getFileName().toString().equals(POM_FILE_NAME) && !isIgnored(relativePath)) {
+                        pomFiles.add(entry);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Error reading directory " + directory + ": " + e.getMessage());
+            }
+            for (DirectoryTask task : subdirectories) {
+                pomFiles.addAll(task.join());
+            }
+            pomFiles.sort(null);
+            return pomFiles;
+        }
+
+        private boolean isIgnored(Path relativePath) {
+            for (PathMatcher matcher : ignoreMatchers) {
+                if (matcher.matches(relativePath)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.xml.bind.JAXBException;
 import java.io.File;
 import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface defining operations for processing Maven POM files.
@@ -42,4 +43,21 @@ public interface PomFileProcessor {
      * @throws IllegalArgumentException if rootPomFile is null or doesn't exist
      */
     List<Project> parseMultiModuleProject(File rootPomFile) throws JAXBException;
+
+    /**
+     * Parses a multi-module Maven project and hands every project to the listener once it is final,
+     * so callers can start working on a module while the rest of the reactor is still being parsed.
+     * The default implementation parses the whole project first.
+     *
+     * @param rootPomFile the root POM file (parent POM) to parse
+     * @param projectListener receives each parsed project
+     * @return a list of all parsed Project objects (parent and modules)
+     * @throws JAXBException if there is an error during parsing
+     * @throws IllegalArgumentException if rootPomFile is null or doesn't exist
+     */
+    default List<Project> parseMultiModuleProject(File rootPomFile, Consumer<Project> projectListener) throws JAXBException {
+        List<Project> projects = parseMultiModuleProject(rootPomFile);
+        projects.forEach(projectListener);
+        return projects;
+    }
 }
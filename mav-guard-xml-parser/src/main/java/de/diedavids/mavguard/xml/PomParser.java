@@ -1,10 +1,15 @@
 package de.diedavids.mavguard.xml;
 
+import de.diedavids.mavguard.model.Dependency;
 import de.diedavids.mavguard.model.Project;
 import de.diedavids.mavguard.xml.model.XmlDependency;
 import de.diedavids.mavguard.xml.model.XmlProject;
 import de.diedavids.mavguard.xml.property.MavenPropertyResolver;
 import de.diedavids.mavguard.xml.property.PropertyResolver;
+import de.diedavids.mavguard.xml.repository.BomResolver;
+import de.diedavids.mavguard.xml.repository.DependencyManagementTable;
+import de.diedavids.mavguard.xml.repository.LocalRepositoryPomSource;
+import de.diedavids.mavguard.xml.repository.ParentPomResolver;
 import jakarta.xml.bind.JAXBException;
 
 import java.io.File;
@@ -13,25 +18,63 @@ import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Parser for Maven POM files.
  */
 public class PomParser implements PomFileProcessor {
 
+    /** Maximum number of parent POMs loaded from disk above a single POM */
+    private static final int MAX_PARENT_DEPTH = 32;
+
     private final XmlParser xmlParser;
     private final PropertyResolver propertyResolver;
+    private final ParentPomResolver parentPomResolver;
+    private final BomResolver bomResolver;
 
     public PomParser() {
         this(new XmlParser());
     }
 
     public PomParser(XmlParser xmlParser) {
+        this(xmlParser, new ParentPomResolver(xmlParser, LocalRepositoryPomSource.fromDefaultLocation()));
+    }
+
+    /**
+     * Creates a parser that resolves parents outside of the parsed build through the given resolver.
+     * Share one resolver between parsers to parse every parent POM only once.
+     *
+     * @param xmlParser the XML parser to use
+     * @param parentPomResolver the resolver for parent POMs that are not found on disk
+     */
+    public PomParser(XmlParser xmlParser, ParentPomResolver parentPomResolver) {
+        this(xmlParser, parentPomResolver, new BomResolver(parentPomResolver));
+    }
+
+    /**
+     * Creates a parser that resolves parents and imported BOMs through the given resolvers.
+     *
+     * @param xmlParser the XML parser to use
+     * @param parentPomResolver the resolver for parent POMs that are not found on disk
+     * @param bomResolver the resolver for BOMs imported in dependencyManagement
+     */
+    public PomParser(XmlParser xmlParser, ParentPomResolver parentPomResolver, BomResolver bomResolver) {
         this.xmlParser = xmlParser;
         this.propertyResolver = new MavenPropertyResolver();
+        this.parentPomResolver = parentPomResolver;
+        this.bomResolver = bomResolver;
     }
 
     /**
@@ -47,6 +90,7 @@ public class PomParser implements PomFileProcessor {
         validateFile(pomFile);
         XmlProject xmlProject = xmlParser.parseXmlFile(pomFile, XmlProject.class);
         xmlProject.setRelativePath(pomFile.getAbsolutePath());
+        linkParentChain(xmlProject, 0);
         resolvePropertyPlaceholders(xmlProject);
         return xmlProject.toDomainModel();
     }
@@ -63,6 +107,10 @@ public class PomParser implements PomFileProcessor {
     public Project parsePomStream(InputStream inputStream) throws JAXBException {
         validateInputStream(inputStream);
         XmlProject xmlProject = xmlParser.parseXmlStream(inputStream, XmlProject.class);
+        // Without a file location the parent can only come from the repository
+        if (xmlProject.getParent() != null) {
+            parentPomResolver.resolve(xmlProject.getParent()).ifPresent(xmlProject::setParentProject);
+        }
         resolvePropertyPlaceholders(xmlProject);
         return xmlProject.toDomainModel();
     }
@@ -79,38 +127,196 @@ public class PomParser implements PomFileProcessor {
      */
     @Override
     public List<Project> parseMultiModuleProject(File rootPomFile) throws JAXBException {
+        return parseMultiModuleProject(rootPomFile, project -> { });
+    }
+
+    /**
+     * Parses a multi-module Maven project and hands every project to the listener as soon as it is final.
+     * A module is final once its parent chain is known: its parent was already parsed as part of the reactor,
+     * is a virtual or external parent, or the parent has no POM file on disk. Projects whose parent POM file
+     * still has to be located are handed over after the whole reactor has been parsed.
+     * The listener is called on the parsing thread; blocking in it slows down parsing accordingly.
+     *
+     * @param rootPomFile the root POM file (parent POM) to parse
+     * @param projectListener receives each project in the order it becomes final
+     * @return a list of all parsed Project objects (parent and modules), in the order they were handed over
+     * @throws JAXBException if there is an error during parsing
+     * @throws IllegalArgumentException if rootPomFile is null or doesn't exist
+     */
+    @Override
+    public List<Project> parseMultiModuleProject(File rootPomFile, Consumer<Project> projectListener) throws JAXBException {
         validateFile(rootPomFile);
+        Map<String, XmlProject> processedProjects = new LinkedHashMap<>();
+        Map<XmlProject, Project> emittedProjects = new IdentityHashMap<>();
         List<Project> projects = new ArrayList<>();
-        Map<String, XmlProject> processedProjects = new HashMap<>();
-        
-        // Parse the root POM
-        XmlProject rootProject = parseAndProcessProject(rootPomFile, processedProjects);
-        
-        // Process parent-child relationships
+        Consumer<Project> collector = project -> {
+            projects.add(project);
+            projectListener.accept(project);
+        };
+
+        // Parse the root POM and all modules, handing over every project whose parent chain is already known
+        parseAndProcessProject(rootPomFile, processedProjects, emittedProjects, collector);
+
+        // Process parent-child relationships for the remaining projects
         processParentChildRelationships(processedProjects);
-        
-        // Resolve property placeholders in all projects
-        for (XmlProject project : processedProjects.values()) {
-            resolvePropertyPlaceholders(project);
-        }
-        
-        // Convert XML projects to domain models
-        for (XmlProject project : processedProjects.values()) {
-            projects.add(project.toDomainModel());
+
+        // Resolve the remaining projects level by level, upstream modules first, then convert them in parse order
+        ModuleDag<XmlProject> moduleDag = createModuleDag(new ArrayList<>(processedProjects.values()));
+        reportCycles(moduleDag);
+        List<XmlProject> remainingProjects = processedProjects.values().stream()
+                .filter(project -> !emittedProjects.containsKey(project))
+                .toList();
+        Set<XmlProject> remaining = Collections.newSetFromMap(new IdentityHashMap<>());
+        remaining.addAll(remainingProjects);
+        moduleDag.forEachLevel(project -> {
+            if (remaining.contains(project)) {
+                resolvePropertyPlaceholders(project);
+            }
+        });
+        for (XmlProject project : remainingProjects) {
+            publish(project, emittedProjects, collector);
         }
-        
+
         return projects;
     }
 
+    /**
+     * Parses a set of independent POM files, e.g. all projects of a monorepo without an aggregator POM.
+     * The files are parsed in parallel. Parents are linked by coordinates among the given projects,
+     * other parents are resolved from the repository. POM files that cannot be parsed are reported and skipped.
+     *
+     * @param pomFiles the POM files to parse
+     * @return the parsed projects, ordered by file path
+     */
+    public List<Project> parseWorkspace(Collection<File> pomFiles) {
+        List<XmlProject> parsedProjects = pomFiles.parallelStream()
+                .map(this::parseWorkspaceProject)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(XmlProject::getRelativePath))
+                .toList();
+
+        // The first project (by path) wins if several projects share the same coordinates
+        Map<String, XmlProject> projectsByKey = new HashMap<>();
+        for (XmlProject project : parsedProjects) {
+            projectsByKey.putIfAbsent(getProjectKey(project), project);
+        }
+        // Fetch the chains of all external parents concurrently before linking them one by one
+        parentPomResolver.prefetch(parsedProjects.stream()
+                .map(XmlProject::getParent)
+                .filter(parent -> parent != null && !projectsByKey.containsKey(
+                        parent.getGroupId() + ":" + parent.getArtifactId() + ":" + parent.getVersion()))
+                .toList());
+        for (XmlProject project : parsedProjects) {
+            XmlProject.XmlParent parent = project.getParent();
+            if (parent != null) {
+                XmlProject parentProject = projectsByKey.get(parent.getGroupId() + ":" + parent.getArtifactId() + ":" + parent.getVersion());
+                if (parentProject != null && parentProject != project) {
+                    project.setParentProject(parentProject);
+                } else {
+                    parentPomResolver.resolve(parent).ifPresent(project::setParentProject);
+                }
+            }
+        }
+
+        // Parents are resolved before their children, so inherited state is computed once and never read half-done
+        ModuleDag<XmlProject> moduleDag = createModuleDag(parsedProjects);
+        reportCycles(moduleDag);
+        moduleDag.forEachLevel(this::resolvePropertyPlaceholders);
+        return parsedProjects.parallelStream()
+                .map(XmlProject::toDomainModel)
+                .toList();
+    }
+
+    /**
+     * Re-parses some modules of a reactor, e.g. after their POM files changed. Parents among the given files are
+     * linked to each other, so a changed parent is parsed once for all of its re-parsed children; other parents
+     * are read from their relativePath or the repository as in {@link #parsePomFile(File)}.
+     * POM files that cannot be parsed are reported and skipped.
+     *
+     * @param pomFiles the POM files to parse
+     * @return the parsed projects, in the order of the given files
+     */
+    public List<Project> parseModules(Collection<File> pomFiles) {
+        List<XmlProject> parsedProjects = pomFiles.stream()
+                .map(this::parseWorkspaceProject)
+                .filter(Objects::nonNull)
+                .toList();
+
+        Map<String, XmlProject> projectsByKey = new HashMap<>();
+        for (XmlProject project : parsedProjects) {
+            projectsByKey.putIfAbsent(getProjectKey(project), project);
+        }
+        for (XmlProject project : parsedProjects) {
+            XmlProject.XmlParent parent = project.getParent();
+            if (parent != null) {
+                XmlProject parentProject = projectsByKey.get(parent.getGroupId() + ":" + parent.getArtifactId() + ":" + parent.getVersion());
+                if (parentProject != null && parentProject != project) {
+                    project.setParentProject(parentProject);
+                } else {
+                    linkParentChain(project, 0);
+                }
+            }
+        }
+
+        ModuleDag<XmlProject> moduleDag = createModuleDag(parsedProjects);
+        reportCycles(moduleDag);
+        moduleDag.forEachLevel(this::resolvePropertyPlaceholders);
+        return parsedProjects.stream()
+                .map(XmlProject::toDomainModel)
+                .toList();
+    }
+
+    /**
+     * Builds the module graph of parsed projects from their parents and the dependencies between them.
+     * Modules are matched by groupId:artifactId, as dependencies on modules often omit or template the version.
+     */
+    private ModuleDag<XmlProject> createModuleDag(List<XmlProject> projects) {
+        return new ModuleDag<>(projects,
+                project -> project.getEffectiveGroupId() + ":" + project.getArtifactId(),
+                project -> {
+                    List<String> upstream = new ArrayList<>();
+                    if (project.getParent() != null) {
+                        upstream.add(project.getParent().getGroupId() + ":" + project.getParent().getArtifactId());
+                    }
+                    for (XmlDependency dependency : project.getDependencies()) {
+                        upstream.add(propertyResolver.resolveProperty(dependency.getGroupId(), project) + ":"
+                                + propertyResolver.resolveProperty(dependency.getArtifactId(), project));
+                    }
+                    return upstream;
+                });
+    }
+
+    private void reportCycles(ModuleDag<XmlProject> moduleDag) {
+        if (moduleDag.hasCycles()) {
+            System.err.println("Cyclic dependencies between modules, processing them in declaration order: "
+                    + moduleDag.getCyclicModules().stream().map(this::getProjectKey).toList());
+        }
+    }
+
+    private XmlProject parseWorkspaceProject(File pomFile) {
+        try {
+            XmlProject project = xmlParser.parseXmlFile(pomFile, XmlProject.class);
+            project.setRelativePath(pomFile.getAbsolutePath());
+            return project;
+        } catch (JAXBException e) {
+            System.err.println("Error parsing POM file " + pomFile + ": " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Parses a project and all its modules recursively.
      *
      * @param pomFile the POM file to parse
      * @param processedProjects map of already processed projects (to avoid duplicates)
+     * @param emittedProjects projects already converted and handed to the listener
+     * @param projectListener receives projects as soon as they are final
      * @return the parsed XML project
      * @throws JAXBException if there is an error during parsing
      */
-    private XmlProject parseAndProcessProject(File pomFile, Map<String, XmlProject> processedProjects) throws JAXBException {
+    private XmlProject parseAndProcessProject(File pomFile, Map<String, XmlProject> processedProjects,
+                                              Map<XmlProject, Project> emittedProjects,
+                                              Consumer<Project> projectListener) throws JAXBException {
         // Parse the POM file
         XmlProject project = xmlParser.parseXmlFile(pomFile, XmlProject.class);
         project.setRelativePath(pomFile.getAbsolutePath());
@@ -121,6 +327,11 @@ public class PomParser implements PomFileProcessor {
             return processedProjects.get(projectKey);
         }
         processedProjects.put(projectKey, project);
+
+        // Modules are parsed after this point, so their lookups can already start while parsing continues
+        if (isParentChainKnown(project, processedProjects, emittedProjects)) {
+            emit(project, emittedProjects, projectListener);
+        }
         
         // Parse each module if this is a multi-module project
         List<String> modules = project.getModules();
@@ -141,7 +352,7 @@ public class PomParser implements PomFileProcessor {
                 
                 if (modulePomFile.exists()) {
                     try {
-                        XmlProject moduleProject = parseAndProcessProject(modulePomFile, processedProjects);
+                        parseAndProcessProject(modulePomFile, processedProjects, emittedProjects, projectListener);
                     } catch (JAXBException e) {
                         // Log error but continue with other modules
                         System.err.println("Error parsing module " + modulePath + ": " + e.getMessage());
@@ -155,6 +366,49 @@ public class PomParser implements PomFileProcessor {
         return project;
     }
 
+    /**
+     * Checks whether the parent chain of a freshly parsed project is final, linking the parent if possible.
+     * Mirrors {@link #processParentChildRelationships(Map)}: a parent POM file that exists on disk but was
+     * not parsed yet may still turn up as a module, so such projects are only linked after parsing.
+     */
+    private boolean isParentChainKnown(XmlProject project, Map<String, XmlProject> processedProjects,
+                                       Map<XmlProject, Project> emittedProjects) {
+        XmlProject.XmlParent parent = project.getParent();
+        if (parent == null) {
+            return true;
+        }
+        String parentKey = parent.getGroupId() + ":" + parent.getArtifactId() + ":" + parent.getVersion();
+        XmlProject parentProject = processedProjects.get(parentKey);
+        if (parentProject != null) {
+            if (!emittedProjects.containsKey(parentProject)) {
+                return false;
+            }
+            project.setParentProject(parentProject);
+            return true;
+        }
+        if (isVirtualParentPath(parent.getRelativePath())) {
+            linkVirtualParent(project, parent, processedProjects);
+            return true;
+        }
+        File parentPomFile = resolveParentPomFile(project, parent.getRelativePath());
+        if (parentPomFile == null || !parentPomFile.isFile()) {
+            parentPomResolver.resolve(parent).ifPresent(project::setParentProject);
+            return true;
+        }
+        return false;
+    }
+
+    private void emit(XmlProject project, Map<XmlProject, Project> emittedProjects, Consumer<Project> projectListener) {
+        resolvePropertyPlaceholders(project);
+        publish(project, emittedProjects, projectListener);
+    }
+
+    private void publish(XmlProject project, Map<XmlProject, Project> emittedProjects, Consumer<Project> projectListener) {
+        Project domainProject = project.toDomainModel();
+        emittedProjects.put(project, domainProject);
+        projectListener.accept(domainProject);
+    }
+
     /**
      * Processes parent-child relationships between projects.
      *
@@ -163,7 +417,8 @@ public class PomParser implements PomFileProcessor {
     private void processParentChildRelationships(Map<String, XmlProject> projectMap) {
         for (XmlProject project : new ArrayList<>(projectMap.values())) {
             XmlProject.XmlParent parent = project.getParent();
-            if (parent != null) {
+            // Projects handed over early are already linked
+            if (parent != null && project.getParentProject() == null) {
                 String parentKey = parent.getGroupId() + ":" + parent.getArtifactId() + ":" + parent.getVersion();
                 XmlProject parentProject = projectMap.get(parentKey);
                 
@@ -173,49 +428,20 @@ public class PomParser implements PomFileProcessor {
                 } else {
                     // Try to load the parent POM if it's not already in our map
                     try {
-                        File projectFile = new File(project.getRelativePath());
-                        // Handle case when file has no parent directory
-                        File projectDir;
-                        if (projectFile.getParentFile() == null) {
-                            // Use current working directory if no parent directory is available
-                            projectDir = Paths.get("").toAbsolutePath().toFile();
-                        } else {
-                            projectDir = projectFile.getParentFile();
-                        }
                         String relativePath = parent.getRelativePath();
                         File parentPomFile = null; // Declare parentPomFile here to be in scope for catch block
                         
                         // Better handling of parent relative path resolution
-                        if (relativePath != null && (relativePath.equals("../..")
-                                || relativePath.equals("../..\\")
-                                || relativePath.equals("..\\.."))) { // ensure relativePath is not null before .equals
+                        if (isVirtualParentPath(relativePath)) {
                             // Special case for parent reference to root project
-                            String parentGroupId = parent.getGroupId();
-                            String parentArtifactId = parent.getArtifactId();
-                            String parentVersion = parent.getVersion();
-                            
-                            // Skip trying to load an actual file, just create a virtual parent
-                            XmlProject virtualParent = new XmlProject();
-                            virtualParent.setGroupId(parentGroupId);
-                            virtualParent.setArtifactId(parentArtifactId);
-                            virtualParent.setVersion(parentVersion);
-                            virtualParent.setRelativePath("virtual-parent");
-                            
-                            String virtualParentKey = getProjectKey(virtualParent);
-                            projectMap.put(virtualParentKey, virtualParent);
-                            project.setParentProject(virtualParent);
-                            
+                            // Skip trying to load an actual file, use the repository or a virtual parent
+                            linkVirtualParent(project, parent, projectMap);
+
                             // Skip further processing for this parent
                             continue;
                         } else {
-                            if (relativePath == null || relativePath.isEmpty()) {
-                                parentPomFile = null; // Indicates not found via relative path or not specified
-                            } else {
-                                parentPomFile = new File(projectDir, relativePath);
-                                if (!parentPomFile.exists() && !relativePath.endsWith("pom.xml")) {
-                                    parentPomFile = new File(projectDir, relativePath + "/pom.xml");
-                                }
-                            }
+                            // null indicates not found via relative path or not specified
+                            parentPomFile = resolveParentPomFile(project, relativePath);
                         }
 
                         if (parentPomFile != null && parentPomFile.exists() && parentPomFile.isFile()) {
@@ -232,12 +458,16 @@ public class PomParser implements PomFileProcessor {
                             
                             // Set the parent-child relationship
                             project.setParentProject(loadedParent);
-                        } else if (relativePath != null && !relativePath.isEmpty() && (parentPomFile == null || !parentPomFile.exists())) {
-                            // Only log error if relativePath was specified but not found
-                            System.err.println("Parent POM specified by relativePath '" + relativePath + "' not found for " + getProjectKey(project));
+                        } else {
+                            // Not on disk: an external parent such as a corporate parent, look it up in the repository
+                            Optional<XmlProject> repositoryParent = parentPomResolver.resolve(parent);
+                            if (repositoryParent.isPresent()) {
+                                project.setParentProject(repositoryParent.get());
+                            } else if (relativePath != null && !relativePath.isEmpty() && (parentPomFile == null || !parentPomFile.exists())) {
+                                // Only log error if relativePath was specified but not found
+                                System.err.println("Parent POM specified by relativePath '" + relativePath + "' not found for " + getProjectKey(project));
+                            }
                         }
-                        // If parentPomFile is null (empty relativePath) or not a file, silently skip loading.
-                        // It's assumed to be an external parent or handled by other means (e.g. already in projectMap).
                     } catch (JAXBException e) { // Catch specific parsing errors
                         // Log an error if the parent POM cannot be parsed
                         System.err.println("Error parsing parent POM for " + getProjectKey(project) + ": " + e.getMessage());
@@ -249,6 +479,94 @@ public class PomParser implements PomFileProcessor {
         }
     }
 
+    /**
+     * Checks whether a parent relativePath refers to the project two levels up, which is represented
+     * by a virtual parent instead of being loaded.
+     */
+    private boolean isVirtualParentPath(String relativePath) {
+        return relativePath != null && (relativePath.equals("../..")
+                || relativePath.equals("../..\\")
+                || relativePath.equals("..\\.."));
+    }
+
+    /**
+     * Links the parent of a project whose relativePath points two levels up: from the repository if available,
+     * otherwise as a virtual parent without content that is added to the processed projects.
+     */
+    private void linkVirtualParent(XmlProject project, XmlProject.XmlParent parent, Map<String, XmlProject> processedProjects) {
+        Optional<XmlProject> repositoryParent = parentPomResolver.resolve(parent);
+        if (repositoryParent.isPresent()) {
+            project.setParentProject(repositoryParent.get());
+            return;
+        }
+        XmlProject virtualParent = createVirtualParent(parent);
+        processedProjects.put(getProjectKey(virtualParent), virtualParent);
+        project.setParentProject(virtualParent);
+    }
+
+    /**
+     * Links the parent chain of a POM parsed on its own: parents are read from their relativePath
+     * if the POM found there has the expected coordinates, otherwise they are resolved from the repository.
+     */
+    private void linkParentChain(XmlProject project, int depth) {
+        XmlProject.XmlParent parent = project.getParent();
+        if (parent == null) {
+            return;
+        }
+        String parentKey = parent.getGroupId() + ":" + parent.getArtifactId() + ":" + parent.getVersion();
+        File parentPomFile = isVirtualParentPath(parent.getRelativePath())
+                ? null
+                : resolveParentPomFile(project, parent.getRelativePath());
+        if (parentPomFile != null && parentPomFile.isFile() && depth < MAX_PARENT_DEPTH) {
+            try {
+                XmlProject parentProject = xmlParser.parseXmlFile(parentPomFile, XmlProject.class);
+                if (parentKey.equals(getProjectKey(parentProject))) {
+                    parentProject.setRelativePath(parentPomFile.getAbsolutePath());
+                    linkParentChain(parentProject, depth + 1);
+                    project.setParentProject(parentProject);
+                    return;
+                }
+            } catch (JAXBException e) {
+                System.err.println("Error parsing parent POM for " + getProjectKey(project) + ": " + e.getMessage());
+            }
+        }
+        parentPomResolver.resolve(parent).ifPresent(project::setParentProject);
+    }
+
+    private XmlProject createVirtualParent(XmlProject.XmlParent parent) {
+        XmlProject virtualParent = new XmlProject();
+        virtualParent.setGroupId(parent.getGroupId());
+        virtualParent.setArtifactId(parent.getArtifactId());
+        virtualParent.setVersion(parent.getVersion());
+        virtualParent.setRelativePath("virtual-parent");
+        return virtualParent;
+    }
+
+    /**
+     * Resolves the parent POM file referenced by a relativePath against the project's directory.
+     *
+     * @return the candidate parent POM file, or null if no relativePath is specified
+     */
+    private File resolveParentPomFile(XmlProject project, String relativePath) {
+        if (relativePath == null || relativePath.isEmpty()) {
+            return null;
+        }
+        File projectFile = new File(project.getRelativePath());
+        // Handle case when file has no parent directory
+        File projectDir;
+        if (projectFile.getParentFile() == null) {
+            // Use current working directory if no parent directory is available
+            projectDir = Paths.get("").toAbsolutePath().toFile();
+        } else {
+            projectDir = projectFile.getParentFile();
+        }
+        File parentPomFile = new File(projectDir, relativePath);
+        if (!parentPomFile.exists() && !relativePath.endsWith("pom.xml")) {
+            parentPomFile = new File(projectDir, relativePath + "/pom.xml");
+        }
+        return parentPomFile;
+    }
+
     /**
      * Gets a unique key for a project.
      *
@@ -281,6 +599,32 @@ public class PomParser implements PomFileProcessor {
                 resolvePropertyPlaceholdersInDependency(dependency, project);
             }
         }
+
+        applyManagedVersions(project);
+    }
+
+    /**
+     * Fills the versions of versionless dependencies from the nearest dependencyManagement entry
+     * in the project's parent chain, including the entries of imported BOMs.
+     *
+     * @param project the XmlProject whose dependencies are completed
+     */
+    private void applyManagedVersions(XmlProject project) {
+        if (project.getDependencies().stream().noneMatch(dependency -> dependency.getVersion() == null)) {
+            return;
+        }
+        DependencyManagementTable managedDependencies = bomResolver.resolveEffective(project);
+        if (!managedDependencies.getImportCycles().isEmpty()) {
+            System.err.println("Cyclic BOM imports in " + getProjectKey(project) + ", imported only once: "
+                    + managedDependencies.getImportCycles());
+        }
+        for (XmlDependency dependency : project.getDependencies()) {
+            if (dependency.getVersion() == null) {
+                managedDependencies.get(dependency.getGroupId(), dependency.getArtifactId())
+                        .map(Dependency::version)
+                        .ifPresent(dependency::setResolvedVersion);
+            }
+        }
     }
 
     /**
@@ -0,0 +1,242 @@
+package de.diedavids.mavguard.xml;
+
+import de.diedavids.mavguard.model.Project;
+import jakarta.xml.bind.JAXBException;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the parsed projects of a reactor up to date while its POM files are edited.
+ * A {@link WatchService} is registered on the directory of every module. When POM files change, only those POMs
+ * and the modules inheriting from them are re-parsed; the rest of the reactor is reused as is. The whole reactor
+ * is parsed again only when its structure changes: a POM was deleted, or a module changed its coordinates,
+ * parent or module list.
+ */
+public final class ReactorWatcher implements Closeable {
+
+    private static final String POM_FILE_NAME = "pom.xml";
+
+    /** Editors often save a file in several steps, events arriving within this window are handled together */
+    private static final long SETTLE_MILLIS = 50;
+
+    private final PomParser pomParser;
+    private final File rootPomFile;
+    private final WatchService watchService;
+    private final Map<Path, WatchKey> watchKeys = new HashMap<>();
+    private List<Project> projects;
+
+    /**
+     * Starts watching the modules of a parsed reactor.
+     *
+     * @param pomParser the parser used to re-parse changed modules
+     * @param rootPomFile the root POM file the projects were parsed from
+     * @param projects the projects parsed from the root POM file
+     * @throws IOException if the directories cannot be watched
+     */
+    public ReactorWatcher(PomParser pomParser, File rootPomFile, List<Project> projects) throws IOException {
+        this.pomParser = pomParser;
+        this.rootPomFile = rootPomFile.getAbsoluteFile();
+        this.projects = List.copyOf(projects);
+        this.watchService = FileSystems.getDefault().newWatchService();
+        registerModuleDirectories();
+    }
+
+    /**
+     * Returns the current projects of the reactor, in reactor order.
+     */
+    public List<Project> getProjects() {
+        return projects;
+    }
+
+    public int getWatchedDirectoryCount() {
+        return watchKeys.size();
+    }
+
+    /**
+     * Blocks until at least one POM file in a watched directory is created, modified or deleted.
+     *
+     * @return the changed POM files
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public Set<Path> awaitChanges() throws InterruptedException {
+        Set<Path> changedPomFiles = new LinkedHashSet<>();
+        while (changedPomFiles.isEmpty()) {
+            collectChanges(watchService.take(), changedPomFiles);
+            WatchKey key;
+            while ((key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                collectChanges(key, changedPomFiles);
+            }
+        }
+        return changedPomFiles;
+    }
+
+    private void collectChanges(WatchKey key, Set<Path> changedPomFiles) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // On overflow events were lost, so the POM in the directory may have changed
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || POM_FILE_NAME.equals(String.valueOf(event.context()))) {
+                changedPomFiles.add(directory.resolve(POM_FILE_NAME));
+            }
+        }
+        key.reset();
+    }
+
+    /**
+     * Brings the projects up to date after POM files changed. Changed POM files that do not belong to the reactor
+     * are ignored. A POM that cannot be parsed, e.g. while it is being edited, is reported and keeps its previous state.
+     *
+     * @param changedPomFiles the changed POM files
+     * @return the modules that changed
+     * @throws JAXBException if the root POM has to be parsed again and cannot be parsed
+     * @throws IOException if new module directories cannot be watched
+     */
+    public Update update(Collection<Path> changedPomFiles) throws JAXBException, IOException {
+        Map<Path, Project> projectsByPom = indexByPomFile(projects);
+        Set<Path> changed = new LinkedHashSet<>();
+        for (Path pomFile : changedPomFiles) {
+            Path normalized = pomFile.toAbsolutePath().normalize();
+            if (projectsByPom.containsKey(normalized)) {
+                changed.add(normalized);
+            }
+        }
+        if (changed.isEmpty()) {
+            return new Update(List.of(), 0, List.of(), List.of(), false);
+        }
+        if (changed.stream().anyMatch(pomFile -> !Files.isRegularFile(pomFile))) {
+            return reparseReactor(changed);
+        }
+
+        List<Project> affected = ChangedModules.select(List.copyOf(projectsByPom.values()), changed);
+        List<Project> reparsed = pomParser.parseModules(affected.stream()
+                .map(project -> ChangedModules.pomFileOf(project).toFile())
+                .toList());
+        Map<Path, Project> reparsedByPom = indexByPomFile(reparsed);
+        for (Map.Entry<Path, Project> entry : reparsedByPom.entrySet()) {
+            if (!isSameReactorStructure(projectsByPom.get(entry.getKey()), entry.getValue())) {
+                return reparseReactor(changed);
+            }
+        }
+
+        List<Project> previousProjects = projects;
+        projects = previousProjects.stream()
+                .map(project -> reparsedByPom.getOrDefault(ChangedModules.pomFileOf(project), project))
+                .toList();
+        return createUpdate(changed, reparsed.size(), previousProjects, projects, false);
+    }
+
+    private boolean isSameReactorStructure(Project previous, Project current) {
+        return previous.getCoordinates().equals(current.getCoordinates())
+                && Objects.equals(previous.modules(), current.modules())
+                && Objects.equals(previous.hasParent() ? previous.parent().getCoordinates() : null,
+                        current.hasParent() ? current.parent().getCoordinates() : null);
+    }
+
+    private Update reparseReactor(Set<Path> changed) throws JAXBException, IOException {
+        List<Project> previousProjects = projects;
+        projects = pomParser.parseMultiModuleProject(rootPomFile);
+        registerModuleDirectories();
+        return createUpdate(changed, projects.size(), previousProjects, projects, true);
+    }
+
+    private Update createUpdate(Set<Path> changed, int parsedModuleCount, List<Project> previousProjects,
+                                List<Project> currentProjects, boolean reactorReparsed) {
+        Map<Path, Project> previousByPom = indexByPomFile(previousProjects);
+        Map<Path, Project> currentByPom = indexByPomFile(currentProjects);
+        List<Project> removed = new ArrayList<>();
+        for (Map.Entry<Path, Project> entry : previousByPom.entrySet()) {
+            if (!entry.getValue().equals(currentByPom.get(entry.getKey()))) {
+                removed.add(entry.getValue());
+            }
+        }
+        List<Project> added = new ArrayList<>();
+        for (Map.Entry<Path, Project> entry : currentByPom.entrySet()) {
+            if (!entry.getValue().equals(previousByPom.get(entry.getKey()))) {
+                added.add(entry.getValue());
+            }
+        }
+        return new Update(List.copyOf(changed), parsedModuleCount, removed, added, reactorReparsed);
+    }
+
+    /**
+     * Watches the directories of all modules with a POM file on disk and stops watching directories
+     * that no longer contain a module.
+     */
+    private void registerModuleDirectories() throws IOException {
+        Set<Path> directories = new LinkedHashSet<>();
+        for (Path pomFile : indexByPomFile(projects).keySet()) {
+            if (Files.isDirectory(pomFile.getParent())) {
+                directories.add(pomFile.getParent());
+            }
+        }
+        for (Path directory : directories) {
+            if (!watchKeys.containsKey(directory)) {
+                watchKeys.put(directory, directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE));
+            }
+        }
+        watchKeys.entrySet().removeIf(entry -> {
+            if (directories.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().cancel();
+            return true;
+        });
+    }
+
+    /**
+     * Indexes projects by their POM file; virtual parents and projects without a file are skipped.
+     */
+    private static Map<Path, Project> indexByPomFile(List<Project> projects) {
+        Map<Path, Project> projectsByPom = new LinkedHashMap<>();
+        for (Project project : projects) {
+            Path pomFile = ChangedModules.pomFileOf(project);
+            if (pomFile != null) {
+                projectsByPom.putIfAbsent(pomFile, project);
+            }
+        }
+        return projectsByPom;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    /**
+     * The result of an update. A re-parsed module that changed is listed with its previous state in
+     * {@code removedProjects} and its new state in {@code addedProjects}; modules that were re-parsed
+     * without any change are in neither list.
+     *
+     * @param changedPomFiles the changed POM files of the reactor
+     * @param parsedModuleCount the number of modules parsed again
+     * @param removedProjects the previous state of the modules that changed or were removed
+     * @param addedProjects the new state of the modules that changed or were added
+     * @param reactorReparsed whether the whole reactor was parsed again
+     */
+    public record Update(List<Path> changedPomFiles, int parsedModuleCount, List<Project> removedProjects,
+                         List<Project> addedProjects, boolean reactorReparsed) {
+
+        public boolean hasChanges() {
+            return !removedProjects.isEmpty() || !addedProjects.isEmpty();
+        }
+    }
+}
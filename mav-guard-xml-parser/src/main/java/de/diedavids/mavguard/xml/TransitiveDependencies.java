@@ -0,0 +1,136 @@
+package de.diedavids.mavguard.xml;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.DependencyGraph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The resolved transitive dependency graph of a project, as a breadth-first spanning tree: every artifact
+ * appears once, in the version selected by Maven's nearest-wins mediation, together with the dependency
+ * that introduced it. Nodes are stored in breadth-first order in parallel arrays, so the direct
+ * dependencies come first and the parent of a node always has a smaller index.
+ */
+public final class TransitiveDependencies {
+
+    /** Parent index of direct dependencies */
+    public static final int NO_PARENT = -1;
+
+    private final List<Dependency> dependencies;
+    private final int[] parents;
+    private final int[] depths;
+    private final DependencyGraph graph;
+    private final List<Conflict> conflicts;
+    private final List<String> unresolved;
+
+    TransitiveDependencies(List<Dependency> dependencies, int[] parents, int[] depths, DependencyGraph graph,
+                           List<Conflict> conflicts, List<String> unresolved) {
+        this.dependencies = Collections.unmodifiableList(dependencies);
+        this.parents = parents;
+        this.depths = depths;
+        this.graph = graph;
+        this.conflicts = Collections.unmodifiableList(conflicts);
+        this.unresolved = Collections.unmodifiableList(unresolved);
+    }
+
+    /**
+     * Returns the number of resolved artifacts, direct dependencies included.
+     */
+    public int size() {
+        return dependencies.size();
+    }
+
+    /**
+     * Returns all resolved artifacts in breadth-first order.
+     */
+    public List<Dependency> getDependencies() {
+        return dependencies;
+    }
+
+    public Dependency getDependency(int index) {
+        return dependencies.get(index);
+    }
+
+    /**
+     * Returns the index of the dependency that introduced the given node, or {@link #NO_PARENT} for direct dependencies.
+     */
+    public int getParent(int index) {
+        return parents[index];
+    }
+
+    /**
+     * Returns the depth of a node, 1 for direct dependencies.
+     */
+    public int getDepth(int index) {
+        return depths[index];
+    }
+
+    public int getMaxDepth() {
+        return depths.length == 0 ? 0 : depths[depths.length - 1];
+    }
+
+    /**
+     * Returns the number of direct dependencies, which are the first nodes.
+     */
+    public int getDirectCount() {
+        int count = 0;
+        while (count < depths.length && depths[count] == 1) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the path from a direct dependency down to the given node.
+     */
+    public List<Dependency> getPath(int index) {
+        List<Dependency> path = new ArrayList<>();
+        for (int node = index; node != NO_PARENT; node = parents[node]) {
+            path.add(dependencies.get(node));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Returns all dependency edges between the resolved artifacts, not only those of the spanning tree. Node IDs
+     * are the indexes of this graph, and an artifact requested in an omitted version points to the selected one.
+     */
+    public DependencyGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the artifacts requested in another version than the selected one, in the order they were found.
+     */
+    public List<Conflict> getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Returns the coordinates of artifacts whose POM could not be loaded, so their dependencies are missing.
+     */
+    public List<String> getUnresolved() {
+        return unresolved;
+    }
+
+    /**
+     * A version omitted by nearest-wins mediation.
+     *
+     * @param groupId the group ID
+     * @param artifactId the artifact ID
+     * @param selectedVersion the version in the graph
+     * @param omittedVersion the version requested further away
+     * @param requestedBy the coordinates of the artifact that requested the omitted version
+     */
+    public record Conflict(String groupId, String artifactId, String selectedVersion, String omittedVersion,
+                           String requestedBy) {
+        @Override
+        public String toString() {
+            return groupId + ":" + artifactId + ": " + selectedVersion + " selected, " + omittedVersion
+                    + " omitted (requested by " + requestedBy + ")";
+        }
+    }
+}
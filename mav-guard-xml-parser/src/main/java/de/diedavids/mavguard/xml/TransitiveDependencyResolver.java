@@ -0,0 +1,193 @@
+package de.diedavids.mavguard.xml;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.DependencyGraph;
+import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.xml.model.XmlDependency;
+import de.diedavids.mavguard.xml.model.XmlProject;
+import de.diedavids.mavguard.xml.property.MavenPropertyResolver;
+import de.diedavids.mavguard.xml.property.PropertyResolver;
+import de.diedavids.mavguard.xml.repository.BomResolver;
+import de.diedavids.mavguard.xml.repository.DependencyManagementTable;
+import de.diedavids.mavguard.xml.repository.ParentPomResolver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolves the transitive dependencies of a project by expanding the dependency graph breadth-first.
+ * <p>
+ * The POMs of each level are fetched concurrently through the {@link ParentPomResolver}, which deduplicates them
+ * by groupId:artifactId:version, bounds the number of fetches in flight and caches their content. Versions are
+ * mediated as in Maven: the nearest declaration wins, and among equally near ones the first. Versions managed by
+ * the project override transitive versions. Test, provided and optional dependencies of dependencies are not
+ * followed, and exclusions apply to the whole subtree below the excluding dependency.
+ */
+public class TransitiveDependencyResolver {
+
+    private static final String COMPILE_SCOPE = "compile";
+
+    private final ParentPomResolver pomResolver;
+    private final BomResolver bomResolver;
+    private final PropertyResolver propertyResolver = new MavenPropertyResolver();
+
+    public TransitiveDependencyResolver(ParentPomResolver pomResolver, BomResolver bomResolver) {
+        this.pomResolver = pomResolver;
+        this.bomResolver = bomResolver;
+    }
+
+    /**
+     * Resolves the transitive dependency graph of the given project.
+     *
+     * @param project the project whose direct dependencies are the roots of the graph
+     * @return the resolved graph
+     */
+    public TransitiveDependencies resolve(Project project) {
+        Map<String, String> managedVersions = collectManagedVersions(project);
+
+        List<Dependency> nodes = new ArrayList<>();
+        List<Integer> parents = new ArrayList<>();
+        List<Integer> depths = new ArrayList<>();
+        Map<String, Integer> nodeByArtifact = new HashMap<>();
+        List<TransitiveDependencies.Conflict> conflicts = new ArrayList<>();
+        List<String> unresolved = new ArrayList<>();
+        // Node IDs match the indexes of the spanning tree, as both add every artifact once and in the same order
+        DependencyGraph.Builder graph = new DependencyGraph.Builder();
+
+        List<Integer> level = new ArrayList<>();
+        for (Dependency dependency : project.dependencies()) {
+            String key = dependency.groupId() + ":" + dependency.artifactId();
+            if (dependency.version() == null || nodeByArtifact.containsKey(key)) {
+                continue;
+            }
+            Dependency node = dependency.scope() != null ? dependency : withScope(dependency, COMPILE_SCOPE);
+            graph.addNode(node.groupId(), node.artifactId(), node.version());
+            level.add(addNode(node, TransitiveDependencies.NO_PARENT, 1, nodes, parents, depths, nodeByArtifact));
+        }
+
+        while (!level.isEmpty()) {
+            // Fetch the whole level concurrently before walking it in declaration order
+            pomResolver.prefetchArtifacts(level.stream().map(nodes::get).toList());
+            List<Integer> nextLevel = new ArrayList<>();
+            for (int index : level) {
+                Dependency node = nodes.get(index);
+                Optional<XmlProject> pom = pomResolver.resolve(node.groupId(), node.artifactId(), node.version());
+                if (pom.isEmpty()) {
+                    unresolved.add(node.groupId() + ":" + node.artifactId() + ":" + node.version());
+                    continue;
+                }
+                DependencyManagementTable pomManagement = null;
+                for (XmlDependency declared : pom.get().getDependencies()) {
+                    String scope = declared.getScope() != null ? declared.getScope() : COMPILE_SCOPE;
+                    if ("test".equals(scope) || "provided".equals(scope) || Boolean.TRUE.equals(declared.isOptional())) {
+                        continue;
+                    }
+                    String groupId = propertyResolver.resolveProperty(declared.getGroupId(), pom.get());
+                    String artifactId = propertyResolver.resolveProperty(declared.getArtifactId(), pom.get());
+                    if (isExcluded(groupId, artifactId, index, nodes, parents)) {
+                        continue;
+                    }
+                    String key = groupId + ":" + artifactId;
+                    String version = managedVersions.get(key);
+                    if (version == null) {
+                        version = propertyResolver.resolveProperty(declared.getVersion(), pom.get());
+                    }
+                    if (version == null) {
+                        if (pomManagement == null) {
+                            pomManagement = bomResolver.resolveEffective(pom.get());
+                        }
+                        version = pomManagement.get(groupId, artifactId).map(Dependency::version).orElse(null);
+                    }
+                    if (version == null || propertyResolver.isPropertyPlaceholder(version)) {
+                        continue;
+                    }
+
+                    Integer existing = nodeByArtifact.get(key);
+                    if (existing != null) {
+                        // The requester depends on the mediated version
+                        graph.addEdge(index, existing, scope, false);
+                        String selectedVersion = nodes.get(existing).version();
+                        if (!version.equals(selectedVersion)) {
+                            conflicts.add(new TransitiveDependencies.Conflict(groupId, artifactId, selectedVersion, version,
+                                    node.groupId() + ":" + node.artifactId() + ":" + node.version()));
+                        }
+                        continue;
+                    }
+                    Dependency transitive = new Dependency(groupId, artifactId, version,
+                            COMPILE_SCOPE.equals(node.scope()) ? scope : node.scope(), null, declared.getType(),
+                            declared.toDomainModel().exclusions());
+                    graph.addEdge(index, graph.addNode(groupId, artifactId, version), scope, false);
+                    nextLevel.add(addNode(transitive, index, depths.get(index) + 1, nodes, parents, depths, nodeByArtifact));
+                }
+            }
+            level = nextLevel;
+        }
+
+        return new TransitiveDependencies(nodes, toArray(parents), toArray(depths), graph.build(), conflicts, unresolved);
+    }
+
+    /**
+     * Collects the versions managed by the project: its own entries, the BOMs it imports and the
+     * effective dependencyManagement of its parent, nearest first.
+     */
+    private Map<String, String> collectManagedVersions(Project project) {
+        Map<String, String> managedVersions = new HashMap<>();
+        List<DependencyManagementTable> tables = new ArrayList<>();
+        if (project.dependencyManagement() != null) {
+            for (Dependency managed : project.dependencyManagement().dependencies()) {
+                if ("import".equals(managed.scope()) && "pom".equals(managed.type())) {
+                    if (managed.version() != null) {
+                        tables.add(bomResolver.resolve(managed.groupId(), managed.artifactId(), managed.version()));
+                    }
+                } else if (managed.version() != null) {
+                    managedVersions.putIfAbsent(managed.groupId() + ":" + managed.artifactId(), managed.version());
+                }
+            }
+        }
+        if (project.hasParent()) {
+            Project.Parent parent = project.parent();
+            pomResolver.resolve(parent.groupId(), parent.artifactId(), parent.version())
+                    .map(bomResolver::resolveEffective)
+                    .ifPresent(tables::add);
+        }
+        for (DependencyManagementTable table : tables) {
+            for (Dependency managed : table.getEntries()) {
+                if (managed.version() != null) {
+                    managedVersions.putIfAbsent(managed.groupId() + ":" + managed.artifactId(), managed.version());
+                }
+            }
+        }
+        return managedVersions;
+    }
+
+    private static boolean isExcluded(String groupId, String artifactId, int index, List<Dependency> nodes, List<Integer> parents) {
+        for (int node = index; node != TransitiveDependencies.NO_PARENT; node = parents.get(node)) {
+            if (nodes.get(node).excludes(groupId, artifactId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int addNode(Dependency dependency, int parent, int depth, List<Dependency> nodes,
+                               List<Integer> parents, List<Integer> depths, Map<String, Integer> nodeByArtifact) {
+        int index = nodes.size();
+        nodes.add(dependency);
+        parents.add(parent);
+        depths.add(depth);
+        nodeByArtifact.put(dependency.groupId() + ":" + dependency.artifactId(), index);
+        return index;
+    }
+
+    private static Dependency withScope(Dependency dependency, String scope) {
+        return new Dependency(dependency.groupId(), dependency.artifactId(), dependency.version(), scope,
+                dependency.optional(), dependency.type(), dependency.exclusions());
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -5,12 +5,18 @@ import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Unmarshaller;
 import java.io.File;
 import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class for parsing XML files using JAXB.
+ * JAXB contexts are expensive to build, so one context per type is created lazily on first use
+ * and reused afterwards. Contexts are thread-safe, unmarshallers are created per call.
  */
 public class XmlParser {
 
+    private final Map<Class<?>, JAXBContext> contexts = new ConcurrentHashMap<>();
+
     /**
      * Parses an XML file into the specified class type.
      *
@@ -20,8 +26,7 @@ public class XmlParser {
      * @throws JAXBException if there is an error during parsing
      */
     public <T> T parseXmlFile(File xmlFile, Class<T> type) throws JAXBException {
-        JAXBContext jaxbContext = JAXBContext.newInstance(type);
-        Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+        Unmarshaller unmarshaller = getContext(type).createUnmarshaller();
         return type.cast(unmarshaller.unmarshal(xmlFile));
     }
 
@@ -34,8 +39,26 @@ public class XmlParser {
      * @throws JAXBException if there is an error during parsing
      */
     public <T> T parseXmlStream(InputStream inputStream, Class<T> type) throws JAXBException {
-        JAXBContext jaxbContext = JAXBContext.newInstance(type);
-        Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+        Unmarshaller unmarshaller = getContext(type).createUnmarshaller();
         return type.cast(unmarshaller.unmarshal(inputStream));
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the JAXB context for the given type, creating it on first access.
+     *
+     * @param type the class type to bind
+     * @return the cached JAXB context
+     * @throws JAXBException if the context cannot be created
+     */
+    private JAXBContext getContext(Class<?> type) throws JAXBException {
+        JAXBContext context = contexts.get(type);
+        if (context == null) {
+            context = JAXBContext.newInstance(type);
+            JAXBContext existing = contexts.putIfAbsent(type, context);
+            if (existing != null) {
+                context = existing;
+            }
+        }
+        return context;
+    }
+}
@@ -3,6 +3,10 @@ package de.diedavids.mavguard.xml.model;
 import jakarta.xml.bind.annotation.XmlAccessType;
 import jakarta.xml.bind.annotation.XmlAccessorType;
 import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlElementWrapper;
+
+import java.util.Collections;
+import java.util.List;
 
 /**
  * XML model class for Maven dependency with groupId, artifactId, and version.
@@ -29,6 +33,10 @@ public class XmlDependency {
     @XmlElement(name = "type", namespace = "http://maven.apache.org/POM/4.0.0")
     private String type;
 
+    @XmlElementWrapper(name = "exclusions", namespace = "http://maven.apache.org/POM/4.0.0")
+    @XmlElement(name = "exclusion", namespace = "http://maven.apache.org/POM/4.0.0")
+    private List<XmlExclusion> exclusions;
+
     // Not mapped to XML - transient field to store resolved version
     private transient String resolvedVersion;
 
@@ -92,6 +100,25 @@ public class XmlDependency {
         return type;
     }
 
+    /**
+     * Gets the exclusions.
+     *
+     * @return the exclusions, empty if none are declared
+     */
+    public List<XmlExclusion> getExclusions() {
+        return exclusions != null ? exclusions : Collections.emptyList();
+    }
+
+    /**
+     * Checks if this is a BOM import, i.e. a managed dependency with {@code <type>pom</type>}
+     * and {@code <scope>import</scope>} whose dependencyManagement is merged into the importing project.
+     *
+     * @return true if this dependency imports a BOM
+     */
+    public boolean isBomImport() {
+        return "import".equals(scope) && "pom".equals(type);
+    }
+
     /**
      * Gets the resolved version after property resolution has been applied.
      * If no property resolution has been done, returns the original version.
@@ -127,7 +154,8 @@ public class XmlDependency {
             effectiveVersion,
             scope,
             optional,
-            type
+            type,
+            getExclusions().stream().map(exclusion -> exclusion.getGroupId() + ":" + exclusion.getArtifactId()).toList()
         );
     }
 
@@ -145,7 +173,29 @@ public class XmlDependency {
         copy.scope = this.scope;
         copy.optional = this.optional;
         copy.type = this.type;
+        copy.exclusions = this.exclusions;
         copy.resolvedVersion = resolvedVersion;
         return copy;
     }
-}
\ No newline at end of file
+
+    /**
+     * XML model class for an exclusion of a dependency's transitive dependencies.
+     */
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class XmlExclusion {
+
+        @XmlElement(name = "groupId", namespace = "http://maven.apache.org/POM/4.0.0")
+        private String groupId;
+
+        @XmlElement(name = "artifactId", namespace = "http://maven.apache.org/POM/4.0.0")
+        private String artifactId;
+
+        public String getGroupId() {
+            return groupId;
+        }
+
+        public String getArtifactId() {
+            return artifactId;
+        }
+    }
+}
@@ -114,7 +114,7 @@ public class MavenPropertyResolver implements PropertyResolver {
     }
 
     /**
-     * Looks up a property in the project's properties section.
+     * Looks up a property in the properties sections of the project and its parents.
      *
      * @param propertyName the name of the property to look up
      * @param project the XML project
@@ -146,8 +146,8 @@ public class MavenPropertyResolver implements PropertyResolver {
             }
         }
 
-        // Look up the property in the properties section
-        Map<String, String> properties = project.getProperties();
+        // Look up the property in the properties section, including properties inherited from parents
+        Map<String, String> properties = project.getAllProperties();
         if (properties == null) {
             return null;
         }
@@ -178,9 +178,9 @@ public class MavenPropertyResolver implements PropertyResolver {
 
         // Handle basic project properties
         if ("version".equals(propertyType)) {
-            return project.getVersion();
+            return project.getEffectiveVersion();
         } else if ("groupId".equals(propertyType)) {
-            return project.getGroupId();
+            return project.getEffectiveGroupId();
         } else if ("artifactId".equals(propertyType)) {
             return project.getArtifactId();
         } else if ("name".equals(propertyType)) {
@@ -0,0 +1,276 @@
+package de.diedavids.mavguard.xml.repository;
+
+import de.diedavids.mavguard.cache.CacheFiles;
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.xml.model.XmlDependency;
+import de.diedavids.mavguard.xml.model.XmlProject;
+import de.diedavids.mavguard.xml.property.MavenPropertyResolver;
+import de.diedavids.mavguard.xml.property.PropertyResolver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves effective dependencyManagement sections into flattened {@link DependencyManagementTable}s,
+ * including inherited entries and BOM imports ({@code <type>pom</type>} with {@code <scope>import</scope>}).
+ * <p>
+ * A table contains the managed entries of a project and its parent chain, followed by the entries of the BOMs
+ * imported along the chain. As in Maven, the first entry for an artifact wins: explicit entries take precedence
+ * over imported ones, nearer declarations over inherited ones and earlier imports over later ones. Properties are
+ * resolved against the project declaring the entry, which lets children share their parent's table.
+ * <p>
+ * Every BOM is flattened once per resolver and shared by all importing projects. Only a BOM imported by another
+ * BOM while a different thread is still flattening it is flattened again instead of waiting for it, as two threads
+ * flattening BOMs that import each other would otherwise wait for each other forever. Flattened tables of
+ * released BOMs are also stored on disk as {@code boms/<groupId>/<artifactId>/<version>.tsv}, so large BOMs
+ * like {@code spring-boot-dependencies} are not parsed again on the next run. Tables that depend on a SNAPSHOT
+ * or on a BOM that could not be found are only kept in memory.
+ * <p>
+ * A BOM importing itself, directly or through other BOMs, is imported only once along the cycle. The skipped
+ * import is reported by {@link DependencyManagementTable#getImportCycles()} of the resulting table, and tables cut
+ * short by a cycle are neither shared nor cached, as they depend on where the cycle was entered.
+ */
+public class BomResolver {
+
+    private static final String SNAPSHOT_SUFFIX = "-SNAPSHOT";
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final int FIELD_COUNT = 5;
+    private static final int MAX_PARENT_DEPTH = 32;
+
+    private final ParentPomResolver pomResolver;
+    private final Path cacheDirectory;
+    private final PropertyResolver propertyResolver = new MavenPropertyResolver();
+    private final Map<String, CompletableFuture<Flattened>> boms = new ConcurrentHashMap<>();
+    /** Effective tables per project, weakly keyed by identity as XmlProject does not override equals */
+    private final Map<XmlProject, Effective> effectiveTables = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Creates a resolver that keeps flattened BOMs in memory only.
+     *
+     * @param pomResolver the resolver used to load BOM POMs and their parents
+     */
+    public BomResolver(ParentPomResolver pomResolver) {
+        this(pomResolver, null);
+    }
+
+    /**
+     * @param pomResolver the resolver used to load BOM POMs and their parents
+     * @param cacheDirectory the directory for flattened BOM tables, or null to keep them in memory only
+     */
+    public BomResolver(ParentPomResolver pomResolver, Path cacheDirectory) {
+        this.pomResolver = pomResolver;
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Resolves the flattened dependencyManagement of a BOM.
+     *
+     * @param groupId the group ID
+     * @param artifactId the artifact ID
+     * @param version the version
+     * @return the flattened table, empty if the BOM cannot be found
+     */
+    public DependencyManagementTable resolve(String groupId, String artifactId, String version) {
+        return resolve(groupId, artifactId, version, new HashSet<>()).table();
+    }
+
+    /**
+     * Returns the effective dependencyManagement of a project: its own entries and those inherited from its
+     * parent chain, followed by the entries of all BOMs imported along the chain. The nearest declaration wins.
+     * <p>
+     * Tables are computed once per project and reused for all of its children. A project without a
+     * dependencyManagement section of its own shares its parent's table instead of copying it.
+     *
+     * @param project the project, with its parent chain linked
+     * @return the effective dependencyManagement
+     */
+    public DependencyManagementTable resolveEffective(XmlProject project) {
+        return effective(project, new HashSet<>(), 0).table();
+    }
+
+    private Flattened resolve(String groupId, String artifactId, String version, Set<String> chain) {
+        String key = groupId + ":" + artifactId + ":" + version;
+        boolean nested = !chain.isEmpty();
+        if (!chain.add(key)) {
+            return new Flattened(new DependencyManagementTable.Builder().addImportCycle(key).build(), false);
+        }
+
+        CompletableFuture<Flattened> future = new CompletableFuture<>();
+        CompletableFuture<Flattened> existing = boms.putIfAbsent(key, future);
+        if (existing != null) {
+            if (nested && !existing.isDone()) {
+                // This thread may be flattening a BOM the other thread imports in turn, e.g. A importing B while
+                // another thread flattens B importing A. Waiting could deadlock, so the BOM is flattened again.
+                return load(groupId, artifactId, version, chain);
+            }
+            return existing.join();
+        }
+        Flattened flattened = Flattened.INCOMPLETE;
+        try {
+            flattened = load(groupId, artifactId, version, chain);
+        } finally {
+            // Completed even if loading failed, so waiting threads never block forever
+            future.complete(flattened);
+            if (isCutByCycle(flattened.table())) {
+                boms.remove(key, future);
+            }
+        }
+        return flattened;
+    }
+
+    private Flattened load(String groupId, String artifactId, String version, Set<String> chain) {
+        boolean cacheable = cacheDirectory != null && !version.endsWith(SNAPSHOT_SUFFIX)
+                && CachingPomSource.isPathSafe(groupId, artifactId, version);
+        if (cacheable) {
+            DependencyManagementTable cached = readCached(groupId, artifactId, version);
+            if (cached != null) {
+                return new Flattened(cached, true);
+            }
+        }
+
+        Flattened flattened = pomResolver.resolve(groupId, artifactId, version)
+                .map(bom -> effective(bom, chain, 0))
+                .map(effective -> new Flattened(effective.table(), effective.complete()))
+                .orElse(Flattened.INCOMPLETE);
+        if (cacheable && flattened.complete()) {
+            store(groupId, artifactId, version, flattened.table());
+        }
+        return flattened;
+    }
+
+    private Effective effective(XmlProject project, Set<String> chain, int depth) {
+        Effective cached = effectiveTables.get(project);
+        if (cached != null) {
+            return cached;
+        }
+        XmlProject parent = project.getParentProject();
+        Effective inherited = parent != null && depth < MAX_PARENT_DEPTH
+                ? effective(parent, chain, depth + 1)
+                : Effective.NONE;
+        Effective effective = declare(project, inherited, chain);
+        if (isCutByCycle(effective.table())) {
+            return effective;
+        }
+        Effective existing = effectiveTables.putIfAbsent(project, effective);
+        return existing != null ? existing : effective;
+    }
+
+    private static boolean isCutByCycle(DependencyManagementTable table) {
+        return !table.getImportCycles().isEmpty();
+    }
+
+    /**
+     * Adds the project's own dependencyManagement to the inherited one. Explicit entries of the whole chain take
+     * precedence over imported ones, as Maven applies imports only after inheritance.
+     */
+    private Effective declare(XmlProject project, Effective inherited, Set<String> chain) {
+        if (project.getDependencyManagement() == null || project.getDependencyManagement().getDependencies().isEmpty()) {
+            return inherited;
+        }
+
+        DependencyManagementTable.Builder explicit = new DependencyManagementTable.Builder();
+        DependencyManagementTable.Builder imported = new DependencyManagementTable.Builder();
+        boolean complete = inherited.complete();
+        for (XmlDependency dependency : project.getDependencyManagement().getDependencies()) {
+            Dependency managed = new Dependency(
+                    propertyResolver.resolveProperty(dependency.getGroupId(), project),
+                    propertyResolver.resolveProperty(dependency.getArtifactId(), project),
+                    propertyResolver.resolveProperty(dependency.getVersion(), project),
+                    dependency.getScope(),
+                    dependency.isOptional(),
+                    dependency.getType());
+            if (!dependency.isBomImport()) {
+                explicit.add(managed);
+            } else if (managed.groupId() == null || managed.artifactId() == null || managed.version() == null
+                    || propertyResolver.isPropertyPlaceholder(managed.version())) {
+                System.err.println("Cannot resolve BOM import " + managed.groupId() + ":" + managed.artifactId() + ":" + managed.version());
+                complete = false;
+            } else {
+                Flattened bom = resolve(managed.groupId(), managed.artifactId(), managed.version(), new HashSet<>(chain));
+                imported.addAll(bom.table());
+                complete &= bom.complete() && !managed.version().endsWith(SNAPSHOT_SUFFIX);
+            }
+        }
+        DependencyManagementTable explicitTable = explicit.addAll(inherited.explicit()).build();
+        DependencyManagementTable importedTable = imported.addAll(inherited.imported()).build();
+        DependencyManagementTable table = importedTable.isEmpty() && !isCutByCycle(importedTable)
+                ? explicitTable
+                : new DependencyManagementTable.Builder().addAll(explicitTable).addAll(importedTable).build();
+        return new Effective(explicitTable, importedTable, table, complete);
+    }
+
+    private DependencyManagementTable readCached(String groupId, String artifactId, String version) {
+        Path file = getCachePath(groupId, artifactId, version);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            DependencyManagementTable.Builder builder = new DependencyManagementTable.Builder();
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] fields = line.split(FIELD_SEPARATOR, -1);
+                if (fields.length != FIELD_COUNT) {
+                    // Truncated or written by another format, flatten the BOM again
+                    return null;
+                }
+                builder.add(new Dependency(field(fields[0]), field(fields[1]), field(fields[2]), field(fields[3]),
+                        null, field(fields[4])));
+            }
+            return builder.build();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void store(String groupId, String artifactId, String version, DependencyManagementTable table) {
+        StringBuilder content = new StringBuilder();
+        for (Dependency dependency : table.getEntries()) {
+            content.append(String.join(FIELD_SEPARATOR, value(dependency.groupId()), value(dependency.artifactId()),
+                    value(dependency.version()), value(dependency.scope()), value(dependency.type()))).append('\n');
+        }
+        try {
+            CacheFiles.writeAtomically(getCachePath(groupId, artifactId, version),
+                    content.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // The cache is an optimization, the table itself was flattened successfully
+            System.err.println("Error caching BOM " + groupId + ":" + artifactId + ":" + version + ": " + e.getMessage());
+        }
+    }
+
+    Path getCachePath(String groupId, String artifactId, String version) {
+        return cacheDirectory.resolve("boms").resolve(groupId).resolve(artifactId).resolve(version + ".tsv");
+    }
+
+    private static String value(String field) {
+        return field != null ? field : "";
+    }
+
+    private static String field(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * The effective dependencyManagement of a project, split into explicit and imported entries so that
+     * children can keep Maven's precedence, and whether it may be cached on disk.
+     */
+    private record Effective(DependencyManagementTable explicit, DependencyManagementTable imported,
+                             DependencyManagementTable table, boolean complete) {
+        static final Effective NONE = new Effective(DependencyManagementTable.EMPTY, DependencyManagementTable.EMPTY,
+                DependencyManagementTable.EMPTY, true);
+    }
+
+    /**
+     * A flattened table and whether it may be cached on disk.
+     */
+    private record Flattened(DependencyManagementTable table, boolean complete) {
+        static final Flattened INCOMPLETE = new Flattened(DependencyManagementTable.EMPTY, false);
+    }
+}
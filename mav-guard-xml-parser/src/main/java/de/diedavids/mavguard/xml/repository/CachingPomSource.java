@@ -0,0 +1,129 @@
+package de.diedavids.mavguard.xml.repository;
+
+import de.diedavids.mavguard.cache.CacheFiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Caches POMs of another source, typically a remote repository, in a content-addressed store on disk.
+ * <p>
+ * Released artifacts are immutable, so cached POMs are never revalidated. The store consists of
+ * <ul>
+ *     <li>{@code objects/<ab>/<sha-256>.pom}: the POM content, named by its SHA-256 hash,</li>
+ *     <li>{@code refs/<groupId>/<artifactId>/<version>}: the hash of the POM of that artifact version.</li>
+ * </ul>
+ * Entries are written to a temporary file and moved into place, so concurrent processes never read partial
+ * files. Content that does not match its hash is treated as a cache miss. SNAPSHOT versions are not cached.
+ */
+public class CachingPomSource implements PomSource {
+
+    private static final String SNAPSHOT_SUFFIX = "-SNAPSHOT";
+    private static final int SHA_256_HEX_LENGTH = 64;
+
+    private final PomSource delegate;
+    private final Path cacheDirectory;
+
+    public CachingPomSource(PomSource delegate, Path cacheDirectory) {
+        this.delegate = delegate;
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<InputStream> openPom(String groupId, String artifactId, String version) throws IOException {
+        if (!isPathSafe(groupId, artifactId, version)) {
+            return Optional.empty();
+        }
+        boolean cacheable = !version.endsWith(SNAPSHOT_SUFFIX);
+        if (cacheable) {
+            Optional<byte[]> cached = readCached(groupId, artifactId, version);
+            if (cached.isPresent()) {
+                return Optional.of(new ByteArrayInputStream(cached.get()));
+            }
+        }
+
+        Optional<InputStream> pom = delegate.openPom(groupId, artifactId, version);
+        if (pom.isEmpty() || !cacheable) {
+            return pom;
+        }
+        byte[] content;
+        try (InputStream inputStream = pom.get()) {
+            content = inputStream.readAllBytes();
+        }
+        try {
+            store(groupId, artifactId, version, content);
+        } catch (IOException e) {
+            // The cache is an optimization, the POM itself was fetched successfully
+            System.err.println("Error caching POM " + groupId + ":" + artifactId + ":" + version + ": " + e.getMessage());
+        }
+        return Optional.of(new ByteArrayInputStream(content));
+    }
+
+    private Optional<byte[]> readCached(String groupId, String artifactId, String version) throws IOException {
+        Path ref = getRefPath(groupId, artifactId, version);
+        if (!Files.isRegularFile(ref)) {
+            return Optional.empty();
+        }
+        String hash = Files.readString(ref, StandardCharsets.US_ASCII).trim();
+        if (hash.length() != SHA_256_HEX_LENGTH) {
+            return Optional.empty();
+        }
+        Path object = getObjectPath(hash);
+        if (!Files.isRegularFile(object)) {
+            return Optional.empty();
+        }
+        byte[] content = Files.readAllBytes(object);
+        return hash.equals(sha256(content)) ? Optional.of(content) : Optional.empty();
+    }
+
+    private void store(String groupId, String artifactId, String version, byte[] content) throws IOException {
+        String hash = sha256(content);
+        Path object = getObjectPath(hash);
+        if (!Files.isRegularFile(object)) {
+            CacheFiles.writeAtomically(object, content);
+        }
+        CacheFiles.writeAtomically(getRefPath(groupId, artifactId, version), hash.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Returns whether coordinates read from a POM can be used as path segments, i.e. none of them is empty,
+     * {@code .} or {@code ..}, or contains a path separator. Maven does not allow such coordinates, a POM
+     * declaring them must not make the cache read or write outside of its directory.
+     */
+    static boolean isPathSafe(String... coordinates) {
+        for (String coordinate : coordinates) {
+            if (coordinate == null || coordinate.isEmpty() || coordinate.equals(".") || coordinate.equals("..")
+                    || coordinate.indexOf('/') >= 0 || coordinate.indexOf('\\') >= 0 || coordinate.indexOf('\0') >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    Path getRefPath(String groupId, String artifactId, String version) {
+        return cacheDirectory.resolve("refs").resolve(groupId).resolve(artifactId).resolve(version);
+    }
+
+    Path getObjectPath(String hash) {
+        return cacheDirectory.resolve("objects").resolve(hash.substring(0, 2)).resolve(hash + ".pom");
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package de.diedavids.mavguard.xml.repository;
+
+import de.diedavids.mavguard.model.Dependency;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An effective, flattened dependencyManagement section: managed dependencies keyed by groupId:artifactId,
+ * with BOM imports already replaced by the entries they contribute. Tables are immutable and can be shared.
+ */
+public final class DependencyManagementTable {
+
+    public static final DependencyManagementTable EMPTY = new DependencyManagementTable(Map.of(), List.of());
+
+    private final Map<String, Dependency> entries;
+    private final List<String> importCycles;
+
+    private DependencyManagementTable(Map<String, Dependency> entries, List<String> importCycles) {
+        this.entries = entries;
+        this.importCycles = importCycles;
+    }
+
+    /**
+     * Looks up the managed entry of an artifact.
+     *
+     * @param groupId the group ID
+     * @param artifactId the artifact ID
+     * @return the managed dependency, or empty if the artifact is not managed
+     */
+    public Optional<Dependency> get(String groupId, String artifactId) {
+        return Optional.ofNullable(entries.get(groupId + ":" + artifactId));
+    }
+
+    /**
+     * Returns all managed dependencies in declaration order.
+     */
+    public Collection<Dependency> getEntries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Returns the coordinates of BOMs whose import was skipped because they import themselves, directly or through
+     * other BOMs. The entries of such a BOM are only contributed by its first import along the cycle.
+     */
+    public List<String> getImportCycles() {
+        return importCycles;
+    }
+
+    /**
+     * Collects entries in precedence order: the first entry for an artifact wins, as in Maven.
+     */
+    static final class Builder {
+
+        private final Map<String, Dependency> entries = new LinkedHashMap<>();
+        private final Set<String> importCycles = new LinkedHashSet<>();
+
+        Builder add(Dependency dependency) {
+            entries.putIfAbsent(dependency.groupId() + ":" + dependency.artifactId(), dependency);
+            return this;
+        }
+
+        Builder addAll(DependencyManagementTable table) {
+            table.entries.values().forEach(this::add);
+            importCycles.addAll(table.importCycles);
+            return this;
+        }
+
+        Builder addImportCycle(String coordinates) {
+            importCycles.add(coordinates);
+            return this;
+        }
+
+        DependencyManagementTable build() {
+            if (entries.isEmpty() && importCycles.isEmpty()) {
+                return EMPTY;
+            }
+            return new DependencyManagementTable(Collections.unmodifiableMap(entries), List.copyOf(importCycles));
+        }
+    }
+}
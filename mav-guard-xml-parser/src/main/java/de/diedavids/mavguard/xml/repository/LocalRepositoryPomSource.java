@@ -0,0 +1,72 @@
+package de.diedavids.mavguard.xml.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Loads POMs from a local Maven repository, using the repository layout
+ * {@code <groupId as path>/<artifactId>/<version>/<artifactId>-<version>.pom}.
+ */
+public class LocalRepositoryPomSource implements PomSource {
+
+    /** System property overriding the local repository location, as supported by Maven itself */
+    public static final String LOCAL_REPOSITORY_PROPERTY = "maven.repo.local";
+
+    private final Path repositoryRoot;
+
+    public LocalRepositoryPomSource(Path repositoryRoot) {
+        this.repositoryRoot = repositoryRoot;
+    }
+
+    /**
+     * Creates a source for the default local repository: the location given by {@value #LOCAL_REPOSITORY_PROPERTY},
+     * otherwise {@code ~/.m2/repository}.
+     *
+     * @return the POM source
+     */
+    public static LocalRepositoryPomSource fromDefaultLocation() {
+        String location = System.getProperty(LOCAL_REPOSITORY_PROPERTY);
+        if (location == null || location.isBlank()) {
+            return new LocalRepositoryPomSource(Path.of(System.getProperty("user.home"), ".m2", "repository"));
+        }
+        return new LocalRepositoryPomSource(Path.of(location));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<InputStream> openPom(String groupId, String artifactId, String version) throws IOException {
+        if (!CachingPomSource.isPathSafe(groupId, artifactId, version)) {
+            return Optional.empty();
+        }
+        Path pomFile = getPomPath(groupId, artifactId, version);
+        if (!Files.isRegularFile(pomFile)) {
+            return Optional.empty();
+        }
+        return Optional.of(Files.newInputStream(pomFile));
+    }
+
+    /**
+     * Returns the location of an artifact's POM in this repository, whether it exists or not.
+     *
+     * @param groupId the group ID
+     * @param artifactId the artifact ID
+     * @param version the version
+     * @return the path of the POM file
+     */
+    public Path getPomPath(String groupId, String artifactId, String version) {
+        Path artifactDirectory = repositoryRoot;
+        for (String segment : groupId.split("\\.")) {
+            artifactDirectory = artifactDirectory.resolve(segment);
+        }
+        return artifactDirectory.resolve(artifactId).resolve(version).resolve(artifactId + "-" + version + ".pom");
+    }
+
+    public Path getRepositoryRoot() {
+        return repositoryRoot;
+    }
+}
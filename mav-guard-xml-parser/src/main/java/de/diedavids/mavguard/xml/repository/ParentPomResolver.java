@@ -0,0 +1,204 @@
+package de.diedavids.mavguard.xml.repository;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.xml.XmlParser;
+import de.diedavids.mavguard.xml.model.XmlProject;
+import jakarta.xml.bind.JAXBException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves parent POMs that are not part of the parsed build, e.g. corporate parents or
+ * {@code spring-boot-starter-parent}, from a {@link PomSource}. The parent chain is resolved recursively,
+ * so properties of all ancestors are available through {@link XmlProject#getAllProperties()}.
+ * <p>
+ * Every parent is fetched and parsed at most once per resolver and shared between all children, keyed by
+ * groupId:artifactId:version. Concurrent requests for the same parent wait for the first one instead of parsing
+ * it again. Cached parents must therefore be treated as read-only by callers.
+ * <p>
+ * POMs are fetched on a small pool of daemon threads. {@link #prefetch(Collection)} uses it to fetch the chains
+ * of many parents concurrently, one level at a time, which hides the latency of remote sources.
+ */
+public class ParentPomResolver {
+
+    /** Default number of POMs fetched concurrently */
+    static final int DEFAULT_FETCH_CONCURRENCY = 8;
+
+    private final XmlParser xmlParser;
+    private final PomSource pomSource;
+    private final ThreadPoolExecutor fetchExecutor;
+    /** Parsed POMs whose own parent is not linked yet */
+    private final Map<String, CompletableFuture<Optional<XmlProject>>> fetchedPoms = new ConcurrentHashMap<>();
+    /** Parents with their whole chain linked */
+    private final Map<String, CompletableFuture<Optional<XmlProject>>> parents = new ConcurrentHashMap<>();
+    private final AtomicInteger parsedPoms = new AtomicInteger();
+
+    public ParentPomResolver(XmlParser xmlParser, PomSource pomSource) {
+        this(xmlParser, pomSource, DEFAULT_FETCH_CONCURRENCY);
+    }
+
+    public ParentPomResolver(XmlParser xmlParser, PomSource pomSource, int fetchConcurrency) {
+        this.xmlParser = xmlParser;
+        this.pomSource = pomSource;
+        this.fetchExecutor = new ThreadPoolExecutor(fetchConcurrency, fetchConcurrency, 30L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), Thread.ofPlatform().name("mav-guard-parent-", 1).daemon(true).factory());
+        // Idle threads go away, so short-lived resolvers do not need to be closed
+        this.fetchExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Resolves a parent POM including its own parent chain.
+     *
+     * @param parent the parent reference
+     * @return the parent project with its parent chain linked, or empty if the source does not have it
+     */
+    public Optional<XmlProject> resolve(XmlProject.XmlParent parent) {
+        return resolve(Gav.of(parent), new HashSet<>());
+    }
+
+    /**
+     * Resolves the POM of an artifact including its parent chain, e.g. an imported BOM.
+     * The POM is shared with children that use it as their parent.
+     *
+     * @param groupId the group ID
+     * @param artifactId the artifact ID
+     * @param version the version
+     * @return the project with its parent chain linked, or empty if the source does not have it
+     */
+    public Optional<XmlProject> resolve(String groupId, String artifactId, String version) {
+        return resolve(new Gav(groupId, artifactId, version), new HashSet<>());
+    }
+
+    /**
+     * Fetches the parent chains of the given parents concurrently, level by level: first all given parents,
+     * then all of their parents, and so on. Returns once every chain has been fetched, so that subsequent
+     * {@link #resolve(XmlProject.XmlParent)} calls only link already parsed POMs.
+     *
+     * @param parentReferences the parents to fetch, duplicates are fetched once
+     */
+    public void prefetch(Collection<XmlProject.XmlParent> parentReferences) {
+        prefetchLevels(parentReferences.stream().map(Gav::of).toList());
+    }
+
+    /**
+     * Fetches the POMs of the given artifacts and their parent chains concurrently, in the same way as
+     * {@link #prefetch(Collection)}. At most the configured fetch concurrency is in flight at any time.
+     *
+     * @param artifacts the artifacts whose POMs are needed next, duplicates are fetched once
+     */
+    public void prefetchArtifacts(Collection<Dependency> artifacts) {
+        prefetchLevels(artifacts.stream()
+                .map(artifact -> new Gav(artifact.groupId(), artifact.artifactId(), artifact.version()))
+                .toList());
+    }
+
+    private void prefetchLevels(List<Gav> firstLevel) {
+        Set<String> seen = new HashSet<>();
+        List<Gav> level = new ArrayList<>();
+        for (Gav gav : firstLevel) {
+            if (gav.isComplete() && seen.add(gav.key())) {
+                level.add(gav);
+            }
+        }
+        while (!level.isEmpty()) {
+            List<CompletableFuture<Optional<XmlProject>>> fetches = level.stream().map(this::fetch).toList();
+            List<Gav> nextLevel = new ArrayList<>();
+            for (CompletableFuture<Optional<XmlProject>> fetch : fetches) {
+                fetch.join()
+                        .map(XmlProject::getParent)
+                        .map(Gav::of)
+                        .filter(gav -> gav.isComplete() && seen.add(gav.key()))
+                        .ifPresent(nextLevel::add);
+            }
+            level = nextLevel;
+        }
+    }
+
+    /**
+     * Returns the number of POMs parsed so far, i.e. the number of distinct parents that were found.
+     */
+    public int getParsedPomCount() {
+        return parsedPoms.get();
+    }
+
+    private Optional<XmlProject> resolve(Gav gav, Set<String> chain) {
+        if (!gav.isComplete()) {
+            return Optional.empty();
+        }
+        if (!chain.add(gav.key())) {
+            System.err.println("Cyclic parent chain detected at " + gav.key());
+            return Optional.empty();
+        }
+
+        CompletableFuture<Optional<XmlProject>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<XmlProject>> existing = parents.putIfAbsent(gav.key(), future);
+        if (existing != null) {
+            return existing.join();
+        }
+        Optional<XmlProject> parentProject = Optional.empty();
+        try {
+            parentProject = fetch(gav).join();
+            // Link the chain before the project is published to other children
+            if (parentProject.isPresent() && parentProject.get().getParent() != null) {
+                resolve(Gav.of(parentProject.get().getParent()), chain)
+                        .ifPresent(parentProject.get()::setParentProject);
+            }
+        } finally {
+            // Completed even if loading failed, so waiting threads never block forever
+            future.complete(parentProject);
+        }
+        return parentProject;
+    }
+
+    private CompletableFuture<Optional<XmlProject>> fetch(Gav gav) {
+        return fetchedPoms.computeIfAbsent(gav.key(),
+                key -> CompletableFuture.supplyAsync(() -> load(gav), fetchExecutor));
+    }
+
+    private Optional<XmlProject> load(Gav gav) {
+        XmlProject project;
+        try {
+            Optional<InputStream> pom = pomSource.openPom(gav.groupId(), gav.artifactId(), gav.version());
+            if (pom.isEmpty()) {
+                return Optional.empty();
+            }
+            try (InputStream inputStream = pom.get()) {
+                project = xmlParser.parseXmlStream(inputStream, XmlProject.class);
+            }
+        } catch (IOException | JAXBException | RuntimeException e) {
+            System.err.println("Error reading POM " + gav.key() + ": " + e.getMessage());
+            return Optional.empty();
+        }
+        parsedPoms.incrementAndGet();
+        return Optional.of(project);
+    }
+
+    private record Gav(String groupId, String artifactId, String version) {
+
+        static Gav of(XmlProject.XmlParent parent) {
+            return new Gav(parent.getGroupId(), parent.getArtifactId(), parent.getVersion());
+        }
+
+        boolean isComplete() {
+            return groupId != null && artifactId != null && version != null;
+        }
+
+        String key() {
+            return groupId + ":" + artifactId + ":" + version;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package de.diedavids.mavguard.xml.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Interface for loading the POM of an artifact by its coordinates, e.g. from a Maven repository.
+ */
+public interface PomSource {
+
+    /**
+     * Opens the POM of the given artifact.
+     *
+     * @param groupId the group ID
+     * @param artifactId the artifact ID
+     * @param version the version
+     * @return a stream with the POM XML, to be closed by the caller, or empty if this source does not have the POM
+     * @throws IOException if the POM exists but cannot be read
+     */
+    Optional<InputStream> openPom(String groupId, String artifactId, String version) throws IOException;
+
+    /**
+     * Returns a source that asks the given fallback if this source does not have a POM.
+     *
+     * @param fallback the source to ask second
+     * @return the combined source
+     */
+    default PomSource orElse(PomSource fallback) {
+        return (groupId, artifactId, version) -> {
+            Optional<InputStream> pom = openPom(groupId, artifactId, version);
+            return pom.isPresent() ? pom : fallback.openPom(groupId, artifactId, version);
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package de.diedavids.mavguard.xml;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.xml.MultiModuleDependencyCollector.DependencyReport;
+import de.diedavids.mavguard.xml.MultiModuleDependencyCollector.VersionInconsistency;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the incremental maintenance of the dependency report
+ */
+public class IncrementalDependencyCollectorTest {
+
+    private static final String[] ARTIFACTS = {"slf4j-api", "guava", "junit", "jackson-core", "commons-lang3"};
+    private static final String[] VERSIONS = {"1.0", "1.1", "2.0"};
+
+    @Test
+    void testReportsChangesOfASingleModule() {
+        Project root = module("root", null, List.of(dependency("guava", "1.0")), List.of(dependency("junit", "1.0")));
+        Project api = module("api", "root", List.of(dependency("slf4j-api", "1.0")), List.of());
+        Project impl = module("impl", "root", List.of(dependency("slf4j-api", "1.0")), List.of());
+        IncrementalDependencyCollector collector = new IncrementalDependencyCollector();
+        collector.apply(List.of(), List.of(root, api, impl));
+
+        Project changedImpl = module("impl", "root", List.of(dependency("slf4j-api", "2.0"), dependency("jackson-core", "1.1")), List.of());
+        IncrementalDependencyCollector.ChangeSet changes = collector.moduleChanged(impl, changedImpl);
+
+        assertEquals(List.of(dependency("jackson-core", "1.1")), changes.addedDependencies());
+        assertEquals(List.of(new IncrementalDependencyCollector.DependencyChange(dependency("slf4j-api", "1.0"), dependency("slf4j-api", "2.0"))),
+                changes.changedDependencies());
+        assertEquals(1, changes.newInconsistencies().size());
+        assertEquals(Map.of("1.0", List.of("api"), "2.0", List.of("impl")), changes.newInconsistencies().get(0).getVersionToModules());
+        assertEquals(List.of("org.example:jackson-core"), changes.changedUsages());
+
+        changes = collector.moduleChanged(changedImpl, impl);
+
+        assertEquals(List.of(dependency("jackson-core", "1.1")), changes.removedDependencies());
+        assertEquals(List.of("org.example:slf4j-api"), changes.resolvedInconsistencies());
+        assertTrue(collector.moduleChanged(impl, impl).isEmpty());
+    }
+
+    @Test
+    void testMatchesBatchCollectionAfterEveryChange() {
+        Random random = new Random(42);
+        List<Project> projects = new ArrayList<>();
+        projects.add(randomModule(random, "root", null));
+        for (int index = 0; index < 12; index++) {
+            projects.add(randomModule(random, "module" + index, projects.get(random.nextInt(projects.size())).artifactId()));
+        }
+        IncrementalDependencyCollector collector = new IncrementalDependencyCollector();
+        collector.apply(List.of(), projects);
+        assertSameReport(projects, collector);
+
+        int nextModule = projects.size();
+        for (int step = 0; step < 300; step++) {
+            int operation = random.nextInt(10);
+            if (operation < 6) {
+                // Change the dependencies of a module
+                int index = random.nextInt(projects.size());
+                Project previous = projects.get(index);
+                Project current = randomModule(random, previous.artifactId(), previous.hasParent() ? previous.parent().artifactId() : null);
+                projects.set(index, current);
+                collector.moduleChanged(previous, current);
+            } else if (operation < 8) {
+                Project added = randomModule(random, "module" + nextModule++, projects.get(random.nextInt(projects.size())).artifactId());
+                projects.add(added);
+                collector.moduleAdded(added);
+            } else if (operation < 9 && projects.size() > 1) {
+                collector.moduleRemoved(projects.remove(1 + random.nextInt(projects.size() - 1)));
+            } else {
+                // Move a module to another parent, possibly outside the reactor
+                int index = 1 + random.nextInt(projects.size() - 1);
+                Project previous = projects.get(index);
+                Project current = randomModule(random, previous.artifactId(), random.nextBoolean() ? "external" : "root");
+                projects.set(index, current);
+                collector.moduleChanged(previous, current);
+            }
+            assertSameReport(projects, collector);
+        }
+    }
+
+    private static void assertSameReport(List<Project> projects, IncrementalDependencyCollector collector) {
+        DependencyReport expected = new MultiModuleDependencyCollector().collectDependencies(projects);
+        DependencyReport actual = collector.getReport();
+
+        assertEquals(new HashSet<>(expected.getConsolidatedDependencies()), new HashSet<>(actual.getConsolidatedDependencies()));
+        assertEquals(expected.getConsolidatedDependencies().size(), actual.getConsolidatedDependencies().size());
+        assertEquals(inconsistencies(expected), inconsistencies(actual));
+        assertEquals(expected.getDependencyUsageByModule(), actual.getDependencyUsageByModule());
+    }
+
+    private static Map<String, Map<String, List<String>>> inconsistencies(DependencyReport report) {
+        Map<String, Map<String, List<String>>> inconsistencies = new LinkedHashMap<>();
+        for (VersionInconsistency inconsistency : report.getVersionInconsistencies()) {
+            inconsistencies.put(inconsistency.getDependencyCoordinate(), inconsistency.getVersionToModules());
+        }
+        return inconsistencies;
+    }
+
+    private static Project randomModule(Random random, String artifactId, String parentArtifactId) {
+        List<Dependency> dependencies = new ArrayList<>();
+        List<Dependency> managed = new ArrayList<>();
+        for (String artifact : ARTIFACTS) {
+            int choice = random.nextInt(6);
+            String version = VERSIONS[random.nextInt(VERSIONS.length)];
+            if (choice == 0) {
+                dependencies.add(dependency(artifact, version));
+            } else if (choice == 1) {
+                managed.add(dependency(artifact, version));
+            } else if (choice == 2) {
+                dependencies.add(dependency(artifact, null));
+            }
+        }
+        return module(artifactId, parentArtifactId, dependencies, managed);
+    }
+
+    private static Project module(String artifactId, String parentArtifactId, List<Dependency> dependencies, List<Dependency> managed) {
+        Project.Parent parent = parentArtifactId != null
+                ? new Project.Parent("com.example", parentArtifactId, "1.0.0", null)
+                : null;
+        return new Project("com.example", artifactId, "1.0.0", "jar", null, dependencies,
+                managed.isEmpty() ? null : new Project.DependencyManagement(managed), null, Map.of(), parent, List.of(), null);
+    }
+
+    private static Dependency dependency(String artifactId, String version) {
+        return new Dependency("org.example", artifactId, version, null, null, null);
+    }
+}
@@ -0,0 +1,71 @@
+package de.diedavids.mavguard.xml;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the topological levels of the module graph
+ */
+public class ModuleDagTest {
+
+    /** The sample layout: moduleB depends on moduleA, submoduleD on moduleC, all modules inherit from root */
+    private static final Map<String, List<String>> SAMPLE_UPSTREAM = Map.of(
+            "root", List.of("org.springframework.boot:spring-boot-starter-parent"),
+            "moduleA", List.of("root"),
+            "moduleB", List.of("root", "moduleA", "org.slf4j:slf4j-api"),
+            "moduleC", List.of("root"),
+            "submoduleD", List.of("moduleC"));
+
+    @Test
+    void testSortsModulesIntoTopologicalLevels() {
+        ModuleDag<String> dag = new ModuleDag<>(List.of("moduleB", "submoduleD", "root", "moduleA", "moduleC"),
+                module -> module, SAMPLE_UPSTREAM::get);
+
+        assertEquals(List.of(List.of("root"), List.of("moduleA", "moduleC"), List.of("moduleB", "submoduleD")),
+                dag.getLevels());
+        assertFalse(dag.hasCycles());
+    }
+
+    @Test
+    void testReportsModulesOnAndBehindCycles() {
+        Map<String, List<String>> upstream = Map.of(
+                "a", List.of("b"),
+                "b", List.of("a"),
+                "c", List.of("b"),
+                "d", List.of("d"));
+
+        ModuleDag<String> dag = new ModuleDag<>(List.of("a", "b", "c", "d"), module -> module, upstream::get);
+
+        // A self-reference is not a cycle
+        assertEquals(List.of(List.of("d")), dag.getLevels());
+        assertEquals(List.of("a", "b", "c"), dag.getCyclicModules());
+    }
+
+    @Test
+    void testRunsEveryModuleAfterItsUpstreamModules() {
+        ModuleDag<String> dag = new ModuleDag<>(List.of("root", "moduleA", "moduleB", "moduleC", "submoduleD"),
+                module -> module, SAMPLE_UPSTREAM::get);
+        Set<String> done = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        Set<String> violations = Collections.synchronizedSet(new HashSet<>());
+
+        dag.forEachLevel(module -> {
+            for (String upstream : SAMPLE_UPSTREAM.get(module)) {
+                if (SAMPLE_UPSTREAM.containsKey(upstream) && !done.contains(upstream)) {
+                    violations.add(module + " before " + upstream);
+                }
+            }
+            done.add(module);
+        });
+
+        assertEquals(SAMPLE_UPSTREAM.keySet(), done);
+        assertTrue(violations.isEmpty(), violations.toString());
+    }
+}
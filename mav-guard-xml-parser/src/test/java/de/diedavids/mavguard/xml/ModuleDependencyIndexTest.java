@@ -0,0 +1,70 @@
+package de.diedavids.mavguard.xml;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.Project;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the reverse-dependency index over the modules of a build
+ */
+public class ModuleDependencyIndexTest {
+
+    @Test
+    void testAffectedModulesFollowModuleDependenciesAndInheritance() {
+        Project root = module("com.example", "root", null,
+                new Project.DependencyManagement(List.of(dependency("junit", "junit", "4.13.2"))));
+        Project core = module("com.example", "core", null, null, dependency("org.slf4j", "slf4j-api", "2.0.13"));
+        Project service = module("com.example", "service", parentOf(root), null, dependency("com.example", "core", "1.0.0"));
+        Project web = module("com.example", "web", null, null, dependency("com.example", "service", "1.0.0"));
+        Project tool = module("com.example", "tool", parentOf(root), null);
+        ModuleDependencyIndex index = new ModuleDependencyIndex(List.of(root, core, service, web, tool));
+
+        assertEquals(bits(1), index.getDeclaringModules("org.slf4j", "slf4j-api"));
+        assertEquals(bits(1, 2, 3), index.getAffectedModules("org.slf4j", "slf4j-api"));
+        // A managed version in the parent affects every child, and their dependents
+        assertEquals(bits(0, 2, 3, 4), index.getAffectedModules("junit", "junit"));
+        assertEquals(bits(0, 2, 3, 4), index.getAffectedModules("com.example", "root"));
+        assertTrue(index.getAffectedModules("org.example", "unused").isEmpty());
+    }
+
+    @Test
+    void testModulesWithSameArtifactIdInDifferentGroupsDoNotCollide() {
+        Project api = module("com.example", "api", null, null, dependency("org.slf4j", "slf4j-api", "2.0.13"));
+        Project otherApi = module("com.other", "api", null, null);
+        Project client = module("com.other", "client", null, null, dependency("com.other", "api", "1.0.0"));
+        ModuleDependencyIndex index = new ModuleDependencyIndex(List.of(api, otherApi, client, api));
+
+        assertEquals(3, index.getModules().size());
+        assertEquals(bits(0), index.getAffectedModules("org.slf4j", "slf4j-api"));
+        assertEquals(bits(1, 2), index.getAffectedModules("com.other", "api"));
+        assertEquals(1, index.getModuleGraph().getEdgeCount());
+    }
+
+    private static Project.Parent parentOf(Project project) {
+        return new Project.Parent(project.groupId(), project.artifactId(), project.version(), null);
+    }
+
+    private static Project module(String groupId, String artifactId, Project.Parent parent,
+                                  Project.DependencyManagement dependencyManagement, Dependency... dependencies) {
+        return new Project(groupId, artifactId, "1.0.0", "jar", null, List.of(dependencies), dependencyManagement,
+                null, Map.of(), parent, List.of(), null);
+    }
+
+    private static Dependency dependency(String groupId, String artifactId, String version) {
+        return new Dependency(groupId, artifactId, version, null, null, null);
+    }
+
+    private static BitSet bits(int... modules) {
+        BitSet bits = new BitSet();
+        for (int module : modules) {
+            bits.set(module);
+        }
+        return bits;
+    }
+}
@@ -11,8 +11,10 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -73,6 +75,73 @@ public class MultiModulePomParserTest {
         assertEquals("multi-module-parent", module2.parent().artifactId());
     }
 
+    @Test
+    void testParseMultiModuleProjectHandsOverProjectsWhileParsing() throws JAXBException {
+        // Given
+        CountingXmlParser xmlParser = new CountingXmlParser();
+        PomParser parser = new PomParser(xmlParser);
+        List<String> handedOver = new ArrayList<>();
+        List<Integer> parsedFilesAtHandOver = new ArrayList<>();
+
+        // When
+        List<Project> projects = parser.parseMultiModuleProject(rootPomPath.toFile(), project -> {
+            handedOver.add(project.artifactId());
+            parsedFilesAtHandOver.add(xmlParser.parsedFiles.get());
+        });
+
+        // Then
+        assertEquals(List.of("multi-module-parent", "module1", "module2"), handedOver);
+        // Each project is handed over right after its own POM was parsed, before the next module is read
+        assertEquals(List.of(1, 2, 3), parsedFilesAtHandOver);
+        assertEquals(handedOver, projects.stream().map(Project::artifactId).toList());
+        assertEquals("multi-module-parent", projects.get(1).parent().artifactId());
+        assertEquals(pomParser.parseMultiModuleProject(rootPomPath.toFile()), projects);
+    }
+
+    @Test
+    void testProjectWithParentPomOutsideReactorIsHandedOverAfterParsing() throws IOException, JAXBException {
+        // Given
+        Path companyDir = Files.createDirectories(tempDir.resolve("company-parent"));
+        Files.writeString(companyDir.resolve("pom.xml"), """
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>company-parent</artifactId>
+                    <version>1.0.0</version>
+                    <packaging>pom</packaging>
+                </project>
+                """);
+        Path appDir = Files.createDirectories(tempDir.resolve("app"));
+        Files.writeString(appDir.resolve("pom.xml"), """
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                    <parent>
+                        <groupId>com.example</groupId>
+                        <artifactId>company-parent</artifactId>
+                        <version>1.0.0</version>
+                        <relativePath>../company-parent/pom.xml</relativePath>
+                    </parent>
+                    <artifactId>app</artifactId>
+                    <packaging>pom</packaging>
+                </project>
+                """);
+        CountingXmlParser xmlParser = new CountingXmlParser();
+        PomParser parser = new PomParser(xmlParser);
+        List<String> handedOver = new ArrayList<>();
+
+        // When
+        List<Project> projects = parser.parseMultiModuleProject(appDir.resolve("pom.xml").toFile(), project -> {
+            // The parent POM file exists on disk, so app is only final once it has been loaded
+            assertEquals(2, xmlParser.parsedFiles.get());
+            handedOver.add(project.artifactId());
+        });
+
+        // Then
+        assertEquals(List.of("app", "company-parent"), handedOver);
+        assertEquals("com.example", projects.get(0).groupId());
+        assertEquals("1.0.0", projects.get(0).version());
+    }
+
     @Test
     void testPropertyInheritance() throws JAXBException {
         // Parse the multi-module project
@@ -256,4 +325,15 @@ public class MultiModulePomParserTest {
         Files.writeString(pomPath, pomContent);
         return pomPath;
     }
-}
\ No newline at end of file
+
+    private static class CountingXmlParser extends XmlParser {
+
+        private final AtomicInteger parsedFiles = new AtomicInteger();
+
+        @Override
+        public <T> T parseXmlFile(File xmlFile, Class<T> type) throws JAXBException {
+            parsedFiles.incrementAndGet();
+            return super.parseXmlFile(xmlFile, type);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package de.diedavids.mavguard.xml;
+
+import de.diedavids.mavguard.model.Project;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the workspace scan of PomDirectoryScanner
+ */
+public class PomDirectoryScannerTest {
+
+    private PomDirectoryScanner scanner;
+
+    @TempDir
+    Path workspace;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        scanner = new PomDirectoryScanner(new PomParser(), 4);
+
+        writePom("platform", "platform-parent", null, "1.7.32");
+        writePom("services/orders", "orders", "platform-parent", "1.7.30");
+        writePom("services/billing", "billing", "platform-parent", null);
+        writePom("services/orders/target/classes", "copied-by-build", null, null);
+        writePom("web/node_modules/some-package", "node-package", null, null);
+        writePom("legacy/old-service", "old-service", null, null);
+    }
+
+    @Test
+    void testFindsPomFilesAndSkipsBuildDirectories() {
+        List<Path> pomFiles = scanner.findPomFiles(workspace, List.of());
+
+        List<String> relativePaths = pomFiles.stream()
+                .map(pomFile -> workspace.relativize(pomFile).toString().replace('\\', '/'))
+                .toList();
+        assertEquals(List.of(
+                "legacy/old-service/pom.xml",
+                "platform/pom.xml",
+                "services/billing/pom.xml",
+                "services/orders/pom.xml"), relativePaths);
+    }
+
+    @Test
+    void testHonoursIgnorePatterns() {
+        List<Path> pomFiles = scanner.findPomFiles(workspace, List.of("legacy/**", "services/billing"));
+
+        assertEquals(2, pomFiles.size());
+        assertTrue(pomFiles.stream().noneMatch(pomFile -> pomFile.toString().contains("legacy")));
+        assertTrue(pomFiles.stream().noneMatch(pomFile -> pomFile.toString().contains("billing")));
+    }
+
+    @Test
+    void testScanLinksParentsAndReportsInconsistenciesAcrossProjects() {
+        List<Project> projects = scanner.scan(workspace, List.of("legacy"));
+
+        assertEquals(3, projects.size());
+        Project billing = projects.stream()
+                .filter(project -> project.artifactId().equals("billing"))
+                .findFirst()
+                .orElseThrow();
+        // The platform parent is found in the same workspace and its properties are inherited
+        assertEquals("1.7.32", billing.properties().get("slf4j.version"));
+
+        MultiModuleDependencyCollector.DependencyReport report = new MultiModuleDependencyCollector().collectDependencies(projects);
+        assertTrue(report.hasVersionInconsistencies());
+        assertEquals("org.slf4j:slf4j-api", report.getVersionInconsistencies().get(0).getDependencyCoordinate());
+    }
+
+    @Test
+    void testRejectsFileAsScanRoot() {
+        Path pomFile = workspace.resolve("platform/pom.xml");
+
+        assertThrows(IllegalArgumentException.class, () -> scanner.scan(pomFile, List.of()));
+    }
+
+    private void writePom(String directory, String artifactId, String parentArtifactId, String slf4jVersion) throws IOException {
+        Path projectDirectory = Files.createDirectories(workspace.resolve(directory));
+        StringBuilder pom = new StringBuilder("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                """);
+        if (parentArtifactId != null) {
+            pom.append("""
+                    <parent>
+                        <groupId>com.example</groupId>
+                        <artifactId>%s</artifactId>
+                        <version>1.0.0</version>
+                        <relativePath/>
+                    </parent>
+                """.formatted(parentArtifactId));
+        }
+        pom.append("""
+                    <groupId>com.example</groupId>
+                    <artifactId>%s</artifactId>
+                    <version>1.0.0</version>
+                """.formatted(artifactId));
+        if (parentArtifactId == null && slf4jVersion != null) {
+            pom.append("""
+                    <properties>
+                        <slf4j.version>%s</slf4j.version>
+                    </properties>
+                """.formatted(slf4jVersion));
+        }
+        if (slf4jVersion != null) {
+            pom.append("""
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.slf4j</groupId>
+                            <artifactId>slf4j-api</artifactId>
+                            <version>%s</version>
+                        </dependency>
+                    </dependencies>
+                """.formatted(parentArtifactId != null ? slf4jVersion : "${slf4j.version}"));
+        }
+        pom.append("</project>\n");
+        Files.writeString(projectDirectory.resolve("pom.xml"), pom.toString());
+    }
+}
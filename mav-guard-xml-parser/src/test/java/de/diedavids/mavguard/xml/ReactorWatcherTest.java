@@ -0,0 +1,135 @@
+package de.diedavids.mavguard.xml;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.Project;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static de.diedavids.mavguard.xml.TestFixtures.writePom;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the incremental re-parsing of ReactorWatcher
+ */
+public class ReactorWatcherTest {
+
+    @TempDir
+    Path reactor;
+
+    private ReactorWatcher watcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        writeRoot("2.0.13", "api", "impl");
+        writeModule("api", "<version>${slf4j.version}</version>");
+        writeModule("impl", "<version>1.7.30</version>");
+
+        PomParser pomParser = new PomParser();
+        watcher = new ReactorWatcher(pomParser, reactor.resolve("pom.xml").toFile(),
+                pomParser.parseMultiModuleProject(reactor.resolve("pom.xml").toFile()));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        watcher.close();
+    }
+
+    @Test
+    void testReparsesChangedParentAndItsChildren() throws Exception {
+        writeRoot("2.0.16", "api", "impl");
+
+        ReactorWatcher.Update update = watcher.update(List.of(reactor.resolve("pom.xml")));
+
+        assertFalse(update.reactorReparsed());
+        assertEquals(3, update.parsedModuleCount());
+        // impl does not use the property, but inherits it
+        assertEquals(List.of("root", "api", "impl"), update.addedProjects().stream().map(Project::artifactId).toList());
+        assertEquals("2.0.16", update.addedProjects().get(2).properties().get("slf4j.version"));
+        assertEquals("2.0.16", dependencyVersion(watcher.getProjects().get(1)));
+        assertEquals("1.7.30", dependencyVersion(watcher.getProjects().get(2)));
+    }
+
+    @Test
+    void testReparsesOnlyTheChangedLeafModule() throws Exception {
+        writeModule("impl", "<version>2.0.13</version>");
+
+        ReactorWatcher.Update update = watcher.update(List.of(reactor.resolve("impl/../impl/pom.xml")));
+
+        assertEquals(1, update.parsedModuleCount());
+        assertEquals(List.of("impl"), update.addedProjects().stream().map(Project::artifactId).toList());
+        assertEquals("2.0.13", dependencyVersion(watcher.getProjects().get(2)));
+        // The api module was not parsed again
+        assertFalse(update.removedProjects().stream().anyMatch(project -> project.artifactId().equals("api")));
+    }
+
+    @Test
+    void testReparsesReactorWhenModulesChange() throws Exception {
+        writeModule("web", "<version>2.0.9</version>");
+        writeRoot("2.0.13", "api", "impl", "web");
+
+        ReactorWatcher.Update update = watcher.update(List.of(reactor.resolve("pom.xml")));
+
+        assertTrue(update.reactorReparsed());
+        assertEquals(4, watcher.getProjects().size());
+        assertEquals(4, watcher.getWatchedDirectoryCount());
+        assertTrue(update.addedProjects().stream().anyMatch(project -> project.artifactId().equals("web")));
+    }
+
+    @Test
+    void testIgnoresFilesOutsideTheReactor() throws Exception {
+        ReactorWatcher.Update update = watcher.update(List.of(reactor.resolve("other/pom.xml")));
+
+        assertTrue(update.changedPomFiles().isEmpty());
+        assertFalse(update.hasChanges());
+    }
+
+    @Test
+    void testReportsSavedPomFiles() throws Exception {
+        writeModule("impl", "<version>2.0.13</version>");
+
+        Set<Path> changed = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> watcher.awaitChanges());
+
+        assertEquals(Set.of(reactor.resolve("impl/pom.xml")), changed);
+    }
+
+    private static String dependencyVersion(Project project) {
+        return project.dependencies().stream().map(Dependency::version).findFirst().orElseThrow();
+    }
+
+    private void writeRoot(String slf4jVersion, String... modules) throws IOException {
+        StringBuilder moduleElements = new StringBuilder();
+        for (String module : modules) {
+            moduleElements.append("<module>").append(module).append("</module>");
+        }
+        writePom(reactor.resolve("pom.xml"), """
+                <groupId>com.example</groupId>
+                <artifactId>root</artifactId>
+                <version>1.0.0</version>
+                <packaging>pom</packaging>
+                <properties><slf4j.version>%s</slf4j.version></properties>
+                <modules>%s</modules>
+                """.formatted(slf4jVersion, moduleElements));
+    }
+
+    private void writeModule(String artifactId, String version) throws IOException {
+        writePom(reactor.resolve(artifactId).resolve("pom.xml"), """
+                <parent>
+                    <groupId>com.example</groupId>
+                    <artifactId>root</artifactId>
+                    <version>1.0.0</version>
+                </parent>
+                <artifactId>%s</artifactId>
+                <dependencies>
+                    <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId>%s</dependency>
+                </dependencies>
+                """.formatted(artifactId, version));
+    }
+}
@@ -0,0 +1,42 @@
+package de.diedavids.mavguard.xml;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Shared helpers for tests that write POM files and read JSON command output.
+ * Published with the test-jar of this module so the CLI tests can use them as well.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    /**
+     * Writes a POM with the given body inside the project element, creating missing directories.
+     */
+    public static Path writePom(Path pomFile, String body) throws IOException {
+        Files.createDirectories(pomFile.toAbsolutePath().getParent());
+        return Files.writeString(pomFile, """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                %s</project>
+                """.formatted(body));
+    }
+
+    /**
+     * Parses one line of JSON output, failing the test if it is not valid JSON.
+     */
+    public static JsonNode readTree(ObjectMapper mapper, String line) {
+        try {
+            return mapper.readTree(line);
+        } catch (IOException e) {
+            throw new AssertionError("Not a JSON line: " + line, e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package de.diedavids.mavguard.xml;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.DependencyGraph;
+import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.xml.repository.BomResolver;
+import de.diedavids.mavguard.xml.repository.LocalRepositoryPomSource;
+import de.diedavids.mavguard.xml.repository.ParentPomResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for resolving transitive dependency graphs from a local repository
+ */
+public class TransitiveDependencyResolverTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LocalRepositoryPomSource pomSource;
+    private TransitiveDependencyResolver resolver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pomSource = new LocalRepositoryPomSource(tempDir);
+        ParentPomResolver pomResolver = new ParentPomResolver(new XmlParser(), pomSource);
+        resolver = new TransitiveDependencyResolver(pomResolver, new BomResolver(pomResolver));
+
+        installPom("org.example", "web", "1", """
+                <properties><core.version>2</core.version></properties>
+                <dependencies>
+                    <dependency><groupId>org.example</groupId><artifactId>core</artifactId><version>${core.version}</version></dependency>
+                    <dependency><groupId>org.example</groupId><artifactId>logging</artifactId><version>1</version><exclusions>
+                        <exclusion><groupId>commons-logging</groupId><artifactId>*</artifactId></exclusion>
+                    </exclusions></dependency>
+                    <dependency><groupId>junit</groupId><artifactId>junit</artifactId><version>4.13.2</version><scope>test</scope></dependency>
+                    <dependency><groupId>org.example</groupId><artifactId>extras</artifactId><version>1</version><optional>true</optional></dependency>
+                </dependencies>
+                """);
+        installPom("org.example", "data", "1", """
+                <dependencies>
+                    <dependency><groupId>org.example</groupId><artifactId>core</artifactId><version>1</version></dependency>
+                </dependencies>
+                """);
+        installPom("org.example", "core", "1", "");
+        installPom("org.example", "core", "2", """
+                <dependencies>
+                    <dependency><groupId>org.example</groupId><artifactId>util</artifactId><version>3</version><scope>runtime</scope></dependency>
+                </dependencies>
+                """);
+        installPom("org.example", "util", "3", "");
+        installPom("org.example", "util", "4", "");
+        installPom("org.example", "logging", "1", """
+                <dependencies>
+                    <dependency><groupId>commons-logging</groupId><artifactId>commons-logging</artifactId><version>1.2</version></dependency>
+                </dependencies>
+                """);
+    }
+
+    @Test
+    void testNearestDeclarationWinsAndConflictsAreReported() {
+        TransitiveDependencies graph = resolver.resolve(project(null,
+                dependency("web", "1"), dependency("data", "1")));
+
+        assertEquals(List.of("web:1", "data:1", "core:2", "logging:1", "util:3"),
+                graph.getDependencies().stream().map(d -> d.artifactId() + ":" + d.version()).toList());
+        assertEquals(2, graph.getDirectCount());
+        assertEquals(3, graph.getMaxDepth());
+        assertEquals(List.of("web", "core", "util"),
+                graph.getPath(4).stream().map(Dependency::artifactId).toList());
+        assertEquals("runtime", graph.getDependency(4).scope());
+
+        assertEquals(1, graph.getConflicts().size());
+        TransitiveDependencies.Conflict conflict = graph.getConflicts().get(0);
+        assertEquals("2", conflict.selectedVersion());
+        assertEquals("1", conflict.omittedVersion());
+        assertEquals("org.example:data:1", conflict.requestedBy());
+        assertTrue(graph.getUnresolved().isEmpty());
+
+        // The full graph keeps the edge of the omitted request, pointing to the selected version
+        DependencyGraph edges = graph.getGraph();
+        assertEquals(graph.size(), edges.getNodeCount());
+        int core = edges.indexOf("org.example", "core", "2");
+        assertEquals(2, edges.getDependentCount(core));
+        assertEquals(3, edges.dependentsOf(edges.indexOf("org.example", "util", "3")).cardinality() - 1);
+    }
+
+    @Test
+    void testManagedVersionsOfProjectOverrideTransitiveVersions() {
+        Project.DependencyManagement management = new Project.DependencyManagement(List.of(dependency("util", "4")));
+
+        TransitiveDependencies graph = resolver.resolve(project(management, dependency("web", "1")));
+
+        assertEquals("4", graph.getDependencies().stream()
+                .filter(d -> "util".equals(d.artifactId())).findFirst().orElseThrow().version());
+    }
+
+    @Test
+    void testReportsArtifactsWithoutPom() {
+        TransitiveDependencies graph = resolver.resolve(project(null, dependency("missing", "1")));
+
+        assertEquals(1, graph.size());
+        assertEquals(List.of("org.example:missing:1"), graph.getUnresolved());
+    }
+
+    private static Project project(Project.DependencyManagement management, Dependency... dependencies) {
+        return new Project("org.example", "app", "1.0.0", "jar", null, List.of(dependencies), management, null, Map.of());
+    }
+
+    private static Dependency dependency(String artifactId, String version) {
+        return new Dependency("org.example", artifactId, version, null, null, null);
+    }
+
+    private void installPom(String groupId, String artifactId, String version, String body) throws IOException {
+        Path pomFile = pomSource.getPomPath(groupId, artifactId, version);
+        Files.createDirectories(pomFile.getParent());
+        Files.writeString(pomFile, """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>%s</groupId>
+                    <artifactId>%s</artifactId>
+                    <version>%s</version>
+                """.formatted(groupId, artifactId, version) + body + "</project>\n");
+    }
+}
@@ -27,9 +27,12 @@ class MavenPropertyResolverTest {
         when(mockProject.getGroupId()).thenReturn("com.example");
         when(mockProject.getArtifactId()).thenReturn("example-project");
         when(mockProject.getVersion()).thenReturn("1.0.0");
+        when(mockProject.getEffectiveGroupId()).thenReturn("com.example");
+        when(mockProject.getEffectiveVersion()).thenReturn("1.0.0");
         when(mockProject.getName()).thenReturn("Example Project");
         when(mockProject.getPackaging()).thenReturn("jar");
         when(mockProject.getProperties()).thenReturn(properties);
+        when(mockProject.getAllProperties()).thenReturn(properties);
     }
     
     private void addProperty(String name, String value) {
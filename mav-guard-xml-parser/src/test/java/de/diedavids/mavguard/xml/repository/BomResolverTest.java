@@ -0,0 +1,323 @@
+package de.diedavids.mavguard.xml.repository;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.xml.PomParser;
+import de.diedavids.mavguard.xml.XmlParser;
+import de.diedavids.mavguard.xml.model.XmlProject;
+import jakarta.xml.bind.JAXBException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for flattening imported BOMs into effective dependencyManagement tables
+ */
+public class BomResolverTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LocalRepositoryPomSource pomSource;
+    private Path cacheDirectory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pomSource = new LocalRepositoryPomSource(tempDir.resolve("repository"));
+        cacheDirectory = tempDir.resolve("cache");
+
+        installPom("com.fasterxml.jackson", "jackson-bom", "2.17.0", """
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>${project.groupId}.core</groupId><artifactId>jackson-databind</artifactId><version>${project.version}</version></dependency>
+                    <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId><version>1.7.36</version></dependency>
+                </dependencies></dependencyManagement>
+                """);
+        installPom("org.example", "platform-parent", "1", """
+                <properties><slf4j.version>2.0.13</slf4j.version></properties>
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>junit</groupId><artifactId>junit</artifactId><version>4.13.2</version><scope>test</scope></dependency>
+                </dependencies></dependencyManagement>
+                """);
+        installPom("org.example", "platform-bom", "1", """
+                <parent><groupId>org.example</groupId><artifactId>platform-parent</artifactId><version>1</version></parent>
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId><version>${slf4j.version}</version></dependency>
+                    <dependency><groupId>com.fasterxml.jackson</groupId><artifactId>jackson-bom</artifactId><version>2.17.0</version><type>pom</type><scope>import</scope></dependency>
+                </dependencies></dependencyManagement>
+                """);
+    }
+
+    @Test
+    void testFlattensImportsAndParentChain() {
+        BomResolver bomResolver = new BomResolver(new ParentPomResolver(new XmlParser(), pomSource), cacheDirectory);
+
+        DependencyManagementTable table = bomResolver.resolve("org.example", "platform-bom", "1");
+
+        assertEquals(3, table.size());
+        // Explicit entries win over imported ones, properties resolve against the BOM's parent chain
+        assertEquals("2.0.13", table.get("org.slf4j", "slf4j-api").map(Dependency::version).orElseThrow());
+        assertEquals("2.17.0", table.get("com.fasterxml.jackson.core", "jackson-databind").map(Dependency::version).orElseThrow());
+        assertEquals("test", table.get("junit", "junit").map(Dependency::scope).orElseThrow());
+        assertTrue(table.get("com.fasterxml.jackson", "jackson-bom").isEmpty());
+    }
+
+    @Test
+    void testReadsFlattenedTableFromDiskCache() throws IOException {
+        new BomResolver(new ParentPomResolver(new XmlParser(), pomSource), cacheDirectory)
+                .resolve("org.example", "platform-bom", "1");
+        PomSource unavailable = (groupId, artifactId, version) -> {
+            throw new AssertionError("Unexpected POM request for " + groupId + ":" + artifactId + ":" + version);
+        };
+        BomResolver nextRun = new BomResolver(new ParentPomResolver(new XmlParser(), unavailable), cacheDirectory);
+
+        DependencyManagementTable table = nextRun.resolve("org.example", "platform-bom", "1");
+
+        assertTrue(Files.isRegularFile(nextRun.getCachePath("org.example", "platform-bom", "1")));
+        assertEquals(3, table.size());
+        assertEquals("2.0.13", table.get("org.slf4j", "slf4j-api").map(Dependency::version).orElseThrow());
+    }
+
+    @Test
+    void testDoesNotCacheTableWithMissingImport() throws IOException {
+        installPom("org.example", "incomplete-bom", "1", """
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>org.example</groupId><artifactId>missing-bom</artifactId><version>1</version><type>pom</type><scope>import</scope></dependency>
+                    <dependency><groupId>junit</groupId><artifactId>junit</artifactId><version>4.13.2</version></dependency>
+                </dependencies></dependencyManagement>
+                """);
+        BomResolver bomResolver = new BomResolver(new ParentPomResolver(new XmlParser(), pomSource), cacheDirectory);
+
+        DependencyManagementTable table = bomResolver.resolve("org.example", "incomplete-bom", "1");
+
+        assertEquals(1, table.size());
+        assertFalse(Files.exists(bomResolver.getCachePath("org.example", "incomplete-bom", "1")));
+    }
+
+    @Test
+    void testReportsCyclicImportWithoutSharingTruncatedTables() throws IOException {
+        installPom("org.example", "first-bom", "1", """
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>org.example</groupId><artifactId>first</artifactId><version>1</version></dependency>
+                    <dependency><groupId>org.example</groupId><artifactId>second-bom</artifactId><version>1</version><type>pom</type><scope>import</scope></dependency>
+                </dependencies></dependencyManagement>
+                """);
+        installPom("org.example", "second-bom", "1", """
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>org.example</groupId><artifactId>second</artifactId><version>1</version></dependency>
+                    <dependency><groupId>org.example</groupId><artifactId>first-bom</artifactId><version>1</version><type>pom</type><scope>import</scope></dependency>
+                </dependencies></dependencyManagement>
+                """);
+        BomResolver bomResolver = new BomResolver(new ParentPomResolver(new XmlParser(), pomSource), cacheDirectory);
+
+        DependencyManagementTable first = bomResolver.resolve("org.example", "first-bom", "1");
+        DependencyManagementTable second = bomResolver.resolve("org.example", "second-bom", "1");
+
+        assertEquals(List.of("org.example:first-bom:1"), first.getImportCycles());
+        assertEquals(2, first.size());
+        // The second BOM flattened inside the cycle lacked the first one's entries and must not be reused
+        assertEquals(List.of("org.example:second-bom:1"), second.getImportCycles());
+        assertTrue(second.get("org.example", "first").isPresent());
+        assertFalse(Files.exists(bomResolver.getCachePath("org.example", "first-bom", "1")));
+    }
+
+    @Test
+    void testDoesNotCacheTableOutsideCacheDirectory() throws IOException {
+        PomSource anyCoordinates = (groupId, artifactId, version) -> Optional.of(new ByteArrayInputStream(pom("""
+                <groupId>org.example</groupId>
+                <artifactId>bom</artifactId>
+                <version>1</version>
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>junit</groupId><artifactId>junit</artifactId><version>4.13.2</version></dependency>
+                </dependencies></dependencyManagement>
+                """).getBytes(StandardCharsets.UTF_8)));
+        BomResolver bomResolver = new BomResolver(new ParentPomResolver(new XmlParser(), anyCoordinates), cacheDirectory);
+
+        DependencyManagementTable table = bomResolver.resolve("org.example", "bom", "../../../../escaped");
+
+        assertEquals(1, table.size());
+        try (var files = Files.walk(tempDir)) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".tsv")));
+        }
+    }
+
+    @Test
+    void testResolvesCyclicImportsConcurrently() throws Exception {
+        installPom("org.example", "bom-a", "1", """
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>junit</groupId><artifactId>junit</artifactId><version>4.13.2</version></dependency>
+                    <dependency><groupId>org.example</groupId><artifactId>bom-b</artifactId><version>1</version><type>pom</type><scope>import</scope></dependency>
+                </dependencies></dependencyManagement>
+                """);
+        installPom("org.example", "bom-b", "1", """
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId><version>2.0.13</version></dependency>
+                    <dependency><groupId>org.example</groupId><artifactId>bom-a</artifactId><version>1</version><type>pom</type><scope>import</scope></dependency>
+                </dependencies></dependencyManagement>
+                """);
+        // Both threads have started flattening their BOM before either reads the BOM it imports
+        CyclicBarrier bothStarted = new CyclicBarrier(2);
+        Set<String> opened = ConcurrentHashMap.newKeySet();
+        PomSource synchronizedStart = (groupId, artifactId, version) -> {
+            if (opened.add(artifactId)) {
+                try {
+                    bothStarted.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                    throw new IOException(e);
+                }
+            }
+            return pomSource.openPom(groupId, artifactId, version);
+        };
+        BomResolver bomResolver = new BomResolver(new ParentPomResolver(new XmlParser(), synchronizedStart));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<DependencyManagementTable> a = executor.submit(() -> bomResolver.resolve("org.example", "bom-a", "1"));
+            Future<DependencyManagementTable> b = executor.submit(() -> bomResolver.resolve("org.example", "bom-b", "1"));
+
+            // Which entries of the cycle each table sees depends on the interleaving, but both complete
+            assertTrue(a.get(10, TimeUnit.SECONDS).get("junit", "junit").isPresent());
+            assertTrue(b.get(10, TimeUnit.SECONDS).get("org.slf4j", "slf4j-api").isPresent());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testPomParserFillsVersionlessDependenciesFromImportedBom() throws IOException, JAXBException {
+        Path pomFile = tempDir.resolve("service/pom.xml");
+        Files.createDirectories(pomFile.getParent());
+        Files.writeString(pomFile, pom("""
+                <groupId>org.example</groupId>
+                <artifactId>service</artifactId>
+                <version>1.0.0</version>
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>org.example</groupId><artifactId>platform-bom</artifactId><version>1</version><type>pom</type><scope>import</scope></dependency>
+                </dependencies></dependencyManagement>
+                <dependencies>
+                    <dependency><groupId>com.fasterxml.jackson.core</groupId><artifactId>jackson-databind</artifactId></dependency>
+                    <dependency><groupId>org.example</groupId><artifactId>unmanaged</artifactId></dependency>
+                </dependencies>
+                """));
+        ParentPomResolver parentPomResolver = new ParentPomResolver(new XmlParser(), pomSource);
+        PomParser pomParser = new PomParser(new XmlParser(), parentPomResolver, new BomResolver(parentPomResolver, cacheDirectory));
+
+        Project project = pomParser.parsePomFile(pomFile.toFile());
+
+        List<String> versions = project.dependencies().stream().map(Dependency::version).toList();
+        assertEquals("2.17.0", versions.get(0));
+        assertNull(versions.get(1));
+    }
+
+    @Test
+    void testModulesInheritManagedVersionsFromReactorParent() throws IOException, JAXBException {
+        Path root = tempDir.resolve("reactor");
+        Files.createDirectories(root.resolve("api"));
+        Files.createDirectories(root.resolve("impl"));
+        Files.writeString(root.resolve("pom.xml"), pom("""
+                <groupId>org.example</groupId>
+                <artifactId>reactor</artifactId>
+                <version>1.0.0</version>
+                <packaging>pom</packaging>
+                <modules><module>api</module><module>impl</module></modules>
+                <properties><junit.version>4.12</junit.version></properties>
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>junit</groupId><artifactId>junit</artifactId><version>${junit.version}</version></dependency>
+                    <dependency><groupId>org.example</groupId><artifactId>platform-bom</artifactId><version>1</version><type>pom</type><scope>import</scope></dependency>
+                </dependencies></dependencyManagement>
+                """));
+        Files.writeString(root.resolve("api/pom.xml"), pom("""
+                <parent><groupId>org.example</groupId><artifactId>reactor</artifactId><version>1.0.0</version></parent>
+                <artifactId>api</artifactId>
+                <dependencies>
+                    <dependency><groupId>junit</groupId><artifactId>junit</artifactId></dependency>
+                    <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId></dependency>
+                </dependencies>
+                """));
+        Files.writeString(root.resolve("impl/pom.xml"), pom("""
+                <parent><groupId>org.example</groupId><artifactId>reactor</artifactId><version>1.0.0</version></parent>
+                <artifactId>impl</artifactId>
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId><version>2.0.16</version></dependency>
+                </dependencies></dependencyManagement>
+                <dependencies>
+                    <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId></dependency>
+                    <dependency><groupId>com.fasterxml.jackson.core</groupId><artifactId>jackson-databind</artifactId></dependency>
+                </dependencies>
+                """));
+        ParentPomResolver parentPomResolver = new ParentPomResolver(new XmlParser(), pomSource);
+        PomParser pomParser = new PomParser(new XmlParser(), parentPomResolver, new BomResolver(parentPomResolver, cacheDirectory));
+
+        List<Project> projects = pomParser.parseMultiModuleProject(root.resolve("pom.xml").toFile());
+
+        Project api = projects.stream().filter(project -> "api".equals(project.artifactId())).findFirst().orElseThrow();
+        Project impl = projects.stream().filter(project -> "impl".equals(project.artifactId())).findFirst().orElseThrow();
+        // Explicit entries of the parent win over the imported BOM
+        assertEquals(List.of("4.12", "2.0.13"), api.dependencies().stream().map(Dependency::version).toList());
+        // The nearest dependencyManagement wins
+        assertEquals(List.of("2.0.16", "2.17.0"), impl.dependencies().stream().map(Dependency::version).toList());
+    }
+
+    @Test
+    void testChildWithoutDependencyManagementSharesParentTable() throws JAXBException {
+        XmlParser xmlParser = new XmlParser();
+        XmlProject parent = parse(xmlParser, """
+                <groupId>org.example</groupId><artifactId>parent</artifactId><version>1</version>
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>junit</groupId><artifactId>junit</artifactId><version>4.13.2</version></dependency>
+                </dependencies></dependencyManagement>
+                """);
+        XmlProject first = parse(xmlParser, "<artifactId>first</artifactId>");
+        XmlProject second = parse(xmlParser, "<artifactId>second</artifactId>");
+        first.setParentProject(parent);
+        second.setParentProject(parent);
+        BomResolver bomResolver = new BomResolver(new ParentPomResolver(xmlParser, pomSource));
+
+        DependencyManagementTable parentTable = bomResolver.resolveEffective(parent);
+
+        assertSame(parentTable, bomResolver.resolveEffective(first));
+        assertSame(parentTable, bomResolver.resolveEffective(second));
+        assertEquals("4.13.2", parentTable.get("junit", "junit").map(Dependency::version).orElseThrow());
+    }
+
+    private static XmlProject parse(XmlParser xmlParser, String body) throws JAXBException {
+        return xmlParser.parseXmlStream(new ByteArrayInputStream(pom(body).getBytes(StandardCharsets.UTF_8)), XmlProject.class);
+    }
+
+    private void installPom(String groupId, String artifactId, String version, String body) throws IOException {
+        Path pomFile = pomSource.getPomPath(groupId, artifactId, version);
+        Files.createDirectories(pomFile.getParent());
+        Files.writeString(pomFile, pom("""
+                <groupId>%s</groupId>
+                <artifactId>%s</artifactId>
+                <version>%s</version>
+                <packaging>pom</packaging>
+                """.formatted(groupId, artifactId, version) + body));
+    }
+
+    private static String pom(String body) {
+        return """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                """ + body + "</project>\n";
+    }
+}
@@ -0,0 +1,105 @@
+package de.diedavids.mavguard.xml.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the content-addressed POM cache
+ */
+public class CachingPomSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final Map<String, String> remotePoms = new HashMap<>();
+    private final AtomicInteger remoteCalls = new AtomicInteger();
+    private CachingPomSource cache;
+
+    @BeforeEach
+    void setUp() {
+        PomSource remote = (groupId, artifactId, version) -> {
+            remoteCalls.incrementAndGet();
+            String pom = remotePoms.get(groupId + ":" + artifactId + ":" + version);
+            return Optional.ofNullable(pom).map(content -> new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        };
+        cache = new CachingPomSource(remote, tempDir);
+        remotePoms.put("org.example:parent:1.0", "<project>parent</project>");
+        remotePoms.put("org.example:parent:1.1", "<project>parent</project>");
+        remotePoms.put("org.example:parent:2.0-SNAPSHOT", "<project>snapshot</project>");
+    }
+
+    @Test
+    void testServesReleasedPomFromCache() throws IOException {
+        assertEquals("<project>parent</project>", read(cache.openPom("org.example", "parent", "1.0")));
+        assertEquals("<project>parent</project>", read(cache.openPom("org.example", "parent", "1.0")));
+
+        assertEquals(1, remoteCalls.get());
+    }
+
+    @Test
+    void testStoresIdenticalContentOnce() throws IOException {
+        read(cache.openPom("org.example", "parent", "1.0"));
+        read(cache.openPom("org.example", "parent", "1.1"));
+
+        String hash = Files.readString(cache.getRefPath("org.example", "parent", "1.0")).trim();
+        assertEquals(hash, Files.readString(cache.getRefPath("org.example", "parent", "1.1")).trim());
+        assertTrue(Files.isRegularFile(cache.getObjectPath(hash)));
+        try (var objects = Files.walk(tempDir.resolve("objects"))) {
+            assertEquals(1, objects.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void testRefetchesCorruptedEntry() throws IOException {
+        read(cache.openPom("org.example", "parent", "1.0"));
+        String hash = Files.readString(cache.getRefPath("org.example", "parent", "1.0")).trim();
+        Files.writeString(cache.getObjectPath(hash), "<project>trunc");
+
+        assertEquals("<project>parent</project>", read(cache.openPom("org.example", "parent", "1.0")));
+        assertEquals(2, remoteCalls.get());
+    }
+
+    @Test
+    void testDoesNotCacheSnapshotsOrMissingPoms() throws IOException {
+        read(cache.openPom("org.example", "parent", "2.0-SNAPSHOT"));
+        read(cache.openPom("org.example", "parent", "2.0-SNAPSHOT"));
+        assertTrue(cache.openPom("org.example", "unknown", "1.0").isEmpty());
+        assertTrue(cache.openPom("org.example", "unknown", "1.0").isEmpty());
+
+        assertEquals(4, remoteCalls.get());
+        assertFalse(Files.exists(tempDir.resolve("refs")));
+    }
+
+    @Test
+    void testIgnoresCoordinatesLeavingTheCacheDirectory() throws IOException {
+        remotePoms.put("org.example:parent:../../../../escaped", "<project>parent</project>");
+        remotePoms.put("org/example:parent:1.0", "<project>parent</project>");
+
+        assertTrue(cache.openPom("org.example", "parent", "../../../../escaped").isEmpty());
+        assertTrue(cache.openPom("org/example", "parent", "1.0").isEmpty());
+        assertTrue(cache.openPom("org.example", "..", "1.0").isEmpty());
+
+        assertEquals(0, remoteCalls.get());
+        assertFalse(Files.exists(tempDir.resolve("refs")));
+    }
+
+    private static String read(Optional<InputStream> pom) throws IOException {
+        try (InputStream inputStream = pom.orElseThrow()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
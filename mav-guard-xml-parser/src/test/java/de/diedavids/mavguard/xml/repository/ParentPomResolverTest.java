@@ -0,0 +1,238 @@
+package de.diedavids.mavguard.xml.repository;
+
+import de.diedavids.mavguard.model.Dependency;
+import de.diedavids.mavguard.model.Project;
+import de.diedavids.mavguard.xml.PomParser;
+import de.diedavids.mavguard.xml.XmlParser;
+import de.diedavids.mavguard.xml.model.XmlProject;
+import jakarta.xml.bind.JAXBException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for resolving parent POMs from a local Maven repository
+ */
+public class ParentPomResolverTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LocalRepositoryPomSource pomSource;
+    private ParentPomResolver resolver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pomSource = new LocalRepositoryPomSource(tempDir.resolve("repository"));
+        XmlParser xmlParser = new XmlParser();
+        resolver = new ParentPomResolver(xmlParser, pomSource);
+
+        installPom("com.example.platform", "corporate-root", "3", null, """
+                <properties>
+                    <slf4j.version>1.7.36</slf4j.version>
+                    <junit.version>4.13.2</junit.version>
+                </properties>
+                """);
+        installPom("com.example.platform", "corporate-parent", "7",
+                parent("com.example.platform", "corporate-root", "3"), """
+                <properties>
+                    <slf4j.version>2.0.9</slf4j.version>
+                </properties>
+                """);
+    }
+
+    @Test
+    void testResolvesParentChainFromLocalRepository() {
+        Optional<XmlProject> parent = resolver.resolve(xmlParent("com.example.platform", "corporate-parent", "7"));
+
+        assertTrue(parent.isPresent());
+        assertEquals("corporate-root", parent.get().getParentProject().getArtifactId());
+        // The nearest definition wins
+        assertEquals("2.0.9", parent.get().getAllProperties().get("slf4j.version"));
+        assertEquals("4.13.2", parent.get().getAllProperties().get("junit.version"));
+    }
+
+    @Test
+    void testReturnsEmptyForUnknownParent() {
+        assertTrue(resolver.resolve(xmlParent("com.example", "unknown", "1.0")).isEmpty());
+        assertEquals(0, resolver.getParsedPomCount());
+    }
+
+    @Test
+    void testParsesSharedParentOnlyOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<XmlProject>>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                results.add(executor.submit(() -> resolver.resolve(xmlParent("com.example.platform", "corporate-parent", "7"))));
+            }
+            XmlProject first = results.get(0).get().orElseThrow();
+            for (Future<Optional<XmlProject>> result : results) {
+                assertSame(first, result.get().orElseThrow());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, resolver.getParsedPomCount());
+    }
+
+    @Test
+    void testPrefetchFetchesEachLevelConcurrently() throws IOException {
+        installPom("com.example.platform", "team-a-parent", "1", parent("com.example.platform", "corporate-parent", "7"), "");
+        installPom("com.example.platform", "team-b-parent", "1", parent("com.example.platform", "corporate-parent", "7"), "");
+        // Both parents of the first level must be requested before either of them is answered
+        CountDownLatch firstLevel = new CountDownLatch(2);
+        List<String> requested = Collections.synchronizedList(new ArrayList<>());
+        PomSource slowSource = (groupId, artifactId, version) -> {
+            requested.add(artifactId);
+            if (artifactId.startsWith("team-")) {
+                firstLevel.countDown();
+                try {
+                    assertTrue(firstLevel.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return pomSource.openPom(groupId, artifactId, version);
+        };
+        ParentPomResolver prefetchingResolver = new ParentPomResolver(new XmlParser(), slowSource);
+
+        prefetchingResolver.prefetch(List.of(
+                xmlParent("com.example.platform", "team-a-parent", "1"),
+                xmlParent("com.example.platform", "team-b-parent", "1"),
+                xmlParent("com.example.platform", "team-a-parent", "1")));
+
+        assertEquals(4, prefetchingResolver.getParsedPomCount());
+        assertEquals(List.of("corporate-parent", "corporate-root"), requested.subList(2, 4));
+        Optional<XmlProject> parent = prefetchingResolver.resolve(xmlParent("com.example.platform", "team-b-parent", "1"));
+        assertEquals("2.0.9", parent.orElseThrow().getAllProperties().get("slf4j.version"));
+        assertEquals(4, requested.size());
+    }
+
+    @Test
+    void testStopsAtCyclicParentChain() throws IOException {
+        installPom("com.example", "cycle-a", "1", parent("com.example", "cycle-b", "1"), "");
+        installPom("com.example", "cycle-b", "1", parent("com.example", "cycle-a", "1"), "");
+
+        Optional<XmlProject> parent = resolver.resolve(xmlParent("com.example", "cycle-a", "1"));
+
+        assertTrue(parent.isPresent());
+        assertEquals("cycle-b", parent.get().getParentProject().getArtifactId());
+        assertNull(parent.get().getParentProject().getParentProject());
+    }
+
+    @Test
+    void testPomParserInheritsPropertiesOfRepositoryParent() throws IOException, JAXBException {
+        Path module = tempDir.resolve("service/pom.xml");
+        Files.createDirectories(module.getParent());
+        Files.writeString(module, pom(parent("com.example.platform", "corporate-parent", "7"), """
+                <artifactId>service</artifactId>
+                <dependencies>
+                    <dependency>
+                        <groupId>org.slf4j</groupId>
+                        <artifactId>slf4j-api</artifactId>
+                        <version>${slf4j.version}</version>
+                    </dependency>
+                    <dependency>
+                        <groupId>junit</groupId>
+                        <artifactId>junit</artifactId>
+                        <version>${junit.version}</version>
+                    </dependency>
+                </dependencies>
+                """));
+        PomParser pomParser = new PomParser(new XmlParser(), resolver);
+
+        Project project = pomParser.parsePomFile(module.toFile());
+
+        List<String> versions = project.dependencies().stream().map(Dependency::version).toList();
+        assertEquals(List.of("2.0.9", "4.13.2"), versions);
+    }
+
+    @Test
+    void testMultiModuleProjectParsesExternalParentOnce() throws IOException, JAXBException {
+        Path root = tempDir.resolve("reactor");
+        List<String> modules = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String module = "module-" + i;
+            modules.add("<module>" + module + "</module>");
+            Files.createDirectories(root.resolve(module));
+            Files.writeString(root.resolve(module).resolve("pom.xml"), pom(
+                    parent("com.example.platform", "corporate-parent", "7").replace("<parent>", "<parent><relativePath/>"),
+                    "<artifactId>" + module + "</artifactId>\n"
+                            + "<dependencies><dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId>"
+                            + "<version>${slf4j.version}</version></dependency></dependencies>\n"));
+        }
+        Files.writeString(root.resolve("pom.xml"), pom(null, """
+                <groupId>com.example</groupId>
+                <artifactId>reactor</artifactId>
+                <version>1.0.0</version>
+                <packaging>pom</packaging>
+                <modules>%s</modules>
+                """.formatted(String.join("", modules))));
+        PomParser pomParser = new PomParser(new XmlParser(), resolver);
+
+        List<Project> projects = pomParser.parseMultiModuleProject(root.resolve("pom.xml").toFile());
+
+        assertEquals(21, projects.size());
+        assertEquals(2, resolver.getParsedPomCount());
+        projects.stream()
+                .filter(project -> project.artifactId().startsWith("module-"))
+                .forEach(project -> assertEquals("2.0.9", project.dependencies().get(0).version()));
+    }
+
+    private void installPom(String groupId, String artifactId, String version, String parent, String body) throws IOException {
+        Path pomFile = pomSource.getPomPath(groupId, artifactId, version);
+        Files.createDirectories(pomFile.getParent());
+        Files.writeString(pomFile, pom(parent, """
+                <groupId>%s</groupId>
+                <artifactId>%s</artifactId>
+                <version>%s</version>
+                <packaging>pom</packaging>
+                """.formatted(groupId, artifactId, version) + body));
+    }
+
+    private static String parent(String groupId, String artifactId, String version) {
+        return """
+                <parent>
+                    <groupId>%s</groupId>
+                    <artifactId>%s</artifactId>
+                    <version>%s</version>
+                </parent>
+                """.formatted(groupId, artifactId, version);
+    }
+
+    private static String pom(String parent, String body) {
+        return """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                """ + (parent != null ? parent : "") + body + "</project>\n";
+    }
+
+    private XmlProject.XmlParent xmlParent(String groupId, String artifactId, String version) {
+        try {
+            String xml = pom(parent(groupId, artifactId, version), "<artifactId>child</artifactId>\n");
+            return new XmlParser().parseXmlStream(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), XmlProject.class).getParent();
+        } catch (JAXBException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}